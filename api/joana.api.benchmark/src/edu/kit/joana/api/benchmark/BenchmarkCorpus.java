@@ -0,0 +1,118 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.sdg.SDGConfig;
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGSerializer;
+import edu.kit.joana.ifc.sdg.mhpoptimization.MHPType;
+import edu.kit.joana.ifc.sdg.util.JavaMethodSignature;
+import edu.kit.joana.util.Stubs;
+import edu.kit.joana.wala.core.NullProgressMonitor;
+import edu.kit.joana.wala.core.SDGBuilder.ExceptionAnalysis;
+import edu.kit.joana.wala.core.SDGBuilder.FieldPropagation;
+import edu.kit.joana.wala.core.SDGBuilder.PointsToPrecision;
+
+/**
+ * The stored SDGs the benchmarks run on.
+ * <p>
+ * The corpus consists of one SDG per program of {@code joana.api.testdata}, named after its main class. It is
+ * written by {@link #main(String[])} and located by the system property {@value #CORPUS_PROPERTY}. All SDGs are
+ * built with interference edges and precise MHP information, so that the concurrent algorithms can run on the
+ * sequential programs as well.
+ */
+public final class BenchmarkCorpus {
+
+	public static final String CORPUS_PROPERTY = "joana.benchmark.corpus";
+
+	/** programs annotated by {@code edu.kit.joana.api.annotations.ToyTestsDefaultSourcesAndSinks} */
+	public static final String PASSWORD_FILE = "joana.api.testdata.toy.pw.PasswordFile";
+	public static final String DEMO1 = "joana.api.testdata.toy.demo.Demo1";
+	public static final String MY_LIST = "joana.api.testdata.toy.rec.MyList";
+	public static final String EXAMPLE_LEAKAGE = "joana.api.testdata.seq.ExampleLeakage";
+
+	/** concurrent programs */
+	public static final String FORK_JOIN = "joana.api.testdata.conc.ForkJoin";
+	public static final String GIFFHORN_FIGURE_51 = "joana.api.testdata.conc.GiffhornFigure51";
+	public static final String THREAD_HIERARCHY = "joana.api.testdata.toy.conc.ThreadHierarchy";
+
+	public static final String[] PROGRAMS = {
+		PASSWORD_FILE, DEMO1, MY_LIST, EXAMPLE_LEAKAGE, FORK_JOIN, GIFFHORN_FIGURE_51, THREAD_HIERARCHY
+	};
+
+	private static final Stubs STUBS = Stubs.JRE_15;
+
+	private BenchmarkCorpus() {
+	}
+
+	/**
+	 * Returns the file the SDG of the given program is stored in.
+	 */
+	public static String fileOf(String program) {
+		final String corpus = System.getProperty(CORPUS_PROPERTY);
+		if (corpus == null) {
+			throw new IllegalStateException("Property '" + CORPUS_PROPERTY + "' not provided! Provide the directory "
+					+ "written by " + BenchmarkCorpus.class.getName() + " via -D flag to the jvm!");
+		}
+		return corpus + File.separator + program + ".pdg";
+	}
+
+	/**
+	 * Reads the SDG of the given program.
+	 */
+	public static SDG load(String program) throws IOException {
+		return SDG.readFromAndUseLessHeap(fileOf(program));
+	}
+
+	/**
+	 * Builds the SDGs of all programs of the corpus.
+	 *
+	 * @param args the class path of the programs and the directory to write the SDGs to
+	 */
+	public static void main(String[] args) throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		if (args.length != 2) {
+			System.err.println("usage: " + BenchmarkCorpus.class.getName() + " <classpath> <corpus directory>");
+			System.exit(1);
+		}
+		final File out = new File(args[1]);
+		if (!out.exists()) {
+			out.mkdirs();
+		}
+		System.setProperty(CORPUS_PROPERTY, out.getPath());
+
+		for (final String program : PROGRAMS) {
+			System.out.print(program + "... ");
+			final SDGConfig config = new SDGConfig(args[0], true,
+					JavaMethodSignature.mainMethodOfClass(program).toBCString(), STUBS, ExceptionAnalysis.INTERPROC,
+					FieldPropagation.OBJ_GRAPH, PointsToPrecision.INSTANCE_BASED, false, // no access paths
+					true, // interference
+					MHPType.PRECISE);
+			config.setParallel(false);
+			final SDG sdg = SDGProgram.createSDGProgram(config, new PrintStream(new ByteArrayOutputStream()),
+					NullProgressMonitor.INSTANCE).getSDG();
+			try (OutputStream bOut = new BufferedOutputStream(new FileOutputStream(fileOf(program)))) {
+				SDGSerializer.toPDGFormat(sdg, bOut);
+			}
+			System.out.println(sdg.vertexSet().size() + " nodes");
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.eval.Algorithm;
+import edu.kit.joana.ifc.sdg.graph.eval.Criterion;
+
+/**
+ * Measures the choppers of {@link Algorithm.Algo}, each computing the chops of the same
+ * {@value SlicerBenchmark#NUMBER_OF_CRITERIA} randomly chosen pairs of nodes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChopperBenchmark {
+
+	@Param({ "INTERSECTION_CHOPPER", "OPT_0", "OPT_1", "FIXPOINT_CHOPPER", "RRC", "RRC_SMC", "RRC_UNOPT",
+		"CONC_INTERSECTION_CHOPPER", "ITERATED_TWO_PHASE_CHOPPER", "CONC_FIXPOINT_CHOPPER",
+		"CONTEXT_SENSITIVE_CHOPPER", "ALMOST_TMIE_SENSITIVE_CHOPPER", "TIME_SENSITIVE_CHOPPER" })
+	public String algorithm;
+
+	@Param({ BenchmarkCorpus.PASSWORD_FILE, BenchmarkCorpus.DEMO1, BenchmarkCorpus.MY_LIST,
+		BenchmarkCorpus.EXAMPLE_LEAKAGE, BenchmarkCorpus.FORK_JOIN, BenchmarkCorpus.GIFFHORN_FIGURE_51,
+		BenchmarkCorpus.THREAD_HIERARCHY })
+	public String program;
+
+	private Algorithm chopper;
+	private List<Criterion> criteria;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		final Algorithm.Algo algo = Algorithm.Algo.valueOf(algorithm);
+		if (algo.getKind() != Algorithm.Kind.CHOPPER) {
+			throw new IllegalArgumentException("not a chopper: " + algorithm);
+		}
+		final SDG sdg = BenchmarkCorpus.load(program);
+		chopper = algo.instantiate();
+		chopper.setSDG(sdg);
+
+		final Random random = new Random(SlicerBenchmark.SEED);
+		final List<SDGNode> sources = sdg.getNRandomNodes(SlicerBenchmark.NUMBER_OF_CRITERIA, random);
+		final List<SDGNode> targets = sdg.getNRandomNodes(SlicerBenchmark.NUMBER_OF_CRITERIA, random);
+		criteria = new ArrayList<Criterion>(SlicerBenchmark.NUMBER_OF_CRITERIA);
+		for (int i = 0; i < SlicerBenchmark.NUMBER_OF_CRITERIA; i++) {
+			criteria.add(new Criterion(sources.get(i), targets.get(i)));
+		}
+	}
+
+	@Benchmark
+	public void chop(Blackhole bh) {
+		for (final Criterion c : criteria) {
+			bh.consume(chopper.run(c));
+		}
+	}
+}
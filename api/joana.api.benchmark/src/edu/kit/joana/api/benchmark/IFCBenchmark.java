@@ -0,0 +1,84 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.benchmark;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.joana.api.IFCAnalysis;
+import edu.kit.joana.api.IFCType;
+import edu.kit.joana.api.lattice.BuiltinLattices;
+import edu.kit.joana.api.sdg.SDGAttribute;
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.violations.IViolation;
+import edu.kit.joana.ifc.sdg.mhpoptimization.MHPType;
+import edu.kit.joana.ifc.sdg.util.JavaType;
+
+/**
+ * Measures the IFC check of each {@link IFCType}. The sources are the secret and the sinks are the public fields of
+ * {@code ToyTestsDefaultSourcesAndSinks}, so only the programs using that class are part of this benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IFCBenchmark {
+
+	private static final String SOURCES_AND_SINKS = "edu.kit.joana.api.annotations.ToyTestsDefaultSourcesAndSinks";
+	private static final String[] SECRETS = { "SECRET", "SECRET_BOOL", "SECRET_STRING", "SECRET_OBJECT" };
+	private static final String[] PUBLICS = { "PUBLIC", "PUBLIC_BOOL", "PUBLIC_STRING", "PUBLIC_OBJECT" };
+
+	@Param
+	public IFCType type;
+
+	@Param({ BenchmarkCorpus.PASSWORD_FILE, BenchmarkCorpus.DEMO1, BenchmarkCorpus.MY_LIST,
+		BenchmarkCorpus.EXAMPLE_LEAKAGE })
+	public String program;
+
+	private IFCAnalysis ana;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		final SDGProgram prog = SDGProgram.loadSDG(BenchmarkCorpus.fileOf(program), MHPType.PRECISE);
+		ana = new IFCAnalysis(prog);
+
+		final JavaType sourcesAndSinks = JavaType.parseSingleTypeFromString(SOURCES_AND_SINKS);
+		for (final String secret : SECRETS) {
+			for (final SDGAttribute a : prog.getAttribute(sourcesAndSinks, secret)) {
+				ana.addSourceAnnotation(a, BuiltinLattices.STD_SECLEVEL_HIGH);
+			}
+		}
+		for (final String pub : PUBLICS) {
+			for (final SDGAttribute a : prog.getAttribute(sourcesAndSinks, pub)) {
+				ana.addSinkAnnotation(a, BuiltinLattices.STD_SECLEVEL_LOW);
+			}
+		}
+	}
+
+	@Benchmark
+	public Collection<? extends IViolation<SecurityNode>> doIFC() {
+		return ana.doIFC(type);
+	}
+}
@@ -0,0 +1,59 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.PreciseMHPAnalysis;
+
+/**
+ * Measures {@link PreciseMHPAnalysis#analyze(SDG, int)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MHPBenchmark {
+
+	@Param({ "1", "4" })
+	public int parallelism;
+
+	@Param({ BenchmarkCorpus.PASSWORD_FILE, BenchmarkCorpus.DEMO1, BenchmarkCorpus.MY_LIST,
+		BenchmarkCorpus.EXAMPLE_LEAKAGE, BenchmarkCorpus.FORK_JOIN, BenchmarkCorpus.GIFFHORN_FIGURE_51,
+		BenchmarkCorpus.THREAD_HIERARCHY })
+	public String program;
+
+	private SDG sdg;
+
+	@Setup(Level.Trial)
+	public void load() throws IOException {
+		sdg = BenchmarkCorpus.load(program);
+	}
+
+	@Benchmark
+	public PreciseMHPAnalysis analyze() {
+		return PreciseMHPAnalysis.analyze(sdg, parallelism);
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.eval.Algorithm;
+import edu.kit.joana.ifc.sdg.graph.eval.Criterion;
+
+/**
+ * Measures the slicers of {@link Algorithm.Algo}, each computing the backward slices of the same
+ * {@value #NUMBER_OF_CRITERIA} randomly chosen nodes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlicerBenchmark {
+
+	static final int NUMBER_OF_CRITERIA = 10;
+	static final long SEED = 42;
+
+	@Param({ "INTERSECTION_SLICER", "TWO_PHASE_SLICER", "CONTEXT_SLICER", "IPDG_SLICER", "IDYN_SLICER",
+		"ITERATED_TWO_PHASE_SLICER", "SIMPLE_CONCURRENT_SLICER", "KRINKE_SLICER", "GIFFHORN_KRINKE", "NANDA",
+		"GIFFHORN_NANDA", "GIFFHORN_NANDA_EXPERIMENTAL", "GIFFHORN_NANDA_NO_MHP", "GIFFHORN_NANDA_REACH",
+		"GIFFHORN_NANDA_THREAD_REGIONS" })
+	public String algorithm;
+
+	@Param({ BenchmarkCorpus.PASSWORD_FILE, BenchmarkCorpus.DEMO1, BenchmarkCorpus.MY_LIST,
+		BenchmarkCorpus.EXAMPLE_LEAKAGE, BenchmarkCorpus.FORK_JOIN, BenchmarkCorpus.GIFFHORN_FIGURE_51,
+		BenchmarkCorpus.THREAD_HIERARCHY })
+	public String program;
+
+	private Algorithm slicer;
+	private List<Criterion> criteria;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		final Algorithm.Algo algo = Algorithm.Algo.valueOf(algorithm);
+		if (algo.getKind() != Algorithm.Kind.SLICER) {
+			throw new IllegalArgumentException("not a slicer: " + algorithm);
+		}
+		final SDG sdg = BenchmarkCorpus.load(program);
+		slicer = algo.instantiate();
+		slicer.setSDG(sdg);
+
+		criteria = new ArrayList<Criterion>(NUMBER_OF_CRITERIA);
+		for (final SDGNode n : sdg.getNRandomNodes(NUMBER_OF_CRITERIA, new Random(SEED))) {
+			criteria.add(new Criterion(n));
+		}
+	}
+
+	@Benchmark
+	public void slice(Blackhole bh) {
+		for (final Criterion c : criteria) {
+			bh.consume(slicer.run(c));
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.benchmark;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.wala.util.CancelException;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.wala.core.NullProgressMonitor;
+import edu.kit.joana.wala.summary.SummaryComputationType;
+import edu.kit.joana.wala.summary.WorkPackage;
+import edu.kit.joana.wala.summary.WorkPackage.EntryPoint;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * Measures the summary edge computation of each {@link SummaryComputationType}. Before each operation, the summary
+ * edges computed by the previous one are removed from the SDG, which takes place outside of the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryBenchmark {
+
+	@Param
+	public SummaryComputationType type;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	@Param({ BenchmarkCorpus.PASSWORD_FILE, BenchmarkCorpus.DEMO1, BenchmarkCorpus.MY_LIST,
+		BenchmarkCorpus.EXAMPLE_LEAKAGE, BenchmarkCorpus.FORK_JOIN, BenchmarkCorpus.GIFFHORN_FIGURE_51,
+		BenchmarkCorpus.THREAD_HIERARCHY })
+	public String program;
+
+	private SDG sdg;
+	private WorkPackage<SDG> pack;
+
+	@Setup(Level.Trial)
+	public void load() throws IOException {
+		sdg = BenchmarkCorpus.load(program);
+	}
+
+	@Setup(Level.Invocation)
+	public void removeSummaryEdges() {
+		final List<SDGEdge> summaryEdges = new LinkedList<SDGEdge>();
+		for (final SDGEdge e : sdg.edgeSet()) {
+			switch (e.getKind()) {
+			case SUMMARY:
+			case SUMMARY_DATA:
+			case SUMMARY_NO_ALIAS:
+				summaryEdges.add(e);
+				break;
+			default:
+				// noop
+			}
+		}
+		sdg.removeAllEdges(summaryEdges);
+
+		final SDGNode root = sdg.getRoot();
+		final TIntSet formalIns = new TIntHashSet();
+		for (final SDGNode fIn : sdg.getFormalIns(root)) {
+			formalIns.add(fIn.getId());
+		}
+		final TIntSet formalOuts = new TIntHashSet();
+		for (final SDGNode fOut : sdg.getFormalOuts(root)) {
+			formalOuts.add(fOut.getId());
+		}
+		final Set<EntryPoint> entries = new TreeSet<EntryPoint>();
+		entries.add(new EntryPoint(root.getId(), formalIns, formalOuts));
+		pack = WorkPackage.create(sdg, entries, sdg.getName());
+	}
+
+	@Benchmark
+	public int computeSummaryEdges() throws CancelException {
+		return type.getSummaryComputer().compute(pack, parallel, NullProgressMonitor.INSTANCE);
+	}
+}
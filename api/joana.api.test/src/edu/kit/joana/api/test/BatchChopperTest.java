@@ -0,0 +1,177 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.sdg.SDGInstruction;
+import edu.kit.joana.api.sdg.SDGMethod;
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.api.sdg.SDGProgramPart;
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.chopper.BatchChopper;
+import edu.kit.joana.ifc.sdg.graph.chopper.Chopper;
+import edu.kit.joana.ifc.sdg.graph.chopper.ChoppingCriterion;
+import edu.kit.joana.ifc.sdg.graph.chopper.InsensitiveIntersectionChopper;
+import edu.kit.joana.ifc.sdg.graph.chopper.NonSameLevelChopper;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerForward;
+import edu.kit.joana.ifc.sdg.util.JavaMethodSignature;
+import edu.kit.joana.util.Pair;
+
+/**
+ * Checks that {@link BatchChopper} yields the same chops as the corresponding single choppers, and that
+ * restricting a chopper to the intersection of the slices does not change its chops.
+ */
+public class BatchChopperTest {
+
+	private static final int NUMBER_OF_ENDPOINTS = 8;
+
+	@Test
+	public void testBatchMatchesSingleChops() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		for (final Program p : Program.values()) {
+			testBatchMatchesSingleChops(SharedSDGs.getSDG(p));
+		}
+	}
+
+	@Test
+	public void testSubgraphChopMatchesChop() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		for (final Program p : Program.values()) {
+			if (p != Program.CONCURRENT) {
+				testSubgraphChopMatchesChop(SharedSDGs.getSDG(p));
+			}
+		}
+	}
+
+	@Test
+	public void testInstructionChops() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDGProgram program = SharedSDGs.getProgram(Program.SEQUENTIAL);
+		final List<SDGProgramPart> parts = mainInstructions(program);
+
+		final Map<Pair<SDGProgramPart, SDGProgramPart>, Set<SDGInstruction>> chops =
+				program.computeInstructionChops(parts, parts, 4);
+		final Iterator<Pair<SDGProgramPart, SDGProgramPart>> keys = chops.keySet().iterator();
+		for (final SDGProgramPart source : parts) {
+			for (final SDGProgramPart sink : parts) {
+				final Pair<SDGProgramPart, SDGProgramPart> key = keys.next();
+				assertEquals(Pair.pair(source, sink), key);
+				assertEquals(program.computeInstructionChop(source, sink), chops.get(key));
+			}
+		}
+		assertFalse(keys.hasNext());
+	}
+
+	@Test
+	public void testInstructionChopListener() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDGProgram program = SharedSDGs.getProgram(Program.SEQUENTIAL);
+		final List<SDGProgramPart> parts = mainInstructions(program);
+
+		final Map<Pair<SDGProgramPart, SDGProgramPart>, Set<SDGInstruction>> chops = new ConcurrentHashMap<>();
+		program.computeInstructionChops(parts, parts, 4,
+				(source, sink, chop) -> assertNull(chops.put(Pair.pair(source, sink), chop)));
+
+		assertEquals(parts.size() * parts.size(), chops.size());
+		for (final SDGProgramPart source : parts) {
+			for (final SDGProgramPart sink : parts) {
+				assertEquals(program.computeInstructionChop(source, sink), chops.get(Pair.pair(source, sink)));
+			}
+		}
+	}
+
+	private static List<SDGProgramPart> mainInstructions(final SDGProgram program) {
+		final List<SDGProgramPart> parts = new ArrayList<>();
+		for (final SDGMethod m : program.getMethods(
+				JavaMethodSignature.mainMethodOfClass(Program.SEQUENTIAL.getProgramClass().getName()))) {
+			for (final SDGInstruction i : m.getInstructions()) {
+				if (parts.size() < NUMBER_OF_ENDPOINTS) {
+					parts.add(i);
+				}
+			}
+		}
+		assertFalse(parts.isEmpty());
+		return parts;
+	}
+
+	private static List<SDGNode> endpoints(final SDG sdg) {
+		final List<SDGNode> endpoints = new ArrayList<>();
+		for (final SDGNode n : sdg.vertexSet()) {
+			if (n.getKind() == SDGNode.Kind.EXPRESSION || n.getKind() == SDGNode.Kind.CALL) {
+				endpoints.add(n);
+			}
+			if (endpoints.size() == NUMBER_OF_ENDPOINTS) {
+				break;
+			}
+		}
+		return endpoints;
+	}
+
+	private static void testSubgraphChopMatchesChop(final SDG sdg) {
+		final Chopper chopper = new NonSameLevelChopper(sdg);
+		final SummarySlicerForward forward = new SummarySlicerForward(sdg);
+		final SummarySlicerBackward backward = new SummarySlicerBackward(sdg);
+		for (final SDGNode source : endpoints(sdg)) {
+			for (final SDGNode target : endpoints(sdg)) {
+				final Set<SDGNode> sub = new HashSet<>(forward.slice(source));
+				sub.retainAll(backward.slice(target));
+				assertEquals(new HashSet<>(chopper.chop(source, target)),
+						new HashSet<>(chopper.subgraphChop(Collections.singleton(source),
+								Collections.singleton(target), sub)));
+			}
+		}
+	}
+
+	private static void testBatchMatchesSingleChops(final SDG sdg) {
+		final List<SDGNode> endpoints = endpoints(sdg);
+		final List<ChoppingCriterion> criteria = new ArrayList<>();
+		for (final SDGNode source : endpoints) {
+			for (final SDGNode target : endpoints) {
+				criteria.add(new ChoppingCriterion(source, target));
+			}
+		}
+
+		for (final int parallelism : new int[] { 1, 4 }) {
+			check(criteria, new BatchChopper(sdg, parallelism), new InsensitiveIntersectionChopper(sdg));
+			check(criteria, new BatchChopper(sdg, NonSameLevelChopper::new, parallelism), new NonSameLevelChopper(sdg));
+		}
+	}
+
+	private static void check(final List<ChoppingCriterion> criteria, final BatchChopper batch, final Chopper single) {
+		final Map<Integer, Set<SDGNode>> chops = new ConcurrentHashMap<>();
+		batch.chop(criteria, (index, criterion, chop) -> assertNull(chops.put(index, new HashSet<>(chop))));
+
+		assertEquals(criteria.size(), chops.size());
+		for (int i = 0; i < criteria.size(); i++) {
+			assertEquals(new HashSet<>(single.chop(criteria.get(i))), chops.get(i));
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.CallSiteIndex;
+import edu.kit.joana.ifc.sdg.graph.CallSiteIndex.Relation;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.SDGNodeTuple;
+
+/**
+ * Checks that {@link CallSiteIndex}, and the methods of {@link SDG} which use it, answer like the edge scans of
+ * {@link SDG} without an index.
+ */
+public class CallSiteIndexTest {
+
+	/** the answers of the SDG without a valid index */
+	private static final class Expected {
+		private final Map<SDGNode, SDGNode> callSite = new HashMap<>();
+		private final Map<Relation, Map<SDGNode, List<SDGNode>>> related = new EnumMap<>(Relation.class);
+		/** call node -> formal node -> actual node of that call */
+		private final Map<SDGNode, Map<SDGNode, SDGNode>> actual = new HashMap<>();
+		/** actual-in or call node -> actual-out node -> formal pairs */
+		private final Map<SDGNode, Map<SDGNode, List<SDGNodeTuple>>> formalPairs = new HashMap<>();
+	}
+
+	private static List<SDGNode> related(CallSiteIndex index, Relation r, SDGNode n) {
+		final List<SDGNode> result = new ArrayList<>();
+		for (int i = 0; i < index.size(r, n); i++) {
+			result.add(index.get(r, n, i));
+		}
+		return result;
+	}
+
+	private static List<SDGNode> related(SDG sdg, Relation r, SDGNode n) {
+		switch (r) {
+		case FORMAL_INS:
+			return new ArrayList<>(sdg.getFormalIns(n));
+		case ACTUAL_INS:
+			return new ArrayList<>(sdg.getActualIns(n));
+		case FORMAL_OUTS:
+			return new ArrayList<>(sdg.getFormalOuts(n));
+		case ACTUAL_OUTS:
+			return new ArrayList<>(sdg.getActualOuts(n));
+		case TARGETS:
+			return new ArrayList<>(sdg.getPossibleTargets(n));
+		case CALLERS:
+			return new ArrayList<>(sdg.getCallers(n));
+		default:
+			throw new IllegalArgumentException(r.toString());
+		}
+	}
+
+	/**
+	 * Makes an index built before invalid, without modifying the graph in the end.
+	 */
+	private static void invalidateIndex(SDG sdg) {
+		final SDGNode root = sdg.getRoot();
+		final SDGEdge help = SDGEdge.Kind.HELP.newEdge(root, root);
+		sdg.addEdge(help);
+		sdg.removeEdge(help);
+	}
+
+	private static Expected expected(SDG sdg) {
+		final Expected expected = new Expected();
+		final Map<SDGNode, List<SDGNode>> actualsOfCall = new HashMap<>();
+		for (final SDGNode n : sdg.vertexSet()) {
+			switch (n.getKind()) {
+			case CALL:
+			case ACTUAL_IN:
+			case ACTUAL_OUT:
+				final SDGNode call = sdg.getCallSiteFor(n);
+				expected.callSite.put(n, call);
+				actualsOfCall.computeIfAbsent(call, c -> new LinkedList<>()).add(n);
+				break;
+			default:
+				break;
+			}
+			for (final Relation r : Relation.values()) {
+				expected.related.computeIfAbsent(r, k -> new HashMap<>()).put(n, related(sdg, r, n));
+			}
+		}
+
+		for (final SDGNode n : sdg.vertexSet()) {
+			if (n.getKind() == SDGNode.Kind.FORMAL_IN || n.getKind() == SDGNode.Kind.FORMAL_OUT) {
+				for (final SDGNode call : sdg.getCallers(sdg.getEntry(n))) {
+					expected.actual.computeIfAbsent(call, c -> new HashMap<>()).put(n,
+							n.getKind() == SDGNode.Kind.FORMAL_IN ? sdg.getActualIn(call, n) : sdg.getActualOut(call, n));
+				}
+			}
+		}
+
+		for (final List<SDGNode> actuals : actualsOfCall.values()) {
+			for (final SDGNode in : actuals) {
+				if (in.getKind() == SDGNode.Kind.ACTUAL_OUT) {
+					continue;
+				}
+				for (final SDGNode out : actuals) {
+					if (out.getKind() == SDGNode.Kind.ACTUAL_OUT) {
+						expected.formalPairs.computeIfAbsent(in, k -> new HashMap<>()).put(out,
+								new ArrayList<>(sdg.getAllFormalPairs(in, out)));
+					}
+				}
+			}
+		}
+
+		return expected;
+	}
+
+	@Test
+	public void testSameAsSDG() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		for (final Program p : Program.values()) {
+			testSameAsSDG(SharedSDGs.getSDG(p));
+		}
+	}
+
+	private static void testSameAsSDG(SDG sdg) {
+		// another test may have built the index already
+		invalidateIndex(sdg);
+		final Expected expected = expected(sdg);
+
+		final CallSiteIndex index = sdg.getCallSiteIndex();
+		assertTrue(index.isValid());
+		assertSame(index, sdg.getCallSiteIndex());
+
+		for (final Map.Entry<SDGNode, SDGNode> e : expected.callSite.entrySet()) {
+			assertSame(e.getValue(), index.getCallSite(e.getKey()));
+			assertSame(e.getValue(), sdg.getCallSiteFor(e.getKey()));
+		}
+		for (final SDGNode n : sdg.vertexSet()) {
+			for (final Relation r : Relation.values()) {
+				final List<SDGNode> rel = expected.related.get(r).get(n);
+				assertEquals(rel, related(index, r, n));
+				assertEquals(rel, related(sdg, r, n));
+			}
+		}
+		for (final Map.Entry<SDGNode, Map<SDGNode, SDGNode>> byCall : expected.actual.entrySet()) {
+			final SDGNode call = byCall.getKey();
+			for (final Map.Entry<SDGNode, SDGNode> e : byCall.getValue().entrySet()) {
+				final SDGNode formal = e.getKey();
+				if (formal.getKind() == SDGNode.Kind.FORMAL_IN) {
+					assertSame(e.getValue(), index.getActualIn(call, formal));
+					assertSame(e.getValue(), sdg.getActualIn(call, formal));
+				} else {
+					assertSame(e.getValue(), index.getActualOut(call, formal));
+					assertSame(e.getValue(), sdg.getActualOut(call, formal));
+				}
+			}
+		}
+		for (final Map.Entry<SDGNode, Map<SDGNode, List<SDGNodeTuple>>> byIn : expected.formalPairs.entrySet()) {
+			for (final Map.Entry<SDGNode, List<SDGNodeTuple>> e : byIn.getValue().entrySet()) {
+				assertEquals(e.getValue(), new ArrayList<>(sdg.getAllFormalPairs(byIn.getKey(), e.getKey())));
+			}
+		}
+		assertTrue(index.isValid());
+	}
+
+	@Test
+	public void testInvalidatedByModification() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.SEQUENTIAL);
+		final CallSiteIndex index = sdg.getCallSiteIndex();
+		final SDGNode root = sdg.getRoot();
+		final SDGEdge help = SDGEdge.Kind.HELP.newEdge(root, root);
+		sdg.addEdge(help);
+		assertFalse(index.isValid());
+
+		final CallSiteIndex rebuilt = sdg.getCallSiteIndex();
+		assertNotSame(index, rebuilt);
+		assertTrue(rebuilt.isValid());
+
+		sdg.removeEdge(help);
+		assertFalse(rebuilt.isValid());
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.slicer.Slicer;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerForward;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.BitParallelSummarySlicer;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledI2PBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledI2PForward;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledSummarySlicerBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledSummarySlicerForward;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.ReachabilityMatrix;
+import edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PForward;
+
+/**
+ * Checks that the slicers running on a {@link CompiledSDG} compute the same slices as their SDG-based counterparts,
+ * including the batches of the {@link BitParallelSummarySlicer}, and that a compiled view notices modifications of
+ * its graph.
+ */
+public class CompiledSlicerTest {
+
+	private static void testSlicers(Program p) throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(p);
+		final CompiledSDG compiled = new CompiledSDG(sdg);
+		assertEquals(sdg.vertexSet().size(), compiled.numberOfNodes());
+		assertEquals(sdg.edgeSet().size(), compiled.numberOfEdges());
+
+		compare(sdg, new SummarySlicerBackward(sdg), new CompiledSummarySlicerBackward(compiled));
+		compare(sdg, new SummarySlicerForward(sdg), new CompiledSummarySlicerForward(compiled));
+		compare(sdg, new I2PBackward(sdg), new CompiledI2PBackward(compiled));
+		compare(sdg, new I2PForward(sdg), new CompiledI2PForward(compiled));
+
+		// one word per node, so the batches of the bit-parallel slicer need several passes
+		compareBatch(compiled, new SummarySlicerBackward(sdg),
+				new BitParallelSummarySlicer(new CompiledSummarySlicerBackward(compiled), 1));
+		compareBatch(compiled, new SummarySlicerForward(sdg),
+				new BitParallelSummarySlicer(new CompiledSummarySlicerForward(compiled), 1));
+	}
+
+	private static void compare(SDG sdg, Slicer expected, Slicer actual) {
+		for (SDGNode n : sdg.vertexSet()) {
+			assertEquals(new HashSet<SDGNode>(expected.slice(n)), new HashSet<SDGNode>(actual.slice(n)));
+		}
+	}
+
+	private static void compareBatch(CompiledSDG compiled, Slicer expected, BitParallelSummarySlicer actual) {
+		final int[] rows = new int[compiled.numberOfNodes()];
+		final List<SDGNode> nodes = new ArrayList<SDGNode>(rows.length);
+		for (int row = 0; row < rows.length; row++) {
+			rows[row] = row;
+			nodes.add(compiled.getNode(row));
+		}
+
+		final BitSet[] slices = actual.sliceEach(rows);
+		final List<SDGNode> targets = nodes.subList(0, Math.min(100, nodes.size()));
+		final ReachabilityMatrix matrix = actual.reachability(nodes, targets);
+		for (int row = 0; row < rows.length; row++) {
+			// the bit-parallel slices may be larger than the summary slices, see BitParallelSummarySlicer
+			final Collection<SDGNode> slice = expected.slice(nodes.get(row));
+			final Set<SDGNode> batch = compiled.toNodeSet(slices[row]);
+			assertTrue(batch.containsAll(slice));
+			assertEquals(new HashSet<SDGNode>(actual.slice(nodes.get(row))), batch);
+			for (int t = 0; t < targets.size(); t++) {
+				assertEquals(batch.contains(targets.get(t)), matrix.reaches(row, t));
+			}
+		}
+		assertTrue(matrix.cardinality() >= targets.size());
+	}
+
+	@Test
+	public void testSlicers() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		for (final Program p : Program.values()) {
+			testSlicers(p);
+		}
+	}
+
+	@Test
+	public void testInvalidatedByModification() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.SEQUENTIAL);
+		final CompiledSDG compiled = new CompiledSDG(sdg);
+		assertTrue(compiled.isValid());
+
+		final SDGNode root = sdg.getRoot();
+		final SDGEdge help = SDGEdge.Kind.HELP.newEdge(root, root);
+		sdg.addEdge(help);
+		assertFalse(compiled.isValid());
+
+		final CompiledSDG recompiled = new CompiledSDG(sdg);
+		assertTrue(recompiled.isValid());
+		assertEquals(compiled.numberOfEdges() + 1, recompiled.numberOfEdges());
+
+		sdg.removeEdge(help);
+		assertFalse(compiled.isValid());
+		assertFalse(recompiled.isValid());
+	}
+}
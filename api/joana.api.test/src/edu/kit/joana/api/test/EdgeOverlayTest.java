@@ -0,0 +1,150 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.EdgeOverlay;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.conc.nanda.Nanda;
+import edu.kit.joana.ifc.sdg.graph.slicer.conc.nanda.NandaBackward;
+
+/**
+ * Checks that the slicers which take an {@link EdgeOverlay} compute the same slices as on a graph which contains the
+ * edges of the overlay, without modifying the graph.
+ */
+public class EdgeOverlayTest {
+
+	/**
+	 * Returns a data dependence from a node which is not in the backward slice of the target to the target,
+	 * both in the same procedure.
+	 */
+	private static SDGEdge newDependence(SDG sdg, SDGNode target) {
+		final Collection<SDGNode> slice = new I2PBackward(sdg).slice(target);
+		for (final SDGNode n : sdg.vertexSet()) {
+			if (n.getProc() == target.getProc() && !slice.contains(n)) {
+				return SDGEdge.Kind.DATA_DEP.newEdge(n, target);
+			}
+		}
+
+		return null;
+	}
+
+	private static List<SDGNode> targets(SDG sdg) {
+		final List<SDGNode> targets = new ArrayList<>();
+		for (final SDGNode n : sdg.vertexSet()) {
+			if (n.getKind() == SDGNode.Kind.EXPRESSION && n.getProc() == sdg.getRoot().getProc()) {
+				targets.add(n);
+			}
+		}
+
+		return targets;
+	}
+
+	@Test
+	public void testAddEdge() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.SEQUENTIAL);
+		final int edges = sdg.edgeSet().size();
+		final EdgeOverlay overlay = new EdgeOverlay(sdg);
+
+		final SDGEdge existing = sdg.edgeSet().iterator().next();
+		assertFalse(overlay.addEdge(existing));
+
+		final SDGNode target = targets(sdg).get(0);
+		final SDGEdge added = newDependence(sdg, target);
+		assertNotNull(added);
+		assertTrue(overlay.addEdge(added));
+		assertFalse(overlay.addEdge(SDGEdge.Kind.DATA_DEP.newEdge(added.getSource(), added.getTarget())));
+		assertEquals(1, overlay.size());
+
+		assertTrue(overlay.incomingEdgesOf(target).containsAll(sdg.incomingEdgesOf(target)));
+		assertTrue(overlay.incomingEdgesOf(target).contains(added));
+		assertTrue(overlay.outgoingEdgesOf(added.getSource()).contains(added));
+		assertTrue(overlay.getIncomingEdgesOfKind(target, SDGEdge.Kind.DATA_DEP).contains(added));
+		assertFalse(sdg.containsEdge(added));
+		assertEquals(edges, sdg.edgeSet().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testForeignNode() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.SEQUENTIAL);
+		final SDGNode foreign = SharedSDGs.getSDG(Program.RECURSIVE).getRoot();
+		new EdgeOverlay(sdg).addEdge(SDGEdge.Kind.DATA_DEP.newEdge(foreign, sdg.getRoot()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testI2POnOtherGraph() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		new I2PBackward(SharedSDGs.getSDG(Program.SEQUENTIAL), new EdgeOverlay(SharedSDGs.getSDG(Program.RECURSIVE)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNandaOnOtherGraph() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		new Nanda(SharedSDGs.getSDG(Program.CONCURRENT),
+				new NandaBackward(new EdgeOverlay(SharedSDGs.getSDG(Program.SEQUENTIAL))));
+	}
+
+	@Test
+	public void testSequential() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		testSlicers(SharedSDGs.getSDG(Program.SEQUENTIAL));
+	}
+
+	@Test
+	public void testConcurrent() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		testSlicers(SharedSDGs.getSDG(Program.CONCURRENT));
+	}
+
+	private static void testSlicers(SDG sdg) {
+		final int edges = sdg.edgeSet().size();
+		for (final SDGNode target : targets(sdg)) {
+			final SDGEdge added = newDependence(sdg, target);
+			if (added == null) {
+				continue;
+			}
+			final EdgeOverlay overlay = new EdgeOverlay(sdg);
+			assertTrue(overlay.addEdge(added));
+
+			final Set<SDGNode> i2p = new HashSet<>(new I2PBackward(sdg, overlay).slice(target));
+			final Set<SDGNode> nanda = new HashSet<>(new Nanda(sdg, new NandaBackward(overlay)).slice(target));
+			assertEquals(edges, sdg.edgeSet().size());
+			assertTrue(i2p.contains(added.getSource()));
+
+			// the same slices on the graph with the edge, which is removed again afterwards
+			sdg.addEdge(added);
+			try {
+				assertEquals(new HashSet<>(new I2PBackward(sdg).slice(target)), i2p);
+				assertEquals(new HashSet<>(new Nanda(sdg, new NandaBackward()).slice(target)), nanda);
+			} finally {
+				sdg.removeEdge(added);
+			}
+		}
+		assertEquals(edges, sdg.edgeSet().size());
+	}
+}
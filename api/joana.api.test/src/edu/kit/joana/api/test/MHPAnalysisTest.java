@@ -11,7 +11,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -24,6 +26,7 @@ import edu.kit.joana.ifc.sdg.graph.SDGNode;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.MHPAnalysis;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.PreciseMHPAnalysis;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.SimpleMHPAnalysis;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadRegion;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadsInformation.ThreadInstance;
 import edu.kit.joana.ifc.sdg.util.graph.ThreadInformationUtil;
 import edu.kit.joana.util.Pair;
@@ -630,6 +633,48 @@ public class MHPAnalysisTest {
 		return (SDGNode) statements.toArray()[0];
 	}
 	
+	@Test
+	public void testParallelComputation() {
+		for (String key : new String[] { "branched-spawn", "dynamic-spawn", "fork-join-chain", "other-thread-joins-indirect" }) {
+			SDG sdg = buildOrLoad(key);
+			PreciseMHPAnalysis sequential = PreciseMHPAnalysis.analyze(sdg, 1);
+			PreciseMHPAnalysis parallel = PreciseMHPAnalysis.analyze(sdg, 4);
+			Assert.assertEquals(sequential.getThreadRegions().size(), parallel.getThreadRegions().size());
+			for (ThreadRegion r : sequential.getThreadRegions()) {
+				Set<Integer> parallelTo = new HashSet<Integer>();
+				for (ThreadRegion s : parallel.parallelTo(parallel.getThreadRegion(r.getID()))) {
+					parallelTo.add(s.getID());
+				}
+				for (ThreadRegion s : sequential.getThreadRegions()) {
+					Assert.assertEquals(sequential.isParallel(r, s),
+							parallel.isParallel(parallel.getThreadRegion(r.getID()), parallel.getThreadRegion(s.getID())));
+					Assert.assertEquals(sequential.isParallel(r, s), parallelTo.contains(s.getID()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStartNodeMatrix() {
+		for (String key : new String[] { "branched-spawn", "dynamic-spawn", "fork-join-chain", "other-thread-joins-indirect" }) {
+			SDG sdg = buildOrLoad(key);
+			PreciseMHPAnalysis regions = PreciseMHPAnalysis.analyze(sdg, 1);
+			PreciseMHPAnalysis startNodes = PreciseMHPAnalysis.analyze(sdg, 1, true);
+			Assert.assertEquals(regions.getThreadRegions().size(), startNodes.getThreadRegions().size());
+			for (ThreadRegion r : regions.getThreadRegions()) {
+				Set<Integer> parallelTo = new HashSet<Integer>();
+				for (ThreadRegion s : startNodes.parallelTo(startNodes.getThreadRegion(r.getID()))) {
+					parallelTo.add(s.getID());
+				}
+				for (ThreadRegion s : regions.getThreadRegions()) {
+					Assert.assertEquals(regions.isParallel(r, s),
+							startNodes.isParallel(startNodes.getThreadRegion(r.getID()), startNodes.getThreadRegion(s.getID())));
+					Assert.assertEquals(regions.isParallel(r, s), parallelTo.contains(s.getID()));
+				}
+			}
+		}
+	}
+
 	private static class TestData {
 
 		private final String mainClass;
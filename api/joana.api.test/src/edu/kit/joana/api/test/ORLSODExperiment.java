@@ -36,6 +36,7 @@ import edu.kit.joana.ifc.sdg.graph.SDGNode;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.CFG;
 import edu.kit.joana.ifc.sdg.irlsod.PredProbInfComputer;
 import edu.kit.joana.ifc.sdg.irlsod.ORLSODChecker;
+import edu.kit.joana.ifc.sdg.irlsod.OptORLSODChecker;
 import edu.kit.joana.ifc.sdg.irlsod.PathBasedORLSODChecker;
 import edu.kit.joana.ifc.sdg.irlsod.PredecessorMethod;
 import edu.kit.joana.ifc.sdg.irlsod.ProbInfComputer;
@@ -163,6 +164,9 @@ public class ORLSODExperiment {
 		final ORLSODChecker<String> checkerEdge = new ORLSODChecker<String>(sdg, BuiltinLattices.getBinaryLattice(),
 				userAnn, probInf, PredecessorMethod.EDGE);
 		Assert.assertEquals(noViosPath, checkerEdge.checkIFlow().size());
+		final ORLSODChecker<String> checkerOpt = new OptORLSODChecker<String>(sdg, BuiltinLattices.getBinaryLattice(),
+				userAnn, probInf);
+		Assert.assertEquals(noViosPath, checkerOpt.checkIFlow().size());
 
 	}
 
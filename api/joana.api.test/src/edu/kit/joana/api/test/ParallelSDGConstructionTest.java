@@ -0,0 +1,94 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.sdg.SDGConfig;
+import edu.kit.joana.api.test.util.BuildSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.SDGSerializer;
+
+/**
+ * Checks that the parallel phases of the SDG construction result in the same SDG as the sequential construction.
+ */
+public class ParallelSDGConstructionTest {
+
+	private static SDG build(Class<?> clazz, SDGConfig config, boolean parallel, int parallelism)
+			throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		final boolean wasParallel = config.isParallel();
+		final int oldParallelism = config.getParallelism();
+		config.setParallel(parallel);
+		config.setParallelism(parallelism);
+		try {
+			return BuildSDG.build(clazz, config, false).getProgram().getSDG();
+		} finally {
+			config.setParallel(wasParallel);
+			config.setParallelism(oldParallelism);
+		}
+	}
+
+	/**
+	 * @return call node id -> ids of the entry nodes of its possible targets
+	 */
+	private static Map<Integer, Set<Integer>> targets(SDG sdg) {
+		final Map<Integer, Set<Integer>> targets = new TreeMap<>();
+		for (final SDGNode n : sdg.vertexSet()) {
+			if (n.getKind() == SDGNode.Kind.CALL) {
+				final Set<Integer> entries = new TreeSet<>();
+				for (final SDGNode entry : sdg.getPossibleTargets(n)) {
+					entries.add(entry.getId());
+				}
+				targets.put(n.getId(), entries);
+			}
+		}
+
+		return targets;
+	}
+
+	private static void testSameSDG(Class<?> clazz, SDGConfig config) throws ClassHierarchyException, IOException,
+			UnsoundGraphException, CancelException {
+		final SDG sequential = build(clazz, config, false, 1);
+		final SDG parallel = build(clazz, config, true, 4);
+		assertEquals(targets(sequential), targets(parallel));
+		assertEquals(SDGSerializer.toPDGFormat(sequential), SDGSerializer.toPDGFormat(parallel));
+	}
+
+	@Test
+	public void testSequential() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		testSameSDG(joana.api.testdata.toy.pw.PasswordFile.class, BuildSDG.top_sequential);
+	}
+
+	@Test
+	public void testRecursive() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		testSameSDG(joana.api.testdata.toy.rec.MyList.class, BuildSDG.top_sequential);
+	}
+
+	@Test
+	public void testPolymorphic() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		testSameSDG(joana.api.testdata.toy.ddisp.DynamicDispatch1.class, BuildSDG.top_sequential);
+	}
+
+	@Test
+	public void testConcurrent() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		testSameSDG(joana.api.testdata.conc.SimpleThreadSpawning.class, BuildSDG.top_concurrent);
+	}
+}
@@ -0,0 +1,68 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.kit.joana.api.IFCAnalysis;
+import edu.kit.joana.api.test.util.ApiTestException;
+import edu.kit.joana.ifc.sdg.core.ParallelSlicingBasedIFC;
+import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.violations.IViolation;
+
+/**
+ * Checks that slicing the endpoints of a classical non-interference check in parallel
+ * ({@link ParallelSlicingBasedIFC}) reports the same violations in the same order as the sequential check.
+ */
+public class ParallelSlicingIFCTest {
+
+	private static void testSameViolations(IFCAnalysis ana, int leaks) {
+		ana.setSlicingParallelism(1);
+		final List<IViolation<SecurityNode>> sequential = new ArrayList<IViolation<SecurityNode>>(ana.doIFC());
+		assertEquals(leaks, sequential.size());
+
+		for (int threads : new int[] { 2, 4 }) {
+			ana.setSlicingParallelism(threads);
+			final Collection<? extends IViolation<SecurityNode>> parallel = ana.doIFC();
+			assertEquals(sequential, new ArrayList<IViolation<SecurityNode>>(parallel));
+		}
+	}
+
+	@Test
+	public void testPraktomatLeak() {
+		try {
+			IFCAnalysis ana = FullIFCSequentialTest.buildAndAnnotate("sequential.PraktomatLeak",
+					"sequential.PraktomatLeak$Submission.matrNr",
+					"sequential.PraktomatLeak$Review.failures");
+			testSameViolations(ana, 8);
+		} catch (ApiTestException e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testPraktomatValid() {
+		try {
+			IFCAnalysis ana = FullIFCSequentialTest.buildAndAnnotate("sequential.PraktomatValid",
+					"sequential.PraktomatValid$Submission.matrNr",
+					"sequential.PraktomatValid$Review.failures");
+			testSameViolations(ana, 0);
+		} catch (ApiTestException e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+
+/**
+ * Checks the entry and exit lookup of {@link SDG}, also when used by several threads at once.
+ */
+public class ProcedureNodeLookupTest {
+
+	@Test
+	public void testConcurrentLookup() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		for (final Program p : Program.values()) {
+			testConcurrentLookup(SharedSDGs.getSDG(p));
+		}
+	}
+
+	private static void testConcurrentLookup(final SDG sdg) {
+		final List<SDGNode> nodes = new ArrayList<>(sdg.vertexSet());
+
+		for (final SDGNode n : nodes) {
+			final SDGNode entry = sdg.getEntry(n);
+			assertNotNull(entry);
+			assertEquals(SDGNode.Kind.ENTRY, entry.getKind());
+			assertEquals(n.getProc(), entry.getProc());
+			final SDGNode exit = sdg.getExit(n);
+			if (exit != null) {
+				assertEquals(SDGNode.Kind.EXIT, exit.getKind());
+				assertEquals(n.getProc(), exit.getProc());
+			}
+		}
+
+		assertTrue(nodes.parallelStream().allMatch(n -> {
+			final SDGNode entry = sdg.getEntry(n);
+			for (final SDGEdge e : sdg.getOutgoingEdgesOfKind(entry, SDGEdge.Kind.CONTROL_FLOW)) {
+				if (e.getTarget().getKind() == SDGNode.Kind.EXIT && e.getTarget() != sdg.getExit(n)) {
+					return false;
+				}
+			}
+			return entry.getProc() == n.getProc();
+		}));
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.api.sdg.SDGProgramPart;
+import edu.kit.joana.api.sdg.SDGProgramPartIndex;
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+
+/**
+ * Checks that {@link SDGProgramPartIndex} yields the same program parts as
+ * {@link SDGProgram#findCoveringProgramPart(SDGNode)} without an index.
+ */
+public class ProgramPartIndexTest {
+
+	@Test
+	public void testIndexMatchesLookup() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		for (final Program p : Program.values()) {
+			testIndexMatchesLookup(SharedSDGs.getProgram(p));
+		}
+	}
+
+	/**
+	 * Makes an index built before invalid, without modifying the graph in the end.
+	 */
+	private static void invalidateIndex(SDG sdg) {
+		final SDGNode root = sdg.getRoot();
+		final SDGEdge help = SDGEdge.Kind.HELP.newEdge(root, root);
+		sdg.addEdge(help);
+		sdg.removeEdge(help);
+	}
+
+	private static void testIndexMatchesLookup(final SDGProgram program) {
+		// another test may have built the index already
+		invalidateIndex(program.getSDG());
+		final Map<SDGNode, SDGProgramPart> expected = new HashMap<>();
+		for (final SDGNode n : program.getSDG().vertexSet()) {
+			expected.put(n, program.findCoveringProgramPart(n));
+		}
+
+		for (final int parallelism : new int[] { 1, 4 }) {
+			final SDGProgramPartIndex index = program.getProgramPartIndex(parallelism);
+			assertTrue(index.isValid());
+			for (final SDGNode n : program.getSDG().vertexSet()) {
+				assertTrue(index.contains(n));
+				assertEquals(expected.get(n), index.getCoveringProgramPart(n));
+				assertEquals(expected.get(n), program.findCoveringProgramPart(n));
+			}
+			assertSame(index, program.getProgramPartIndex());
+
+			// the next iteration rebuilds the index
+			invalidateIndex(program.getSDG());
+			assertFalse(index.isValid());
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.slicer.conc.krinke.Krinke;
+import edu.kit.joana.ifc.sdg.graph.slicer.conc.krinke.ReachabilityCache;
+
+/**
+ * Checks that the slices of {@link Krinke} do not depend on the results its {@link ReachabilityCache} kept from
+ * earlier slices.
+ */
+@SuppressWarnings("deprecation")
+public class ReachabilityCacheTest {
+
+	/** maximal number of criteria, Krinke's slicer is slow */
+	private static final int CRITERIA = 20;
+
+	/**
+	 * Returns the end points of interference edges, for these the slicer checks the reachability of contexts.
+	 */
+	private static List<SDGNode> criteria(SDG sdg) {
+		final Set<SDGNode> criteria = new TreeSet<>(SDGNode.getIDComparator());
+		for (final SDGEdge e : sdg.edgeSet()) {
+			if (e.getKind().isThreadEdge()) {
+				criteria.add(e.getSource());
+				criteria.add(e.getTarget());
+			}
+		}
+
+		final List<SDGNode> result = new ArrayList<>(criteria);
+		return result.size() > CRITERIA ? result.subList(0, CRITERIA) : result;
+	}
+
+	@Test
+	public void testWarmCache() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.CONCURRENT);
+		final List<SDGNode> criteria = criteria(sdg);
+		assertFalse(criteria.isEmpty());
+
+		// each slice with a cache of its own
+		final List<Set<SDGNode>> expected = new ArrayList<>();
+		for (final SDGNode c : criteria) {
+			expected.add(new HashSet<>(new Krinke(sdg).slice(c)));
+		}
+
+		// all slices with the same cache, filled by the slices before
+		final Krinke shared = new Krinke(sdg);
+		for (final SDGNode c : criteria) {
+			shared.slice(c);
+		}
+		final List<Set<SDGNode>> warm = new ArrayList<>();
+		for (int i = criteria.size() - 1; i >= 0; i--) {
+			warm.add(new HashSet<>(shared.slice(criteria.get(i))));
+		}
+		Collections.reverse(warm);
+
+		assertEquals(expected, warm);
+	}
+}
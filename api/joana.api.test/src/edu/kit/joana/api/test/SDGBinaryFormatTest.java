@@ -0,0 +1,146 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.BuildSDG;
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.PagedSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGBinaryParser;
+import edu.kit.joana.ifc.sdg.graph.SDGBinarySerializer;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.SDGSerializer;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerBackward;
+
+/**
+ * Checks that SDGs written in the binary format are read back unchanged, also if they are read as {@link PagedSDG},
+ * and that truncated or corrupt files are rejected.
+ */
+public class SDGBinaryFormatTest {
+
+	private static void testRoundTrip(Program p) throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(p);
+		final File file = File.createTempFile(p.getProgramClass().getSimpleName(), ".bsdg");
+		file.deleteOnExit();
+
+		SDGBinarySerializer.toBinaryFormat(sdg, file.getAbsolutePath());
+		assertTrue(SDGBinaryParser.isBinaryFormat(file.getAbsolutePath()));
+
+		final SDG read = SDG.readFromBinary(file.getAbsolutePath());
+		assertEquals(sdg.vertexSet(), read.vertexSet());
+		assertEquals(sdg.edgeSet().size(), read.edgeSet().size());
+		assertEquals(SDGSerializer.toPDGFormat(sdg), SDGSerializer.toPDGFormat(read));
+
+		testPaged(sdg, file);
+	}
+
+	private static void testPaged(SDG sdg, File file) throws IOException {
+		final PagedSDG paged = SDG.readFromBinaryPaged(file.getAbsolutePath(), null, 2);
+		assertEquals(sdg.vertexSet(), paged.vertexSet());
+		assertEquals(0, paged.getNumberOfLoads());
+
+		final SummarySlicerBackward slicer = new SummarySlicerBackward(sdg);
+		final SummarySlicerBackward pagedSlicer = new SummarySlicerBackward(paged);
+		int i = 0;
+		for (SDGNode n : sdg.vertexSet()) {
+			final SDGNode p = paged.getNode(n.getId());
+			assertEquals(new HashSet<SDGEdge>(sdg.incomingEdgesOf(n)), new HashSet<SDGEdge>(paged.incomingEdgesOf(p)));
+			assertEquals(new HashSet<SDGEdge>(sdg.outgoingEdgesOf(n)), new HashSet<SDGEdge>(paged.outgoingEdgesOf(p)));
+			assertTrue(paged.getNumberOfResidentProcedures() <= paged.getMaxResidentProcedures());
+			if (i++ % 50 == 0) {
+				assertEquals(new HashSet<SDGNode>(slicer.slice(n)), new HashSet<SDGNode>(pagedSlicer.slice(p)));
+			}
+		}
+		assertEquals(sdg.edgeSet().size(), paged.edgeSet().size());
+	}
+
+	@Test
+	public void testRoundTrip() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		for (final Program p : Program.values()) {
+			testRoundTrip(p);
+		}
+	}
+
+	@Test
+	public void testTruncatedFile() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final byte[] bytes = binary(SharedSDGs.getSDG(Program.SEQUENTIAL));
+		// inside the header, the size of the string section, the string section and the last section
+		for (final int length : new int[] { 12, 22, 30, bytes.length / 2, bytes.length - 1 }) {
+			assertUnreadable(Arrays.copyOf(bytes, length));
+		}
+	}
+
+	@Test
+	public void testCorruptFile() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final byte[] bytes = binary(SharedSDGs.getSDG(Program.SEQUENTIAL));
+		// the header takes 18 bytes, followed by the size and the number of strings of the string section
+		for (final int offset : new int[] { 0, 4, 18, 26 }) {
+			final byte[] corrupt = bytes.clone();
+			ByteBuffer.wrap(corrupt).putInt(offset, Integer.MAX_VALUE);
+			assertUnreadable(corrupt);
+		}
+	}
+
+	private static byte[] binary(SDG sdg) throws IOException {
+		final File file = File.createTempFile("PasswordFile", ".bsdg");
+		file.deleteOnExit();
+		SDGBinarySerializer.toBinaryFormat(sdg, file.getAbsolutePath());
+		return Files.readAllBytes(file.toPath());
+	}
+
+	private static void assertUnreadable(byte[] bytes) throws IOException {
+		final File file = File.createTempFile("Corrupt", ".bsdg");
+		file.deleteOnExit();
+		Files.write(file.toPath(), bytes);
+		try {
+			SDG.readFromBinary(file.getAbsolutePath());
+			fail("read a corrupt file of " + bytes.length + " bytes");
+		} catch (IOException e) {
+			// expected
+		}
+		try {
+			SDG.readFromBinaryPaged(file.getAbsolutePath(), null, 2);
+			fail("read a corrupt file of " + bytes.length + " bytes as paged sdg");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testTextFormatIsNotBinary() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.SEQUENTIAL);
+		final File file = File.createTempFile("PasswordFile", ".pdg");
+		file.deleteOnExit();
+		BuildSDG.saveSDGProgram(sdg, file.getAbsolutePath());
+		assertFalse(SDGBinaryParser.isBinaryFormat(file.getAbsolutePath()));
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.IFCAnalysis;
+import edu.kit.joana.api.sdg.SDGCache;
+import edu.kit.joana.api.sdg.SDGConfig;
+import edu.kit.joana.api.test.util.ApiTestException;
+import edu.kit.joana.api.test.util.BuildSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGSerializer;
+
+/**
+ * Checks that SDGs loaded from an {@link SDGCache} equal the ones built without it.
+ */
+public class SDGCacheTest {
+
+	private static final SDGConfig config = BuildSDG.top_sequential;
+
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("sdgcache").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		config.setCache(null);
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (final File f : files) {
+				f.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void testHit() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		config.setCache(new SDGCache(directory, Long.MAX_VALUE));
+		final SDG built = BuildSDG.build(joana.api.testdata.toy.pw.PasswordFile.class, config, false).getProgram().getSDG();
+		assertEquals(2, directory.list().length);
+
+		final SDG loaded = BuildSDG.build(joana.api.testdata.toy.pw.PasswordFile.class, config, false).getProgram().getSDG();
+		assertFalse(built == loaded);
+		assertEquals(SDGSerializer.toPDGFormat(built), SDGSerializer.toPDGFormat(loaded));
+		assertEquals(2, directory.list().length);
+	}
+
+	@Test
+	public void testAnnotations() throws ClassHierarchyException, ApiTestException, IOException, UnsoundGraphException,
+			CancelException {
+		config.setCache(new SDGCache(directory, Long.MAX_VALUE));
+		final Class<?> cls = joana.api.testdata.javannotations.MethodParameterAnnotations.class;
+		final IFCAnalysis built = BuildSDG.buldAndUseJavaAnnotations(cls, config, false);
+		final IFCAnalysis loaded = BuildSDG.buldAndUseJavaAnnotations(cls, config, false);
+		assertEquals(built.getProgram().getJavaSourceAnnotations().size(),
+				loaded.getProgram().getJavaSourceAnnotations().size());
+		assertEquals(built.doIFC().size(), loaded.doIFC().size());
+		assertFalse(loaded.doIFC().isEmpty());
+	}
+
+	@Test
+	public void testKey() throws IOException {
+		final SDGCache cache = new SDGCache(directory, Long.MAX_VALUE);
+		final String key = cache.keyOf(config);
+		assertNotNull(key);
+		assertEquals(key, cache.keyOf(config));
+
+		final boolean computeInterferences = config.computeInterferences();
+		config.setComputeInterferences(!computeInterferences);
+		try {
+			assertNotEquals(key, cache.keyOf(config));
+		} finally {
+			config.setComputeInterferences(computeInterferences);
+		}
+	}
+
+	@Test
+	public void testEviction() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		config.setCache(new SDGCache(directory, 1));
+		final SDG sdg = BuildSDG.build(joana.api.testdata.toy.simp.MicroExample.class, config, false).getProgram().getSDG();
+		assertTrue(sdg.vertexSet().size() > 0);
+		assertEquals(0, directory.list().length);
+	}
+}
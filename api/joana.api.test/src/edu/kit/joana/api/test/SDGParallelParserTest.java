@@ -0,0 +1,108 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.SDGParallelParser;
+import edu.kit.joana.ifc.sdg.graph.SDGStreamingSerializer;
+import edu.kit.joana.ifc.sdg.graph.SDGStreamingSerializer.Compression;
+import edu.kit.joana.util.SourceLocation;
+
+/**
+ * Checks that {@link SDGParallelParser} reads the same graph from a .pdg file as the sequential parser, also if
+ * nodes and edges span several of its chunks.
+ */
+public class SDGParallelParserTest {
+
+	private static void testSameGraph(Program p) throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(p);
+
+		for (final Compression compression : Compression.values()) {
+			final File file = File.createTempFile(p.getProgramClass().getSimpleName(), ".pdg");
+			file.deleteOnExit();
+			SDGStreamingSerializer.toPDGFormat(sdg, file.getAbsolutePath(), compression);
+
+			final SDG expected = SDG.readFromAndUseLessHeap(file.getAbsolutePath());
+			for (final int parallelism : new int[] { 1, 4 }) {
+				final SDG read = SDG.readFromParallel(file.getAbsolutePath(), null, parallelism);
+				assertEquals(expected.vertexSet(), read.vertexSet());
+				assertEquals(new HashSet<>(expected.edgeSet()), new HashSet<>(read.edgeSet()));
+				assertEquals(expected.getThreadsInfo() == null, read.getThreadsInfo() == null);
+			}
+		}
+	}
+
+	@Test
+	public void testSameGraph() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		for (final Program p : Program.values()) {
+			testSameGraph(p);
+		}
+	}
+
+	/**
+	 * The parser cuts its input into chunks of 4 MB, so in a file of several MB the chunk boundaries fall into node
+	 * blocks, and most edges lead to nodes of other chunks. One node alone is larger than a chunk.
+	 */
+	@Test
+	public void testNodesAcrossChunks() throws IOException {
+		final char[] padding = new char[200];
+		Arrays.fill(padding, 'x');
+		final char[] hugePadding = new char[5 << 20];
+		Arrays.fill(hugePadding, 'y');
+
+		final SDG sdg = new SDG("chunks");
+		final List<SDGNode> nodes = new ArrayList<>();
+		for (int id = 1; id <= 50000; id++) {
+			final SDGNode.Operation op = (id == 1 ? SDGNode.Operation.ENTRY : SDGNode.Operation.ASSIGN);
+			final String label = "n" + id + new String(id == 25000 ? hugePadding : padding);
+			final SDGNode n = new SDGNode(id, op, label, 1, null, SourceLocation.UNKNOWN, "m", id, null, null, null,
+					null, null);
+			sdg.addVertex(n);
+			if (!nodes.isEmpty()) {
+				sdg.addEdge(SDGEdge.Kind.CONTROL_FLOW.newEdge(nodes.get(nodes.size() - 1), n));
+				sdg.addEdge(SDGEdge.Kind.DATA_DEP.newEdge(nodes.get(nodes.size() / 2), n));
+			}
+			nodes.add(n);
+		}
+		sdg.setRoot(nodes.get(0));
+
+		final File file = File.createTempFile("Chunks", ".pdg");
+		file.deleteOnExit();
+		SDGStreamingSerializer.toPDGFormat(sdg, file.getAbsolutePath(), Compression.NONE);
+		assertTrue(file.length() > 3 * (4 << 20));
+
+		final SDG expected = SDG.readFromAndUseLessHeap(file.getAbsolutePath());
+		final SDG read = SDG.readFromParallel(file.getAbsolutePath(), null, 4);
+		assertEquals(expected.vertexSet(), read.vertexSet());
+		assertEquals(new HashSet<>(expected.edgeSet()), new HashSet<>(read.edgeSet()));
+		for (final SDGNode n : expected.vertexSet()) {
+			assertEquals(n.getLabel(), read.getNode(n.getId()).getLabel());
+		}
+	}
+}
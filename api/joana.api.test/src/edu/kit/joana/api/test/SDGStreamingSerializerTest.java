@@ -0,0 +1,126 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGSerializer;
+import edu.kit.joana.ifc.sdg.graph.SDGStreamingSerializer;
+import edu.kit.joana.ifc.sdg.graph.SDGStreamingSerializer.Compression;
+
+/**
+ * Checks that {@link SDGStreamingSerializer} writes the same .pdg text as {@link SDGSerializer}, that compressed
+ * output is gzip and can be read back, and that the caller's stream is not closed.
+ */
+public class SDGStreamingSerializerTest {
+
+	private static void testSameOutput(Program p) throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(p);
+
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		SDGSerializer.toPDGFormat(sdg, new PrintWriter(new OutputStreamWriter(expected, StandardCharsets.UTF_8)));
+		final ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+		SDGStreamingSerializer.toPDGFormat(sdg, streamed);
+		assertArrayEquals(expected.toByteArray(), streamed.toByteArray());
+
+		final File file = File.createTempFile(p.getProgramClass().getSimpleName(), ".pdg.gz");
+		file.deleteOnExit();
+		SDGStreamingSerializer.toPDGFormat(sdg, file.getAbsolutePath(), Compression.GZIP);
+		final SDG read = SDG.readFromAndUseLessHeap(file.getAbsolutePath());
+		assertEquals(sdg.vertexSet(), read.vertexSet());
+		assertEquals(sdg.edgeSet().size(), read.edgeSet().size());
+	}
+
+	@Test
+	public void testSameOutput() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		for (final Program p : Program.values()) {
+			testSameOutput(p);
+		}
+	}
+
+	@Test
+	public void testStreamsStayOpen() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.SEQUENTIAL);
+		final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		SDGStreamingSerializer.toPDGFormat(sdg, plain);
+
+		for (final Compression compression : Compression.values()) {
+			final CloseRecordingStream out = new CloseRecordingStream();
+			SDGStreamingSerializer.toPDGFormat(sdg, out, compression);
+			assertFalse(out.closed);
+
+			// the caller may go on writing to the stream
+			out.write('\n');
+			final byte[] written = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+			assertArrayEquals(plain.toByteArray(), compression == Compression.GZIP ? gunzip(written) : written);
+		}
+	}
+
+	@Test
+	public void testGzipOutput() throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		final SDG sdg = SharedSDGs.getSDG(Program.SEQUENTIAL);
+		final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		SDGStreamingSerializer.toPDGFormat(sdg, plain);
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		SDGStreamingSerializer.toPDGFormat(sdg, compressed, Compression.GZIP);
+
+		final byte[] bytes = compressed.toByteArray();
+		assertEquals((byte) GZIPInputStream.GZIP_MAGIC, bytes[0]);
+		assertEquals((byte) (GZIPInputStream.GZIP_MAGIC >> 8), bytes[1]);
+		assertTrue(bytes.length < plain.size());
+		assertArrayEquals(plain.toByteArray(), gunzip(bytes));
+	}
+
+	private static byte[] gunzip(byte[] bytes) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			final byte[] buf = new byte[8192];
+			int read;
+			while ((read = in.read(buf)) >= 0) {
+				out.write(buf, 0, read);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static final class CloseRecordingStream extends ByteArrayOutputStream {
+		private boolean closed = false;
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			super.close();
+		}
+	}
+}
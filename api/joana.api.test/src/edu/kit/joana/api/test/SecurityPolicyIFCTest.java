@@ -0,0 +1,110 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import edu.kit.joana.api.IFCAnalysis;
+import edu.kit.joana.api.IFCType;
+import edu.kit.joana.api.test.util.ApiTestException;
+import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicy;
+import edu.kit.joana.ifc.sdg.core.violations.IViolation;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+
+/**
+ * Checks that classical non-interference checks against a {@link SecurityPolicy} report the same violations as checks
+ * against the annotations applied to the nodes, without touching the nodes, also if several policies are checked on
+ * the same program at the same time.
+ */
+public class SecurityPolicyIFCTest {
+
+	private static void assertNoLevels(IFCAnalysis ana) {
+		for (SDGNode n : ana.getProgram().getSDG().vertexSet()) {
+			assertNull(((SecurityNode) n).getProvided());
+			assertNull(((SecurityNode) n).getRequired());
+		}
+	}
+
+	private static void testSameViolations(final IFCAnalysis ana, int leaks) throws InterruptedException, ExecutionException {
+		final List<IViolation<SecurityNode>> annotated = new ArrayList<IViolation<SecurityNode>>(ana.doIFC());
+		assertEquals(leaks, annotated.size());
+
+		final SecurityPolicy policy = ana.getSecurityPolicy();
+		assertTrue(leaks == 0 || !policy.isEmpty());
+		assertNoLevels(ana);
+		assertEquals(annotated, new ArrayList<IViolation<SecurityNode>>(ana.doIFC(IFCType.CLASSICAL_NI, policy)));
+		assertNoLevels(ana);
+
+		final ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<List<IViolation<SecurityNode>>>> futures = new ArrayList<Future<List<IViolation<SecurityNode>>>>();
+			for (int i = 0; i < 8; i++) {
+				final SecurityPolicy toCheck = (i % 2 == 0 ? policy : SecurityPolicy.EMPTY);
+				futures.add(pool.submit(() -> new ArrayList<IViolation<SecurityNode>>(
+						new IFCAnalysis(ana.getProgram(), ana.getLattice()).doIFC(IFCType.CLASSICAL_NI, toCheck))));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				if (i % 2 == 0) {
+					assertEquals(annotated, futures.get(i).get());
+				} else {
+					assertTrue(futures.get(i).get().isEmpty());
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assertNoLevels(ana);
+	}
+
+	@Test
+	public void testPraktomatLeak() throws InterruptedException, ExecutionException {
+		try {
+			IFCAnalysis ana = FullIFCSequentialTest.buildAndAnnotate("sequential.PraktomatLeak",
+					"sequential.PraktomatLeak$Submission.matrNr",
+					"sequential.PraktomatLeak$Review.failures");
+			testSameViolations(ana, 8);
+		} catch (ApiTestException e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testPraktomatValid() throws InterruptedException, ExecutionException {
+		try {
+			IFCAnalysis ana = FullIFCSequentialTest.buildAndAnnotate("sequential.PraktomatValid",
+					"sequential.PraktomatValid$Submission.matrNr",
+					"sequential.PraktomatValid$Review.failures");
+			testSameViolations(ana, 0);
+		} catch (ApiTestException e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testProbabilisticRejectsPolicy() throws ApiTestException {
+		IFCAnalysis ana = FullIFCSequentialTest.buildAndAnnotate("sequential.PraktomatLeak",
+				"sequential.PraktomatLeak$Submission.matrNr",
+				"sequential.PraktomatLeak$Review.failures");
+		ana.doIFC(IFCType.LSOD, ana.getSecurityPolicy());
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.test.util.SharedSDGs;
+import edu.kit.joana.api.test.util.SharedSDGs.Program;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.SDGNodeTuple;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.StaticContextManager;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.StaticContextManager.StaticContext;
+
+/**
+ * Checks that {@link StaticContextManager} returns the same context objects for equal contexts, however they are
+ * reached.
+ */
+public class StaticContextManagerTest {
+
+	private static Set<StaticContext> identitySet(Collection<StaticContext> contexts) {
+		final Set<StaticContext> set = Collections.newSetFromMap(new IdentityHashMap<StaticContext, Boolean>());
+		set.addAll(contexts);
+		return set;
+	}
+
+	/**
+	 * Only the SDGs of concurrent programs assign threads to their nodes, which the manager needs.
+	 */
+	@Test
+	public void testConcurrent() throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		testContexts(SharedSDGs.getSDG(Program.CONCURRENT));
+	}
+
+	private static void testContexts(SDG sdg) {
+		final StaticContextManager man = StaticContextManager.create(sdg);
+		assertFalse(man.getAllContextsOf(sdg.getRoot()).isEmpty());
+
+		for (final SDGNode n : sdg.vertexSet()) {
+			for (final int thread : n.getThreadNumbers()) {
+				final Collection<StaticContext> contexts = man.getContextsOf(n, thread);
+				assertEquals(identitySet(contexts), identitySet(man.getContextsOf(n, thread)));
+				for (final StaticContext c : contexts) {
+					assertSame(c, c.copy());
+					assertSame(c, c.copyWithNewNode(n));
+					assertSame(c, man.level(n, c));
+				}
+			}
+		}
+
+		// leave a procedure through a call site and enter it again through the same call site
+		int roundTrips = 0;
+		for (final SDGEdge call : sdg.edgeSet()) {
+			if (call.getKind() != SDGEdge.Kind.CALL) {
+				continue;
+			}
+			final SDGNodeTuple callSite = new SDGNodeTuple(call.getSource(), call.getTarget());
+			for (final StaticContext c : man.getAllContextsOf(call.getTarget())) {
+				final StaticContext up = man.ascend(call.getSource(), callSite, c)[1];
+				if (up == null) {
+					continue;
+				}
+				assertSame(up, man.ascend(call.getSource(), callSite, c)[1]);
+
+				final StaticContext down = man.descend(call.getTarget(), callSite, up);
+				assertSame(down, man.descend(call.getTarget(), callSite, up));
+				if (down.equals(c)) {
+					assertSame(c, down);
+					assertEquals(c.hashCode(), down.hashCode());
+					roundTrips++;
+				}
+			}
+		}
+		assertTrue(roundTrips > 0);
+	}
+}
@@ -65,6 +65,18 @@ public class SummaryComputationTests {
 			classicScc.setSummaryComputationType(SummaryComputationType.JOANA_CLASSIC_SCC);
 		}
 	
+	public static final SDGConfig classicParallelScc = new SDGConfig(
+			JoanaPath.JOANA_API_TEST_DATA_CLASSPATH,
+			null,
+			STUBS
+		); {
+			setDefaults(classicParallelScc);
+			classicParallelScc.setParallel(true);
+			// more than one thread even on a single core, otherwise the sequential computation would be used
+			classicParallelScc.setParallelism(4);
+			classicParallelScc.setSummaryComputationType(SummaryComputationType.JOANA_PARALLEL_SCC);
+		}
+	
 	public static final SDGConfig simonScc = new SDGConfig(
 			JoanaPath.JOANA_API_TEST_DATA_CLASSPATH,
 			null,
@@ -83,7 +95,7 @@ public class SummaryComputationTests {
 		simonParallelScc.setSummaryComputationType(SummaryComputationType.SIMON_PARALLEL_SCC);
 	}
 	
-	public static final SDGConfig[] all = new SDGConfig[] { classic, classicScc, simonScc, simonParallelScc };
+	public static final SDGConfig[] all = new SDGConfig[] { classic, classicScc, classicParallelScc, simonScc, simonParallelScc };
 
 	
 	private static IFCAnalysis buildAnnotateDump(Class<?> clazz, SDGConfig config) throws ClassHierarchyException, ApiTestException,
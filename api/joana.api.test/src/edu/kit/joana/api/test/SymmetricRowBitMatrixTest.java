@@ -0,0 +1,126 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.ibm.wala.util.intset.IntIterator;
+
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.IBitMatrix;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.SymmetricBitMatrix;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.SymmetricRowBitMatrix;
+
+/**
+ * Checks {@link SymmetricRowBitMatrix} against the triangular {@link SymmetricBitMatrix}.
+ */
+public class SymmetricRowBitMatrixTest {
+
+	/** dimensions around the word boundaries */
+	private static final int[] DIMENSIONS = { 1, 2, 63, 64, 65, 127, 128, 129, 200 };
+
+	private static List<Integer> toList(IntIterator it) {
+		final List<Integer> result = new ArrayList<Integer>();
+		while (it.hasNext()) {
+			result.add(it.next());
+		}
+		return result;
+	}
+
+	private static void assertSameMatrix(SymmetricBitMatrix<Object> expected, SymmetricRowBitMatrix<Object> actual) {
+		assertEquals(expected.getDimension(), actual.getDimension());
+		assertTrue(IBitMatrix.equals(expected, actual));
+		for (int j = 0; j < expected.getDimension(); j++) {
+			assertEquals(toList(expected.onCol(j)), toList(actual.onCol(j)));
+			assertEquals(toList(expected.onColAsymemtric(j)), toList(actual.onColAsymemtric(j)));
+		}
+	}
+
+	@Test
+	public void testSet() {
+		final Random random = new Random(42);
+		for (final int dimension : DIMENSIONS) {
+			final SymmetricBitMatrix<Object> expected = new SymmetricBitMatrix<Object>(dimension);
+			final SymmetricRowBitMatrix<Object> actual = new SymmetricRowBitMatrix<Object>(dimension);
+			assertSameMatrix(expected, actual);
+			for (int k = 0; k < 3 * dimension; k++) {
+				final int i = random.nextInt(dimension);
+				final int j = random.nextInt(dimension);
+				expected.set(i, j);
+				actual.set(i, j);
+				assertTrue(actual.get(i, j));
+				assertTrue(actual.get(j, i));
+			}
+			assertSameMatrix(expected, actual);
+		}
+	}
+
+	@Test
+	public void testSetAll() {
+		final Random random = new Random(42);
+		for (final int dimension : DIMENSIONS) {
+			final SymmetricBitMatrix<Object> expected = new SymmetricBitMatrix<Object>(dimension);
+			final SymmetricRowBitMatrix<Object> actual = new SymmetricRowBitMatrix<Object>(dimension);
+			for (int k = 0; k < 5; k++) {
+				final long[] rows = actual.newVector();
+				final long[] cols = actual.newVector();
+				final List<Integer> rowList = new ArrayList<Integer>();
+				final List<Integer> colList = new ArrayList<Integer>();
+				for (int i = 0; i < dimension; i++) {
+					if (random.nextInt(8) == 0) {
+						SymmetricRowBitMatrix.add(rows, i);
+						rowList.add(i);
+					}
+					if (random.nextInt(8) == 0) {
+						SymmetricRowBitMatrix.add(cols, i);
+						colList.add(i);
+					}
+				}
+				// the same vector for rows and columns, as for the regions spawned in a loop
+				final long[] both = (k % 2 == 0 ? cols : rows);
+				final List<Integer> bothList = (k % 2 == 0 ? colList : rowList);
+				actual.setAll(rows, both);
+				for (final int i : rowList) {
+					for (final int j : bothList) {
+						expected.set(i, j);
+					}
+				}
+			}
+			assertSameMatrix(expected, actual);
+		}
+	}
+
+	@Test
+	public void testNextSetBit() {
+		final SymmetricRowBitMatrix<Object> m = new SymmetricRowBitMatrix<Object>(130);
+		m.set(3, 0);
+		m.set(3, 64);
+		m.set(3, 129);
+		assertEquals(0, m.nextSetBit(3, 0));
+		assertEquals(64, m.nextSetBit(3, 1));
+		assertEquals(64, m.nextSetBit(3, 64));
+		assertEquals(129, m.nextSetBit(3, 65));
+		assertEquals(-1, m.nextSetBit(3, 130));
+		assertEquals(-1, m.nextSetBit(4, 0));
+		assertEquals(3, m.nextSetBit(129, 0));
+		assertFalse(m.get(129, 129));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetAllWrongLength() {
+		final SymmetricRowBitMatrix<Object> m = new SymmetricRowBitMatrix<Object>(65);
+		m.setAll(new long[1], m.newVector());
+	}
+}
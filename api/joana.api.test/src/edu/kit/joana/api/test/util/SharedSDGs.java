@@ -0,0 +1,72 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.test.util;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.graph.GraphIntegrity.UnsoundGraphException;
+
+import edu.kit.joana.api.sdg.SDGConfig;
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+
+/**
+ * The SDGs of a few programs of joana.api.testdata, built once and shared by the tests of the graph algorithms.
+ * Each program stands for a kind of input an algorithm has to cope with. A test that modifies one of these SDGs has to
+ * undo its modifications before it returns.
+ */
+public final class SharedSDGs {
+
+	public enum Program {
+		/** a sequential program without recursion or dynamic dispatch */
+		SEQUENTIAL(joana.api.testdata.toy.pw.PasswordFile.class, BuildSDG.top_sequential),
+		/** a recursive data structure */
+		RECURSIVE(joana.api.testdata.toy.rec.MyList.class, BuildSDG.top_sequential),
+		/** a call site with two possible targets */
+		POLYMORPHIC(joana.api.testdata.toy.ddisp.DynamicDispatch1.class, BuildSDG.top_sequential),
+		/** a program that spawns a thread */
+		CONCURRENT(joana.api.testdata.conc.SimpleThreadSpawning.class, BuildSDG.top_concurrent);
+
+		private final Class<?> clazz;
+		private final SDGConfig config;
+
+		private Program(Class<?> clazz, SDGConfig config) {
+			this.clazz = clazz;
+			this.config = config;
+		}
+
+		public Class<?> getProgramClass() {
+			return clazz;
+		}
+	}
+
+	private static final Map<Program, SDGProgram> PROGRAMS = new EnumMap<Program, SDGProgram>(Program.class);
+
+	private SharedSDGs() {
+	}
+
+	public static synchronized SDGProgram getProgram(Program p) throws ClassHierarchyException, IOException,
+			UnsoundGraphException, CancelException {
+		SDGProgram program = PROGRAMS.get(p);
+		if (program == null) {
+			program = BuildSDG.build(p.clazz, p.config, false).getProgram();
+			PROGRAMS.put(p, program);
+		}
+
+		return program;
+	}
+
+	public static SDG getSDG(Program p) throws ClassHierarchyException, IOException, UnsoundGraphException,
+			CancelException {
+		return getProgram(p).getSDG();
+	}
+}
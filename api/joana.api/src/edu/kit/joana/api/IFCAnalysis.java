@@ -50,8 +50,11 @@ import edu.kit.joana.api.sdg.SDGProgramPart;
 import edu.kit.joana.api.sdg.SDGProgramPartWriter;
 import edu.kit.joana.api.sdg.ThrowingSDGProgramPartVisitor;
 import edu.kit.joana.ifc.sdg.core.IFC;
+import edu.kit.joana.ifc.sdg.core.ParallelSlicingBasedIFC;
 import edu.kit.joana.ifc.sdg.core.ReduceRedundantFlows;
 import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicy;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicyChecker;
 import edu.kit.joana.ifc.sdg.core.SlicingBasedIFC;
 import edu.kit.joana.ifc.sdg.core.conc.ConflictScanner;
 import edu.kit.joana.ifc.sdg.core.conc.DataConflict;
@@ -65,8 +68,11 @@ import edu.kit.joana.ifc.sdg.core.violations.IIllegalFlow;
 import edu.kit.joana.ifc.sdg.core.violations.IViolation;
 import edu.kit.joana.ifc.sdg.core.violations.IllegalFlow;
 import edu.kit.joana.ifc.sdg.core.violations.ViolationMapper;
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledI2PBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledI2PForward;
 import edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PBackward;
 import edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PForward;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.MHPAnalysis;
@@ -99,6 +105,7 @@ public class IFCAnalysis {
 	private IFC<String> ifc;
 	private boolean timeSensitiveAnalysis = false;
 	private boolean removeRedundantFlows = false;
+	private int slicingParallelism = 1;
 	
 	private Multimap<SDGProgramPart, Pair<Source,String>> sources = null;
 	private Multimap<SDGProgramPart, Pair<Sink,String>> sinks = null;
@@ -155,11 +162,17 @@ public class IFCAnalysis {
 
 		switch (this.ifcType) {
 		case CLASSICAL_NI:
-			this.ifc = new SlicingBasedIFC(this.program.getSDG(), secLattice, new I2PForward(this.program.getSDG()), new I2PBackward(this.program.getSDG()));
+			if (timeSensitiveAnalysis && this.program.getSDG().getThreadsInfo() == null) {
+				CSDGPreprocessor.preprocessSDG(this.program.getSDG());
+			}
+			if (slicingParallelism > 1) {
+				final CompiledSDG compiled = new CompiledSDG(this.program.getSDG());
+				this.ifc = new ParallelSlicingBasedIFC(this.program.getSDG(), secLattice, new CompiledI2PForward(compiled),
+						new CompiledI2PBackward(compiled), slicingParallelism);
+			} else {
+				this.ifc = new SlicingBasedIFC(this.program.getSDG(), secLattice, new I2PForward(this.program.getSDG()), new I2PBackward(this.program.getSDG()));
+			}
 			if (timeSensitiveAnalysis) {
-				if (this.program.getSDG().getThreadsInfo() == null) {
-					CSDGPreprocessor.preprocessSDG(this.program.getSDG());
-				}
 				this.ifc = new TimeSensitiveIFCDecorator(this.ifc);
 				if (removeRedundantFlows) {
 					this.ifc = ReduceRedundantFlows.makeReducingConcurrentIFC(this.ifc);
@@ -206,6 +219,22 @@ public class IFCAnalysis {
 		this.timeSensitiveAnalysis = newTimeSens;
 	}
 
+	/**
+	 * Sets the number of threads used to slice the sources or sinks in {@link IFCType#CLASSICAL_NI} analyses.
+	 * With more than one thread, the slicing runs on a compiled view of the SDG built at the start of each analysis.
+	 * @param threads number of threads, 1 (the default) for sequential slicing
+	 */
+	public void setSlicingParallelism(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("number of threads must be positive: " + threads);
+		}
+		this.slicingParallelism = threads;
+	}
+
+	public int getSlicingParallelism() {
+		return slicingParallelism;
+	}
+
 	public void setLattice(IStaticLattice<String> secLattice) {
 		if (secLattice == null) {
 			throw new IllegalArgumentException();
@@ -230,12 +259,20 @@ public class IFCAnalysis {
 	}
 
 	public Map<SecurityNode, Set<NodeAnnotationInfo>> getAnnotatedNodes() {
-		annManager.applyAllAnnotations();
-		Map<SecurityNode, Set<NodeAnnotationInfo>> ret = annManager.getAnnotatedNodes();
-		annManager.unapplyAllAnnotations();
+		Map<SecurityNode, Set<NodeAnnotationInfo>> ret = new HashMap<SecurityNode, Set<NodeAnnotationInfo>>();
+		annManager.computePolicy(ret);
 		return ret;
 	}
 
+	/**
+	 * Returns the levels the current annotations assign to the nodes of the SDG. The annotations are not applied to
+	 * the nodes, so the policy can be checked with {@link #doIFC(IFCType, SecurityPolicy)} while other analyses
+	 * work on the same program.
+	 */
+	public SecurityPolicy getSecurityPolicy() {
+		return annManager.computePolicy(null);
+	}
+
 	public Map<SDGNode, String> getNodeLevels() {
 		Map<SDGNode, String> result = new HashMap<SDGNode, String>();
 		annManager.applyAllAnnotations();
@@ -282,13 +319,41 @@ public class IFCAnalysis {
 	public Collection<? extends IViolation<SecurityNode>> doIFC(IFCType ifcType) {
 		assert ifc != null && ifc.getSDG() != null && ifc.getLattice() != null;
 		annManager.applyAllAnnotations();
+		try {
+			setIFCType(ifcType);
+			long time = 0L;
+			time = System.currentTimeMillis();
+			Collection<? extends IViolation<SecurityNode>> vios = ifc.checkIFlow();
+			time = System.currentTimeMillis() - time;
+			debug.outln(String.format("IFC Analysis took %d ms.", time));
+			return vios;
+		} finally {
+			annManager.unapplyAllAnnotations();
+		}
+	}
+
+	/**
+	 * Does an IFC analysis of the specified type against the given policy instead of the annotations of this
+	 * analysis. Neither the annotations nor the policy are applied to the nodes of the SDG, so several policies can be
+	 * checked on the same program at the same time, each by an IFCAnalysis of its own. Only {@link IFCType#CLASSICAL_NI}
+	 * supports separate policies. Note that the first time-sensitive check preprocesses the SDG, if it has not been
+	 * preprocessed before.
+	 * @param ifcType type of IFC analysis to perform
+	 * @param policy the security levels of the nodes, e.g. obtained by {@link #getSecurityPolicy()}
+	 * @return collection of security violations reported by the specified ifc analysis
+	 * @throws IllegalArgumentException if the specified ifc analysis cannot check a separate policy
+	 */
+	public Collection<? extends IViolation<SecurityNode>> doIFC(IFCType ifcType, SecurityPolicy policy) {
+		assert ifc != null && ifc.getSDG() != null && ifc.getLattice() != null;
+		if (ifcType != IFCType.CLASSICAL_NI) {
+			throw new IllegalArgumentException(ifcType + " cannot check a separate security policy");
+		}
 		setIFCType(ifcType);
 		long time = 0L;
 		time = System.currentTimeMillis();
-		Collection<? extends IViolation<SecurityNode>> vios = ifc.checkIFlow();
+		Collection<? extends IViolation<SecurityNode>> vios = ((SecurityPolicyChecker) ifc).checkIFlow(policy);
 		time = System.currentTimeMillis() - time;
 		debug.outln(String.format("IFC Analysis took %d ms.", time));
-		annManager.unapplyAllAnnotations();
 		return vios;
 	}
 
@@ -297,7 +362,8 @@ public class IFCAnalysis {
 	}
 	
 	public TObjectIntMap<IViolation<SDGProgramPart>> groupByPPPart(Collection<? extends IViolation<SecurityNode>> vios) {
-		annManager.applyAllAnnotations();
+		final Map<SecurityNode, Set<NodeAnnotationInfo>> annotated = new HashMap<SecurityNode, Set<NodeAnnotationInfo>>();
+		annManager.computePolicy(annotated);
 		ViolationMapper<SecurityNode, Set<? extends IViolation<SDGProgramPart>>> transl = new ViolationMapper<SecurityNode, Set<? extends IViolation<SDGProgramPart>>>() {
 
 			@Override
@@ -359,11 +425,11 @@ public class IFCAnalysis {
 			}
 
 			private Set<SDGProgramPart> resolveNode(SecurityNode node) {
-				if (annManager.getAnnotatedNodes().get(node) == null) {
+				if (annotated.get(node) == null) {
 					return Collections.emptySet();
 				} else {
 					LinkedHashSet<SDGProgramPart> result = new LinkedHashSet<SDGProgramPart>();
-					for (NodeAnnotationInfo nai : annManager.getAnnotatedNodes().get(node)) {
+					for (NodeAnnotationInfo nai : annotated.get(node)) {
 						result.add(nai.getAnnotation().getProgramPart());
 					}
 					return result;
@@ -381,7 +447,6 @@ public class IFCAnalysis {
 				}
 			}
 		}
-		annManager.unapplyAllAnnotations();
 		return ret;
 	}
 	
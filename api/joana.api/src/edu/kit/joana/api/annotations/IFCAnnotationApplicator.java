@@ -19,6 +19,7 @@ import edu.kit.joana.api.IFCAnalysis;
 import edu.kit.joana.api.sdg.SDGMethod;
 import edu.kit.joana.api.sdg.SDGProgram;
 import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicy;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
 import edu.kit.joana.ifc.sdg.util.JavaMethodSignature;
 import edu.kit.joana.util.Log;
@@ -26,6 +27,64 @@ import edu.kit.joana.util.Logger;
 
 public class IFCAnnotationApplicator {
 
+	/**
+	 * Where the levels of annotated nodes are read from and written to.
+	 */
+	private interface LevelStore {
+		String getProvided(SecurityNode n);
+		String getRequired(SecurityNode n);
+		void setProvided(SecurityNode n, String level);
+		void setRequired(SecurityNode n, String level);
+	}
+
+	/** stores the levels in the nodes themselves */
+	private static final LevelStore NODE_LEVELS = new LevelStore() {
+		@Override
+		public String getProvided(SecurityNode n) {
+			return n.getProvided();
+		}
+
+		@Override
+		public String getRequired(SecurityNode n) {
+			return n.getRequired();
+		}
+
+		@Override
+		public void setProvided(SecurityNode n, String level) {
+			n.setProvided(level);
+		}
+
+		@Override
+		public void setRequired(SecurityNode n, String level) {
+			n.setRequired(level);
+		}
+	};
+
+	/** stores the levels in a policy under construction */
+	private static final class PolicyLevels implements LevelStore {
+		private final SecurityPolicy.Builder policy = new SecurityPolicy.Builder();
+
+		@Override
+		public String getProvided(SecurityNode n) {
+			return policy.getProvided(n.getId());
+		}
+
+		@Override
+		public String getRequired(SecurityNode n) {
+			return policy.getRequired(n.getId());
+		}
+
+		@Override
+		public void setProvided(SecurityNode n, String level) {
+			policy.setProvided(n.getId(), level);
+		}
+
+		@Override
+		public void setRequired(SecurityNode n, String level) {
+			policy.setRequired(n.getId(), level);
+		}
+	}
+
 	private static final Logger debug = Log.getLogger(Log.L_API_DEBUG);
 	private static final Logger annotationDebug = Log.getLogger(Log.L_API_ANNOTATION_DEBUG);
 
@@ -39,6 +98,23 @@ public class IFCAnnotationApplicator {
 	}
 
 	public void applyAnnotations(Collection<IFCAnnotation> anns) {
+		annotate(anns, NODE_LEVELS, annotatedNodes);
+	}
+
+	/**
+	 * Computes the levels the given annotations assign to the nodes of the SDG, without applying them to the nodes.
+	 * @param anns the annotations to compute the levels of
+	 * @param annotated if not {@code null}, receives the annotation infos of all annotated nodes, as
+	 * {@link #getAnnotatedNodes()} would after {@link #applyAnnotations(Collection)}
+	 * @return the levels of the annotated nodes
+	 */
+	public SecurityPolicy computePolicy(Collection<IFCAnnotation> anns, Map<SecurityNode, Set<NodeAnnotationInfo>> annotated) {
+		final PolicyLevels levels = new PolicyLevels();
+		annotate(anns, levels, annotated != null ? annotated : new HashMap<SecurityNode, Set<NodeAnnotationInfo>>());
+		return levels.policy.build();
+	}
+
+	private void annotate(Collection<IFCAnnotation> anns, LevelStore levels, Map<SecurityNode, Set<NodeAnnotationInfo>> annotated) {
 		AnnotationTypeBasedNodeCollector collector = program.getNodeCollector();
 		for (IFCAnnotation ann : anns) {
 			if (ann.getType() == AnnotationType.SOURCE || ann.getType() == AnnotationType.SINK) {
@@ -51,7 +127,7 @@ public class IFCAnnotationApplicator {
 //			}
 			Set<SDGNode> toAnnotate = collector.collectNodes(ann.getProgramPart(), ann.getType());
 			for (SDGNode n : toAnnotate) {
-				annotateNode(n, ann);
+				annotateNode(n, ann, levels, annotated);
 			}
 		}
 	}
@@ -102,40 +178,40 @@ public class IFCAnnotationApplicator {
 		return program.getMethods(JavaMethodSignature.fromString(program.getSDG().getEntry(node).getBytecodeMethod()));
 	}
 
-	private void annotateNode(SDGNode node, IFCAnnotation ann) {
+	private void annotateNode(SDGNode node, IFCAnnotation ann, LevelStore levels, Map<SecurityNode, Set<NodeAnnotationInfo>> annotated) {
 		if (ann.getContext() == null || obtainMethods(node).contains(ann.getContext())) {
 			SecurityNode sNode = (SecurityNode) node;
 			NodeAnnotationInfo nai;
 			switch (ann.getType()) {
 			case SOURCE: {
 				String newLevel;
-				if (sNode.getProvided() != null) {
-					newLevel = analysis.getLattice().leastUpperBound(ann.getLevel1(), sNode.getProvided());
+				if (levels.getProvided(sNode) != null) {
+					newLevel = analysis.getLattice().leastUpperBound(ann.getLevel1(), levels.getProvided(sNode));
 				} else {
 					newLevel = ann.getLevel1();
 				}
-				if (sNode.getRequired() != null) throw new IllegalStateException(String.format("Error while annotating node %s: Cannot set required level if provided level is already set. Use a declassification!", sNode));
-				sNode.setProvided(newLevel);
+				if (levels.getRequired(sNode) != null) throw new IllegalStateException(String.format("Error while annotating node %s: Cannot set required level if provided level is already set. Use a declassification!", sNode));
+				levels.setProvided(sNode, newLevel);
 				annotationDebug.outln(String.format("Annotated node %s of kind %s as SOURCE of level '%s'", node.toString(), node.getKind(), newLevel));
 				nai = new NodeAnnotationInfo(sNode, ann, NodeAnnotationInfo.PROV);
 				break;
 			}
 			case SINK: {
 				String newLevel;
-				if (sNode.getRequired() != null) {
-					newLevel = analysis.getLattice().greatestLowerBound(ann.getLevel1(), sNode.getRequired());
+				if (levels.getRequired(sNode) != null) {
+					newLevel = analysis.getLattice().greatestLowerBound(ann.getLevel1(), levels.getRequired(sNode));
 				} else {
 					newLevel = ann.getLevel1();
 				}
-				if (sNode.getProvided() != null) throw new IllegalStateException(String.format("Error while annotating node %s: Cannot set provided level if required level is already set. Use a declassification!", sNode));
-				sNode.setRequired(newLevel);
+				if (levels.getProvided(sNode) != null) throw new IllegalStateException(String.format("Error while annotating node %s: Cannot set provided level if required level is already set. Use a declassification!", sNode));
+				levels.setRequired(sNode, newLevel);
 				annotationDebug.outln(String.format("Annotated node %s of kind %s as SINK of level '%s'", node.toString(), node.getKind(), newLevel));
 				nai = new NodeAnnotationInfo(sNode, ann, NodeAnnotationInfo.REQ);
 				break;
 			}
 			case DECLASS:
-				sNode.setRequired(ann.getLevel1());
-				sNode.setProvided(ann.getLevel2());
+				levels.setRequired(sNode, ann.getLevel1());
+				levels.setProvided(sNode, ann.getLevel2());
 				nai = new NodeAnnotationInfo(sNode, ann, NodeAnnotationInfo.BOTH);
 				break;
 			default:
@@ -146,10 +222,10 @@ public class IFCAnnotationApplicator {
 				debug.outln("Annotated node " + nai.getNode() + " as " + nai.getAnnotation().getLevel1() + " "
 					+ nai.getAnnotation().getType());
 			}
-			Set<NodeAnnotationInfo> nais = annotatedNodes.get(sNode);
+			Set<NodeAnnotationInfo> nais = annotated.get(sNode);
 			if (nais == null) {
 				nais = new LinkedHashSet<NodeAnnotationInfo>();
-				annotatedNodes.put(sNode, nais);
+				annotated.put(sNode, nais);
 			}
 			nais.add(nai);
 		}
@@ -34,6 +34,7 @@ import edu.kit.joana.api.sdg.SDGProgram;
 import edu.kit.joana.api.sdg.SDGProgramPart;
 import edu.kit.joana.api.sdg.SDGProgramPartVisitor;
 import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicy;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
 
 public class IFCAnnotationManager {
@@ -144,6 +145,14 @@ public class IFCAnnotationManager {
 		app.unapplyAnnotations(getAnnotations());
 	}
 
+	/**
+	 * Computes the levels all annotations assign to the nodes of the SDG, without applying them to the nodes.
+	 * @param annotated if not {@code null}, receives the annotation infos of all annotated nodes
+	 */
+	public SecurityPolicy computePolicy(Map<SecurityNode, Set<NodeAnnotationInfo>> annotated) {
+		return app.computePolicy(getAnnotations(), annotated);
+	}
+
 }
 
 class AnnotationVerifier extends SDGProgramPartVisitor<Boolean, IFCAnnotation> {
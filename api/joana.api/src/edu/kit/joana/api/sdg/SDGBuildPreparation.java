@@ -312,6 +312,7 @@ public final class SDGBuildPreparation {
 		scfg.additionalContextSelector = cfg.ctxSelector;
 		scfg.dynDisp = cfg.ddisp;
 		scfg.doParallel = cfg.isParallel;
+		scfg.parallelism = cfg.parallelism;
 		scfg.controlDependenceVariant = cfg.controlDependenceVariant;
 		return Pair.make(startTime, scfg);
 	}
@@ -415,6 +416,7 @@ public final class SDGBuildPreparation {
 		public ContextSelector ctxSelector = null;
 		public DynamicDispatchHandling ddisp;
 		public boolean isParallel = true;
+		public int parallelism = Runtime.getRuntime().availableProcessors();
 		public ControlDependenceVariant controlDependenceVariant = SDGBuilder.defaultControlDependenceVariant;
 		public Config(String name) {
 			this(name, "<no entry defined>", FieldPropagation.OBJ_GRAPH);
@@ -0,0 +1,637 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.sdg;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import com.ibm.wala.ipa.callgraph.pruned.ApplicationLoaderPolicy;
+import com.ibm.wala.ipa.callgraph.pruned.DoNotPrune;
+import com.ibm.wala.ipa.callgraph.pruned.PruningPolicy;
+import com.ibm.wala.shrikeCT.AnnotationsReader.AnnotationAttribute;
+import com.ibm.wala.shrikeCT.AnnotationsReader.ArrayElementValue;
+import com.ibm.wala.shrikeCT.AnnotationsReader.ConstantElementValue;
+import com.ibm.wala.shrikeCT.AnnotationsReader.ElementValue;
+import com.ibm.wala.shrikeCT.AnnotationsReader.EnumElementValue;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.types.annotations.Annotation;
+
+import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGBinarySerializer;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.MHPAnalysis;
+import edu.kit.joana.ifc.sdg.mhpoptimization.MHPType;
+import edu.kit.joana.ifc.sdg.util.JavaMethodSignature;
+import edu.kit.joana.ifc.sdg.util.JavaType;
+import edu.kit.joana.ifc.sdg.util.JavaType.Format;
+import edu.kit.joana.util.Log;
+import edu.kit.joana.util.Logger;
+import edu.kit.joana.util.Pair;
+import edu.kit.joana.wala.core.ThreadAwareApplicationLoaderPolicy;
+
+/**
+ * A directory of SDGs built by {@link SDGProgram#createSDGProgram(SDGConfig, java.io.PrintStream,
+ * com.ibm.wala.util.MonitorUtil.IProgressMonitor, OutputStream)}, addressed by the content of the analyzed
+ * code and the configuration.<p>
+ * The key of an entry is a hash over the contents of all class path and third-party library entries (including
+ * those referenced from jar manifests, if the configuration adds them), the stubs, the entry method, the
+ * exclusions and every option of the {@link SDGConfig} that influences the resulting SDG. Configurations with
+ * options that cannot be hashed, such as a custom context selector, are never cached.<p>
+ * An entry consists of the SDG in the binary format and the Java source annotations of the program.
+ * The {@link MHPAnalysis} is recomputed from the loaded SDG, and the program parts are recomputed on demand as
+ * for every {@link SDGProgram}.<p>
+ * The cache is bounded by the total size of its entries. When it grows beyond this bound, the entries that have
+ * been used least recently are deleted. Entries are written to temporary files and then renamed, so several
+ * processes may share a cache directory.
+ */
+public class SDGCache {
+
+	/** changes whenever the entries written by this class or the SDG construction change incompatibly */
+	private static final int VERSION = 1;
+
+	private static final String SDG_SUFFIX = ".sdg";
+	private static final String ANNOTATIONS_SUFFIX = ".ann";
+
+	private static final byte PART_ATTRIBUTE = 0;
+	private static final byte PART_METHOD = 1;
+	private static final byte PART_PARAMETER = 2;
+	private static final byte PART_LOCAL_VARIABLE = 3;
+
+	private static final Logger debug = Log.getLogger(Log.L_API_DEBUG);
+
+	private final File directory;
+	private final long maxBytes;
+
+	/**
+	 * @param directory the directory of the cache entries; it is created if it does not exist
+	 * @param maxBytes the maximal total size of the entries
+	 */
+	public SDGCache(File directory, long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+		}
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Computes the key of the SDG built for the given configuration.
+	 * @return the key, or {@code null} if SDGs of this configuration cannot be cached
+	 * @throws IOException if the class path cannot be read
+	 */
+	public String keyOf(SDGConfig config) throws IOException {
+		if (config.getContextSelector() != null || config.getCGConsumer() != null
+				|| config.getSideEffectDetectorConfig() != null || config.getMethodFilter() != null
+				|| config.getDefaultExceptionMethodState() != null || !isStateless(config.getPruningPolicy())) {
+			return null;
+		}
+
+		final MessageDigest md = newDigest();
+		final DataOutputStream key = new DataOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				md.update((byte) b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				md.update(b, off, len);
+			}
+		});
+		key.writeInt(VERSION);
+		key.writeInt(SDGBinarySerializer.VERSION);
+		hashClassPath(config.getClassPath(), config.getClasspathAddEntriesFromMANIFEST(), key, md);
+		hashClassPath(config.getThirdPartyLibsPath(), config.getClasspathAddEntriesFromMANIFEST(), key, md);
+		writeOption(key, config.getStubs());
+		writeOption(key, config.getEntryMethod());
+		writeOption(key, config.getExclusions());
+		writeOption(key, config.getExceptionAnalysis());
+		writeOption(key, config.getFieldPropagation());
+		writeOption(key, config.getPointsToPrecision());
+		writeOption(key, config.getMhpType());
+		writeOption(key, config.getDynamicDispatchHandling());
+		writeOption(key, config.getSummaryComputationType());
+		writeOption(key, config.getControlDependenceVariant());
+		writeOption(key, config.getPruningPolicy().getClass().getName());
+		key.writeBoolean(config.computeAccessPaths());
+		key.writeBoolean(config.computeInterferences());
+		key.writeBoolean(config.computeAllocationSites());
+		key.writeBoolean(config.isComputeSummaryEdges());
+		key.writeBoolean(config.getIgnoreIndirectFlows());
+		key.writeBoolean(config.isSkipSDGProgramPart());
+		key.flush();
+
+		return toHex(md.digest());
+	}
+
+	private static boolean isStateless(PruningPolicy policy) {
+		return policy instanceof ApplicationLoaderPolicy || policy instanceof DoNotPrune
+				|| policy instanceof ThreadAwareApplicationLoaderPolicy;
+	}
+
+	private static void writeOption(DataOutputStream key, Object option) throws IOException {
+		key.writeUTF(option == null ? "" : option.toString());
+	}
+
+	private static void hashClassPath(String classPath, boolean addEntriesFromManifest, DataOutputStream key,
+			MessageDigest md) throws IOException {
+		if (classPath == null) {
+			key.writeInt(-1);
+			return;
+		}
+		final Set<File> visited = new HashSet<File>();
+		final StringTokenizer paths = new StringTokenizer(classPath, File.pathSeparator);
+		while (paths.hasMoreTokens()) {
+			hashClassPathEntry(new File(paths.nextToken()), addEntriesFromManifest, visited, key, md);
+		}
+		key.writeInt(visited.size());
+	}
+
+	private static void hashClassPathEntry(File entry, boolean addEntriesFromManifest, Set<File> visited,
+			DataOutputStream key, MessageDigest md) throws IOException {
+		final File canonical = entry.getCanonicalFile();
+		if (!visited.add(canonical)) {
+			return;
+		}
+		key.writeUTF(canonical.getPath());
+		key.flush();
+		if (canonical.isDirectory()) {
+			final List<File> files = new ArrayList<File>();
+			collectFiles(canonical, files);
+			for (final File f : files) {
+				key.writeUTF(canonical.toPath().relativize(f.toPath()).toString());
+				hashContent(f, key, md);
+			}
+		} else if (canonical.isFile()) {
+			hashContent(canonical, key, md);
+			if (addEntriesFromManifest && canonical.getName().endsWith(".jar")) {
+				for (final File referenced : manifestClassPath(canonical)) {
+					hashClassPathEntry(referenced, addEntriesFromManifest, visited, key, md);
+				}
+			}
+		} else {
+			key.writeLong(-1);
+		}
+	}
+
+	private static void collectFiles(File dir, List<File> files) {
+		final File[] children = dir.listFiles();
+		if (children == null) {
+			return;
+		}
+		Arrays.sort(children);
+		for (final File child : children) {
+			if (child.isDirectory()) {
+				collectFiles(child, files);
+			} else {
+				files.add(child);
+			}
+		}
+	}
+
+	private static void hashContent(File f, DataOutputStream key, MessageDigest md) throws IOException {
+		key.writeLong(f.length());
+		key.flush();
+		final byte[] buf = new byte[1 << 16];
+		try (final InputStream in = new DigestInputStream(new FileInputStream(f), md)) {
+			while (in.read(buf) >= 0);
+		}
+	}
+
+	private static List<File> manifestClassPath(File jar) throws IOException {
+		final List<File> ret = new ArrayList<File>();
+		try (final JarFile jf = new JarFile(jar)) {
+			final Manifest mf = jf.getManifest();
+			final String cp = (mf == null ? null : mf.getMainAttributes().getValue("Class-Path"));
+			if (cp != null) {
+				for (final String path : cp.trim().split("\\s+")) {
+					if (!path.isEmpty()) {
+						ret.add(new File(jar.getParentFile(), path));
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		final StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (final byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Loads the SDG program stored under the given key and marks the entry as used.
+	 * @param key a key computed by {@link #keyOf(SDGConfig)}
+	 * @param mhpType the kind of MHP analysis to run on the loaded SDG
+	 * @return the stored program, or {@code null} if there is no usable entry with the given key
+	 */
+	public SDGProgram load(String key, MHPType mhpType) {
+		final File sdgFile = new File(directory, key + SDG_SUFFIX);
+		final File annFile = new File(directory, key + ANNOTATIONS_SUFFIX);
+		if (!sdgFile.isFile() || !annFile.isFile()) {
+			return null;
+		}
+
+		try {
+			final SDG sdg = SDG.readFromBinary(sdgFile.getPath(), new SecurityNode.SecurityNodeFactory());
+			sdg.setFileName(null);
+			final MHPAnalysis mhpAnalysis = mhpType.getMhpAnalysisConstructor().apply(sdg);
+			final SDGProgram program = new SDGProgram(sdg, mhpAnalysis);
+			readAnnotations(annFile, program);
+
+			final long now = System.currentTimeMillis();
+			sdgFile.setLastModified(now);
+			annFile.setLastModified(now);
+			debug.outln("loaded cached sdg " + key);
+
+			return program;
+		} catch (IOException e) {
+			// e.g. an entry evicted by another process while reading it
+			debug.outln("could not load cached sdg " + key + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the given SDG program under the given key and evicts least recently used entries until the cache
+	 * fits into its size bound again.
+	 * @param key a key computed by {@link #keyOf(SDGConfig)}
+	 * @param program a program built for the configuration of the key
+	 * @return whether the program has been stored; programs with source annotations on parts that cannot be
+	 * looked up again are not stored
+	 * @throws IOException if the cache directory cannot be written
+	 */
+	public boolean store(String key, SDGProgram program) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create cache directory " + directory);
+		}
+
+		final File annTmp = File.createTempFile(key, ANNOTATIONS_SUFFIX + ".tmp", directory);
+		final File sdgTmp = File.createTempFile(key, SDG_SUFFIX + ".tmp", directory);
+		try {
+			try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(annTmp)))) {
+				if (!writeAnnotations(program.getJavaSourceAnnotations(), out)) {
+					debug.outln("not caching sdg " + key + ": unsupported annotated program part");
+					return false;
+				}
+			}
+			try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(sdgTmp))) {
+				SDGBinarySerializer.toBinaryFormat(program.getSDG(), out);
+			}
+			// the sdg is published last, as load requires both files
+			move(annTmp, new File(directory, key + ANNOTATIONS_SUFFIX));
+			move(sdgTmp, new File(directory, key + SDG_SUFFIX));
+		} finally {
+			annTmp.delete();
+			sdgTmp.delete();
+		}
+
+		evict();
+		return true;
+	}
+
+	private static void move(File from, File to) throws IOException {
+		try {
+			Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Deletes the least recently used entries until the total size of all entries is within the bound.
+	 */
+	public void evict() {
+		final File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+
+		final Map<String, List<File>> entries = new HashMap<String, List<File>>();
+		final Map<String, Long> lastUsed = new HashMap<String, Long>();
+		long total = 0;
+		for (final File f : files) {
+			final String name = f.getName();
+			final String key;
+			if (name.endsWith(SDG_SUFFIX)) {
+				key = name.substring(0, name.length() - SDG_SUFFIX.length());
+				lastUsed.put(key, f.lastModified());
+			} else if (name.endsWith(ANNOTATIONS_SUFFIX)) {
+				key = name.substring(0, name.length() - ANNOTATIONS_SUFFIX.length());
+			} else {
+				continue;
+			}
+			entries.computeIfAbsent(key, k -> new ArrayList<File>(2)).add(f);
+			total += f.length();
+		}
+		if (total <= maxBytes) {
+			return;
+		}
+
+		final List<String> keys = new ArrayList<String>(entries.keySet());
+		// entries without sdg are incomplete and go first
+		keys.sort(Comparator.comparingLong(k -> lastUsed.getOrDefault(k, Long.MIN_VALUE)));
+		for (final String key : keys) {
+			if (total <= maxBytes) {
+				break;
+			}
+			for (final File f : entries.get(key)) {
+				final long size = f.length();
+				if (f.delete()) {
+					total -= size;
+				}
+			}
+			debug.outln("evicted cached sdg " + key);
+		}
+	}
+
+	private static boolean writeAnnotations(Map<SDGProgramPart, Collection<Pair<Annotation, String>>> annotations,
+			DataOutputStream out) throws IOException {
+		out.writeInt(VERSION);
+		out.writeInt(annotations.size());
+		for (final Map.Entry<SDGProgramPart, Collection<Pair<Annotation, String>>> e : annotations.entrySet()) {
+			if (!writePart(e.getKey(), out)) {
+				return false;
+			}
+			out.writeInt(e.getValue().size());
+			for (final Pair<Annotation, String> p : e.getValue()) {
+				final Annotation a = p.getFirst();
+				if (a.getUnnamedArguments() != null && a.getUnnamedArguments().length > 0) {
+					return false;
+				}
+				out.writeUTF(a.getType().getClassLoader().getName().toString());
+				out.writeUTF(a.getType().getName().toString());
+				if (!writeNamedArguments(a.getNamedArguments(), out)) {
+					return false;
+				}
+				out.writeBoolean(p.getSecond() != null);
+				if (p.getSecond() != null) {
+					out.writeUTF(p.getSecond());
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean writePart(SDGProgramPart part, DataOutputStream out) throws IOException {
+		if (part instanceof SDGAttribute) {
+			final SDGAttribute a = (SDGAttribute) part;
+			out.writeByte(PART_ATTRIBUTE);
+			out.writeUTF(a.getDeclaringType().toBCString());
+			out.writeUTF(a.getName());
+		} else if (part instanceof SDGMethod) {
+			out.writeByte(PART_METHOD);
+			out.writeUTF(((SDGMethod) part).getSignature().toBCString());
+		} else if (part instanceof SDGFormalParameter) {
+			final SDGFormalParameter p = (SDGFormalParameter) part;
+			out.writeByte(PART_PARAMETER);
+			out.writeUTF(p.getOwningMethod().getSignature().toBCString());
+			out.writeInt(p.getIndex());
+		} else if (part instanceof SDGLocalVariable) {
+			final SDGLocalVariable v = (SDGLocalVariable) part;
+			out.writeByte(PART_LOCAL_VARIABLE);
+			out.writeUTF(v.getOwningMethod().getSignature().toBCString());
+			out.writeUTF(v.getName());
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	private static boolean writeNamedArguments(Map<String, ElementValue> args, DataOutputStream out) throws IOException {
+		out.writeInt(args == null ? 0 : args.size());
+		if (args != null) {
+			for (final Map.Entry<String, ElementValue> e : args.entrySet()) {
+				out.writeUTF(e.getKey());
+				if (!writeElementValue(e.getValue(), out)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean writeElementValue(ElementValue v, DataOutputStream out) throws IOException {
+		if (v instanceof ConstantElementValue) {
+			final Object c = ((ConstantElementValue) v).val;
+			if (c instanceof String) {
+				out.writeByte('s');
+				out.writeUTF((String) c);
+			} else if (c instanceof Integer) {
+				out.writeByte('I');
+				out.writeInt((Integer) c);
+			} else if (c instanceof Long) {
+				out.writeByte('J');
+				out.writeLong((Long) c);
+			} else if (c instanceof Float) {
+				out.writeByte('F');
+				out.writeFloat((Float) c);
+			} else if (c instanceof Double) {
+				out.writeByte('D');
+				out.writeDouble((Double) c);
+			} else if (c instanceof Boolean) {
+				out.writeByte('Z');
+				out.writeBoolean((Boolean) c);
+			} else if (c instanceof Character) {
+				out.writeByte('C');
+				out.writeChar((Character) c);
+			} else if (c instanceof Byte) {
+				out.writeByte('B');
+				out.writeByte((Byte) c);
+			} else if (c instanceof Short) {
+				out.writeByte('S');
+				out.writeShort((Short) c);
+			} else {
+				return false;
+			}
+		} else if (v instanceof EnumElementValue) {
+			final EnumElementValue e = (EnumElementValue) v;
+			out.writeByte('e');
+			out.writeUTF(e.enumType);
+			out.writeUTF(e.enumVal);
+		} else if (v instanceof ArrayElementValue) {
+			final ElementValue[] vals = ((ArrayElementValue) v).vals;
+			out.writeByte('[');
+			out.writeInt(vals.length);
+			for (final ElementValue val : vals) {
+				if (!writeElementValue(val, out)) {
+					return false;
+				}
+			}
+		} else if (v instanceof AnnotationAttribute) {
+			final AnnotationAttribute a = (AnnotationAttribute) v;
+			out.writeByte('@');
+			out.writeUTF(a.type);
+			return writeNamedArguments(a.elementValues, out);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	private static void readAnnotations(File annFile, SDGProgram program) throws IOException {
+		final Map<SDGProgramPart, Collection<Pair<Annotation, String>>> annotations = program.getJavaSourceAnnotations();
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(annFile)))) {
+			if (in.readInt() != VERSION) {
+				throw new IOException("unsupported version of " + annFile);
+			}
+			final int numParts = in.readInt();
+			for (int i = 0; i < numParts; i++) {
+				final Collection<? extends SDGProgramPart> parts = readPart(in, program);
+				final int numAnnotations = in.readInt();
+				final List<Pair<Annotation, String>> anns = new ArrayList<Pair<Annotation, String>>(numAnnotations);
+				for (int j = 0; j < numAnnotations; j++) {
+					final ClassLoaderReference loader = classLoader(in.readUTF());
+					final TypeReference type = TypeReference.findOrCreate(loader, in.readUTF());
+					final Annotation a = Annotation.makeWithNamed(type, readNamedArguments(in));
+					final String sourceFile = (in.readBoolean() ? in.readUTF() : null);
+					anns.add(Pair.pair(a, sourceFile));
+				}
+				if (parts != null) {
+					for (final SDGProgramPart part : parts) {
+						annotations.put(part, new ArrayList<Pair<Annotation, String>>(anns));
+					}
+				}
+			}
+		}
+	}
+
+	private static ClassLoaderReference classLoader(String name) throws IOException {
+		for (final ClassLoaderReference ref : new ClassLoaderReference[] { ClassLoaderReference.Application,
+				ClassLoaderReference.Primordial, ClassLoaderReference.Extension }) {
+			if (ref.getName().toString().equals(name)) {
+				return ref;
+			}
+		}
+		throw new IOException("unknown class loader " + name);
+	}
+
+	private static Collection<? extends SDGProgramPart> readPart(DataInputStream in, SDGProgram program) throws IOException {
+		final byte kind = in.readByte();
+		switch (kind) {
+		case PART_ATTRIBUTE: {
+			final JavaType type = JavaType.parseSingleTypeFromString(in.readUTF(), Format.BC);
+			return program.getAttribute(type, in.readUTF());
+		}
+		case PART_METHOD:
+			return program.getMethods(JavaMethodSignature.fromString(in.readUTF()));
+		case PART_PARAMETER: {
+			final JavaMethodSignature m = JavaMethodSignature.fromString(in.readUTF());
+			return program.getMethodParameter(m, in.readInt());
+		}
+		case PART_LOCAL_VARIABLE: {
+			final JavaMethodSignature m = JavaMethodSignature.fromString(in.readUTF());
+			return program.getLocalVariables(m, in.readUTF());
+		}
+		default:
+			throw new IOException("unknown program part kind " + kind);
+		}
+	}
+
+	private static Map<String, ElementValue> readNamedArguments(DataInputStream in) throws IOException {
+		final int size = in.readInt();
+		final Map<String, ElementValue> args = new LinkedHashMap<String, ElementValue>();
+		for (int i = 0; i < size; i++) {
+			final String name = in.readUTF();
+			args.put(name, readElementValue(in));
+		}
+		return args;
+	}
+
+	private static ElementValue readElementValue(DataInputStream in) throws IOException {
+		final byte tag = in.readByte();
+		switch (tag) {
+		case 's':
+			return new ConstantElementValue(in.readUTF());
+		case 'I':
+			return new ConstantElementValue(in.readInt());
+		case 'J':
+			return new ConstantElementValue(in.readLong());
+		case 'F':
+			return new ConstantElementValue(in.readFloat());
+		case 'D':
+			return new ConstantElementValue(in.readDouble());
+		case 'Z':
+			return new ConstantElementValue(in.readBoolean());
+		case 'C':
+			return new ConstantElementValue(in.readChar());
+		case 'B':
+			return new ConstantElementValue(in.readByte());
+		case 'S':
+			return new ConstantElementValue(in.readShort());
+		case 'e':
+			return new EnumElementValue(in.readUTF(), in.readUTF());
+		case '[': {
+			final ElementValue[] vals = new ElementValue[in.readInt()];
+			for (int i = 0; i < vals.length; i++) {
+				vals[i] = readElementValue(in);
+			}
+			return new ArrayElementValue(vals);
+		}
+		case '@': {
+			final String type = in.readUTF();
+			return new AnnotationAttribute(type, readNamedArguments(in));
+		}
+		default:
+			throw new IOException("unknown element value tag " + (char) tag);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SDGCache(" + directory + ", " + maxBytes + " bytes)";
+	}
+}
@@ -54,6 +54,8 @@ public class SDGConfig {
 	private boolean skipSDGProgramPart = false;
 	private ControlDependenceVariant controlDependenceVariant = SDGBuilder.defaultControlDependenceVariant;
 	private boolean isParallel = true;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private SDGCache cache = null;
 	
 	public SDGConfig(String classPath, String entryMethod, Stubs stubsPath) {
 		this(classPath, true, entryMethod, stubsPath, ExceptionAnalysis.INTERPROC, FieldPropagation.OBJ_GRAPH, PointsToPrecision.INSTANCE_BASED, false, false, MHPType.NONE);
@@ -381,4 +383,31 @@ public class SDGConfig {
 		this.isParallel = isParallel;
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @param parallelism the number of threads used by the parts of the SDG construction that run in parallel
+	 * if {@link #isParallel()} is set
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	public SDGCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * @param cache the cache to look up SDGs of this configuration in before building them, or {@code null}
+	 * to always build them
+	 */
+	public void setCache(SDGCache cache) {
+		this.cache = cache;
+	}
+
 }
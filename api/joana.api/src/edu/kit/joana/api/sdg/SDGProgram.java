@@ -11,6 +11,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -50,10 +51,15 @@ import edu.kit.joana.api.annotations.AnnotationType;
 import edu.kit.joana.api.annotations.AnnotationTypeBasedNodeCollector;
 import edu.kit.joana.ifc.sdg.core.SecurityNode;
 import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGBinaryParser;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
 import edu.kit.joana.ifc.sdg.graph.SDGSerializer;
+import edu.kit.joana.ifc.sdg.graph.SDGStreamingSerializer;
+import edu.kit.joana.ifc.sdg.graph.SDGStreamingSerializer.Compression;
+import edu.kit.joana.ifc.sdg.graph.chopper.BatchChopper;
 import edu.kit.joana.ifc.sdg.graph.chopper.Chopper;
+import edu.kit.joana.ifc.sdg.graph.chopper.ChoppingCriterion;
 import edu.kit.joana.ifc.sdg.graph.chopper.NonSameLevelChopper;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.MHPAnalysis;
 import edu.kit.joana.ifc.sdg.mhpoptimization.CSDGPreprocessor;
@@ -176,6 +182,7 @@ public class SDGProgram {
 	private SDGProgramPartParserBC ppartParser;
 	private final Map<SDGProgramPart, Collection<Pair<Annotation,String>>> annotations = new LinkedHashMap<>();
 	private final AnnotationTypeBasedNodeCollector coll;
+	private volatile SDGProgramPartIndex ppartIndex;
 
 	private static Logger debug = Log.getLogger(Log.L_API_DEBUG);
 	
@@ -193,7 +200,12 @@ public class SDGProgram {
 	}
 
 	public static SDGProgram loadSDG(String path, MHPType mhpType) throws IOException {
-		final SDG sdg = SDG.readFromAndUseLessHeap(path, new SecurityNode.SecurityNodeFactory());
+		final SDG sdg;
+		if (SDGBinaryParser.isBinaryFormat(path)) {
+			sdg = SDG.readFromBinary(path, new SecurityNode.SecurityNodeFactory());
+		} else {
+			sdg = SDG.readFromAndUseLessHeap(path, new SecurityNode.SecurityNodeFactory());
+		}
 		final MHPAnalysis mhpAnalysis = mhpType.getMhpAnalysisConstructor().apply(sdg);
 		PruneInterferences.pruneInterferences(sdg, mhpAnalysis);
 		return new SDGProgram(sdg, mhpAnalysis);
@@ -244,8 +256,58 @@ public class SDGProgram {
 		return createSDGProgram(config, out, monitor, null);
 	}
 
+	/**
+	 * Builds the SDG described by the given configuration and, if <tt>sdgFileOut</tt> is not null, writes it in the
+	 * .pdg format to this stream with {@link SDGSerializer}, in the platform's default charset. The stream is closed
+	 * afterwards.
+	 */
 	public static SDGProgram createSDGProgram(SDGConfig config, PrintStream out, IProgressMonitor monitor, OutputStream sdgFileOut)
 			throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		final SDGProgram ret = loadOrBuildSDGProgram(config, out, monitor);
+		if (sdgFileOut != null) {
+			SDGSerializer.toPDGFormat(ret.getSDG(), sdgFileOut);
+		}
+		return ret;
+	}
+
+	/**
+	 * Builds the SDG described by the given configuration and, if <tt>sdgFileOut</tt> is not null, writes it in the
+	 * .pdg format to this stream with {@link SDGStreamingSerializer}, compressed as requested. Unlike
+	 * {@link #createSDGProgram(SDGConfig, PrintStream, IProgressMonitor, OutputStream)}, the text is always encoded
+	 * in UTF-8, and the stream is flushed but not closed.
+	 */
+	public static SDGProgram createSDGProgram(SDGConfig config, PrintStream out, IProgressMonitor monitor,
+			OutputStream sdgFileOut, Compression compression)
+			throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		final SDGProgram ret = loadOrBuildSDGProgram(config, out, monitor);
+		if (sdgFileOut != null) {
+			SDGStreamingSerializer.toPDGFormat(ret.getSDG(), sdgFileOut, compression);
+		}
+		return ret;
+	}
+
+	private static SDGProgram loadOrBuildSDGProgram(SDGConfig config, PrintStream out, IProgressMonitor monitor)
+			throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
+		final SDGCache cache = config.getCache();
+		final String key = (cache == null ? null : cache.keyOf(config));
+		SDGProgram ret = (key == null ? null : cache.load(key, config.getMhpType()));
+		if (ret == null) {
+			ret = buildSDGProgram(config, out, monitor);
+			if (key != null) {
+				try {
+					cache.store(key, ret);
+				} catch (IOException e) {
+					debug.outln("could not store sdg in " + cache + ": " + e);
+				}
+			}
+		} else {
+			out.println("loaded SDG from " + cache);
+		}
+		return ret;
+	}
+
+	private static SDGProgram buildSDGProgram(SDGConfig config, PrintStream out, IProgressMonitor monitor)
+			throws ClassHierarchyException, IOException, UnsoundGraphException, CancelException {
 		monitor.beginTask("build SDG", 20);
 		ConstructionNotifier notifier = config.getNotifier();
 		if (notifier != null) {
@@ -281,10 +343,6 @@ public class SDGProgram {
 			}
 			
 		}
-		if (sdgFileOut != null) {
-			SDGSerializer.toPDGFormat(sdg, sdgFileOut);
-			sdgFileOut.flush();
-		}
 		final SDGProgram ret = new SDGProgram(sdg, mhpAnalysis);
 		
 		if (config.isSkipSDGProgramPart()) {
@@ -477,6 +535,7 @@ public class SDGProgram {
 		cfg.summaryComputationType = config.getSummaryComputationType();
 		cfg.computeInterference = config.computeInterferences();
 		cfg.isParallel = config.isParallel();
+		cfg.parallelism = config.getParallelism();
 		cfg.controlDependenceVariant = config.getControlDependenceVariant();
 		debug.outln(cfg.stubs);
 		return cfg;
@@ -678,7 +737,17 @@ public class SDGProgram {
 	 * @return covering program part for the given node, or {@code null} if the node is not supported (see above)
 	 */
 	public SDGProgramPart findCoveringProgramPart(SDGNode node) {
-		Set<SDGProgramPart> candidates = collectCoveringCandidates(node);
+		final SDGProgramPartIndex index = ppartIndex;
+		if (index != null && index.isValid() && index.contains(node)) {
+			return index.getCoveringProgramPart(node);
+		}
+		SDGNode entry = sdg.getEntry(node);
+		JavaMethodSignature sig = JavaMethodSignature.fromString(entry.getBytecodeMethod());
+		return computeCoveringProgramPart(node, getMethods(sig));
+	}
+
+	SDGProgramPart computeCoveringProgramPart(SDGNode node, Collection<SDGMethod> methods) {
+		Set<SDGProgramPart> candidates = collectCoveringCandidates(node, methods);
 		if (candidates.isEmpty()) {
 			return null;
 		}
@@ -690,11 +759,38 @@ public class SDGProgram {
 		return null;
 	}
 
+	/**
+	 * Returns the index of the covering program parts of all nodes, which is built on first use and rebuilt once
+	 * the sdg has been modified. While a valid index exists, {@link #findCoveringProgramPart(SDGNode)} uses it.
+	 * The index is built using as many threads as there are processors available.
+	 * @return the index of the covering program parts of all nodes
+	 */
+	public SDGProgramPartIndex getProgramPartIndex() {
+		return getProgramPartIndex(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Returns the index of the covering program parts of all nodes, see {@link #getProgramPartIndex()}.
+	 * @param parallelism number of threads used to build the index, if it needs to be built
+	 * @return the index of the covering program parts of all nodes
+	 */
+	public synchronized SDGProgramPartIndex getProgramPartIndex(int parallelism) {
+		SDGProgramPartIndex index = ppartIndex;
+		if (index == null || !index.isValid()) {
+			index = SDGProgramPartIndex.build(this, parallelism);
+			ppartIndex = index;
+		}
+		return index;
+	}
+
 	public Set<SDGProgramPart> collectCoveringCandidates(SDGNode node) {
-		LinkedHashSet<SDGProgramPart> ret = new LinkedHashSet<SDGProgramPart>();
 		SDGNode entry = sdg.getEntry(node);
 		JavaMethodSignature sig = JavaMethodSignature.fromString(entry.getBytecodeMethod());
-		Collection<SDGMethod> methods = getMethods(sig);
+		return collectCoveringCandidates(node, getMethods(sig));
+	}
+
+	private Set<SDGProgramPart> collectCoveringCandidates(SDGNode node, Collection<SDGMethod> methods) {
+		LinkedHashSet<SDGProgramPart> ret = new LinkedHashSet<SDGProgramPart>();
 		int bcIndex = node.getBytecodeIndex();
 		switch (node.getKind()) {
 		case ENTRY:
@@ -781,6 +877,81 @@ public class SDGProgram {
 		Chopper chopper = new NonSameLevelChopper(this.sdg);
 		AnnotationTypeBasedNodeCollector c = new AnnotationTypeBasedNodeCollector(this.sdg);
 		Collection<SDGNode> chop = chopper.chop(c.collectNodes(source, AnnotationType.SOURCE), c.collectNodes(sink, AnnotationType.SINK));
+		return toInstructions(chop);
+	}
+
+	/**
+	 * Receives the chops computed by
+	 * {@link SDGProgram#computeInstructionChops(Collection, Collection, int, InstructionChopListener)}.
+	 */
+	public interface InstructionChopListener {
+		/**
+		 * Is called once for each pair of a source and a sink, in the order the chops are completed.
+		 * Calls are never concurrent, but may come from different threads.
+		 * @param source the source
+		 * @param sink the sink
+		 * @param chop instructions through which information may flow from source to sink
+		 */
+		void chopComputed(SDGProgramPart source, SDGProgramPart sink, Set<SDGInstruction> chop);
+	}
+
+	/**
+	 * Like {@link #computeInstructionChop(SDGProgramPart, SDGProgramPart)}, but computes the chops of every source
+	 * with every sink at once, with the given number of threads, and passes each chop to the given listener as soon
+	 * as it is computed. The slices of each source and each sink are computed only once and dropped after their
+	 * last chop, see {@link BatchChopper}, and no chop is kept after it has been reported.
+	 * This works only for sequential programs
+	 * @param sources source instructions
+	 * @param sinks sink instructions
+	 * @param threads number of threads to use
+	 * @param listener receives the chop of each pair of a source and a sink
+	 */
+	public void computeInstructionChops(Collection<? extends SDGProgramPart> sources,
+			Collection<? extends SDGProgramPart> sinks, int threads, InstructionChopListener listener) {
+		AnnotationTypeBasedNodeCollector c = new AnnotationTypeBasedNodeCollector(this.sdg);
+		final List<SDGProgramPart> sourceList = new ArrayList<SDGProgramPart>(sources);
+		final List<SDGProgramPart> sinkList = new ArrayList<SDGProgramPart>(sinks);
+		List<Collection<SDGNode>> sinkNodes = new ArrayList<Collection<SDGNode>>(sinkList.size());
+		for (SDGProgramPart sink : sinkList) {
+			sinkNodes.add(c.collectNodes(sink, AnnotationType.SINK));
+		}
+		List<ChoppingCriterion> criteria = new ArrayList<ChoppingCriterion>(sourceList.size() * sinkList.size());
+		for (SDGProgramPart source : sourceList) {
+			Collection<SDGNode> sourceNodes = c.collectNodes(source, AnnotationType.SOURCE);
+			for (Collection<SDGNode> nodes : sinkNodes) {
+				criteria.add(new ChoppingCriterion(sourceNodes, nodes));
+			}
+		}
+		final int sinkCount = sinkList.size();
+		new BatchChopper(this.sdg, NonSameLevelChopper::new, threads).chop(criteria,
+				(index, criterion, chop) -> listener.chopComputed(sourceList.get(index / sinkCount),
+						sinkList.get(index % sinkCount), toInstructions(chop)));
+	}
+
+	/**
+	 * Like {@link #computeInstructionChops(Collection, Collection, int, InstructionChopListener)}, but collects all
+	 * chops in a map. For many sources and sinks, prefer the listener, which does not keep the chops.
+	 * @param sources source instructions
+	 * @param sinks sink instructions
+	 * @param threads number of threads to use
+	 * @return maps each pair of a source and a sink to the instructions through which information may flow from
+	 * the source to the sink, ordered by source first
+	 */
+	public Map<Pair<SDGProgramPart, SDGProgramPart>, Set<SDGInstruction>> computeInstructionChops(
+			Collection<? extends SDGProgramPart> sources, Collection<? extends SDGProgramPart> sinks, int threads) {
+		final Map<Pair<SDGProgramPart, SDGProgramPart>, Set<SDGInstruction>> ret = new LinkedHashMap<Pair<SDGProgramPart, SDGProgramPart>, Set<SDGInstruction>>();
+		for (SDGProgramPart source : sources) {
+			for (SDGProgramPart sink : sinks) {
+				ret.put(Pair.pair(source, sink), null);
+			}
+		}
+		computeInstructionChops(sources, sinks, threads,
+				(source, sink, chop) -> ret.put(Pair.pair(source, sink), chop));
+
+		return ret;
+	}
+
+	private Set<SDGInstruction> toInstructions(Collection<SDGNode> chop) {
 		Set<SDGInstruction> ret = new HashSet<SDGInstruction>();
 		for (SDGNode n : chop) {
 			SDGMethod m = getMethod(this.sdg.getEntry(n).getBytecodeMethod());
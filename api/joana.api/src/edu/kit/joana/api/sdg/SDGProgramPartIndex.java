@@ -0,0 +1,183 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.api.sdg;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.util.JavaMethodSignature;
+
+/**
+ * A precomputed mapping from the nodes of an SDG to their covering program parts, as computed by
+ * {@link SDGProgram#findCoveringProgramPart(SDGNode)}.
+ * <p>
+ * The index is built by {@link SDGProgram#getProgramPartIndex(int)} and stores the program parts in an array indexed
+ * by node ID, so a lookup neither parses method signatures nor traverses the graph. An index describes the graph at
+ * the time it was built, see {@link #isValid()}; it may be used by several threads at once.
+ */
+public final class SDGProgramPartIndex {
+
+	/** number of nodes below which a builder task does not split any further */
+	private static final int THRESHOLD = 512;
+
+	private final SDG sdg;
+	private final int modificationCount;
+
+	private final int minId;
+	private final SDGNode[] nodes;
+	private final SDGProgramPart[] parts;
+	/** false for nodes whose program part could not be computed, these are looked up on demand */
+	private final boolean[] resolved;
+
+	private SDGProgramPartIndex(final SDG sdg) {
+		this.sdg = sdg;
+		this.modificationCount = sdg.getModificationCount();
+
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for (final SDGNode n : sdg.vertexSet()) {
+			min = Math.min(min, n.getId());
+			max = Math.max(max, n.getId());
+		}
+		if (min > max) {
+			min = max = 0;
+		}
+		this.minId = min;
+		final int size = max - min + 1;
+		this.nodes = new SDGNode[size];
+		for (final SDGNode n : sdg.vertexSet()) {
+			nodes[n.getId() - min] = n;
+		}
+		this.parts = new SDGProgramPart[size];
+		this.resolved = new boolean[size];
+	}
+
+	/**
+	 * Builds the index for the given program using the given number of threads.
+	 */
+	static SDGProgramPartIndex build(final SDGProgram program, final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism has to be positive: " + parallelism);
+		}
+		final SDGProgramPartIndex index = new SDGProgramPartIndex(program.getSDG());
+
+		/* The methods of each procedure are looked up once and up front, since neither the lookup nor the
+		 * construction of the program parts it may trigger are thread-safe. */
+		final SDGNode[] entries = new SDGNode[index.nodes.length];
+		final Map<SDGNode, Collection<SDGMethod>> methods = new HashMap<SDGNode, Collection<SDGMethod>>();
+		for (int idx = 0; idx < index.nodes.length; idx++) {
+			if (index.nodes[idx] == null) {
+				continue;
+			}
+			final SDGNode entry = index.sdg.getEntry(index.nodes[idx]);
+			entries[idx] = entry;
+			if (entry != null && !methods.containsKey(entry)) {
+				final JavaMethodSignature sig = JavaMethodSignature.fromString(entry.getBytecodeMethod());
+				methods.put(entry, program.getMethods(sig));
+			}
+		}
+
+		final BuildTask task = new BuildTask(program, index, entries, methods, 0, index.nodes.length);
+		if (parallelism == 1 || index.nodes.length <= THRESHOLD) {
+			task.compute();
+		} else {
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				pool.invoke(task);
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+
+		return index;
+	}
+
+	private static final class BuildTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final SDGProgram program;
+		private final SDGProgramPartIndex index;
+		private final SDGNode[] entries;
+		private final Map<SDGNode, Collection<SDGMethod>> methods;
+		private final int from;
+		private final int to;
+
+		private BuildTask(final SDGProgram program, final SDGProgramPartIndex index, final SDGNode[] entries,
+				final Map<SDGNode, Collection<SDGMethod>> methods, final int from, final int to) {
+			this.program = program;
+			this.index = index;
+			this.entries = entries;
+			this.methods = methods;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > THRESHOLD && getPool() != null) {
+				final int mid = (from + to) >>> 1;
+				invokeAll(new BuildTask(program, index, entries, methods, from, mid),
+						new BuildTask(program, index, entries, methods, mid, to));
+				return;
+			}
+
+			for (int idx = from; idx < to; idx++) {
+				final SDGNode n = index.nodes[idx];
+				if (n == null || entries[idx] == null) {
+					continue;
+				}
+				try {
+					index.parts[idx] = program.computeCoveringProgramPart(n, methods.get(entries[idx]));
+					index.resolved[idx] = true;
+				} catch (RuntimeException e) {
+					// leave the node to findCoveringProgramPart, which reports the problem to its caller
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the graph has not been modified since this index was built.
+	 */
+	public boolean isValid() {
+		return modificationCount == sdg.getModificationCount();
+	}
+
+	/**
+	 * Returns the graph this index was built for.
+	 */
+	public SDG getGraph() {
+		return sdg;
+	}
+
+	/**
+	 * Returns true if the covering program part of the given node is stored in this index.
+	 */
+	public boolean contains(final SDGNode n) {
+		final int idx = n.getId() - minId;
+		return idx >= 0 && idx < nodes.length && nodes[idx] == n && resolved[idx];
+	}
+
+	/**
+	 * Returns the covering program part of the given node, see {@link SDGProgram#findCoveringProgramPart(SDGNode)}.
+	 *
+	 * @param n  A node for which {@link #contains(SDGNode)} holds.
+	 * @return the covering program part of the given node, or {@code null} if the node is not supported
+	 */
+	public SDGProgramPart getCoveringProgramPart(final SDGNode n) {
+		if (!contains(n)) {
+			throw new IllegalArgumentException("node is not part of the index: " + n);
+		}
+		return parts[n.getId() - minId];
+	}
+}
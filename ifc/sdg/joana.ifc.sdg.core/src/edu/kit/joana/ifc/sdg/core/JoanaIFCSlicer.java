@@ -26,7 +26,9 @@ import edu.kit.joana.ifc.sdg.graph.LabeledSDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.lattice.ICompiledLattice;
 import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import edu.kit.joana.ifc.sdg.lattice.LatticeUtil;
 import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
 import edu.kit.joana.util.Log;
 import edu.kit.joana.util.Logger;
@@ -46,7 +48,7 @@ public class JoanaIFCSlicer implements ProgressAnnouncer {
 	 * @uml.property  name="l"
 	 * @uml.associationEnd  multiplicity="(1 1)"
 	 */
-	private final IStaticLattice<String> l;
+	private final ICompiledLattice<String> l;
 	/**
 	 * @uml.property  name="g"
 	 * @uml.associationEnd  multiplicity="(1 1)"
@@ -90,7 +92,8 @@ public class JoanaIFCSlicer implements ProgressAnnouncer {
 	private HashSet<SecurityNode> sliceNodes = new HashSet<SecurityNode>();
 
 	public JoanaIFCSlicer(SDG g, IStaticLattice<String> l) {
-		this.l = l;
+		// all supremum and infimum computations become table lookups
+		this.l = LatticeUtil.compileLattice(l);
 		this.g = g;
 	}
 
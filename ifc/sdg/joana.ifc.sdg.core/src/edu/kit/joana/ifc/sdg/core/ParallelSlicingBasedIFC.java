@@ -0,0 +1,209 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.kit.joana.ifc.sdg.core.DirectedSlicer.Direction;
+import edu.kit.joana.ifc.sdg.core.violations.ClassifiedViolation;
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledSlicer;
+import edu.kit.joana.ifc.sdg.graph.slicer.compiled.SliceWorkspace;
+import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
+import edu.kit.joana.util.Log;
+import edu.kit.joana.util.Logger;
+
+/**
+ * A {@link SlicingBasedIFC} that slices the endpoints in parallel.<p>
+ * The endpoints are sharded over a fork-join pool with the given parallelism. The slicers run on a
+ * {@link CompiledSDG} and are shared by all workers, each of which reuses one {@link SliceWorkspace}
+ * for all endpoints it processes.<p>
+ * The reported violations do not depend on the scheduling: they are ordered by endpoint in the order
+ * {@link SlicingBasedIFC} would process them, and within an endpoint by the ID of the opposite endpoint.
+ */
+public class ParallelSlicingBasedIFC extends SlicingBasedIFC {
+
+	private static final Logger DEBUG = Log.getLogger(Log.L_IFC_DEBUG);
+
+	/** number of tasks per worker, to balance slices of different sizes */
+	private static final int TASKS_PER_WORKER = 8;
+
+	private final CompiledSlicer compiledForw;
+	private final CompiledSlicer compiledBackw;
+	private final int parallelism;
+
+	/**
+	 * Instantiates a new ParallelSlicingBasedIFC algorithm.
+	 * @param sdg the sdg to perform slicing-based IFC on
+	 * @param lattice the security lattice used for IFC
+	 * @param slicerForw a forward slicer running on a compiled view of sdg
+	 * @param slicerBackw a backward slicer running on a compiled view of sdg
+	 * @param parallelism the number of worker threads
+	 */
+	public ParallelSlicingBasedIFC(SDG sdg, IStaticLattice<String> lattice, CompiledSlicer slicerForw,
+			CompiledSlicer slicerBackw, int parallelism) {
+		super(sdg, lattice, slicerForw, slicerBackw);
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		this.compiledForw = slicerForw;
+		this.compiledBackw = slicerBackw;
+		this.parallelism = parallelism;
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.kit.joana.ifc.sdg.core.IFC#setSDG(edu.kit.joana.ifc.sdg.graph.SDG)
+	 */
+	@Override
+	public void setSDG(SDG sdg) {
+		super.setSDG(sdg);
+		final CompiledSDG compiled = new CompiledSDG(sdg);
+		compiledForw.setGraph(compiled);
+		compiledBackw.setGraph(compiled);
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.kit.joana.ifc.sdg.core.IFC#checkIFlow()
+	 */
+	@Override
+	public Collection<ClassifiedViolation> checkIFlow() throws NotInLatticeException {
+		return checkIFlow(SecurityPolicy.fromNodes(g));
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.kit.joana.ifc.sdg.core.SecurityPolicyChecker#checkIFlow(edu.kit.joana.ifc.sdg.core.SecurityPolicy)
+	 */
+	@Override
+	public Collection<ClassifiedViolation> checkIFlow(SecurityPolicy policy) throws NotInLatticeException {
+		final Collection<SecurityNode> endPointColl = chooseEndpoints(policy);
+		final SecurityNode[] endPoints = endPointColl.toArray(new SecurityNode[endPointColl.size()]);
+		final CompiledSlicer compiled = (slicer.getDirection() == Direction.FORWARD ? compiledForw : compiledBackw);
+		final CompiledSDG cg = compiled.getGraph();
+
+		final int[] rows = new int[endPoints.length];
+		for (int i = 0; i < endPoints.length; i++) {
+			rows[i] = cg.rowOf(endPoints[i]);
+			if (rows[i] < 0) {
+				throw new IllegalStateException("Endpoint " + endPoints[i] + " is not part of the compiled graph.");
+			}
+		}
+
+		final boolean[] isStartpoint = new boolean[cg.numberOfNodes()];
+		for (int row = 0; row < isStartpoint.length; row++) {
+			isStartpoint[row] = isStartpoint((SecurityNode) cg.getNode(row), policy);
+		}
+
+		DEBUG.outln(String.format("[%s] slicing %d endpoints with %d workers...", Calendar.getInstance().getTime(),
+				endPoints.length, parallelism));
+		final Batch batch = new Batch(compiled, policy, endPoints, rows, isStartpoint);
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(new SliceTask(batch, 0, endPoints.length,
+					Math.max(1, endPoints.length / (parallelism * TASKS_PER_WORKER))));
+		} finally {
+			pool.shutdown();
+		}
+
+		final Collection<ClassifiedViolation> vios = new LinkedList<ClassifiedViolation>();
+		for (List<ClassifiedViolation> found : batch.violations) {
+			vios.addAll(found);
+		}
+		DEBUG.outln(String.format("[%s] done. Found %d violation(s).", Calendar.getInstance().getTime(), vios.size()));
+
+		return vios;
+	}
+
+	/**
+	 * The data shared by all tasks of one run of {@link #checkIFlow(SecurityPolicy)}.
+	 */
+	private static final class Batch {
+		private final CompiledSlicer slicer;
+		private final SecurityPolicy policy;
+		private final SecurityNode[] endPoints;
+		private final int[] rows;
+		private final boolean[] isStartpoint;
+		/** endpoint index -> violations found in its slice; each slot is written by exactly one task */
+		private final List<List<ClassifiedViolation>> violations;
+		private final ThreadLocal<SliceWorkspace> workspace;
+
+		private Batch(final CompiledSlicer slicer, SecurityPolicy policy, SecurityNode[] endPoints, int[] rows,
+				boolean[] isStartpoint) {
+			this.slicer = slicer;
+			this.policy = policy;
+			this.endPoints = endPoints;
+			this.rows = rows;
+			this.isStartpoint = isStartpoint;
+			this.violations = new ArrayList<List<ClassifiedViolation>>(Collections.nCopies(endPoints.length,
+					(List<ClassifiedViolation>) null));
+			this.workspace = ThreadLocal.withInitial(() -> new SliceWorkspace(slicer.getGraph()));
+		}
+	}
+
+	private final class SliceTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Batch batch;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		private SliceTask(Batch batch, int from, int to, int threshold) {
+			this.batch = batch;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				final SliceWorkspace ws = batch.workspace.get();
+				for (int i = from; i < to; i++) {
+					batch.violations.set(i, sliceEndpoint(i, ws));
+				}
+			} else {
+				final int mid = (from + to) >>> 1;
+				invokeAll(new SliceTask(batch, from, mid, threshold), new SliceTask(batch, mid, to, threshold));
+			}
+		}
+
+		private List<ClassifiedViolation> sliceEndpoint(int i, SliceWorkspace ws) {
+			batch.slicer.sliceRows(new int[] { batch.rows[i] }, ws);
+
+			// only opposite endpoints can be part of a violation; visit them in ascending order of their IDs
+			int candidates = 0;
+			final int[] candidateRows = new int[ws.size()];
+			for (int j = 0; j < ws.size(); j++) {
+				final int row = ws.get(j);
+				if (batch.isStartpoint[row]) {
+					candidateRows[candidates++] = row;
+				}
+			}
+			Arrays.sort(candidateRows, 0, candidates);
+
+			final List<ClassifiedViolation> found = new ArrayList<ClassifiedViolation>(0);
+			final CompiledSDG cg = batch.slicer.getGraph();
+			for (int j = 0; j < candidates; j++) {
+				addPossibleViolation(batch.endPoints[i], (SecurityNode) cg.getNode(candidateRows[j]), batch.policy, found);
+			}
+
+			return found;
+		}
+	}
+}
@@ -31,7 +31,7 @@ import edu.kit.joana.util.Maybe;
  * To identify a flow as redundant, barrier slicing is applied.
  * @author Martin Mohr
  */
-public class ReduceRedundantFlows extends IFC<String> {
+public class ReduceRedundantFlows extends IFC<String> implements SecurityPolicyChecker {
 	
 	private final IFC<String> baseIFC;
 	private final BarrierChopper bs;
@@ -47,7 +47,24 @@ public class ReduceRedundantFlows extends IFC<String> {
 	 */
 	@Override
 	public Collection<? extends IViolation<SecurityNode>> checkIFlow() throws NotInLatticeException {
-		Collection<? extends IViolation<SecurityNode>> baseFlows = baseIFC.checkIFlow();
+		return reduce(baseIFC.checkIFlow());
+	}
+
+	/**
+	 * Checks the given policy with the decorated checker and filters its violations.
+	 * @throws UnsupportedOperationException if the decorated checker is no {@link SecurityPolicyChecker}
+	 * @see edu.kit.joana.ifc.sdg.core.SecurityPolicyChecker#checkIFlow(edu.kit.joana.ifc.sdg.core.SecurityPolicy)
+	 */
+	@Override
+	public Collection<? extends IViolation<SecurityNode>> checkIFlow(SecurityPolicy policy) throws NotInLatticeException {
+		if (!(baseIFC instanceof SecurityPolicyChecker)) {
+			throw new UnsupportedOperationException(baseIFC.getClass().getSimpleName()
+					+ " cannot check a separate security policy");
+		}
+		return reduce(((SecurityPolicyChecker) baseIFC).checkIFlow(policy));
+	}
+
+	private Collection<? extends IViolation<SecurityNode>> reduce(Collection<? extends IViolation<SecurityNode>> baseFlows) {
 		Collection<SDGNode> sources = new SourceExtractor().map(baseFlows);
 		Collection<SDGNode> sinks = new SinkExtractor().map(baseFlows);
 		return new RedundantFilter(sources, sinks).filter(baseFlows);
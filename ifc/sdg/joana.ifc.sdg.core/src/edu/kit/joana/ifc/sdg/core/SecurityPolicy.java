@@ -0,0 +1,181 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.core;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+/**
+ * An immutable assignment of provided and required security levels to the nodes of an SDG, identified by their IDs.
+ * <p>
+ * In contrast to the levels stored in the {@link SecurityNode security nodes} themselves, a policy is not part of the
+ * graph, so several policies can be checked against the same SDG at the same time, see
+ * {@link SecurityPolicyChecker#checkIFlow(SecurityPolicy)}. The classification of nodes follows
+ * {@link SecurityNode}: a node with only a provided level is an information source, a node with only a required
+ * level is an information sink and a node with both levels is a declassification. Nodes without levels are not
+ * mentioned by the policy.
+ */
+public final class SecurityPolicy {
+
+	/** the policy without any sources, sinks or declassifications */
+	public static final SecurityPolicy EMPTY = new Builder().build();
+
+	private final TIntObjectMap<String> provided;
+	private final TIntObjectMap<String> required;
+
+	private SecurityPolicy(TIntObjectMap<String> provided, TIntObjectMap<String> required) {
+		this.provided = provided;
+		this.required = required;
+	}
+
+	/**
+	 * Captures the levels currently stored in the security nodes of the given SDG.
+	 */
+	public static SecurityPolicy fromNodes(SDG sdg) {
+		final Builder b = new Builder();
+		for (SDGNode n : sdg.vertexSet()) {
+			final SecurityNode sn = (SecurityNode) n;
+			if (sn.getProvided() != SecurityNode.UNDEFINED) {
+				b.setProvided(sn.getId(), sn.getProvided());
+			}
+			if (sn.getRequired() != SecurityNode.UNDEFINED) {
+				b.setRequired(sn.getId(), sn.getRequired());
+			}
+		}
+		return b.build();
+	}
+
+	/**
+	 * Returns the provided level of the given node, or {@link SecurityNode#UNDEFINED} if it has none.
+	 */
+	public String getProvided(SDGNode n) {
+		return provided.get(n.getId());
+	}
+
+	/**
+	 * Returns the required level of the given node, or {@link SecurityNode#UNDEFINED} if it has none.
+	 */
+	public String getRequired(SDGNode n) {
+		return required.get(n.getId());
+	}
+
+	public boolean isInformationSource(SDGNode n) {
+		return required.get(n.getId()) == SecurityNode.UNDEFINED && provided.get(n.getId()) != SecurityNode.UNDEFINED;
+	}
+
+	public boolean isInformationSink(SDGNode n) {
+		return required.get(n.getId()) != SecurityNode.UNDEFINED && provided.get(n.getId()) == SecurityNode.UNDEFINED;
+	}
+
+	public boolean isDeclassification(SDGNode n) {
+		return required.get(n.getId()) != SecurityNode.UNDEFINED && provided.get(n.getId()) != SecurityNode.UNDEFINED;
+	}
+
+	/**
+	 * Returns the provided level of a source and the required level of any other node.
+	 */
+	public String getLevel(SDGNode n) {
+		if (isInformationSource(n)) {
+			return getProvided(n);
+		} else {
+			return getRequired(n);
+		}
+	}
+
+	/**
+	 * Returns the IDs of all nodes which have a provided or a required level.
+	 */
+	public int[] getAnnotatedNodeIds() {
+		final TIntObjectHashMap<String> all = new TIntObjectHashMap<String>(provided);
+		all.putAll(required);
+		return all.keys();
+	}
+
+	public boolean isEmpty() {
+		return provided.isEmpty() && required.isEmpty();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * provided.hashCode() + required.hashCode();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SecurityPolicy)) {
+			return false;
+		}
+		final SecurityPolicy other = (SecurityPolicy) obj;
+		return provided.equals(other.provided) && required.equals(other.required);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "provided: " + provided + ", required: " + required;
+	}
+
+	/**
+	 * Collects the levels of a {@link SecurityPolicy}. A builder can be reused after {@link #build()}, later changes do
+	 * not affect the policies built before.
+	 */
+	public static final class Builder {
+
+		private final TIntObjectHashMap<String> provided = new TIntObjectHashMap<String>();
+		private final TIntObjectHashMap<String> required = new TIntObjectHashMap<String>();
+
+		/**
+		 * Sets the provided level of the node with the given ID, {@code null} removes it.
+		 */
+		public Builder setProvided(int nodeId, String level) {
+			if (level == SecurityNode.UNDEFINED) {
+				provided.remove(nodeId);
+			} else {
+				provided.put(nodeId, level.intern());
+			}
+			return this;
+		}
+
+		/**
+		 * Sets the required level of the node with the given ID, {@code null} removes it.
+		 */
+		public Builder setRequired(int nodeId, String level) {
+			if (level == SecurityNode.UNDEFINED) {
+				required.remove(nodeId);
+			} else {
+				required.put(nodeId, level.intern());
+			}
+			return this;
+		}
+
+		public String getProvided(int nodeId) {
+			return provided.get(nodeId);
+		}
+
+		public String getRequired(int nodeId) {
+			return required.get(nodeId);
+		}
+
+		public SecurityPolicy build() {
+			return new SecurityPolicy(new TIntObjectHashMap<String>(provided), new TIntObjectHashMap<String>(required));
+		}
+	}
+}
@@ -0,0 +1,29 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.core;
+
+import java.util.Collection;
+
+import edu.kit.joana.ifc.sdg.core.violations.IViolation;
+import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
+
+/**
+ * An IFC algorithm which can check a {@link SecurityPolicy} other than the levels stored in the nodes of its SDG.
+ */
+public interface SecurityPolicyChecker {
+
+	/**
+	 * Checks the SDG against the given policy instead of the levels stored in its nodes. The nodes of the SDG are
+	 * neither read nor modified, so different policies may be checked on the same SDG at the same time, as long as
+	 * each check uses an IFC instance of its own.
+	 *
+	 * @param policy the security levels of the nodes
+	 * @return the violations found
+	 */
+	Collection<? extends IViolation<SecurityNode>> checkIFlow(SecurityPolicy policy) throws NotInLatticeException;
+}
@@ -19,7 +19,9 @@ import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
 import edu.kit.joana.ifc.sdg.graph.slicer.ContextSlicerBackward;
 import edu.kit.joana.ifc.sdg.graph.slicer.Slicer;
+import edu.kit.joana.ifc.sdg.lattice.ICompiledLattice;
 import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import edu.kit.joana.ifc.sdg.lattice.LatticeUtil;
 import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
 import edu.kit.joana.util.Log;
 import edu.kit.joana.util.Logger;
@@ -39,13 +41,16 @@ import edu.kit.joana.util.Logger;
  * Also, there is no support for declassification, unless the provided chopper is configured appropriately.
  * @author Martin Mohr
  */
-public class SlicingBasedIFC extends IFC<String> {
+public class SlicingBasedIFC extends IFC<String> implements SecurityPolicyChecker {
 
 	private static final Logger DEBUG = Log.getLogger(Log.L_IFC_DEBUG);
 
 	private final DirectedSlicer slicerForw;
 	private final DirectedSlicer slicerBackw;
-	private DirectedSlicer slicer;
+	/** the slicer selected by the last call of {@link #chooseEndpoints(SecurityPolicy)} */
+	protected DirectedSlicer slicer;
+	/** the lattice of the analysis, compiled to ordinals */
+	private ICompiledLattice<String> compiledLattice;
 	
 	/**
 	 * Instantiates a new SlicingBasedIFC algorithm. 
@@ -61,6 +66,16 @@ public class SlicingBasedIFC extends IFC<String> {
 		super(sdg, lattice);
 		this.slicerForw = DirectedSlicer.decorateWithDirection(slicerForw, Direction.FORWARD);
 		this.slicerBackw = DirectedSlicer.decorateWithDirection(slicerBackw, Direction.BACKWARD);
+		this.compiledLattice = LatticeUtil.compileLattice(lattice);
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.kit.joana.ifc.sdg.core.IFC#setLattice(edu.kit.joana.ifc.sdg.lattice.IStaticLattice)
+	 */
+	@Override
+	public void setLattice(IStaticLattice<String> lattice) {
+		super.setLattice(lattice);
+		this.compiledLattice = LatticeUtil.compileLattice(lattice);
 	}
 
 	/* (non-Javadoc)
@@ -68,27 +83,16 @@ public class SlicingBasedIFC extends IFC<String> {
 	 */
 	@Override
 	public Collection<ClassifiedViolation> checkIFlow() throws NotInLatticeException {
-		this.slicer = slicerBackw;
-		Collection<SecurityNode> sources = collectStartpoints();
-		DEBUG.outln(String.format("[%s] Executing slicing-based IFC on a graph with %d nodes and %d edges.", Calendar.getInstance().getTime(), this.g.vertexSet().size(), this.g.edgeSet().size()));
-		DEBUG.outln(String.format("[%s] Collecting sinks...", Calendar.getInstance().getTime()));
-		Collection<SecurityNode> sinks = collectEndpoints();
-		DEBUG.outln(String.format("[%s] done. Collected %d sinks.", Calendar.getInstance().getTime(), sinks.size()));
-		DEBUG.outln(String.format("[%s] Collecting sources...", Calendar.getInstance().getTime()));
-		DEBUG.outln(String.format("[%s] done. Collected %d sources.", Calendar.getInstance().getTime(), sources.size()));
-		Collection<SecurityNode> endPoints;
-		String endpointsStr;
-		if (sources.size() < sinks.size()) {
-			this.slicer = slicerForw;
-			endPoints = sources;
-			endpointsStr = "sources";
-			DEBUG.outln(String.format("[%s] Using forward slicing.", Calendar.getInstance().getTime()));
-		} else {
-			this.slicer = slicerBackw;
-			endPoints = sinks;
-			endpointsStr = "sinks";
-			DEBUG.outln(String.format("[%s] Using backward slicing.", Calendar.getInstance().getTime()));
-		}
+		return checkIFlow(SecurityPolicy.fromNodes(g));
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.kit.joana.ifc.sdg.core.SecurityPolicyChecker#checkIFlow(edu.kit.joana.ifc.sdg.core.SecurityPolicy)
+	 */
+	@Override
+	public Collection<ClassifiedViolation> checkIFlow(SecurityPolicy policy) throws NotInLatticeException {
+		Collection<SecurityNode> endPoints = chooseEndpoints(policy);
+		String endpointsStr = slicer.getDirection() == Direction.FORWARD ? "sources" : "sinks";
 		Collection<ClassifiedViolation> vios = new LinkedList<ClassifiedViolation>();
 		DEBUG.outln(String.format("[%s] slicing each of the %d %s...", Calendar.getInstance().getTime(), endPoints.size(), endpointsStr));
 		int count = 0;
@@ -98,78 +102,113 @@ public class SlicingBasedIFC extends IFC<String> {
 			Collection<SDGNode> slice = slicer.slice(endPoint);
 			DEBUG.outln(String.format("[%s] done. Slice contains %d items", Calendar.getInstance().getTime(), slice.size()));
 			DEBUG.outln(String.format("[%s] scanning for sources...", Calendar.getInstance().getTime()));
-			addPossibleViolations(endPoint, slice, vios);
+			addPossibleViolations(endPoint, slice, policy, vios);
 			DEBUG.outln(String.format("[%s] done.", Calendar.getInstance().getTime()));
 		}
 		DEBUG.outln(String.format("[%s] done. Found %d violation(s).", Calendar.getInstance().getTime(), vios.size()));
 		return vios;
 	}
 
-	private Collection<SecurityNode> collectStartpoints() {
+	/**
+	 * Decides whether to slice forward from the sources or backward from the sinks, whichever are fewer,
+	 * and selects the slicer accordingly.
+	 * @param policy the security levels of the nodes
+	 * @return the endpoints to slice from
+	 */
+	protected Collection<SecurityNode> chooseEndpoints(SecurityPolicy policy) {
+		this.slicer = slicerBackw;
+		Collection<SecurityNode> sources = collectStartpoints(policy);
+		DEBUG.outln(String.format("[%s] Executing slicing-based IFC on a graph with %d nodes and %d edges.", Calendar.getInstance().getTime(), this.g.vertexSet().size(), this.g.edgeSet().size()));
+		DEBUG.outln(String.format("[%s] Collecting sinks...", Calendar.getInstance().getTime()));
+		Collection<SecurityNode> sinks = collectEndpoints(policy);
+		DEBUG.outln(String.format("[%s] done. Collected %d sinks.", Calendar.getInstance().getTime(), sinks.size()));
+		DEBUG.outln(String.format("[%s] Collecting sources...", Calendar.getInstance().getTime()));
+		DEBUG.outln(String.format("[%s] done. Collected %d sources.", Calendar.getInstance().getTime(), sources.size()));
+		if (sources.size() < sinks.size()) {
+			this.slicer = slicerForw;
+			DEBUG.outln(String.format("[%s] Using forward slicing.", Calendar.getInstance().getTime()));
+			return sources;
+		} else {
+			this.slicer = slicerBackw;
+			DEBUG.outln(String.format("[%s] Using backward slicing.", Calendar.getInstance().getTime()));
+			return sinks;
+		}
+	}
+
+	private Collection<SecurityNode> collectStartpoints(SecurityPolicy policy) {
 		Collection<SecurityNode> ret = new LinkedList<SecurityNode>();
 		for (SDGNode n : this.g.vertexSet()) {
 			SecurityNode sN = (SecurityNode) n;
-			if (isStartpoint(sN)) {
+			if (isStartpoint(sN, policy)) {
 				ret.add(sN);
 			}
 		}
 		return ret;
 	}
 
-	private Collection<SecurityNode> collectEndpoints() {
+	private Collection<SecurityNode> collectEndpoints(SecurityPolicy policy) {
 		Collection<SecurityNode> ret = new LinkedList<SecurityNode>();
 		for (SDGNode n : this.g.vertexSet()) {
 			SecurityNode sN = (SecurityNode) n;
-			if (isEndpoint(sN)) {
+			if (isEndpoint(sN, policy)) {
 				ret.add(sN);
 			}
 		}
 		return ret;
 	}
 
-	private boolean isEndpoint(SecurityNode n) {
+	protected boolean isEndpoint(SecurityNode n, SecurityPolicy policy) {
 		switch (slicer.getDirection()) {
 		case BACKWARD:
-			return n.isInformationSink();
+			return policy.isInformationSink(n);
 		case FORWARD:
-			return n.isInformationSource();
+			return policy.isInformationSource(n);
 		default:
 			throw new IllegalStateException("unhandled case: " + slicer.getDirection());
 		}
 	}
 	
-	private boolean isStartpoint(SecurityNode n) {
+	protected boolean isStartpoint(SecurityNode n, SecurityPolicy policy) {
 		switch (slicer.getDirection()) {
 		case BACKWARD:
-			return n.isInformationSource();
+			return policy.isInformationSource(n);
 		case FORWARD:
-			return n.isInformationSink();
+			return policy.isInformationSink(n);
 		default:
 			throw new IllegalStateException("unhandled case: " + slicer.getDirection());
 		}
 	}
 
-	private void addPossibleViolations(SecurityNode endPoint, Collection<SDGNode> slice, Collection<ClassifiedViolation> vios) {
+	private void addPossibleViolations(SecurityNode endPoint, Collection<SDGNode> slice, SecurityPolicy policy,
+			Collection<ClassifiedViolation> vios) {
 		for (SDGNode n : slice) {
-			SecurityNode sNode = (SecurityNode) n;
-			String secLevelOfOtherEndpoint = getLevel(sNode);
-			String secLevelOfEndpoint = getLevel(endPoint);
-			if (isStartpoint(sNode) && secLevelOfOtherEndpoint != null && isLeakage(endPoint, sNode)) {
-				if (endPoint.isInformationSource() && sNode.isInformationSink()) {
-					vios.add(ClassifiedViolation.createViolation(sNode, endPoint, secLevelOfOtherEndpoint));
-				} else if (endPoint.isInformationSink() && sNode.isInformationSource()) {
-					vios.add(ClassifiedViolation.createViolation(endPoint, sNode, secLevelOfEndpoint));
-				}
+			addPossibleViolation(endPoint, (SecurityNode) n, policy, vios);
+		}
+	}
+
+	/**
+	 * Reports a violation if the given node of the slice of the given endpoint is an opposite endpoint
+	 * whose security level is not allowed to flow to (or from) the endpoint.
+	 */
+	protected void addPossibleViolation(SecurityNode endPoint, SecurityNode sNode, SecurityPolicy policy,
+			Collection<ClassifiedViolation> vios) {
+		String secLevelOfOtherEndpoint = policy.getLevel(sNode);
+		String secLevelOfEndpoint = policy.getLevel(endPoint);
+		if (isStartpoint(sNode, policy) && secLevelOfOtherEndpoint != null && isLeakage(endPoint, sNode, policy)) {
+			if (policy.isInformationSource(endPoint) && policy.isInformationSink(sNode)) {
+				vios.add(ClassifiedViolation.createViolation(sNode, endPoint, secLevelOfOtherEndpoint));
+			} else if (policy.isInformationSink(endPoint) && policy.isInformationSource(sNode)) {
+				vios.add(ClassifiedViolation.createViolation(endPoint, sNode, secLevelOfEndpoint));
 			}
 		}
 	}
 
-	private boolean isLeakage(SecurityNode n1, SecurityNode n2) {
-		if (!(xor(n1.isInformationSource(), n2.isInformationSource()) && xor(n1.isInformationSink(), n2.isInformationSink()) && !n1.isDeclassification() && !n2.isDeclassification())) {
+	private boolean isLeakage(SecurityNode n1, SecurityNode n2, SecurityPolicy policy) {
+		if (!(xor(policy.isInformationSource(n1), policy.isInformationSource(n2)) && xor(policy.isInformationSink(n1), policy.isInformationSink(n2)) && !policy.isDeclassification(n1) && !policy.isDeclassification(n2))) {
 			throw new IllegalArgumentException("Exactly one of the provided nodes must be an information source, the other must be an information sink!");
 		}
 		SecurityNode src, snk;
-		if (n1.isInformationSource()) {
+		if (policy.isInformationSource(n1)) {
 			src = n1;
 			snk = n2;
 		} else {
@@ -177,19 +216,11 @@ public class SlicingBasedIFC extends IFC<String> {
 			snk = n1;
 		}
 		
-		return !l.leastUpperBound(src.getProvided(), snk.getRequired()).equals(snk.getRequired());
+		return !compiledLattice.leq(compiledLattice.encode(policy.getProvided(src)), compiledLattice.encode(policy.getRequired(snk)));
 	}
 	
 	private static boolean xor(boolean b1, boolean b2) {
 		return (b1 || b2) && !(b1 && b2);
 	}
 	
-	private static String getLevel(SecurityNode secNode) {
-		if (secNode.isInformationSource()) {
-			return secNode.getProvided();
-		} else {
-			return secNode.getRequired();
-		}
-	}
-	
 }
@@ -18,6 +18,7 @@ import edu.kit.joana.ifc.sdg.core.sdgtools.SDGTools;
 import edu.kit.joana.ifc.sdg.core.violations.AbstractConflictLeak;
 import edu.kit.joana.ifc.sdg.core.violations.ConflictEdge;
 import edu.kit.joana.ifc.sdg.core.violations.IConflictLeak;
+import edu.kit.joana.ifc.sdg.graph.EdgeOverlay;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
@@ -28,7 +29,9 @@ import edu.kit.joana.ifc.sdg.graph.slicer.conc.nanda.Nanda;
 import edu.kit.joana.ifc.sdg.graph.slicer.conc.nanda.NandaBackward;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.MHPAnalysis;
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.PreciseMHPAnalysis;
+import edu.kit.joana.ifc.sdg.lattice.ICompiledLattice;
 import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import edu.kit.joana.ifc.sdg.lattice.LatticeUtil;
 import edu.kit.joana.util.Maybe;
 import edu.kit.joana.util.Pair;
 
@@ -52,9 +55,9 @@ public class LSODNISlicer implements ConflictScanner {
 
 	/**
 	 * the lattice which provides the security levels which the SDG under
-	 * analysis is annotated with
+	 * analysis is annotated with, compiled to ordinals
 	 */
-	private IStaticLattice<String> l;
+	private ICompiledLattice<String> l;
 
 	/** the SDG under analysis */
 	private SDG g;
@@ -62,9 +65,6 @@ public class LSODNISlicer implements ConflictScanner {
 	/** MHP analysis which is used to determine order conflicts */
 	private MHPAnalysis mhp;
 
-	/** computes, adds and removes conflict edges */
-	private ConflictEdgeManager confEdgeMan;
-
 	/** records actual conflicts found in the actual algorithm */
 	private ConflictManager conf;
 
@@ -78,8 +78,7 @@ public class LSODNISlicer implements ConflictScanner {
 	private boolean useOptimization = false;
 
 	/**
-	 * Initialisiert die Analyse. Fuehrt eine MHP-Analyse aus und fuegt
-	 * Konfliktkanten in den SDG ein.
+	 * Initialisiert die Analyse. Fuehrt eine MHP-Analyse aus.
 	 * 
 	 * @param g
 	 *            Ein SDG.
@@ -99,19 +98,19 @@ public class LSODNISlicer implements ConflictScanner {
 
 	public LSODNISlicer(SDG g, IStaticLattice<String> l, ConflictManager conf,
 			MHPAnalysis mhp, boolean timeSens, boolean useOptimization) {
-		this.l = l;
+		this.l = LatticeUtil.compileLattice(l);
 		this.g = g;
 		this.conf = conf;
 		this.mhp = mhp;
 		this.timeSens = timeSens;
 		this.sources = SDGTools.getInformationSources(g);
 		this.sinks = SDGTools.getInformationSinks(g);
-		this.confEdgeMan = new ConflictEdgeManager();
 		this.useOptimization = useOptimization;
 	}
 
 	/**
 	 * Fuehrt den Sicherheitscheck aus.
+	 * The conflict edges are kept in an {@link EdgeOverlay}, the SDG is not modified.
 	 * 
 	 * @return Die Menge der gefundenen Sicherheitsverletzungen.
 	 */
@@ -122,13 +121,11 @@ public class LSODNISlicer implements ConflictScanner {
 		this.sources.addAll(SDGTools.getInformationSources(g));
 		this.sinks.addAll(SDGTools.getInformationSinks(g));
 		Set<IConflictLeak<SecurityNode>> set = new HashSet<IConflictLeak<SecurityNode>>();
-		confEdgeMan.computeConflictEdges();
-		confEdgeMan.addConflictEdges();
+		EdgeOverlay conflictEdges = new ConflictEdgeManager().computeConflictEdges();
 		conf.init();
 		for (Element e : criteria) {
-			scanForConflicts(e);
+			scanForConflicts(e, conflictEdges);
 		}
-		confEdgeMan.removeConflictEdges();
 		set.addAll(conf.getConflicts());
 
 		return set;
@@ -154,35 +151,35 @@ public class LSODNISlicer implements ConflictScanner {
 		return criteria;
 	}
 
-	private void scanForConflicts(Element e) {
+	private void scanForConflicts(Element e, EdgeOverlay conflictEdges) {
 		// HIGH nodes can only be seen by a HIGH attacker,
 		// and a HIGH attacker can already see every input
-		if (e.node.getLevel().equals(l.getTop())) {
+		if (l.encode(e.node.getLevel()) == l.top()) {
 			return;
 		}
 		DataConflictCollector confCollector = new DataConflictCollector();
 		Slicer slicer;
 		if (this.timeSens) {
-			slicer = new Nanda(g, new NandaBackward(), confCollector);
+			slicer = new Nanda(g, new NandaBackward(conflictEdges), confCollector);
 		} else {
-			slicer = new I2PBackward(g);
+			slicer = new I2PBackward(g, conflictEdges);
 		}
 		Collection<SDGNode> s = slicer.slice(e.node);
 
 		for (SDGNode n : s) {
-			collectPossibleDataChannels(e, (SecurityNode) n);
+			collectPossibleDataChannels(e, (SecurityNode) n, conflictEdges);
 		}
-		collectPossibleOrderChannels(e);
+		collectPossibleOrderChannels(e, conflictEdges);
 	}
 
-	private void collectPossibleDataChannels(Element e, SecurityNode n) {
+	private void collectPossibleDataChannels(Element e, SecurityNode n, EdgeOverlay conflictEdges) {
 		// if n has an incoming data conflict edge, add a violation
-		for (SDGEdge inc : g.getIncomingEdgesOfKind(n,
+		for (SDGEdge inc : conflictEdges.getIncomingEdgesOfKind(n,
 				SDGEdge.Kind.CONFLICT_DATA)) {
 			// possible probabilistic data channel
 			if (useOptimization) {
 				Collection<SecurityNode> secTriggers = collectSecretTriggers(inc,
-						e.node.getLevel());
+						l.encode(e.node.getLevel()));
 				for (SecurityNode secTrigger : secTriggers) {
 					conf.addTriggeredDataConflict(inc, secTrigger, e.node,
 							e.node.getLevel());
@@ -194,44 +191,44 @@ public class LSODNISlicer implements ConflictScanner {
 		}
 	}
 
-	private void collectPossibleOrderChannels(Element e) {
+	private void collectPossibleOrderChannels(Element e, EdgeOverlay conflictEdges) {
 		SecurityNode n = e.node;
 		// if n has an incoming or outgoing order conflict edge and the conflict
 		// is low-observable, add a violation
-		List<SDGEdge> oConfs = g.getIncomingEdgesOfKind(n,
+		List<SDGEdge> oConfs = conflictEdges.getIncomingEdgesOfKind(n,
 				SDGEdge.Kind.CONFLICT_ORDER);
-		oConfs.addAll(g.getOutgoingEdgesOfKindUnsafe(n, SDGEdge.Kind.CONFLICT_ORDER));
+		oConfs.addAll(conflictEdges.getOutgoingEdgesOfKind(n, SDGEdge.Kind.CONFLICT_ORDER));
 		for (SDGEdge oConf : oConfs) {
 			// Calculate lowest level which can observe the conflict:
 			// This is the least upper bounds of both levels since both conflicting parts must be seen.
 			// Note that CONFLICT_ORDER edges only exist between annotated nodes,
 			// so we do not have to check for null here.
-			String refLevel = l.leastUpperBound(((SecurityNode) oConf.getSource()).getLevel(),
-			                                    ((SecurityNode) oConf.getTarget()).getLevel());
+			int refLevel = l.join(l.encode(((SecurityNode) oConf.getSource()).getLevel()),
+			                      l.encode(((SecurityNode) oConf.getTarget()).getLevel()));
 			// If refLevel is HIGH, the conflict can only be seen by a HIGH attacker,
 			// and a HIGH attacker can already see every input, so the conflict does not cause a leak.
 			// In contrast, assume refLevel is not HIGH (i.e. lower).
 			// There might be a HIGH source that influences the conflict.
 			// Since a attacker of refLevel can see the conflict, he can learn something about HIGH input.
 			// This would be a leak, since refLevel is lower than HIGH.
-			if (!refLevel.equals(l.getTop())) {
+			if (refLevel != l.top()) {
 				// possible probabilistic order channel
 				if (useOptimization) {
 					Collection<SecurityNode> secTriggers = collectSecretTriggers(
 							oConf, refLevel);
 					for (SecurityNode secTrigger : secTriggers) {
 						conf.addTriggeredOrderConflict(oConf, secTrigger,
-								refLevel);
+								l.decode(refLevel));
 					}
 				} else {
-					conf.addPossiblyUntriggeredOrderConflict(oConf, refLevel);
+					conf.addPossiblyUntriggeredOrderConflict(oConf, l.decode(refLevel));
 				}
 			}
 		}
 	}
 
 	private Collection<SecurityNode> collectSecretTriggers(SDGEdge confEdge,
-			String refLevel) {
+			int refLevel) {
 		Collection<SecurityNode> ret = new LinkedList<SecurityNode>();
 		SDGNode a = confEdge.getSource();
 		SDGNode b = confEdge.getTarget();
@@ -239,7 +236,7 @@ public class LSODNISlicer implements ConflictScanner {
 		for (SDGNode n : this.sources) {
 			SecurityNode secN = (SecurityNode) n;
 			if (secN.isInformationSource()
-					&& !l.isLeq( secN.getLevel(), refLevel)) {
+					&& !l.leq(l.encode(secN.getLevel()), refLevel)) {
 				Collection<SDGNode> reachable = forw.slice(secN);
 				if ((reachable.contains(a) || mhp.isParallel(secN, a))
 						& (reachable.contains(b) || mhp.isParallel(secN, b))) {
@@ -281,38 +278,27 @@ public class LSODNISlicer implements ConflictScanner {
 	}
 
 	/**
-	 * Helper class to compute conflict edges. Also saves the conflict edges and
-	 * provides methods to add the conflict edges (before the actual LSOD
-	 * algorithm) and remove them afterwards. Users of this class should use it
-	 * as follows:
-	 * <ol>
-	 * <li>{@link #computeConflictEdges}</li>
-	 * <li>{no changes of SDG in between}</li>
-	 * <li>{@link #addConflictEdges}</li>
-	 * <li>{run LSOD algorithm}</li>
-	 * <li>{@link #removeConflictEdges}</li>
-	 * <li>{changes of SDG possible again}</li>
-	 * <li>{@link #computeConflictEdges}</li>
-	 * <li>...</li>
-	 * </ol>
+	 * Helper class to compute conflict edges. The conflict edges are collected
+	 * in an overlay of the SDG, so the SDG itself is never modified and several
+	 * checks may run on the same SDG at once. The overlay of one check must not
+	 * be used any more after the SDG has been changed.
 	 * 
 	 * @author Dennis Giffhorn
 	 * @author Martin Mohr
 	 */
 	private class ConflictEdgeManager {
 
-		private final List<SDGEdge> dataConflictEdges = new LinkedList<SDGEdge>();
-		private final List<SDGEdge> orderConflictEdges = new LinkedList<SDGEdge>();
+		private final EdgeOverlay conflictEdges = new EdgeOverlay(g);
 
 		/**
 		 * Computes all conflict edges, i.e. all data conflicts and all order
 		 * conflicts.
+		 * @return an overlay of the SDG containing the conflict edges
 		 */
-		void computeConflictEdges() {
-			this.dataConflictEdges.clear();
-			this.orderConflictEdges.clear();
+		EdgeOverlay computeConflictEdges() {
 			computeOrderConflicts();
 			computeDataConflicts();
+			return conflictEdges;
 		}
 
 		/**
@@ -329,7 +315,7 @@ public class LSODNISlicer implements ConflictScanner {
 				for (SecurityNode n : annotatedNodes) {
 					if (mhp.isParallel(m, n)) {
 						SDGEdge edge = SDGEdge.Kind.CONFLICT_ORDER.newEdge(m, n);
-						orderConflictEdges.add(edge);
+						conflictEdges.addEdge(edge);
 					}
 				}
 			}
@@ -347,43 +333,16 @@ public class LSODNISlicer implements ConflictScanner {
 			for (SDGEdge edge : g.edgeSet()) {
 				if (edge.getKind() == SDGEdge.Kind.INTERFERENCE) {
 					SDGEdge e = SDGEdge.Kind.CONFLICT_DATA.newEdge(edge.getSource(), edge.getTarget());
-					dataConflictEdges.add(e);
+					conflictEdges.addEdge(e);
 				} else if (edge.getKind() == SDGEdge.Kind.INTERFERENCE_WRITE) {
 					// bidirected conflict
 					SDGEdge e = SDGEdge.Kind.CONFLICT_DATA.newEdge(edge.getSource(), edge.getTarget());
 					SDGEdge f = SDGEdge.Kind.CONFLICT_DATA.newEdge(edge.getTarget(), edge.getSource());
-					dataConflictEdges.add(e);
-					dataConflictEdges.add(f);
+					conflictEdges.addEdge(e);
+					conflictEdges.addEdge(f);
 				}
 			}
 		}
-
-		/**
-		 * Adds the previously computed conflict edges to the sdg.
-		 */
-		void addConflictEdges() {
-			for (SDGEdge e : orderConflictEdges) {
-				g.addEdge(e);
-			}
-
-			for (SDGEdge e : dataConflictEdges) {
-				g.addEdge(e);
-			}
-		}
-
-		/**
-		 * Removes the previously computed conflict edges from the sdg.
-		 */
-		void removeConflictEdges() {
-			for (SDGEdge e : orderConflictEdges) {
-				g.removeEdge(e);
-			}
-
-			for (SDGEdge e : dataConflictEdges) {
-				g.removeEdge(e);
-			}
-
-		}
 	}
 
 	/**
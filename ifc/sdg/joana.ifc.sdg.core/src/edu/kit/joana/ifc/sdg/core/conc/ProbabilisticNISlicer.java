@@ -22,6 +22,7 @@ import edu.kit.joana.ifc.sdg.core.sdgtools.SDGTools;
 import edu.kit.joana.ifc.sdg.core.violations.AbstractConflictLeak;
 import edu.kit.joana.ifc.sdg.core.violations.ConflictEdge;
 import edu.kit.joana.ifc.sdg.core.violations.IConflictLeak;
+import edu.kit.joana.ifc.sdg.graph.EdgeOverlay;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
@@ -166,7 +167,8 @@ public class ProbabilisticNISlicer implements ConflictScanner {
 
     /**
      * Berechnet die Konfliktkanten im SDG.
-     * Startpunkt ist Methode addConflictEdges()
+     * Startpunkt ist Methode computeConflictEdges(). Die Konfliktkanten werden nicht in den SDG eingefuegt,
+     * sondern in einem {@link EdgeOverlay} gesammelt, so dass der SDG nicht veraendert wird.
      *
      * Momentan basiert die Identifikation von Konflikten auf der isParallel-Relation meiner MHP-Analyse.
      * Das funktioniert, weil momentan nur forks und joins analysiert werden. Es funktioniert nicht mehr,
@@ -177,12 +179,11 @@ public class ProbabilisticNISlicer implements ConflictScanner {
      */
     private class ConflictEdgeManager {
     	private final HashMap<SDGNode, Collection<SDGNode>> before = new HashMap<SDGNode, Collection<SDGNode>>();
-    	private final List<SDGEdge> dataConflictEdges = new LinkedList<SDGEdge>();
-    	private final List<SDGEdge> orderConflictEdges = new LinkedList<SDGEdge>();
+    	private final EdgeOverlay conflictEdges = new EdgeOverlay(g);
 
 
     	/**
-         * Berechnet die Konfliktkanten, die spaeter in den SDG eingefuegt werden muessen.
+         * Berechnet die Konfliktkanten und sammelt sie im Overlay.
          */
         void computeConflictEdges() {
             // berechne die potentiellen trigger der conflicts
@@ -231,7 +232,7 @@ public class ProbabilisticNISlicer implements ConflictScanner {
                     	// verraet die Ausfuehrungsreihenfolge nichts, was nicht verraten werden soll)
                     	if (!refined.isEmpty()) {
     	                	SDGEdge edge = SDGEdge.Kind.CONFLICT_ORDER.newEdge(m, n);
-    	                	orderConflictEdges.add(edge);
+    	                	conflictEdges.addEdge(edge);
     	                    orderConflicts2Triggers.put(edge, refined);
 //    	                    System.out.println("ORDER CONFLICT: "+m+" <-> "+n);
                     	}
@@ -252,7 +253,7 @@ public class ProbabilisticNISlicer implements ConflictScanner {
                 	HashSet<SecurityNode> triggers = trigger((SecurityNode)edge.getSource(), (SecurityNode)edge.getTarget());
                 	if (!triggers.isEmpty()) {
                     	SDGEdge e = SDGEdge.Kind.CONFLICT_DATA.newEdge(edge.getSource(), edge.getTarget());
-                        dataConflictEdges.add(e);
+                        conflictEdges.addEdge(e);
 
 
                         for (SecurityNode n : triggers) {
@@ -273,8 +274,8 @@ public class ProbabilisticNISlicer implements ConflictScanner {
                         // bidirected conflict
                     	SDGEdge e = SDGEdge.Kind.CONFLICT_DATA.newEdge(edge.getSource(), edge.getTarget());
                     	SDGEdge f = SDGEdge.Kind.CONFLICT_DATA.newEdge(edge.getTarget(), edge.getSource());
-                    	dataConflictEdges.add(e);
-                    	dataConflictEdges.add(f);
+                    	conflictEdges.addEdge(e);
+                    	conflictEdges.addEdge(f);
 
                         for (SecurityNode trigger : triggers) {
                         	HashSet<SDGEdge> dataConflicts = triggersToDataConflicts.get(trigger);
@@ -330,25 +331,11 @@ public class ProbabilisticNISlicer implements ConflictScanner {
         	}
         }
         
-        void addConflictEdges() {
-        	for (SDGEdge e : orderConflictEdges) {
-        		g.addEdge(e);
-        	}
-        	
-        	for (SDGEdge e : dataConflictEdges) {
-        		g.addEdge(e);
-        	}
-        }
-        
-        void removeConflictEdges() {
-        	for (SDGEdge e : orderConflictEdges) {
-        		g.removeEdge(e);
-        	}
-        	
-        	for (SDGEdge e : dataConflictEdges) {
-        		g.removeEdge(e);
-        	}
-        	
+        /**
+         * @return das Overlay des SDG mit den berechneten Konfliktkanten
+         */
+        EdgeOverlay getConflictEdges() {
+        	return conflictEdges;
         }
         
         
@@ -395,7 +382,7 @@ public class ProbabilisticNISlicer implements ConflictScanner {
 
     /**
      * Initialisiert die Analyse.
-     * Fuehrt eine MHP-Analyse aus und fuegt Konfliktkanten in den SDG ein.
+     * Fuehrt eine MHP-Analyse aus und berechnet die Konfliktkanten.
      *
      * @param g     Ein SDG.
      * @param l     Ein Sicherheitsverband.
@@ -429,7 +416,6 @@ public class ProbabilisticNISlicer implements ConflictScanner {
         // bestimme alle annotierten knoten
         LinkedList<Element> criteria = collectCriteria();
         Set<IConflictLeak<SecurityNode>> set = new HashSet<IConflictLeak<SecurityNode>>();
-        confEdgeMan.addConflictEdges();
         // pruefe jeden annotierten knoten auf probabilistische noninterferenz
         for (Element e : criteria) {
         	// suche order channels
@@ -443,7 +429,6 @@ public class ProbabilisticNISlicer implements ConflictScanner {
         	tmp = System.currentTimeMillis() - tmp;
         	dataChannels += tmp;
         }
-        confEdgeMan.removeConflictEdges();
         set.addAll(conf.getConflicts());
 
         return set;
@@ -491,7 +476,7 @@ public class ProbabilisticNISlicer implements ConflictScanner {
     	/**
     	 * Is this element influenced by an order conflict, which has been triggered by a secret source
     	 */
-        for (SDGEdge orderConflictEdge : g.getIncomingEdgesOfKind(element.node, SDGEdge.Kind.CONFLICT_ORDER)) {
+        for (SDGEdge orderConflictEdge : confEdgeMan.getConflictEdges().getIncomingEdgesOfKind(element.node, SDGEdge.Kind.CONFLICT_ORDER)) {
 
         	// determine minimal attacker
         	String elementLevel = (element.node.isInformationSource() ?
@@ -534,16 +519,16 @@ public class ProbabilisticNISlicer implements ConflictScanner {
         DataConflictCollector confCollector = new DataConflictCollector();
         Slicer slicer;
         if (this.timeSens) {
-            slicer = new Nanda(g, new NandaBackward(), confCollector);
+            slicer = new Nanda(g, new NandaBackward(confEdgeMan.getConflictEdges()), confCollector);
         } else {
-            slicer = new I2PBackward(g);
+            slicer = new I2PBackward(g, confEdgeMan.getConflictEdges());
         }
 
         Collection<SDGNode> slice = slicer.slice(element.node);
         List<SDGEdge> dataConflicts = new LinkedList<>();
 
         for (SDGNode n : slice) {
-            for (SDGEdge e : g.getIncomingEdgesOfKind(n, SDGEdge.Kind.CONFLICT_DATA)) {
+            for (SDGEdge e : confEdgeMan.getConflictEdges().getIncomingEdgesOfKind(n, SDGEdge.Kind.CONFLICT_DATA)) {
                 dataConflicts.add(e);
             }
         }
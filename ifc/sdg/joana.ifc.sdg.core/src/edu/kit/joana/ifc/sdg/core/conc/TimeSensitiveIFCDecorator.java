@@ -11,6 +11,8 @@ import java.util.Collection;
 
 import edu.kit.joana.ifc.sdg.core.IFC;
 import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicy;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicyChecker;
 import edu.kit.joana.ifc.sdg.core.violations.IIllegalFlow;
 import edu.kit.joana.ifc.sdg.core.violations.IViolation;
 import edu.kit.joana.ifc.sdg.core.violations.ViolationFilter;
@@ -26,7 +28,7 @@ import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
  * ifc checkers.
  * @author Martin Mohr
  */
-public class TimeSensitiveIFCDecorator extends IFC<String> {
+public class TimeSensitiveIFCDecorator extends IFC<String> implements SecurityPolicyChecker {
 	
 	private final IFC<String> baseIFC;
 	
@@ -40,7 +42,24 @@ public class TimeSensitiveIFCDecorator extends IFC<String> {
 	 */
 	@Override
 	public Collection<? extends IViolation<SecurityNode>> checkIFlow() throws NotInLatticeException {
-		Collection<? extends IViolation<SecurityNode>> baseVios = baseIFC.checkIFlow();
+		return filter(baseIFC.checkIFlow());
+	}
+
+	/**
+	 * Checks the given policy with the decorated checker and filters its violations.
+	 * @throws UnsupportedOperationException if the decorated checker is no {@link SecurityPolicyChecker}
+	 * @see edu.kit.joana.ifc.sdg.core.SecurityPolicyChecker#checkIFlow(edu.kit.joana.ifc.sdg.core.SecurityPolicy)
+	 */
+	@Override
+	public Collection<? extends IViolation<SecurityNode>> checkIFlow(SecurityPolicy policy) throws NotInLatticeException {
+		if (!(baseIFC instanceof SecurityPolicyChecker)) {
+			throw new UnsupportedOperationException(baseIFC.getClass().getSimpleName()
+					+ " cannot check a separate security policy");
+		}
+		return filter(((SecurityPolicyChecker) baseIFC).checkIFlow(policy));
+	}
+
+	private Collection<? extends IViolation<SecurityNode>> filter(Collection<? extends IViolation<SecurityNode>> baseVios) {
 		Nanda tsbwSlicer = new Nanda(baseIFC.getSDG(), new NandaBackward());
 		TSFilter filter = new TSFilter(tsbwSlicer);
 		return filter.filter(baseVios);
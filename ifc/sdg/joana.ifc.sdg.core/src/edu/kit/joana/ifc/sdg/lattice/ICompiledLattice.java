@@ -0,0 +1,96 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.lattice;
+
+/**
+ * A lattice whose elements are encoded as dense ordinals <code>0 .. size() - 1</code>, so that
+ * join, meet and the order can be computed on <code>int</code>s without hashing or allocating elements.
+ * Analyses are expected to {@link #encode(Object) encode} the levels once, compute on ordinals, and
+ * {@link #decode(int) decode} only the results they report.
+ * The operations on elements are implemented in terms of the operations on ordinals.
+ *
+ * @param <ElementType>
+ *            the type of the elements contained in the lattice.
+ * @see LatticeUtil#compileLattice(IStaticLattice)
+ */
+public interface ICompiledLattice<ElementType> extends IStaticLattice<ElementType> {
+
+	/**
+	 * @return the number of elements, i.e. one more than the largest ordinal
+	 */
+	public int size();
+
+	/**
+	 * @param s
+	 *            an element of the lattice
+	 * @return the ordinal of <code>s</code>
+	 * @throws NotInLatticeException
+	 *             if <code>s</code> is not in the lattice.
+	 */
+	public int encode(ElementType s) throws NotInLatticeException;
+
+	/**
+	 * @param s
+	 *            an ordinal between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the element with ordinal <code>s</code>
+	 */
+	public ElementType decode(int s);
+
+	/**
+	 * @return the ordinal of the top element
+	 */
+	public int top();
+
+	/**
+	 * @return the ordinal of the bottom element
+	 */
+	public int bottom();
+
+	/**
+	 * @return the ordinal of the least upper bound of the elements with ordinals <code>s</code> and <code>t</code>
+	 */
+	public int join(int s, int t);
+
+	/**
+	 * @return the ordinal of the greatest lower bound of the elements with ordinals <code>s</code> and <code>t</code>
+	 */
+	public int meet(int s, int t);
+
+	/**
+	 * @return {@code true} if the element with ordinal <code>s</code> is lower than or equal to the element
+	 *         with ordinal <code>t</code>
+	 */
+	default public boolean leq(int s, int t) {
+		return join(s, t) == t;
+	}
+
+	@Override
+	default public ElementType greatestLowerBound(ElementType s, ElementType t) throws NotInLatticeException {
+		return decode(meet(encode(s), encode(t)));
+	}
+
+	@Override
+	default public ElementType leastUpperBound(ElementType s, ElementType t) throws NotInLatticeException {
+		return decode(join(encode(s), encode(t)));
+	}
+
+	@Override
+	default public ElementType getTop() throws InvalidLatticeException {
+		return decode(top());
+	}
+
+	@Override
+	default public ElementType getBottom() throws InvalidLatticeException {
+		return decode(bottom());
+	}
+
+	@Override
+	default public boolean isLeq(ElementType l1, ElementType l2) {
+		return leq(encode(l1), encode(l2));
+	}
+}
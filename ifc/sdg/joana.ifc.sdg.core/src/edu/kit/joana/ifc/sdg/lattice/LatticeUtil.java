@@ -22,7 +22,10 @@ import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
 
+import edu.kit.joana.ifc.sdg.lattice.impl.CompiledPowersetLattice;
+import edu.kit.joana.ifc.sdg.lattice.impl.CompiledTableLattice;
 import edu.kit.joana.ifc.sdg.lattice.impl.EditableLatticeSimple;
+import edu.kit.joana.ifc.sdg.lattice.impl.PowersetLattice;
 import edu.kit.joana.ifc.sdg.lattice.impl.StaticLatticeBitset;
 
 
@@ -118,6 +121,37 @@ public final class LatticeUtil {
 		return new StaticLatticeBitset<ElementType>(lattice.getElements(), lattice);
 	}
 
+	/**
+	 * Compiles a given lattice to an encoding of its elements as dense ordinals, on
+	 * which join, meet and the order take constant time. Powerset lattices, also when named by a
+	 * {@link PrecomputedLattice}, are encoded as bit masks; all other lattices are tabulated.
+	 *
+	 * @param <ElementType>
+	 *            the type of the elements contained in the lattice.
+	 * @param lattice
+	 *            the lattice.
+	 * @return <code>lattice</code> itself if it is compiled already, otherwise a compiled
+	 *         lattice with the same elements.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <ElementType> ICompiledLattice<ElementType> compileLattice(IStaticLattice<ElementType> lattice) {
+		if (lattice instanceof ICompiledLattice) {
+			return (ICompiledLattice<ElementType>) lattice;
+		}
+		if (lattice instanceof PowersetLattice
+				&& ((PowersetLattice<?>) lattice).getTop().size() <= CompiledPowersetLattice.MAX_PRINCIPALS) {
+			return (ICompiledLattice<ElementType>) CompiledPowersetLattice.compile((PowersetLattice<?>) lattice);
+		}
+		if (lattice instanceof PrecomputedLattice && ((PrecomputedLattice<?>) lattice).getOriginal() instanceof PowersetLattice) {
+			final PrecomputedLattice<Set<Object>> precomputed = (PrecomputedLattice<Set<Object>>) lattice;
+			final PowersetLattice<Object> original = (PowersetLattice<Object>) precomputed.getOriginal();
+			if (original.getTop().size() <= CompiledPowersetLattice.MAX_PRINCIPALS) {
+				return (ICompiledLattice<ElementType>) CompiledPowersetLattice.compile(precomputed, original);
+			}
+		}
+		return new CompiledTableLattice<ElementType>(lattice);
+	}
+
 	/**
 	 * Loads a lattice containing string elements from a
 	 * <code>InputStream</code> and compiles it to a efficient but immutable
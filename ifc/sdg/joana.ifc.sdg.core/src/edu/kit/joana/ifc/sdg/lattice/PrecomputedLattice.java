@@ -19,10 +19,18 @@ import com.google.common.collect.ImmutableTable.Builder;
 import com.google.common.collect.Table;
 
 /**
+ * A lattice over the string representations of the elements of another lattice, with all bounds precomputed.
+ * <p>
+ * Every element is named by its {@code toString()}, see {@link #getFromOriginalMap()}. Bounds, top and bottom are named
+ * like the element they are equal to. The string representation of a computed bound may differ from that name, e.g.
+ * {@code PowersetLattice} returns set views whose iteration order depends on the order of the arguments, and such a
+ * string would not be an element of this lattice.
+ *
  * @author Martin Hecker <martin.hecker@kit.edu>
  */
 public class PrecomputedLattice<ElementType> implements IStaticLattice<String> {
 
+	private final IStaticLattice<ElementType> original;
 	private final Set<String> elements;
 	private final Map<ElementType, String> fromOriginal;
 	private final Table<String, String, String> glb;
@@ -34,6 +42,7 @@ public class PrecomputedLattice<ElementType> implements IStaticLattice<String> {
 	 * 
 	 */
 	public PrecomputedLattice(IStaticLattice<ElementType> lattice) {
+		this.original = lattice;
 		final Collection<ElementType> latticeElements = lattice.getElements();
 		
 		this.elements = latticeElements.stream().map(Object::toString).collect(Collectors.toSet());
@@ -45,19 +54,20 @@ public class PrecomputedLattice<ElementType> implements IStaticLattice<String> {
 				Collectors.toMap(Function.identity(),Object::toString)
 			);
 		
+		// name results by the elements they equal, which need not have the same string representation
 		final Builder<String, String, String> glbBuilder = new ImmutableTable.Builder<>();
 		final Builder<String, String, String> lubBuilder = new ImmutableTable.Builder<>();
 		for (ElementType e1 : latticeElements) {
 			for (ElementType e2 : latticeElements) {
-				glbBuilder.put(e1.toString(), e2.toString(), lattice.greatestLowerBound(e1, e2).toString());
-				lubBuilder.put(e1.toString(), e2.toString(), lattice.leastUpperBound(e1, e2).toString());
+				glbBuilder.put(e1.toString(), e2.toString(), fromOriginal.get(lattice.greatestLowerBound(e1, e2)));
+				lubBuilder.put(e1.toString(), e2.toString(), fromOriginal.get(lattice.leastUpperBound(e1, e2)));
 			}
 		}
 		
 		this.glb = glbBuilder.build();
 		this.lub = lubBuilder.build();
-		this.top    = lattice.getTop().toString();
-		this.bottom = lattice.getBottom().toString();
+		this.top    = fromOriginal.get(lattice.getTop());
+		this.bottom = fromOriginal.get(lattice.getBottom());
 	}
 	
 	/* (non-Javadoc)
@@ -104,4 +114,11 @@ public class PrecomputedLattice<ElementType> implements IStaticLattice<String> {
 		return Collections.unmodifiableMap(this.fromOriginal);
 	}
 
+	/**
+	 * @return the lattice whose elements are named by this lattice
+	 */
+	public IStaticLattice<ElementType> getOriginal() {
+		return original;
+	}
+
 }
@@ -0,0 +1,162 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.lattice.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import edu.kit.joana.ifc.sdg.lattice.ICompiledLattice;
+import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
+import edu.kit.joana.ifc.sdg.lattice.PrecomputedLattice;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+/**
+ * Compiles a powerset lattice over at most {@link #MAX_PRINCIPALS} principals to bit masks:
+ * principal i is bit i, so the ordinal of a set is the sum of the bits of its principals,
+ * join is bitwise or, meet is bitwise and, and no tables are needed regardless of the number of elements.
+ *
+ * @param <ElementType>
+ *            the type of the elements contained in the lattice.
+ */
+public class CompiledPowersetLattice<ElementType> implements ICompiledLattice<ElementType> {
+
+	/** the largest number of principals whose powerset has an ordinal for each element */
+	public static final int MAX_PRINCIPALS = 30;
+
+	private final int top;
+	private final ToIntFunction<ElementType> encoder;
+	private final IntFunction<ElementType> decoder;
+	private final Collection<ElementType> elements;
+
+	private CompiledPowersetLattice(int principals, ToIntFunction<ElementType> encoder,
+			IntFunction<ElementType> decoder, Collection<ElementType> elements) {
+		checkPrincipals(principals);
+		this.top = (1 << principals) - 1;
+		this.encoder = encoder;
+		this.decoder = decoder;
+		this.elements = elements;
+	}
+
+	private static void checkPrincipals(int principals) {
+		if (principals > MAX_PRINCIPALS) {
+			throw new IllegalArgumentException("Cannot encode a powerset of " + principals + " principals.");
+		}
+	}
+
+	/**
+	 * Compiles the given powerset lattice. Elements are encoded by looking up their principals, and
+	 * decoded into new unmodifiable sets.
+	 */
+	public static <P> CompiledPowersetLattice<Set<P>> compile(PowersetLattice<P> lattice) {
+		final List<P> principals = new ArrayList<P>(lattice.getTop());
+		final TObjectIntHashMap<P> bits = new TObjectIntHashMap<P>(principals.size(), 0.5f, -1);
+		for (int i = 0; i < principals.size(); i++) {
+			bits.put(principals.get(i), i);
+		}
+
+		return new CompiledPowersetLattice<Set<P>>(principals.size(),
+			s -> {
+				int mask = 0;
+				for (P p : s) {
+					final int bit = bits.get(p);
+					if (bit < 0) throw new NotInLatticeException("not: " + s + " ⊆ " + principals);
+					mask |= 1 << bit;
+				}
+				return mask;
+			},
+			mask -> {
+				final Set<P> s = new HashSet<P>();
+				for (int rest = mask; rest != 0; rest &= rest - 1) {
+					s.add(principals.get(Integer.numberOfTrailingZeros(rest)));
+				}
+				return Collections.unmodifiableSet(s);
+			},
+			lattice.getElements());
+	}
+
+	/**
+	 * Compiles a {@link PrecomputedLattice} of a powerset lattice. The names of all elements are
+	 * enumerated, so this is only feasible for as many principals as the precomputed lattice itself.
+	 */
+	public static <P> CompiledPowersetLattice<String> compile(PrecomputedLattice<Set<P>> lattice, PowersetLattice<P> original) {
+		final List<P> principals = new ArrayList<P>(original.getTop());
+		checkPrincipals(principals.size());
+		final Map<Set<P>, String> names = lattice.getFromOriginalMap();
+		final String[] byMask = new String[1 << principals.size()];
+		final TObjectIntHashMap<String> masks = new TObjectIntHashMap<String>(byMask.length, 0.5f, -1);
+		for (Map.Entry<Set<P>, String> e : names.entrySet()) {
+			int mask = 0;
+			for (P p : e.getKey()) {
+				mask |= 1 << principals.indexOf(p);
+			}
+			byMask[mask] = e.getValue();
+			masks.put(e.getValue(), mask);
+		}
+
+		return new CompiledPowersetLattice<String>(principals.size(),
+			s -> {
+				final int mask = masks.get(s);
+				if (mask < 0) throw new NotInLatticeException("Element " + s + " is not part of the lattice.");
+				return mask;
+			},
+			mask -> byMask[mask],
+			lattice.getElements());
+	}
+
+	@Override
+	public int size() {
+		return top + 1;
+	}
+
+	@Override
+	public int encode(ElementType s) throws NotInLatticeException {
+		return encoder.applyAsInt(s);
+	}
+
+	@Override
+	public ElementType decode(int s) {
+		return decoder.apply(s);
+	}
+
+	@Override
+	public int top() {
+		return top;
+	}
+
+	@Override
+	public int bottom() {
+		return 0;
+	}
+
+	@Override
+	public int join(int s, int t) {
+		return s | t;
+	}
+
+	@Override
+	public int meet(int s, int t) {
+		return s & t;
+	}
+
+	@Override
+	public boolean leq(int s, int t) {
+		return (s & ~t) == 0;
+	}
+
+	@Override
+	public Collection<ElementType> getElements() {
+		return elements;
+	}
+}
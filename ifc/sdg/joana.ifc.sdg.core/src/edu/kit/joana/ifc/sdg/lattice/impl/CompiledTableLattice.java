@@ -0,0 +1,126 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.lattice.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import edu.kit.joana.ifc.sdg.lattice.ICompiledLattice;
+import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import edu.kit.joana.ifc.sdg.lattice.InvalidLatticeException;
+import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+/**
+ * Compiles an arbitrary lattice by numbering its elements in the order of
+ * {@link IStaticLattice#getElements()} and tabulating join and meet of all pairs of ordinals.
+ * The tables need 8 bytes per pair of elements, so they are only built for lattices with at most
+ * {@link #MAX_TABULATED} elements. Larger lattices are still encoded, but join and meet are then
+ * delegated to the original lattice.
+ *
+ * @param <ElementType>
+ *            the type of the elements contained in the lattice.
+ */
+public class CompiledTableLattice<ElementType> implements ICompiledLattice<ElementType> {
+
+	/** the largest number of elements for which join and meet are tabulated */
+	public static final int MAX_TABULATED = 1024;
+
+	private final IStaticLattice<ElementType> lattice;
+	private final List<ElementType> elements;
+	private final TObjectIntHashMap<ElementType> ordinals;
+	private final int top;
+	private final int bottom;
+	/** s * size + t -> join of s and t, or null if not tabulated */
+	private final int[] join;
+	/** s * size + t -> meet of s and t, or null if not tabulated */
+	private final int[] meet;
+
+	@SuppressWarnings("unchecked")
+	public CompiledTableLattice(IStaticLattice<ElementType> lattice) {
+		this.lattice = lattice;
+		this.elements = Collections.unmodifiableList(Arrays.asList((ElementType[]) lattice.getElements().toArray()));
+		final int k = elements.size();
+		this.ordinals = new TObjectIntHashMap<ElementType>(k, 0.5f, -1);
+		for (int i = 0; i < k; i++) {
+			if (ordinals.put(elements.get(i), i) >= 0) {
+				throw new InvalidLatticeException("Element " + elements.get(i) + " occurs twice.");
+			}
+		}
+		this.top = encode(lattice.getTop());
+		this.bottom = encode(lattice.getBottom());
+
+		if (k <= MAX_TABULATED) {
+			this.join = new int[k * k];
+			this.meet = new int[k * k];
+			for (int s = 0; s < k; s++) {
+				for (int t = s; t < k; t++) {
+					final int j = encode(lattice.leastUpperBound(elements.get(s), elements.get(t)));
+					final int m = encode(lattice.greatestLowerBound(elements.get(s), elements.get(t)));
+					join[s * k + t] = join[t * k + s] = j;
+					meet[s * k + t] = meet[t * k + s] = m;
+				}
+			}
+		} else {
+			this.join = null;
+			this.meet = null;
+		}
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public int encode(ElementType s) throws NotInLatticeException {
+		final int ordinal = ordinals.get(s);
+		if (ordinal < 0) {
+			throw new NotInLatticeException("Element " + s + " is not part of the lattice.");
+		}
+		return ordinal;
+	}
+
+	@Override
+	public ElementType decode(int s) {
+		return elements.get(s);
+	}
+
+	@Override
+	public int top() {
+		return top;
+	}
+
+	@Override
+	public int bottom() {
+		return bottom;
+	}
+
+	@Override
+	public int join(int s, int t) {
+		if (join != null) {
+			return join[s * elements.size() + t];
+		}
+		return encode(lattice.leastUpperBound(elements.get(s), elements.get(t)));
+	}
+
+	@Override
+	public int meet(int s, int t) {
+		if (meet != null) {
+			return meet[s * elements.size() + t];
+		}
+		return encode(lattice.greatestLowerBound(elements.get(s), elements.get(t)));
+	}
+
+	@Override
+	public Collection<ElementType> getElements() {
+		return elements;
+	}
+}
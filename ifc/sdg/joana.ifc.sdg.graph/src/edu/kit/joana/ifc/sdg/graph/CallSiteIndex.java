@@ -0,0 +1,343 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.util.Arrays;
+
+/**
+ * A precomputed index of the interprocedural structure of an SDG: the call node of each actual parameter node and
+ * the actual / formal parameter nodes, call nodes and entry nodes connected by parameter and call edges.
+ * <p>
+ * The index is built by {@link SDG#getCallSiteIndex()} and stores everything in int arrays indexed by node ID, so its
+ * accessors neither traverse the graph nor allocate. An index describes the graph at the time it was built, see
+ * {@link #isValid()}; it may be used by several threads at once.
+ * <p>
+ * The related nodes of a node are accessed by position, e.g.
+ * <pre>
+ * for (int i = 0; i &lt; index.size(Relation.FORMAL_INS, actIn); i++) {
+ *     SDGNode formalIn = index.get(Relation.FORMAL_INS, actIn, i);
+ * }
+ * </pre>
+ */
+public final class CallSiteIndex {
+
+	/**
+	 * The relations between nodes stored in the index, each mirrors a method of {@link SDG}.
+	 */
+	public enum Relation {
+		/** Actual-in node to the formal-in nodes connected by parameter-in or fork-in edges, see {@link SDG#getFormalIns(SDGNode)}. */
+		FORMAL_INS,
+		/** Formal-in node to the actual-in nodes connected by parameter-in or fork-in edges, see {@link SDG#getActualIns(SDGNode)}. */
+		ACTUAL_INS,
+		/** Actual-out node to the formal-out nodes connected by parameter-out edges, see {@link SDG#getFormalOuts(SDGNode)}. */
+		FORMAL_OUTS,
+		/** Formal-out node to the actual-out nodes connected by parameter-out edges, see {@link SDG#getActualOuts(SDGNode)}. */
+		ACTUAL_OUTS,
+		/** Call node to the entry nodes connected by call edges, see {@link SDG#getPossibleTargets(SDGNode)}. */
+		TARGETS,
+		/** Entry node to the call nodes with an edge to it, see {@link SDG#getCallers(SDGNode)}. */
+		CALLERS;
+	}
+
+	private static final int NONE = -1;
+	private static final SDGEdge[] NO_EDGES = new SDGEdge[0];
+
+	private final SDG sdg;
+	private final int modificationCount;
+
+	private final int minId;
+	private final SDGNode[] nodes;
+	/** call node ID of each call, actual-in and actual-out node, NONE for other nodes */
+	private final int[] callSite;
+	/** for each relation: the offsets into the targets, indexed by node ID - minId, followed by the end */
+	private final int[][] offsets;
+	/** for each relation: the IDs of the related nodes */
+	private final int[][] targets;
+
+	CallSiteIndex(final SDG sdg) {
+		this.sdg = sdg;
+		this.modificationCount = sdg.getModificationCount();
+
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for (final SDGNode n : sdg.vertexSet()) {
+			min = Math.min(min, n.getId());
+			max = Math.max(max, n.getId());
+		}
+		if (min > max) {
+			min = max = 0;
+		}
+		this.minId = min;
+		final int size = max - min + 1;
+		this.nodes = new SDGNode[size];
+		for (final SDGNode n : sdg.vertexSet()) {
+			nodes[n.getId() - min] = n;
+		}
+
+		final int numRelations = Relation.values().length;
+		this.offsets = new int[numRelations][size + 1];
+		this.targets = new int[numRelations][];
+
+		// count the related nodes of each node, then store them
+		final int[] count = new int[numRelations];
+		for (int idx = 0; idx < size; idx++) {
+			for (int r = 0; r < numRelations; r++) {
+				offsets[r][idx] = count[r];
+			}
+			if (nodes[idx] != null) {
+				addRelated(nodes[idx], false, count);
+			}
+		}
+		for (int r = 0; r < numRelations; r++) {
+			offsets[r][size] = count[r];
+			targets[r] = new int[count[r]];
+			count[r] = 0;
+		}
+		for (int idx = 0; idx < size; idx++) {
+			if (nodes[idx] != null) {
+				addRelated(nodes[idx], true, count);
+			}
+		}
+
+		this.callSite = new int[size];
+		Arrays.fill(callSite, NONE);
+		for (int idx = 0; idx < size; idx++) {
+			final SDGNode n = nodes[idx];
+			if (n != null && callSite[idx] == NONE && isActualOrCall(n)) {
+				resolveCallSite(idx);
+			}
+		}
+	}
+
+	/**
+	 * Counts the related nodes of the given node in each relation, and stores them if <tt>fill</tt> is set.
+	 */
+	private void addRelated(final SDGNode n, final boolean fill, final int[] count) {
+		for (final SDGEdge e : edges(sdg.outgoingEdgesOfUnsafe(n))) {
+			if (e == null) {
+				continue;
+			}
+			switch (e.getKind()) {
+			case PARAMETER_IN:
+			case FORK_IN:
+				add(Relation.FORMAL_INS, e.getTarget(), fill, count);
+				break;
+			case PARAMETER_OUT:
+				add(Relation.ACTUAL_OUTS, e.getTarget(), fill, count);
+				break;
+			case CALL:
+				add(Relation.TARGETS, e.getTarget(), fill, count);
+				break;
+			default:
+				break;
+			}
+		}
+		for (final SDGEdge e : edges(sdg.incomingEdgesOfUnsafe(n))) {
+			if (e == null) {
+				continue;
+			}
+			switch (e.getKind()) {
+			case PARAMETER_IN:
+			case FORK_IN:
+				if (e.getSource().getKind() == SDGNode.Kind.ACTUAL_IN) {
+					add(Relation.ACTUAL_INS, e.getSource(), fill, count);
+				}
+				break;
+			case PARAMETER_OUT:
+				add(Relation.FORMAL_OUTS, e.getSource(), fill, count);
+				break;
+			default:
+				break;
+			}
+			if (e.getSource().getKind() == SDGNode.Kind.CALL) {
+				add(Relation.CALLERS, e.getSource(), fill, count);
+			}
+		}
+	}
+
+	private void add(final Relation r, final SDGNode related, final boolean fill, final int[] count) {
+		final int c = count[r.ordinal()]++;
+		if (fill) {
+			targets[r.ordinal()][c] = related.getId();
+		}
+	}
+
+	/**
+	 * The raw edge arrays of the graph may be null or contain gaps.
+	 */
+	private static SDGEdge[] edges(final SDGEdge[] edges) {
+		return (edges != null ? edges : NO_EDGES);
+	}
+
+	private static boolean isActualOrCall(final SDGNode n) {
+		return n.getKind() == SDGNode.Kind.CALL || n.getKind() == SDGNode.Kind.ACTUAL_IN
+				|| n.getKind() == SDGNode.Kind.ACTUAL_OUT;
+	}
+
+	/**
+	 * Follows the control-dependence-expression edges from the given node to its call node, like
+	 * {@link SDG#getCallSiteFor(SDGNode)}, and stores the result for every node on the way.
+	 */
+	private void resolveCallSite(final int start) {
+		int idx = start;
+		int steps = 0;
+		int call = NONE;
+		while (call == NONE) {
+			final SDGNode n = nodes[idx];
+			if (n.getKind() == SDGNode.Kind.CALL) {
+				call = n.getId();
+				break;
+			}
+			if (callSite[idx] != NONE) {
+				call = callSite[idx];
+				break;
+			}
+			SDGNode parent = null;
+			for (final SDGEdge e : edges(sdg.incomingEdgesOfUnsafe(n))) {
+				if (e != null && e.getKind() == SDGEdge.Kind.CONTROL_DEP_EXPR) {
+					parent = e.getSource();
+					break;
+				}
+			}
+			if (parent == null || ++steps > nodes.length) {
+				// irregular sdg, getCallSiteFor would not terminate
+				break;
+			}
+			idx = parent.getId() - minId;
+		}
+
+		// store the result on the path
+		for (int i = start; i != NONE && callSite[i] == NONE;) {
+			callSite[i] = call;
+			final SDGNode n = nodes[i];
+			if (call == NONE || n.getKind() == SDGNode.Kind.CALL) {
+				break;
+			}
+			i = NONE;
+			for (final SDGEdge e : edges(sdg.incomingEdgesOfUnsafe(n))) {
+				if (e != null && e.getKind() == SDGEdge.Kind.CONTROL_DEP_EXPR) {
+					i = e.getSource().getId() - minId;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the graph has not been modified since this index was built.
+	 */
+	public boolean isValid() {
+		return modificationCount == sdg.getModificationCount();
+	}
+
+	/**
+	 * Returns the graph this index was built for.
+	 */
+	public SDG getGraph() {
+		return sdg;
+	}
+
+	private int index(final SDGNode n) {
+		final int idx = n.getId() - minId;
+		if (idx < 0 || idx >= nodes.length || nodes[idx] != n) {
+			throw new IllegalArgumentException("node is not part of the indexed graph: " + n);
+		}
+		return idx;
+	}
+
+	private SDGNode node(final int id) {
+		return nodes[id - minId];
+	}
+
+	/**
+	 * Returns the call node of a call site, like {@link SDG#getCallSiteFor(SDGNode)}.
+	 *
+	 * @param actual  A call node or an actual-in/out node that belongs to a call site.
+	 */
+	public SDGNode getCallSite(final SDGNode actual) {
+		if (!isActualOrCall(actual)) {
+			throw new IllegalArgumentException("Can only determine the call site for an actual or call node!!");
+		}
+		final int call = callSite[index(actual)];
+		if (call == NONE) {
+			throw new IllegalStateException("no call node for " + actual);
+		}
+		return node(call);
+	}
+
+	/**
+	 * Returns the number of nodes related to the given node.
+	 */
+	public int size(final Relation r, final SDGNode n) {
+		final int[] off = offsets[r.ordinal()];
+		final int idx = index(n);
+		return off[idx + 1] - off[idx];
+	}
+
+	/**
+	 * Returns the <tt>i</tt>-th node related to the given node, where 0 &lt;= i &lt; {@link #size(Relation, SDGNode)}.
+	 */
+	public SDGNode get(final Relation r, final SDGNode n, final int i) {
+		final int[] off = offsets[r.ordinal()];
+		final int idx = index(n);
+		if (i < 0 || i >= off[idx + 1] - off[idx]) {
+			throw new IndexOutOfBoundsException(i + " of " + (off[idx + 1] - off[idx]));
+		}
+		return node(targets[r.ordinal()][off[idx] + i]);
+	}
+
+	/**
+	 * Returns the actual-in node connected with the given formal-in node in the call site specified by the given
+	 * call node, like {@link SDG#getActualIn(SDGNode, SDGNode)}.
+	 *
+	 * @return `null' if the the call- and formal-in node are unrelated.
+	 */
+	public SDGNode getActualIn(final SDGNode callNode, final SDGNode formalIn) {
+		return findAtCallSite(Relation.ACTUAL_INS, callNode, formalIn);
+	}
+
+	/**
+	 * Returns the actual-out node connected with the given formal-out node in the call site specified by the given
+	 * call node, like {@link SDG#getActualOut(SDGNode, SDGNode)}.
+	 *
+	 * @return `null' if the the call- and formal-out node are unrelated.
+	 */
+	public SDGNode getActualOut(final SDGNode callNode, final SDGNode formalOut) {
+		return findAtCallSite(Relation.ACTUAL_OUTS, callNode, formalOut);
+	}
+
+	private SDGNode findAtCallSite(final Relation r, final SDGNode callNode, final SDGNode formal) {
+		final int[] off = offsets[r.ordinal()];
+		final int[] tgt = targets[r.ordinal()];
+		final int idx = index(formal);
+		for (int i = off[idx]; i < off[idx + 1]; i++) {
+			if (callSite[tgt[i] - minId] == callNode.getId()) {
+				return node(tgt[i]);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the formal node of the given relation whose procedure is the given one, or null if there is none.
+	 * Used to match formal-in and formal-out nodes of the same callee.
+	 */
+	SDGNode findInProcedure(final Relation r, final SDGNode n, final int proc) {
+		final int[] off = offsets[r.ordinal()];
+		final int[] tgt = targets[r.ordinal()];
+		final int idx = index(n);
+		SDGNode found = null;
+		for (int i = off[idx]; i < off[idx + 1]; i++) {
+			final SDGNode m = node(tgt[i]);
+			if (m.getProc() == proc) {
+				// like SDG#getAllFormalPairs, the last one wins
+				found = m;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,276 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+
+/**
+ * A frozen, read-only view of a {@link JoanaGraph} for slicing workloads.
+ *
+ * The nodes of the graph are numbered by consecutive <i>rows</i> (in ascending order of their IDs),
+ * and the incoming and outgoing edges of every node are stored in compressed sparse row form:
+ * for each direction there is one int array of adjacent rows and one byte array of edge kinds,
+ * both indexed by edge, plus an offset array indexed by row. Algorithms running on this view
+ * never touch SDGEdge objects.
+ *
+ * The view does not observe later modifications of the graph it was built from, see {@link #isValid()}.
+ *
+ * @see edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledSummarySlicer
+ * @see edu.kit.joana.ifc.sdg.graph.slicer.compiled.CompiledI2PSlicer
+ */
+public final class CompiledSDG {
+
+	private static final SDGEdge.Kind[] KINDS = SDGEdge.Kind.values();
+
+	/** the compiled graph */
+	private final JoanaGraph graph;
+	private final int modificationCount;
+	/** row -> node */
+	private final SDGNode[] nodes;
+	/** row -> procedure ID of the node */
+	private final int[] procs;
+	/** id - minId -> row, or null if the IDs are too sparse (then id2rowMap is used) */
+	private final int[] id2row;
+	private final TIntIntHashMap id2rowMap;
+	private final int minId;
+
+	private final Adjacency incoming;
+	private final Adjacency outgoing;
+
+	/**
+	 * Adjacency lists of one direction in compressed sparse row form.
+	 * The edges of row r are the indices begin(r) (inclusive) to end(r) (exclusive).
+	 */
+	public static final class Adjacency {
+		private final int[] start;
+		private final int[] adjacent;
+		private final byte[] kinds;
+
+		private Adjacency(int[] start, int[] adjacent, byte[] kinds) {
+			this.start = start;
+			this.adjacent = adjacent;
+			this.kinds = kinds;
+		}
+
+		public int begin(int row) {
+			return start[row];
+		}
+
+		public int end(int row) {
+			return start[row + 1];
+		}
+
+		/**
+		 * @return the row at the other end of the given edge
+		 */
+		public int adjacent(int edge) {
+			return adjacent[edge];
+		}
+
+		/**
+		 * @return the ordinal of the kind of the given edge
+		 */
+		public int kindOrdinal(int edge) {
+			return kinds[edge];
+		}
+
+		public SDGEdge.Kind kind(int edge) {
+			return KINDS[kinds[edge]];
+		}
+
+		public int degree(int row) {
+			return start[row + 1] - start[row];
+		}
+	}
+
+	/**
+	 * Compiles the given graph. The graph must not be modified while this constructor runs.
+	 */
+	public CompiledSDG(JoanaGraph g) {
+		this.graph = g;
+		this.modificationCount = g.getModificationCount();
+		final Collection<SDGNode> vertices = g.vertexSet();
+		final int n = vertices.size();
+		nodes = vertices.toArray(new SDGNode[n]);
+		Arrays.sort(nodes, SDGNode.getIDComparator());
+
+		procs = new int[n];
+		for (int row = 0; row < n; row++) {
+			procs[row] = nodes[row].getProc();
+		}
+
+		if (n == 0) {
+			minId = 0;
+			id2row = new int[0];
+			id2rowMap = null;
+		} else {
+			minId = nodes[0].getId();
+			final long range = (long) nodes[n - 1].getId() - minId + 1;
+			if (range <= 4L * n + 16) {
+				id2row = new int[(int) range];
+				Arrays.fill(id2row, -1);
+				for (int row = 0; row < n; row++) {
+					id2row[nodes[row].getId() - minId] = row;
+				}
+				id2rowMap = null;
+			} else {
+				id2row = null;
+				id2rowMap = new TIntIntHashMap(n, 0.5f, Integer.MIN_VALUE, -1);
+				for (int row = 0; row < n; row++) {
+					id2rowMap.put(nodes[row].getId(), row);
+				}
+			}
+		}
+
+		// both directions keep the order in which the graph returns the edges, so slicers
+		// running on this view visit nodes in the same order as their SDG-based counterparts
+		final int[] outStart = new int[n + 1];
+		final int[] inStart = new int[n + 1];
+		for (int row = 0; row < n; row++) {
+			outStart[row + 1] = outStart[row] + g.outDegreeOf(nodes[row]);
+			inStart[row + 1] = inStart[row] + g.inDegreeOf(nodes[row]);
+		}
+		final int m = outStart[n];
+		final int[] outTarget = new int[m];
+		final byte[] outKind = new byte[m];
+		final int[] inSource = new int[m];
+		final byte[] inKind = new byte[m];
+		for (int row = 0; row < n; row++) {
+			int e = outStart[row];
+			for (SDGEdge edge : g.outgoingEdgesOf(nodes[row])) {
+				outTarget[e] = rowOf(edge.getTarget());
+				outKind[e] = (byte) edge.getKind().ordinal();
+				e++;
+			}
+			e = inStart[row];
+			for (SDGEdge edge : g.incomingEdgesOf(nodes[row])) {
+				inSource[e] = rowOf(edge.getSource());
+				inKind[e] = (byte) edge.getKind().ordinal();
+				e++;
+			}
+		}
+		outgoing = new Adjacency(outStart, outTarget, outKind);
+		incoming = new Adjacency(inStart, inSource, inKind);
+	}
+
+	/**
+	 * Returns true if the graph has not been modified since this view was compiled.
+	 */
+	public boolean isValid() {
+		return modificationCount == graph.getModificationCount();
+	}
+
+	/**
+	 * @return the graph this view was compiled from
+	 */
+	public JoanaGraph getGraph() {
+		return graph;
+	}
+
+	public int numberOfNodes() {
+		return nodes.length;
+	}
+
+	public int numberOfEdges() {
+		return outgoing.adjacent.length;
+	}
+
+	public SDGNode getNode(int row) {
+		return nodes[row];
+	}
+
+	public int getProc(int row) {
+		return procs[row];
+	}
+
+	/**
+	 * @return the row of the node with the given ID, or -1 if there is no such node
+	 */
+	public int rowOf(int id) {
+		if (id2row != null) {
+			final long idx = (long) id - minId;
+			return (idx < 0 || idx >= id2row.length) ? -1 : id2row[(int) idx];
+		} else {
+			return id2rowMap.get(id);
+		}
+	}
+
+	/**
+	 * @return the row of the given node, or -1 if it is not part of the compiled graph
+	 */
+	public int rowOf(SDGNode node) {
+		final int row = rowOf(node.getId());
+		return (row >= 0 && nodes[row] == node) ? row : -1;
+	}
+
+	public Adjacency incoming() {
+		return incoming;
+	}
+
+	public Adjacency outgoing() {
+		return outgoing;
+	}
+
+	/**
+	 * Returns a read-only set view of the nodes whose rows are set in the given bit set.
+	 * The bit set must not be modified afterwards.
+	 */
+	public Set<SDGNode> toNodeSet(BitSet rows) {
+		return new NodeSet(rows);
+	}
+
+	private final class NodeSet extends AbstractSet<SDGNode> {
+		private final BitSet rows;
+		private final int size;
+
+		private NodeSet(BitSet rows) {
+			this.rows = rows;
+			this.size = rows.cardinality();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof SDGNode)) return false;
+			final int row = rowOf((SDGNode) o);
+			return row >= 0 && rows.get(row);
+		}
+
+		@Override
+		public Iterator<SDGNode> iterator() {
+			return new Iterator<SDGNode>() {
+				private int next = rows.nextSetBit(0);
+
+				@Override
+				public boolean hasNext() {
+					return next >= 0;
+				}
+
+				@Override
+				public SDGNode next() {
+					if (next < 0) throw new NoSuchElementException();
+					final SDGNode node = nodes[next];
+					next = rows.nextSetBit(next + 1);
+					return node;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A layer of additional edges on top of a JoanaGraph.
+ * The edges of an overlay are never added to the underlying graph, so analyses which need temporary edges
+ * (e.g. conflict edges) do not have to modify a graph that other analyses may be reading at the same time.
+ * An overlay is not thread-safe itself, each analysis run should create its own.
+ * <p>
+ * The edge queries of this class return the edges of the underlying graph together with the edges of the overlay.
+ *
+ * @see edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PBackward#I2PBackward(SDG, EdgeOverlay)
+ * @see edu.kit.joana.ifc.sdg.graph.slicer.conc.nanda.NandaBackward#NandaBackward(EdgeOverlay)
+ */
+public class EdgeOverlay {
+
+	private final JoanaGraph base;
+	private final Map<SDGNode, Set<SDGEdge>> incoming = new HashMap<SDGNode, Set<SDGEdge>>();
+	private final Map<SDGNode, Set<SDGEdge>> outgoing = new HashMap<SDGNode, Set<SDGEdge>>();
+	private int size = 0;
+
+	public EdgeOverlay(JoanaGraph base) {
+		if (base == null) {
+			throw new IllegalArgumentException("base graph must not be null");
+		}
+		this.base = base;
+	}
+
+	/**
+	 * @return the graph this overlay lies upon
+	 */
+	public JoanaGraph getBase() {
+		return base;
+	}
+
+	/**
+	 * Adds an edge to the overlay. Both end points have to be nodes of the underlying graph.
+	 * @param edge  The edge to add.
+	 * @return `false' if the overlay or the underlying graph already contain an equal edge.
+	 */
+	public boolean addEdge(SDGEdge edge) {
+		if (!base.containsVertex(edge.getSource()) || !base.containsVertex(edge.getTarget())) {
+			throw new IllegalArgumentException("edge " + edge + " does not connect nodes of " + base.getName());
+		}
+
+		if (base.containsEdge(edge)) {
+			return false;
+		}
+
+		if (!edgesAt(incoming, edge.getTarget()).add(edge)) {
+			return false;
+		}
+
+		edgesAt(outgoing, edge.getSource()).add(edge);
+		size++;
+
+		return true;
+	}
+
+	private static Set<SDGEdge> edgesAt(Map<SDGNode, Set<SDGEdge>> map, SDGNode node) {
+		Set<SDGEdge> edges = map.get(node);
+		if (edges == null) {
+			edges = new LinkedHashSet<SDGEdge>();
+			map.put(node, edges);
+		}
+
+		return edges;
+	}
+
+	/**
+	 * @return the number of edges in the overlay, not counting the edges of the underlying graph
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns all incoming edges of a given vertex, both of the underlying graph and of the overlay.
+	 */
+	public Collection<SDGEdge> incomingEdgesOf(SDGNode node) {
+		return merge(base.incomingEdgesOf(node), incoming.get(node));
+	}
+
+	/**
+	 * Returns all outgoing edges of a given vertex, both of the underlying graph and of the overlay.
+	 */
+	public Collection<SDGEdge> outgoingEdgesOf(SDGNode node) {
+		return merge(base.outgoingEdgesOf(node), outgoing.get(node));
+	}
+
+	private static Collection<SDGEdge> merge(Set<SDGEdge> baseEdges, Set<SDGEdge> overlayEdges) {
+		if (overlayEdges == null) {
+			return baseEdges;
+		}
+
+		List<SDGEdge> res = new ArrayList<SDGEdge>(baseEdges.size() + overlayEdges.size());
+		res.addAll(baseEdges);
+		res.addAll(overlayEdges);
+
+		return res;
+	}
+
+	/**
+	 * Returns a list with all incoming edges of a given kind of a given vertex,
+	 * both of the underlying graph and of the overlay.
+	 *
+	 * @param node  The vertex whose edges are needed.
+	 * @param kind  The demanded kind of edges.
+	 */
+	public List<SDGEdge> getIncomingEdgesOfKind(SDGNode node, SDGEdge.Kind kind) {
+		List<SDGEdge> res = base.getIncomingEdgesOfKind(node, kind);
+		addOfKind(res, incoming.get(node), kind);
+
+		return res;
+	}
+
+	/**
+	 * Returns a list with all outgoing edges of a given kind of a given vertex,
+	 * both of the underlying graph and of the overlay.
+	 *
+	 * @param node  The vertex whose edges are needed.
+	 * @param kind  The demanded kind of edges.
+	 */
+	public List<SDGEdge> getOutgoingEdgesOfKind(SDGNode node, SDGEdge.Kind kind) {
+		List<SDGEdge> res = base.getOutgoingEdgesOfKind(node, kind);
+		addOfKind(res, outgoing.get(node), kind);
+
+		return res;
+	}
+
+	private static void addOfKind(List<SDGEdge> res, Set<SDGEdge> overlayEdges, SDGEdge.Kind kind) {
+		if (overlayEdges == null) {
+			return;
+		}
+
+		for (SDGEdge e : overlayEdges) {
+			if (e.getKind() == kind) {
+				res.add(e);
+			}
+		}
+	}
+}
@@ -75,8 +75,9 @@ public abstract class JoanaGraph extends AbstractJoanaGraph<SDGNode, SDGEdge> {
 	protected SDGNode root;
 	private final TIntObjectHashMap<SDGNode> id2node = new TIntObjectHashMap<SDGNode>();
 	
-	protected final Map<Integer, SDGNode> entryNodes = new HashMap<>();
-	protected final Map<Integer, SDGNode> exitNodes = new HashMap<>();
+	/** The entry and exit nodes of each procedure, maintained by {@link #addVertex(SDGNode)}. */
+	protected final ProcedureNodeTable entryNodes = new ProcedureNodeTable();
+	protected final ProcedureNodeTable exitNodes = new ProcedureNodeTable();
 
 	/**
 	 * Creates a totally empty JoanaGraph.
@@ -563,7 +564,13 @@ public abstract class JoanaGraph extends AbstractJoanaGraph<SDGNode, SDGEdge> {
      */
     public abstract SDGNode getEntry(SDGNode node);
     
-    public synchronized SDGNode getExit(SDGNode node) {
+    /**
+     * Returns the exit node of a procedure, or null if there is none. Does not lock.
+     *
+     * @param node  A node that belongs to the desired procedure.
+     * @return      The exit node.
+     */
+    public SDGNode getExit(SDGNode node) {
     	final SDGNode exit = exitNodes.get(node.getProc());
     	
     	return exit;
@@ -0,0 +1,360 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import edu.kit.joana.util.collections.ArraySet;
+import edu.kit.joana.util.collections.SimpleVector;
+import edu.kit.joana.util.graph.AbstractBaseGraph.DirectedEdgeContainer;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+/**
+ * The vertex map of a {@link PagedSDG}. It maps each node to the container of its incoming and outgoing edges.
+ * <p>
+ * While the graph is built, the map just stores the containers it is given, which hold the interprocedural edges.
+ * After {@link #startPaging()}, the containers of a procedure are created on the first access to one of its nodes by
+ * adding the intraprocedural edges of the procedure, which are read from the edge section of a binary SDG file. At
+ * most a fixed number of procedures is resident at the same time, the least recently used one is dropped first.
+ * From then on the map and its containers are read-only.
+ */
+final class PagedEdgeMap extends AbstractMap<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>> {
+
+	private static final SDGEdge[] NO_EDGES = new SDGEdge[0];
+
+	/** the containers of all nodes with the interprocedural edges only */
+	private final SimpleVector<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>> stubs = new SimpleVector<>(5, 256);
+	private final int maxResidentProcedures;
+	/** procedure -> node id -> container with all edges, in order of the last access */
+	private final LinkedHashMap<Integer, TIntObjectHashMap<DirectedEdgeContainer<SDGEdge, SDGEdge[]>>> resident;
+	private final EntrySet entrySet = new EntrySet();
+	private boolean paging = false;
+	private long loads = 0;
+
+	/* the edge section of the file, see SDGBinarySerializer */
+	private SDGNode[] nodes;
+	private int[] firstEdge;
+	private IntBuffer target;
+	private ByteBuffer kind;
+	private IntBuffer label;
+	private String[] strings;
+	private TIntObjectHashMap<int[]> procRows;
+
+	PagedEdgeMap(final int maxResidentProcedures) {
+		if (maxResidentProcedures < 1) {
+			throw new IllegalArgumentException("at least one procedure has to be resident: " + maxResidentProcedures);
+		}
+		this.maxResidentProcedures = maxResidentProcedures;
+		this.resident = new LinkedHashMap<Integer, TIntObjectHashMap<DirectedEdgeContainer<SDGEdge, SDGEdge[]>>>(16,
+				0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					final Map.Entry<Integer, TIntObjectHashMap<DirectedEdgeContainer<SDGEdge, SDGEdge[]>>> eldest) {
+				return size() > PagedEdgeMap.this.maxResidentProcedures;
+			}
+		};
+	}
+
+	/**
+	 * Sets the source of the intraprocedural edges.
+	 * @param nodes the nodes in the order of the node section
+	 * @param firstEdge row -> index of its first outgoing edge, with one additional entry for the number of edges
+	 * @param target edge -> row of its target
+	 * @param kind edge -> ordinal of its kind
+	 * @param label edge -> index of its label in the string table
+	 * @param strings the string table
+	 * @param procRows procedure -> rows of its nodes
+	 */
+	void setSource(final SDGNode[] nodes, final int[] firstEdge, final IntBuffer target, final ByteBuffer kind,
+			final IntBuffer label, final String[] strings, final TIntObjectHashMap<int[]> procRows) {
+		this.nodes = nodes;
+		this.firstEdge = firstEdge;
+		this.target = target;
+		this.kind = kind;
+		this.label = label;
+		this.strings = strings;
+		this.procRows = procRows;
+	}
+
+	/**
+	 * Ends building the graph. From now on, the intraprocedural edges are paged in and the map is read-only.
+	 */
+	synchronized void startPaging() {
+		if (nodes == null) {
+			throw new IllegalStateException("no source of intraprocedural edges");
+		}
+		stubs.trimToSize();
+		paging = true;
+	}
+
+	int getMaxResidentProcedures() {
+		return maxResidentProcedures;
+	}
+
+	synchronized int getNumberOfResidentProcedures() {
+		return resident.size();
+	}
+
+	synchronized long getNumberOfLoads() {
+		return loads;
+	}
+
+	@Override
+	public synchronized DirectedEdgeContainer<SDGEdge, SDGEdge[]> get(final Object o) {
+		final DirectedEdgeContainer<SDGEdge, SDGEdge[]> stub = stubs.get(o);
+		if (!paging || stub == null) {
+			return stub;
+		}
+
+		final SDGNode n = (SDGNode) o;
+		TIntObjectHashMap<DirectedEdgeContainer<SDGEdge, SDGEdge[]>> proc = resident.get(n.getProc());
+		if (proc == null) {
+			proc = load(n.getProc());
+			resident.put(n.getProc(), proc);
+		}
+
+		return proc.get(n.getId());
+	}
+
+	/**
+	 * Creates the containers of all nodes of the given procedure.
+	 */
+	private TIntObjectHashMap<DirectedEdgeContainer<SDGEdge, SDGEdge[]>> load(final int proc) {
+		loads++;
+		final int[] rows = procRows.get(proc);
+		final TIntObjectHashMap<List<SDGEdge>> in = new TIntObjectHashMap<List<SDGEdge>>();
+		final TIntObjectHashMap<List<SDGEdge>> out = new TIntObjectHashMap<List<SDGEdge>>();
+		for (final int row : rows) {
+			final SDGNode from = nodes[row];
+			for (int pos = firstEdge[row]; pos < firstEdge[row + 1]; pos++) {
+				final SDGNode to = nodes[target.get(pos)];
+				if (to.getProc() != proc) {
+					continue;
+				}
+				final int lbl = label.get(pos);
+				final SDGEdge e = SDGBinaryParser.createEdge(from, to, kind.get(pos),
+						lbl == SDGBinarySerializer.NO_STRING ? null : strings[lbl]);
+				edgesOf(out, from).add(e);
+				edgesOf(in, to).add(e);
+			}
+		}
+
+		final TIntObjectHashMap<DirectedEdgeContainer<SDGEdge, SDGEdge[]>> containers =
+				new TIntObjectHashMap<DirectedEdgeContainer<SDGEdge, SDGEdge[]>>(rows.length);
+		for (final int row : rows) {
+			final SDGNode n = nodes[row];
+			final DirectedEdgeContainer<SDGEdge, SDGEdge[]> stub = stubs.get(n);
+			containers.put(n.getId(), new PagedEdgeContainer(merge(stub.incoming(), in.get(n.getId())),
+					merge(stub.outgoing(), out.get(n.getId()))));
+		}
+
+		return containers;
+	}
+
+	private static List<SDGEdge> edgesOf(final TIntObjectHashMap<List<SDGEdge>> edges, final SDGNode n) {
+		List<SDGEdge> l = edges.get(n.getId());
+		if (l == null) {
+			l = new ArrayList<SDGEdge>();
+			edges.put(n.getId(), l);
+		}
+		return l;
+	}
+
+	/**
+	 * Returns the union of the given edges, ordered as required by {@link ArraySet}.
+	 */
+	private static SDGEdge[] merge(final SDGEdge[] interproc, final List<SDGEdge> intraproc) {
+		if (intraproc == null) {
+			return (interproc.length == 0 ? NO_EDGES : interproc);
+		}
+		final SDGEdge[] all = Arrays.copyOf(interproc, interproc.length + intraproc.size());
+		for (int i = 0; i < intraproc.size(); i++) {
+			all[interproc.length + i] = intraproc.get(i);
+		}
+		Arrays.sort(all, ArraySet.COMPARATOR);
+		return all;
+	}
+
+	@Override
+	public boolean containsKey(final Object o) {
+		return stubs.containsKey(o);
+	}
+
+	@Override
+	public int size() {
+		return stubs.size();
+	}
+
+	@Override
+	public Set<SDGNode> keySet() {
+		return stubs.keySet();
+	}
+
+	@Override
+	public synchronized DirectedEdgeContainer<SDGEdge, SDGEdge[]> put(final SDGNode key,
+			final DirectedEdgeContainer<SDGEdge, SDGEdge[]> value) {
+		checkNotPaging();
+		return stubs.put(key, value);
+	}
+
+	@Override
+	public synchronized DirectedEdgeContainer<SDGEdge, SDGEdge[]> remove(final Object o) {
+		checkNotPaging();
+		return stubs.remove(o);
+	}
+
+	@Override
+	public synchronized void clear() {
+		checkNotPaging();
+		stubs.clear();
+	}
+
+	/**
+	 * Only replaces the container of the given node if the function returns a different one, so the graph can look
+	 * up containers this way after paging started.
+	 */
+	@Override
+	public synchronized DirectedEdgeContainer<SDGEdge, SDGEdge[]> compute(final SDGNode key,
+			final BiFunction<? super SDGNode, ? super DirectedEdgeContainer<SDGEdge, SDGEdge[]>, ? extends DirectedEdgeContainer<SDGEdge, SDGEdge[]>> remappingFunction) {
+		final DirectedEdgeContainer<SDGEdge, SDGEdge[]> old = get(key);
+		final DirectedEdgeContainer<SDGEdge, SDGEdge[]> ec = remappingFunction.apply(key, old);
+		if (ec != old) {
+			if (ec == null) {
+				remove(key);
+			} else {
+				put(key, ec);
+			}
+		}
+		return ec;
+	}
+
+	private void checkNotPaging() {
+		if (paging) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+	}
+
+	/**
+	 * Iterates over all nodes and pages in their procedures one after another.
+	 */
+	@Override
+	public Set<Map.Entry<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>>> entrySet() {
+		return entrySet;
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>>> {
+
+		@Override
+		public Iterator<Map.Entry<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>>> iterator() {
+			final Iterator<SDGNode> it = stubs.keySet().iterator();
+			return new Iterator<Map.Entry<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>>>() {
+				@Override
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				@Override
+				public Map.Entry<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>> next() {
+					final SDGNode n = it.next();
+					return new SimpleImmutableEntry<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>>(n, get(n));
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return stubs.size();
+		}
+	}
+
+	/**
+	 * The edges of a node of a resident procedure. Paged SDGs are read-only, so these containers cannot be modified.
+	 */
+	private static final class PagedEdgeContainer implements DirectedEdgeContainer<SDGEdge, SDGEdge[]> {
+		private final SDGEdge[] incoming;
+		private final SDGEdge[] outgoing;
+
+		private PagedEdgeContainer(final SDGEdge[] incoming, final SDGEdge[] outgoing) {
+			this.incoming = incoming;
+			this.outgoing = outgoing;
+		}
+
+		@Override
+		public Set<SDGEdge> getUnmodifiableIncomingEdges() {
+			return ArraySet.own(incoming);
+		}
+
+		@Override
+		public Set<SDGEdge> getUnmodifiableOutgoingEdges() {
+			return ArraySet.own(outgoing);
+		}
+
+		@Override
+		public SDGEdge[] incoming() {
+			return incoming;
+		}
+
+		@Override
+		public SDGEdge[] outgoing() {
+			return outgoing;
+		}
+
+		@Override
+		public boolean addIncomingEdge(final Class<SDGEdge> clazz, final SDGEdge e) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+
+		@Override
+		public void addIncomingEdges(final Class<SDGEdge> clazz, final Set<SDGEdge> edges) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+
+		@Override
+		public void addOutgoingEdges(final Class<SDGEdge> clazz, final Set<SDGEdge> edges) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+
+		@Override
+		public boolean addOutgoingEdge(final Class<SDGEdge> clazz, final SDGEdge e) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+
+		@Override
+		public boolean removeIncomingEdge(final Class<SDGEdge> clazz, final SDGEdge e) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+
+		@Override
+		public boolean removeOutgoingEdge(final Class<SDGEdge> clazz, final SDGEdge e) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+
+		@Override
+		public void removeIncomingEdges(final Class<SDGEdge> clazz) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+
+		@Override
+		public void removeOutgoingEdges(final Class<SDGEdge> clazz) {
+			throw new UnsupportedOperationException("paged SDGs are read-only");
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+/**
+ * An SDG read from a binary SDG file, which keeps the intraprocedural edges of only a bounded number of procedures
+ * in memory, see {@link SDG#readFromBinaryPaged(String, SDGNode.NodeFactory, int)}.
+ * <p>
+ * All nodes and all interprocedural edges are always resident. The intraprocedural edges of a procedure are read from
+ * the memory-mapped file when the edges of one of its nodes are accessed, so a slicer only pages in the procedures it
+ * reaches. If too many procedures are resident, the least recently used one is dropped. Queries over the whole graph,
+ * like {@link #edgeSet()}, page in every procedure once.
+ * <p>
+ * A paged SDG is read-only: adding or removing nodes or edges throws an {@link UnsupportedOperationException}. The
+ * file must not be modified while the graph is in use.
+ */
+public final class PagedSDG extends SDG {
+
+	private static final long serialVersionUID = 6145832250710345117L;
+
+	private final PagedEdgeMap pager;
+
+	PagedSDG(final String name, final PagedEdgeMap pager) {
+		super(name, () -> pager);
+		this.pager = pager;
+	}
+
+	/**
+	 * Returns the maximal number of procedures whose intraprocedural edges are in memory at the same time.
+	 */
+	public int getMaxResidentProcedures() {
+		return pager.getMaxResidentProcedures();
+	}
+
+	/**
+	 * Returns the number of procedures whose intraprocedural edges are currently in memory.
+	 */
+	public int getNumberOfResidentProcedures() {
+		return pager.getNumberOfResidentProcedures();
+	}
+
+	/**
+	 * Returns how often the intraprocedural edges of a procedure have been read from the file so far.
+	 */
+	public long getNumberOfLoads() {
+		return pager.getNumberOfLoads();
+	}
+
+	/**
+	 * Does not build the index of the call sites: building it reads the edges of every procedure, which defeats the
+	 * paging. {@link #getCallSiteIndex()} still builds it on demand.
+	 */
+	@Override
+	public void prepareCallSiteIndex() {
+	}
+
+	void startPaging() {
+		pager.startPaging();
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Maps procedure IDs to a node of the procedure, like its entry or exit node. The nodes are stored in arrays directly
+ * indexed by the procedure ID, one for non-negative and one for negative IDs.
+ * <p>
+ * Lookups do not lock. The table is filled by {@link JoanaGraph#addVertex(SDGNode)}; an array that has to grow is
+ * copied and published through a volatile field, so concurrent lookups never see a partially copied array. Lookups
+ * running concurrently to the insertion of a node may or may not see that node, like for all other parts of the graph.
+ */
+public final class ProcedureNodeTable implements Serializable {
+
+	private static final long serialVersionUID = -2372047236416880742L;
+
+	private static final SDGNode[] EMPTY = new SDGNode[0];
+
+	private volatile SDGNode[] nonNegative = EMPTY;
+	private volatile SDGNode[] negative = EMPTY;
+
+	/**
+	 * Returns the node stored for the given procedure, or null if there is none.
+	 */
+	public SDGNode get(final int proc) {
+		final SDGNode[] nodes = (proc >= 0 ? nonNegative : negative);
+		final int idx = (proc >= 0 ? proc : -(proc + 1));
+
+		return (idx < nodes.length ? nodes[idx] : null);
+	}
+
+	/**
+	 * Stores the node for the given procedure and returns the node stored before, if any.
+	 */
+	SDGNode put(final int proc, final SDGNode node) {
+		final boolean neg = proc < 0;
+		// -(proc + 1) does not overflow for Integer.MIN_VALUE
+		final int idx = (neg ? -(proc + 1) : proc);
+		SDGNode[] nodes = (neg ? negative : nonNegative);
+		if (idx >= nodes.length) {
+			nodes = Arrays.copyOf(nodes, Math.max(idx + 1, (int) Math.min(Integer.MAX_VALUE - 8, 2L * nodes.length)));
+			nodes[idx] = node;
+			if (neg) {
+				negative = nodes;
+			} else {
+				nonNegative = nodes;
+			}
+			return null;
+		}
+
+		final SDGNode old = nodes[idx];
+		nodes[idx] = node;
+		return old;
+	}
+}
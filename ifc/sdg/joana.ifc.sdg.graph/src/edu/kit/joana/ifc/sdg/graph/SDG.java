@@ -10,6 +10,7 @@ package edu.kit.joana.ifc.sdg.graph;
  * Created on Feb 25, 2004
  */
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -21,8 +22,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 import org.antlr.runtime.ANTLRFileStream;
 import org.antlr.runtime.ANTLRReaderStream;
@@ -32,6 +36,7 @@ import org.antlr.runtime.RecognitionException;
 import edu.kit.joana.util.SourceLocation;
 import edu.kit.joana.util.collections.ArrayMap;
 import edu.kit.joana.util.collections.SimpleVector;
+import edu.kit.joana.util.graph.AbstractBaseGraph.DirectedEdgeContainer;
 import gnu.trove.map.TIntIntMap;
 import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
@@ -58,6 +63,9 @@ public class SDG extends JoanaGraph implements Cloneable {
     private final TIntObjectHashMap<SDGNode> entryCache = new TIntObjectHashMap<SDGNode>();
     private final TIntObjectHashMap<SDGNode> exitCache = new TIntObjectHashMap<SDGNode>();
 
+    /** The index of the call sites, built on demand by <code>getCallSiteIndex</code>. */
+    private volatile CallSiteIndex callSiteIndex = null;
+
     /** maps sdg nodes to ssa instruction indices */
     private TIntIntMap node2iindex = null;
 
@@ -92,6 +100,14 @@ public class SDG extends JoanaGraph implements Cloneable {
         this.joanaCompiler = false;
     }
 
+    /**
+     * Creates an empty SDG with a name, which stores the edges of its nodes in the maps created by the given supplier.
+     */
+    protected SDG(String name, Supplier<Map<SDGNode, DirectedEdgeContainer<SDGEdge, SDGEdge[]>>> vertexMapConstructor) {
+        super(name, vertexMapConstructor);
+        this.joanaCompiler = false;
+    }
+
 	/**
 	 * Returns a shallow copy of this SDG.
      */
@@ -154,6 +170,49 @@ public class SDG extends JoanaGraph implements Cloneable {
     	return joanaCompiler;
     }
 
+    /**
+     * Returns the index of the call sites of this graph. The index is built on the first call and rebuilt if the graph
+     * has been modified since. As long as it is valid, it is also used by {@link #getCallSiteFor(SDGNode)},
+     * {@link #getActualIn(SDGNode, SDGNode)}, {@link #getActualOut(SDGNode, SDGNode)},
+     * {@link #getAllFormalPairs(SDGNode, SDGNode)} and the methods mirrored by {@link CallSiteIndex.Relation}.
+     */
+    public CallSiteIndex getCallSiteIndex() {
+    	CallSiteIndex index = callSiteIndex;
+    	if (index == null || !index.isValid()) {
+    		index = new CallSiteIndex(this);
+    		callSiteIndex = index;
+    	}
+
+    	return index;
+    }
+
+    /**
+     * Builds the index of the call sites, unless that is more expensive than the edge scans it saves. Algorithms
+     * which look up many call sites call this when their graph is set.
+     */
+    public void prepareCallSiteIndex() {
+    	getCallSiteIndex();
+    }
+
+    /**
+     * Returns the index of the call sites if it has been built and the graph has not been modified since, else null.
+     */
+    private CallSiteIndex getValidCallSiteIndex() {
+    	final CallSiteIndex index = callSiteIndex;
+
+    	return (index != null && index.isValid() ? index : null);
+    }
+
+    private static LinkedList<SDGNode> related(final CallSiteIndex index, final CallSiteIndex.Relation r,
+    		final SDGNode n) {
+    	final LinkedList<SDGNode> ret = new LinkedList<SDGNode>();
+    	for (int i = 0; i < index.size(r, n); i++) {
+    		ret.add(index.get(r, n, i));
+    	}
+
+    	return ret;
+    }
+
     /**
      * Returns the call node of a call site.
      *
@@ -163,6 +222,10 @@ public class SDG extends JoanaGraph implements Cloneable {
         if (actual.getKind() != SDGNode.Kind.CALL && actual.getKind() != SDGNode.Kind.ACTUAL_IN && actual.getKind() != SDGNode.Kind.ACTUAL_OUT) {
             throw new IllegalArgumentException("Can only determine the call site for an actual or call node!!");
         }
+        final CallSiteIndex index = getValidCallSiteIndex();
+        if (index != null) {
+        	return index.getCallSite(actual);
+        }
         if (actual.getKind() == SDGNode.Kind.CALL) {
             return actual; // call nodes belong to their own call site
         } else {
@@ -348,7 +411,11 @@ public class SDG extends JoanaGraph implements Cloneable {
     	}
     }
     
-    public synchronized SDGNode getEntry(SDGNode node) {
+    /**
+     * Returns the entry node of the procedure that is specified by the given node. Does not lock, so it may be used
+     * by concurrent slicers.
+     */
+    public SDGNode getEntry(SDGNode node) {
     	final SDGNode entry = entryNodes.get(node.getProc());
     	
     	assert entry.equals(getEntrySlow(node));
@@ -358,7 +425,7 @@ public class SDG extends JoanaGraph implements Cloneable {
 
     
     @Override
-    public synchronized SDGNode getExit(SDGNode node) {
+    public SDGNode getExit(SDGNode node) {
     	final SDGNode exit = exitNodes.get(node.getProc());
     	
     	final SDGNode exitSlow;
@@ -388,6 +455,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * Returns all call nodes that call the given entry node.
 	 */
 	public Collection<SDGNode> getCallers(SDGNode entryNode) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return related(index, CallSiteIndex.Relation.CALLERS, entryNode);
+		}
 		LinkedList<SDGNode> ret = new LinkedList<SDGNode>();
 
 		for (SDGEdge wEdge : incomingEdgesOf(entryNode)) {
@@ -418,6 +489,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * Returns the formal-out nodes connected with the given actual-out node.
 	 */
 	public Collection<SDGNode> getFormalOuts(SDGNode actualOut) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return related(index, CallSiteIndex.Relation.FORMAL_OUTS, actualOut);
+		}
 		LinkedList<SDGNode> ret = new LinkedList<SDGNode>();
 
 		for (SDGEdge e : incomingEdgesOf(actualOut)) {
@@ -498,6 +573,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * Returns the formal-in nodes connected with the given actual-in node.
 	 */
 	public Collection<SDGNode> getFormalIns(SDGNode actualIn) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return related(index, CallSiteIndex.Relation.FORMAL_INS, actualIn);
+		}
 		LinkedList<SDGNode> ret = new LinkedList<SDGNode>();
 
 		for (SDGEdge e : outgoingEdgesOf(actualIn)) {
@@ -514,6 +593,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * Returns all entry nodes called by the given call node.
 	 */
 	public Collection<SDGNode> getPossibleTargets(SDGNode call) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return related(index, CallSiteIndex.Relation.TARGETS, call);
+		}
 		LinkedList<SDGNode> ret = new LinkedList<SDGNode>();
 
 		for (SDGEdge e : outgoingEdgesOf(call)) {
@@ -592,6 +675,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * Returns all actual-out nodes connected with the given formal-out node.
 	 */
 	public Collection<SDGNode> getActualOuts(SDGNode formalOut) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return related(index, CallSiteIndex.Relation.ACTUAL_OUTS, formalOut);
+		}
 		LinkedList<SDGNode> ret = new LinkedList<SDGNode>();
 
 		for (SDGEdge e : outgoingEdgesOf(formalOut)) {
@@ -624,6 +711,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * @return `null' if the the call- and formal-out node are unrelated.
 	 */
 	public SDGNode getActualOut(SDGNode callNode, SDGNode formalOut) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return index.getActualOut(callNode, formalOut);
+		}
 		for (SDGNode actOut : getActualOuts(formalOut)) {
 			if (callNode == getCallSiteFor(actOut)) {
 				return actOut;
@@ -636,6 +727,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * Returns all actual-in nodes connected with the given formal-in node.
 	 */
 	public Collection<SDGNode> getActualIns(SDGNode formalIn) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return related(index, CallSiteIndex.Relation.ACTUAL_INS, formalIn);
+		}
 		LinkedList<SDGNode> ret = new LinkedList<SDGNode>();
 
 		for (SDGEdge e : incomingEdgesOf(formalIn)) {
@@ -670,6 +765,10 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 * @return `null' if the the call- and formal-in node are unrelated.
 	 */
 	public SDGNode getActualIn(SDGNode callNode, SDGNode formalIn) {
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			return index.getActualIn(callNode, formalIn);
+		}
 		for (SDGNode actIn: getActualIns(formalIn)) {
 			if (callNode == getCallSiteFor(actIn)) {
 				return actIn;
@@ -690,6 +789,21 @@ public class SDG extends JoanaGraph implements Cloneable {
 	 */
 	public Collection<SDGNodeTuple> getAllFormalPairs(SDGNode actIn, SDGNode actOut) {
 		LinkedList<SDGNodeTuple> result = new LinkedList<SDGNodeTuple>();
+		final CallSiteIndex index = getValidCallSiteIndex();
+		if (index != null) {
+			final CallSiteIndex.Relation in =
+					(actIn.getKind() == SDGNode.Kind.CALL ? CallSiteIndex.Relation.TARGETS : CallSiteIndex.Relation.FORMAL_INS);
+			for (int i = 0; i < index.size(in, actIn); i++) {
+				final SDGNode fi = index.get(in, actIn, i);
+				final SDGNode fo = index.findInProcedure(CallSiteIndex.Relation.FORMAL_OUTS, actOut, fi.getProc());
+				if (fo != null) {
+					result.add(new SDGNodeTuple(fi, fo));
+				}
+			}
+
+			return result;
+		}
+
 		HashMap<Integer, SDGNode> map = new HashMap<Integer, SDGNode>();
 		Collection<SDGNode> fos = getFormalOuts(actOut);
 		Collection<SDGNode> fis = (actIn.getKind() == SDGNode.Kind.CALL ? getPossibleTargets(actIn) : getFormalIns(actIn));
@@ -863,6 +977,7 @@ public class SDG extends JoanaGraph implements Cloneable {
     /**
      * Read in a graph from file with SDGManualParser. Use this for large SDGs if normal parser runs out of heap space.
      * This parser is more fragile and does less error checking. However it is optimized for minimal memory usage.
+     * Files compressed with gzip, e.g. by {@link SDGStreamingSerializer}, are decompressed on the fly.
      * @param sdgFile file which is parsed
      * @param nodeFactory factory that is used to create SDGNodes
      * @throws IOException if file does not exist
@@ -870,14 +985,36 @@ public class SDG extends JoanaGraph implements Cloneable {
      */
     public static SDG readFromAndUseLessHeap(final String sdgFile, final SDGNode.NodeFactory nodeFactory)
     		throws IOException {
-    	final InputStream in = new FileInputStream(sdgFile);
-    	final SDG sdg = readFromAndUseLessHeap(in, nodeFactory);
-    	in.close();
+    	final SDG sdg;
+    	try (final InputStream in = openMaybeCompressed(sdgFile)) {
+    		sdg = readFromAndUseLessHeap(in, nodeFactory);
+    	}
+    	setFileName(sdg, sdgFile);
+
+    	return sdg;
+    }
+
+    /**
+     * Opens the given file and decompresses it on the fly if it has been compressed with gzip.
+     */
+    private static InputStream openMaybeCompressed(final String sdgFile) throws IOException {
+    	final BufferedInputStream in = new BufferedInputStream(new FileInputStream(sdgFile));
+    	try {
+    		in.mark(2);
+    		final boolean gzip = (in.read() == (GZIPInputStream.GZIP_MAGIC & 0xff)
+    				&& in.read() == (GZIPInputStream.GZIP_MAGIC >> 8));
+    		in.reset();
+    		return (gzip ? new GZIPInputStream(in) : in);
+    	} catch (IOException e) {
+    		in.close();
+    		throw e;
+    	}
+    }
+
+    private static void setFileName(final SDG sdg, final String sdgFile) {
     	final int sepIndex = sdgFile.lastIndexOf(File.separator);
     	final String fileName = (sepIndex > 0 ? sdgFile.substring(sepIndex) : sdgFile);
     	sdg.setFileName(fileName);
-
-    	return sdg;
     }
 
     /**
@@ -913,6 +1050,74 @@ public class SDG extends JoanaGraph implements Cloneable {
     	return sdg;
     }
 
+    /**
+     * Read in a graph from file with SDGParallelParser, which parses the nodes on several threads. Use this for large
+     * SDGs if reading them with {@link #readFromAndUseLessHeap(String)} takes too long. The file has to fulfill the
+     * same constraints as for SDGManualParser, and may be compressed with gzip.
+     * @param sdgFile file which is parsed
+     * @param nodeFactory factory that is used to create SDGNodes, or null for the default factory
+     * @param parallelism number of threads used for parsing
+     * @throws IOException if file does not exist
+     * @return a SDG representation of the file
+     */
+    public static SDG readFromParallel(final String sdgFile, final SDGNode.NodeFactory nodeFactory,
+    		final int parallelism) throws IOException {
+    	final SDG sdg;
+    	try (final InputStream in = openMaybeCompressed(sdgFile)) {
+    		sdg = SDGParallelParser.parse(in, nodeFactory, parallelism);
+    	} catch (RecognitionException e) {
+    		throw new IOException(e);
+    	}
+    	setFileName(sdg, sdgFile);
+
+    	return sdg;
+    }
+
+    /**
+     * Read in a graph from a file in the binary format written by {@link SDGBinarySerializer}. The file is
+     * memory-mapped and nodes and edges are created directly from it.
+     * @param sdgFile file which is read
+     * @throws IOException if file does not exist, is no binary sdg file or is truncated or corrupt
+     * @return a SDG representation of the file
+     */
+    public static SDG readFromBinary(final String sdgFile) throws IOException {
+    	return readFromBinary(sdgFile, null);
+    }
+
+    /**
+     * Read in a graph from a file in the binary format written by {@link SDGBinarySerializer}. The file is
+     * memory-mapped and nodes and edges are created directly from it.
+     * @param sdgFile file which is read
+     * @param nodeFactory factory that is used to create SDGNodes
+     * @throws IOException if file does not exist, is no binary sdg file or is truncated or corrupt
+     * @return a SDG representation of the file
+     */
+    public static SDG readFromBinary(final String sdgFile, final SDGNode.NodeFactory nodeFactory) throws IOException {
+    	final SDG sdg = SDGBinaryParser.parse(sdgFile, nodeFactory);
+    	setFileName(sdg, sdgFile);
+
+    	return sdg;
+    }
+
+    /**
+     * Read in a graph from a file in the binary format written by {@link SDGBinarySerializer}, keeping the
+     * intraprocedural edges of at most <tt>maxResidentProcedures</tt> procedures in memory. All nodes and
+     * interprocedural edges are created right away, the remaining edges are read from the memory-mapped file
+     * whenever a procedure is accessed. The returned graph is read-only, see {@link PagedSDG}.
+     * @param sdgFile file which is read
+     * @param nodeFactory factory that is used to create SDGNodes
+     * @param maxResidentProcedures maximal number of procedures whose intraprocedural edges are kept in memory
+     * @throws IOException if file does not exist, is no binary sdg file or is truncated or corrupt
+     * @return a SDG representation of the file
+     */
+    public static PagedSDG readFromBinaryPaged(final String sdgFile, final SDGNode.NodeFactory nodeFactory,
+    		final int maxResidentProcedures) throws IOException {
+    	final PagedSDG sdg = SDGBinaryParser.parsePaged(sdgFile, nodeFactory, maxResidentProcedures);
+    	setFileName(sdg, sdgFile);
+
+    	return sdg;
+    }
+
 	/**
 	 * Parses a graph, using the ANTLR grammar <code>SDG_.g</code>
 	 *
@@ -0,0 +1,488 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import edu.kit.joana.ifc.sdg.graph.SDGNode.NodeFactory;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.building.GraphFolder;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadsInformation;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadsInformation.ThreadInstance;
+import edu.kit.joana.util.Log;
+import edu.kit.joana.util.Logger;
+import edu.kit.joana.util.SourceLocation;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * Reads SDGs written by {@link SDGBinarySerializer}. Each section of the file is memory-mapped and the node and
+ * edge columns are read directly from the mapped buffers, so no intermediate stub representation of the whole
+ * graph is kept on the heap.
+ */
+public final class SDGBinaryParser {
+
+	private static final SDGNode.Kind[] NODE_KINDS = SDGNode.Kind.values();
+	private static final SDGNode.Operation[] OPERATIONS = SDGNode.Operation.values();
+	private static final SDGEdge.Kind[] EDGE_KINDS = SDGEdge.Kind.values();
+
+	private NodeFactory nodeFact = new SDGNode.SDGNodeFactory();
+
+	private SDGBinaryParser() {}
+
+	public void setNodeFactory(final NodeFactory nodeFact) {
+		this.nodeFact = nodeFact;
+	}
+
+	/**
+	 * Checks whether the given file starts with the magic number of the binary SDG format.
+	 */
+	public static boolean isBinaryFormat(final String sdgFile) throws IOException {
+		final File file = new File(sdgFile);
+		if (!file.isFile() || file.length() < 8) {
+			return false;
+		}
+
+		try (final FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final ByteBuffer buf = ByteBuffer.allocate(4);
+			while (buf.hasRemaining() && ch.read(buf) >= 0);
+			buf.flip();
+			return buf.remaining() == 4 && buf.getInt() == SDGBinarySerializer.MAGIC;
+		}
+	}
+
+	public static SDG parse(final String sdgFile) throws IOException {
+		return parse(sdgFile, null);
+	}
+
+	public static SDG parse(final String sdgFile, final NodeFactory nodeFact) throws IOException {
+		final SDGBinaryParser parser = new SDGBinaryParser();
+		if (nodeFact != null) {
+			parser.setNodeFactory(nodeFact);
+		}
+
+		SDG result;
+		try {
+			result = parser.run(Paths.get(sdgFile));
+		} finally {
+			SourceLocation.clearSourceLocationPool();
+		}
+
+		result.trimToSize();
+
+		return result;
+	}
+
+	/**
+	 * Reads a {@link PagedSDG}, which keeps the intraprocedural edges of at most the given number of procedures in
+	 * memory and reads them from the file on demand.
+	 */
+	public static PagedSDG parsePaged(final String sdgFile, final NodeFactory nodeFact,
+			final int maxResidentProcedures) throws IOException {
+		final SDGBinaryParser parser = new SDGBinaryParser();
+		if (nodeFact != null) {
+			parser.setNodeFactory(nodeFact);
+		}
+
+		try {
+			return parser.runPaged(Paths.get(sdgFile), maxResidentProcedures);
+		} finally {
+			SourceLocation.clearSourceLocationPool();
+		}
+	}
+
+	public SDG run(final Path sdgFile) throws IOException {
+		return read(sdgFile, null);
+	}
+
+	public PagedSDG runPaged(final Path sdgFile, final int maxResidentProcedures) throws IOException {
+		return (PagedSDG) read(sdgFile, new PagedEdgeMap(maxResidentProcedures));
+	}
+
+	/**
+	 * Reads the given file. If a pager is given, only the interprocedural edges are added to the graph and the pager
+	 * reads the intraprocedural edges from the mapped edge section later on.
+	 */
+	private SDG read(final Path sdgFile, final PagedEdgeMap pager) throws IOException {
+		final Logger log = Log.getLogger(Log.L_SDG_GRAPH_PARSE_INFO);
+		final long startTime = System.currentTimeMillis();
+
+		try (final FileChannel ch = FileChannel.open(sdgFile, StandardOpenOption.READ)) {
+			log.out("reading binary sdg ");
+			final ByteBuffer header = map(ch, 0, 4 + 4 + 1 + 4 + 1 + 4);
+			if (header.getInt() != SDGBinarySerializer.MAGIC) {
+				throw new IOException(sdgFile + " is not a binary sdg file.");
+			}
+			final int version = header.getInt();
+			if (version != SDGBinarySerializer.VERSION) {
+				throw new IOException("unsupported binary sdg version " + version + " in " + sdgFile
+					+ ", expected " + SDGBinarySerializer.VERSION);
+			}
+			final boolean joanaCompiler = header.get() != 0;
+			final int nameIdx = header.getInt();
+			final boolean hasRoot = header.get() != 0;
+			final int rootId = header.getInt();
+			long pos = header.limit();
+
+			final ByteBuffer stringSection = mapSection(ch, pos);
+			pos += 8 + stringSection.limit();
+			final String[] strings = readStrings(stringSection);
+			log.out("(strings: " + strings.length + ")");
+
+			final String name = str(strings, nameIdx);
+			final SDG sdg = (pager != null ? new PagedSDG(name, pager) : name == null ? new SDG() : new SDG(name));
+			sdg.setJoanaCompiler(joanaCompiler);
+
+			final ByteBuffer nodeSection = mapSection(ch, pos);
+			pos += 8 + nodeSection.limit();
+			final SDGNode[] nodes = createNodes(sdg, nodeSection, strings);
+			log.out("(nodes: " + nodes.length + ")");
+
+			final ByteBuffer edgeSection = mapSection(ch, pos);
+			pos += 8 + edgeSection.limit();
+			final int numEdges = (pager != null
+					? createInterproceduralEdges(sdg, edgeSection, nodes, strings, pager)
+					: createEdges(sdg, edgeSection, nodes, strings));
+			log.out("(edges: " + numEdges + ")");
+
+			final ByteBuffer threadSection = mapSection(ch, pos);
+			createThreadsInformation(sdg, threadSection);
+
+			if (hasRoot) {
+				sdg.setRoot(sdg.getNode(rootId));
+			}
+
+			if (pager != null) {
+				((PagedSDG) sdg).startPaging();
+			}
+
+			log.outln("done.");
+
+			if (log.isEnabled()) {
+				final long time = System.currentTimeMillis() - startTime;
+				log.outln("read " + sdg.getName() + " (binary v" + version + ") with " + sdg.vertexSet().size()
+					+ " nodes and " + numEdges + " edges in " + time + "ms.");
+			}
+
+			return sdg;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			// a section is shorter than its contents claim, or refers to a missing node, string or kind
+			throw new IOException(sdgFile + " is corrupt.", e);
+		}
+	}
+
+	private static ByteBuffer map(final FileChannel ch, final long pos, final long size) throws IOException {
+		if (pos + size > ch.size()) {
+			throw new IOException("unexpected end of file.");
+		}
+
+		return ch.map(MapMode.READ_ONLY, pos, size);
+	}
+
+	/**
+	 * Maps a single section. Sections are mapped separately, so only a single section has to fit into the
+	 * 2GB limit of a mapped buffer and not the whole file.
+	 */
+	private static ByteBuffer mapSection(final FileChannel ch, final long pos) throws IOException {
+		final long size = map(ch, pos, 8).getLong();
+		if (size < 0 || size > Integer.MAX_VALUE) {
+			throw new IOException("section at " + pos + " has unsupported size " + size);
+		}
+
+		return map(ch, pos + 8, size);
+	}
+
+	/**
+	 * Reads the number of elements of a column and checks that the buffer can hold them, so a corrupt file cannot
+	 * make us allocate huge arrays.
+	 */
+	private static int count(final ByteBuffer buf, final int bytesPerElement) throws IOException {
+		final int count = buf.getInt();
+		if (count < 0 || count > buf.remaining() / bytesPerElement) {
+			throw new IOException("corrupt section: " + count + " elements in " + buf.remaining() + " bytes");
+		}
+
+		return count;
+	}
+
+	private static String[] readStrings(final ByteBuffer buf) throws IOException {
+		final int count = count(buf, 4);
+		final String[] strings = new String[count];
+		byte[] bytes = new byte[256];
+		for (int i = 0; i < count; i++) {
+			final int length = count(buf, 1);
+			if (length > bytes.length) {
+				bytes = new byte[Math.max(length, 2 * bytes.length)];
+			}
+			buf.get(bytes, 0, length);
+			strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8).intern();
+		}
+
+		return strings;
+	}
+
+	private static String str(final String[] strings, final int idx) {
+		return (idx == SDGBinarySerializer.NO_STRING ? null : strings[idx]);
+	}
+
+	/**
+	 * Returns a view of the next <tt>count</tt> ints of the buffer and moves the position of the buffer behind them.
+	 */
+	private static IntBuffer ints(final ByteBuffer buf, final int count) {
+		final ByteBuffer slice = buf.slice();
+		slice.limit(4 * count);
+		buf.position(buf.position() + 4 * count);
+		return slice.asIntBuffer();
+	}
+
+	private static ByteBuffer bytes(final ByteBuffer buf, final int count) {
+		final ByteBuffer slice = buf.slice();
+		slice.limit(count);
+		buf.position(buf.position() + count);
+		return slice;
+	}
+
+	/**
+	 * Iterates over a column of variable sized int arrays as written by the serializer.
+	 */
+	private static final class IntColumnReader {
+		private final IntBuffer length;
+		private final IntBuffer values;
+
+		private IntColumnReader(final ByteBuffer buf, final int numNodes) throws IOException {
+			this.length = ints(buf, numNodes);
+			final int numValues = count(buf, 4);
+			this.values = ints(buf, numValues);
+		}
+
+		private int[] next() throws IOException {
+			final int len = length.get();
+			if (len == SDGBinarySerializer.NULL_ARRAY) {
+				return null;
+			} else if (len < 0 || len > values.remaining()) {
+				throw new IOException("corrupt column: " + len + " of " + values.remaining() + " values left");
+			}
+
+			final int[] arr = new int[len];
+			values.get(arr);
+			return arr;
+		}
+
+		private String[] nextStrings(final String[] strings) throws IOException {
+			final int[] idx = next();
+			if (idx == null) {
+				return null;
+			}
+
+			final String[] strs = new String[idx.length];
+			for (int i = 0; i < idx.length; i++) {
+				strs[i] = str(strings, idx[i]);
+			}
+
+			return strs;
+		}
+	}
+
+	private SDGNode[] createNodes(final SDG sdg, final ByteBuffer buf, final String[] strings) throws IOException {
+		final int numNodes = count(buf, 4);
+		final IntBuffer id = ints(buf, numNodes);
+		final ByteBuffer kind = bytes(buf, numNodes);
+		final ByteBuffer operation = bytes(buf, numNodes);
+		final IntBuffer label = ints(buf, numNodes);
+		final IntBuffer type = ints(buf, numNodes);
+		final IntBuffer proc = ints(buf, numNodes);
+		final IntBuffer source = ints(buf, numNodes);
+		final IntBuffer sr = ints(buf, numNodes);
+		final IntBuffer sc = ints(buf, numNodes);
+		final IntBuffer er = ints(buf, numNodes);
+		final IntBuffer ec = ints(buf, numNodes);
+		final IntBuffer bcName = ints(buf, numNodes);
+		final IntBuffer bcIndex = ints(buf, numNodes);
+		final IntBuffer clsLoader = ints(buf, numNodes);
+		final IntBuffer unresolved = ints(buf, numNodes);
+		final IntColumnReader threadNums = new IntColumnReader(buf, numNodes);
+		final IntColumnReader allocSites = new IntColumnReader(buf, numNodes);
+		final IntColumnReader aliasDataSrc = new IntColumnReader(buf, numNodes);
+		final IntColumnReader localDefs = new IntColumnReader(buf, numNodes);
+		final IntColumnReader localUses = new IntColumnReader(buf, numNodes);
+
+		final SDGNode[] nodes = new SDGNode[numNodes];
+		for (int row = 0; row < numNodes; row++) {
+			final SDGNode.Kind k = NODE_KINDS[kind.get(row)];
+			final SDGNode.Operation op = OPERATIONS[operation.get(row)];
+			final String srcFile = str(strings, source.get(row));
+			final int startRow = sr.get(row), startCol = sc.get(row), endRow = er.get(row), endCol = ec.get(row);
+			final SourceLocation spos = (srcFile == null && startRow == 0 && startCol == 0 && endRow == 0 && endCol == 0
+					? SourceLocation.UNKNOWN
+					: SourceLocation.getLocation(srcFile, startRow, startCol, endRow, endCol));
+
+			final SDGNode n = nodeFact.createNode(op, findKindId(op, k), id.get(row), str(strings, label.get(row)),
+				proc.get(row), str(strings, type.get(row)), spos, str(strings, bcName.get(row)), bcIndex.get(row),
+				localDefs.nextStrings(strings), localUses.nextStrings(strings), str(strings, unresolved.get(row)),
+				allocSites.next(), str(strings, clsLoader.get(row)));
+
+			final int[] threads = threadNums.next();
+			if (threads != null) {
+				Arrays.sort(threads);
+				n.setThreadNumbers(threads);
+			}
+
+			final int[] alias = aliasDataSrc.next();
+			if (alias != null) {
+				n.setAliasDataSources(new TIntHashSet(alias));
+			}
+
+			sdg.addVertex(n);
+			nodes[row] = n;
+		}
+
+		return nodes;
+	}
+
+	static int findKindId(final SDGNode.Operation op, final SDGNode.Kind kind) {
+		final SDGNode.Kind[] kinds = op.getCorrespondingKind();
+		for (int id = 0; id < kinds.length; id++) {
+			if (kind == kinds[id]) {
+				return id;
+			}
+		}
+
+		// should not happen - default to first kind
+		return 0;
+	}
+
+	private static int createEdges(final SDG sdg, final ByteBuffer buf, final SDGNode[] nodes, final String[] strings)
+			throws IOException {
+		final int numEdges = count(buf, 4);
+		final IntBuffer outDegree = ints(buf, nodes.length);
+		final IntBuffer target = ints(buf, numEdges);
+		final ByteBuffer kind = bytes(buf, numEdges);
+		final IntBuffer label = ints(buf, numEdges);
+
+		int pos = 0;
+		for (int row = 0; row < nodes.length; row++) {
+			final SDGNode from = nodes[row];
+			final int degree = outDegree.get(row);
+			for (int i = 0; i < degree; i++, pos++) {
+				final SDGNode to = nodes[target.get(pos)];
+				sdg.addEdge(createEdge(from, to, kind.get(pos), str(strings, label.get(pos))));
+			}
+		}
+
+		return numEdges;
+	}
+
+	/**
+	 * Adds only the edges between nodes of different procedures to the sdg and hands the edge section over to the
+	 * pager, which creates the remaining edges on demand.
+	 */
+	private static int createInterproceduralEdges(final SDG sdg, final ByteBuffer buf, final SDGNode[] nodes,
+			final String[] strings, final PagedEdgeMap pager) throws IOException {
+		final int numEdges = count(buf, 4);
+		final IntBuffer outDegree = ints(buf, nodes.length);
+		final IntBuffer target = ints(buf, numEdges);
+		final ByteBuffer kind = bytes(buf, numEdges);
+		final IntBuffer label = ints(buf, numEdges);
+
+		final int[] firstEdge = new int[nodes.length + 1];
+		final TIntIntHashMap procSize = new TIntIntHashMap();
+		for (int row = 0; row < nodes.length; row++) {
+			final SDGNode from = nodes[row];
+			procSize.adjustOrPutValue(from.getProc(), 1, 1);
+			firstEdge[row + 1] = firstEdge[row] + outDegree.get(row);
+			for (int pos = firstEdge[row]; pos < firstEdge[row + 1]; pos++) {
+				final SDGNode to = nodes[target.get(pos)];
+				if (to.getProc() != from.getProc()) {
+					sdg.addEdge(createEdge(from, to, kind.get(pos), str(strings, label.get(pos))));
+				}
+			}
+		}
+
+		final TIntObjectHashMap<int[]> procRows = new TIntObjectHashMap<int[]>(procSize.size());
+		for (int row = nodes.length - 1; row >= 0; row--) {
+			final int proc = nodes[row].getProc();
+			int[] rows = procRows.get(proc);
+			if (rows == null) {
+				rows = new int[procSize.get(proc)];
+				procRows.put(proc, rows);
+			}
+			rows[procSize.adjustOrPutValue(proc, -1, 0)] = row;
+		}
+
+		pager.setSource(nodes, firstEdge, target, kind, label, strings, procRows);
+
+		return numEdges;
+	}
+
+	static SDGEdge createEdge(final SDGNode from, final SDGNode to, final byte kind, final String label) {
+		final SDGEdge.Kind k = EDGE_KINDS[kind];
+		return (label != null ? new LabeledSDGEdge(from, to, k, label) : k.newEdge(from, to));
+	}
+
+	private static void createThreadsInformation(final SDG sdg, final ByteBuffer buf) {
+		final int numThreads = buf.getInt();
+		if (numThreads == 0) {
+			return;
+		}
+
+		final Map<Integer, SDGNode> foldNodes = new HashMap<>();
+		final LinkedList<ThreadInstance> threads = new LinkedList<>();
+		for (int i = 0; i < numThreads; i++) {
+			final int id = buf.getInt();
+			final SDGNode entry = sdg.getNode(buf.getInt());
+			final SDGNode exit = sdg.getNode(buf.getInt());
+			final boolean hasFork = buf.get() != 0;
+			final int forkId = buf.getInt();
+			final SDGNode fork = (hasFork ? sdg.getNode(forkId) : null);
+			final int numJoins = buf.getInt();
+			final LinkedList<SDGNode> joins = new LinkedList<>();
+			for (int j = 0; j < numJoins; j++) {
+				joins.add(findNode(sdg, buf.getInt(), foldNodes));
+			}
+			final int numContext = buf.getInt();
+			final LinkedList<SDGNode> context = new LinkedList<>();
+			for (int j = 0; j < numContext; j++) {
+				context.add(findNode(sdg, buf.getInt(), foldNodes));
+			}
+			final boolean dynamic = buf.get() != 0;
+
+			threads.add(new ThreadInstance(id, entry, exit, fork, joins, context, dynamic));
+		}
+
+		sdg.setThreadsInfo(new ThreadsInformation(threads));
+	}
+
+	/**
+	 * Thread contexts may contain fold nodes of the folded call graph that are not part of the sdg itself.
+	 * They are recreated in the same way as in the text format parser.
+	 */
+	private static SDGNode findNode(final SDG sdg, final int id, final Map<Integer, SDGNode> foldNodes) {
+		final SDGNode n = sdg.getNode(id);
+		if (n != null || id >= 0) {
+			return n;
+		}
+
+		return foldNodes.computeIfAbsent(id,
+			k -> new SDGNode(SDGNode.Kind.FOLDED, id, GraphFolder.PROC_ID_FOR_FOLDED_LOOPS, null));
+	}
+
+}
@@ -0,0 +1,371 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadsInformation.ThreadInstance;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+/**
+ * Writes SDGs in a compact, versioned binary format that can be read back with {@link SDGBinaryParser}.
+ * <p>
+ * In contrast to the textual .pdg format written by {@link SDGSerializer}, all strings (labels, types,
+ * bytecode names, class loaders, source files, ...) are interned into a single string table and every node
+ * attribute is stored column-wise. Edges are stored grouped by their source node, referring to their target
+ * via the position of the target in the node section. This allows {@link SDGBinaryParser} to create nodes and
+ * edges directly from a memory-mapped file without an intermediate representation.
+ * <p>
+ * Layout (all numbers big endian):
+ * <pre>
+ * header:  int magic, int version, byte joanaCompiler, int name, byte hasRoot, int rootId
+ * strings: long sectionSize, int count, count x (int length, length bytes utf-8), length -1 encodes null
+ * nodes:   long sectionSize, int count, columns (one array per attribute, see {@link #writeNodes})
+ * edges:   long sectionSize, int count, int[nodes] outDegree, int[count] target, byte[count] kind, int[count] label
+ * threads: long sectionSize, int count, per thread instance: see {@link #writeThreads}
+ * </pre>
+ */
+public final class SDGBinarySerializer {
+
+	/** "JSDG" */
+	static final int MAGIC = 0x4A534447;
+	public static final int VERSION = 1;
+	static final int NO_STRING = -1;
+	static final int NULL_ARRAY = -1;
+
+	private SDGBinarySerializer() {}
+
+	public static void toBinaryFormat(final JoanaGraph g, final String fileName) throws IOException {
+		try (final OutputStream out = new FileOutputStream(fileName)) {
+			toBinaryFormat(g, out);
+		}
+	}
+
+	public static void toBinaryFormat(final JoanaGraph g, final OutputStream out) throws IOException {
+		final DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+		final Columns cols = new Columns(g);
+
+		dout.writeInt(MAGIC);
+		dout.writeInt(VERSION);
+		dout.writeByte(g instanceof SDG && ((SDG) g).getJoanaCompiler() ? 1 : 0);
+		dout.writeInt(cols.strings.intern(g.getName()));
+		dout.writeByte(g.getRoot() != null ? 1 : 0);
+		dout.writeInt(g.getRoot() != null ? g.getRoot().getId() : 0);
+
+		writeStrings(dout, cols.strings.table);
+		writeNodes(dout, cols);
+		writeEdges(dout, cols);
+		writeThreads(dout, g);
+
+		dout.flush();
+	}
+
+	/**
+	 * Transforms the nodes and edges of a graph into columns of primitive arrays. This is done up front, so the
+	 * size of each section is known before it is written.
+	 */
+	private static final class Columns {
+		private final StringTable strings = new StringTable();
+
+		private final int numNodes;
+		private final int[] id;
+		private final byte[] kind;
+		private final byte[] operation;
+		private final int[] label;
+		private final int[] type;
+		private final int[] proc;
+		private final int[] source;
+		private final int[] sr, sc, er, ec;
+		private final int[] bcName;
+		private final int[] bcIndex;
+		private final int[] clsLoader;
+		private final int[] unresolved;
+		private final IntColumn threadNums;
+		private final IntColumn allocSites;
+		private final IntColumn aliasDataSrc;
+		private final IntColumn localDefs;
+		private final IntColumn localUses;
+
+		private final int numEdges;
+		private final int[] outDegree;
+		private final int[] target;
+		private final byte[] edgeKind;
+		private final int[] edgeLabel;
+
+		private Columns(final JoanaGraph g) {
+			numNodes = g.vertexSet().size();
+			id = new int[numNodes];
+			kind = new byte[numNodes];
+			operation = new byte[numNodes];
+			label = new int[numNodes];
+			type = new int[numNodes];
+			proc = new int[numNodes];
+			source = new int[numNodes];
+			sr = new int[numNodes];
+			sc = new int[numNodes];
+			er = new int[numNodes];
+			ec = new int[numNodes];
+			bcName = new int[numNodes];
+			bcIndex = new int[numNodes];
+			clsLoader = new int[numNodes];
+			unresolved = new int[numNodes];
+			threadNums = new IntColumn(numNodes);
+			allocSites = new IntColumn(numNodes);
+			aliasDataSrc = new IntColumn(numNodes);
+			localDefs = new IntColumn(numNodes);
+			localUses = new IntColumn(numNodes);
+			outDegree = new int[numNodes];
+
+			final TIntIntHashMap id2row = new TIntIntHashMap(numNodes);
+			final SDGNode[] rows = new SDGNode[numNodes];
+			int row = 0;
+			for (final Iterator<SDGNode> it = SDGSerializer.orderedNodes(g); it.hasNext(); row++) {
+				final SDGNode n = it.next();
+				rows[row] = n;
+				id2row.put(n.getId(), row);
+				id[row] = n.getId();
+				kind[row] = (byte) n.getKind().ordinal();
+				operation[row] = (byte) n.getOperation().ordinal();
+				label[row] = strings.intern(n.getLabel());
+				type[row] = strings.intern(n.getType());
+				proc[row] = n.getProc();
+				source[row] = strings.intern(n.getSource());
+				sr[row] = n.getSr();
+				sc[row] = n.getSc();
+				er[row] = n.getEr();
+				ec[row] = n.getEc();
+				bcName[row] = strings.intern(n.getBytecodeName());
+				bcIndex[row] = n.getBytecodeIndex();
+				clsLoader[row] = strings.intern(n.getClassLoader());
+				unresolved[row] = strings.intern(n.getUnresolvedCallTarget());
+				threadNums.add(n.getThreadNumbers());
+				allocSites.add(n.getAllocationSites());
+				if (n.getAliasDataSources() == null) {
+					aliasDataSrc.add(null);
+				} else {
+					aliasDataSrc.add(n.getAliasDataSources().toArray());
+				}
+				localDefs.add(strings.intern(n.getLocalDefNames()));
+				localUses.add(strings.intern(n.getLocalUseNames()));
+			}
+
+			int edges = 0;
+			for (final SDGNode n : rows) {
+				edges += g.outDegreeOf(n);
+			}
+			numEdges = edges;
+			target = new int[numEdges];
+			edgeKind = new byte[numEdges];
+			edgeLabel = new int[numEdges];
+
+			int pos = 0;
+			for (row = 0; row < numNodes; row++) {
+				final Set<SDGEdge> out = g.outgoingEdgesOf(rows[row]);
+				outDegree[row] = out.size();
+				for (final SDGEdge e : out) {
+					target[pos] = id2row.get(e.getTarget().getId());
+					edgeKind[pos] = (byte) e.getKind().ordinal();
+					edgeLabel[pos] = strings.intern(e.getLabel());
+					pos++;
+				}
+			}
+		}
+
+		private long nodeSectionSize() {
+			// count + 2 byte columns + 13 int columns
+			long size = 4 + 2L * numNodes + 13L * 4 * numNodes;
+			size += threadNums.sectionSize() + allocSites.sectionSize() + aliasDataSrc.sectionSize()
+				+ localDefs.sectionSize() + localUses.sectionSize();
+			return size;
+		}
+
+		private long edgeSectionSize() {
+			return 4 + 4L * numNodes + 9L * numEdges;
+		}
+	}
+
+	/**
+	 * A column of variable sized int arrays: one length entry per node ({@link #NULL_ARRAY} for null) followed by
+	 * the concatenation of all values.
+	 */
+	private static final class IntColumn {
+		private final int[] length;
+		private final List<int[]> values = new ArrayList<int[]>();
+		private int numValues = 0;
+		private int pos = 0;
+
+		private IntColumn(final int size) {
+			this.length = new int[size];
+		}
+
+		private void add(final int[] arr) {
+			if (arr == null) {
+				length[pos++] = NULL_ARRAY;
+			} else {
+				length[pos++] = arr.length;
+				if (arr.length > 0) {
+					values.add(arr);
+					numValues += arr.length;
+				}
+			}
+		}
+
+		private long sectionSize() {
+			return 4L * length.length + 4 + 4L * numValues;
+		}
+
+		private void write(final DataOutputStream out) throws IOException {
+			writeIntArray(out, length);
+			out.writeInt(numValues);
+			for (final int[] arr : values) {
+				writeIntArray(out, arr);
+			}
+		}
+	}
+
+	private static final class StringTable {
+		private final TObjectIntHashMap<String> str2idx = new TObjectIntHashMap<String>(1024, 0.5f, NO_STRING);
+		private final List<String> table = new ArrayList<String>();
+
+		private int intern(final String str) {
+			if (str == null) {
+				return NO_STRING;
+			}
+
+			int idx = str2idx.get(str);
+			if (idx == NO_STRING) {
+				idx = table.size();
+				table.add(str);
+				str2idx.put(str, idx);
+			}
+
+			return idx;
+		}
+
+		private int[] intern(final String[] strs) {
+			if (strs == null || strs.length == 0) {
+				return null;
+			}
+
+			final int[] idx = new int[strs.length];
+			for (int i = 0; i < strs.length; i++) {
+				idx[i] = intern(strs[i]);
+			}
+
+			return idx;
+		}
+	}
+
+	private static void writeStrings(final DataOutputStream out, final List<String> table) throws IOException {
+		final List<byte[]> encoded = new ArrayList<byte[]>(table.size());
+		long size = 4;
+		for (final String str : table) {
+			final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+			encoded.add(bytes);
+			size += 4 + bytes.length;
+		}
+
+		out.writeLong(size);
+		out.writeInt(encoded.size());
+		for (final byte[] bytes : encoded) {
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Writes the node section. The columns are written in the following order: id, kind, operation, label, type,
+	 * proc, source file, start row, start column, end row, end column, bytecode name, bytecode index,
+	 * class loader, unresolved call target, thread numbers, allocation sites, alias data sources, local def names
+	 * and local use names.
+	 */
+	private static void writeNodes(final DataOutputStream out, final Columns cols) throws IOException {
+		out.writeLong(cols.nodeSectionSize());
+		out.writeInt(cols.numNodes);
+		writeIntArray(out, cols.id);
+		out.write(cols.kind);
+		out.write(cols.operation);
+		writeIntArray(out, cols.label);
+		writeIntArray(out, cols.type);
+		writeIntArray(out, cols.proc);
+		writeIntArray(out, cols.source);
+		writeIntArray(out, cols.sr);
+		writeIntArray(out, cols.sc);
+		writeIntArray(out, cols.er);
+		writeIntArray(out, cols.ec);
+		writeIntArray(out, cols.bcName);
+		writeIntArray(out, cols.bcIndex);
+		writeIntArray(out, cols.clsLoader);
+		writeIntArray(out, cols.unresolved);
+		cols.threadNums.write(out);
+		cols.allocSites.write(out);
+		cols.aliasDataSrc.write(out);
+		cols.localDefs.write(out);
+		cols.localUses.write(out);
+	}
+
+	private static void writeEdges(final DataOutputStream out, final Columns cols) throws IOException {
+		out.writeLong(cols.edgeSectionSize());
+		out.writeInt(cols.numEdges);
+		writeIntArray(out, cols.outDegree);
+		writeIntArray(out, cols.target);
+		out.write(cols.edgeKind);
+		writeIntArray(out, cols.edgeLabel);
+	}
+
+	/**
+	 * Writes the thread instances. Each thread is stored as: int id, int entry, int exit, byte hasFork, int fork,
+	 * int #joins, int[#joins] joins, int #context, int[#context] context, byte dynamic. Nodes are referred to by id.
+	 */
+	private static void writeThreads(final DataOutputStream out, final JoanaGraph g) throws IOException {
+		final List<ThreadInstance> threads = new ArrayList<ThreadInstance>();
+		long size = 4;
+		if (g.getThreadsInfo() != null) {
+			for (final ThreadInstance ti : g.getThreadsInfo()) {
+				threads.add(ti);
+				size += 4 + 4 + 4 + 1 + 4 + 4 + 4L * ti.getJoins().size() + 4 + 4L * ti.getThreadContext().size() + 1;
+			}
+		}
+
+		out.writeLong(size);
+		out.writeInt(threads.size());
+		for (final ThreadInstance ti : threads) {
+			out.writeInt(ti.getId());
+			out.writeInt(ti.getEntry().getId());
+			out.writeInt(ti.getExit().getId());
+			out.writeByte(ti.getFork() != null ? 1 : 0);
+			out.writeInt(ti.getFork() != null ? ti.getFork().getId() : 0);
+			out.writeInt(ti.getJoins().size());
+			for (final SDGNode join : ti.getJoins()) {
+				out.writeInt(join.getId());
+			}
+			out.writeInt(ti.getThreadContext().size());
+			for (final SDGNode call : ti.getThreadContext()) {
+				out.writeInt(call.getId());
+			}
+			out.writeByte(ti.isDynamic() ? 1 : 0);
+		}
+	}
+
+	private static void writeIntArray(final DataOutputStream out, final int[] arr) throws IOException {
+		for (final int i : arr) {
+			out.writeInt(i);
+		}
+	}
+
+}
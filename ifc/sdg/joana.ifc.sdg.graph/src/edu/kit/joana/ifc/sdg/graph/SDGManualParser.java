@@ -144,7 +144,7 @@ public class SDGManualParser {
 		return (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024);
 	}
 	
-	private static ThreadInstanceStub parseThreadInstance(final String str) throws RecognitionException {
+	static ThreadInstanceStub parseThreadInstance(final String str) throws RecognitionException {
 		final ANTLRStringStream stream = new ANTLRStringStream(str);
 		final SDGThreadInstance_Lexer lexer = new SDGThreadInstance_Lexer(stream);
 		final CommonTokenStream cts = new CommonTokenStream(lexer);
@@ -193,8 +193,11 @@ public class SDGManualParser {
 
 	private static SDGHeader parseHeader(final BufferedReader br) throws IOException, RecognitionException {
 		final StringBuffer sb = readUntil(br, "{");
-		final String str = sb.toString().trim();
-		
+
+		return parseHeader(sb.toString().trim());
+	}
+
+	static SDGHeader parseHeader(final String str) throws RecognitionException {
 		final ANTLRStringStream stream = new ANTLRStringStream(str);
 		final SDG_Lexer lexer = new SDG_Lexer(stream);
 		final CommonTokenStream cts = new CommonTokenStream(lexer);
@@ -29,7 +29,11 @@ import gnu.trove.set.hash.TIntHashSet;
  */
 public class SDGNode implements Cloneable, IntegerIdentifiable {
 
-	/** used for optimizations in (parallel) summary computation */
+	/**
+	 * Scratch fields of some algorithms. Two algorithms using them cannot run on the same graph at once, so new
+	 * algorithms should rather keep their per-node data in tables indexed by node id, e.g. a
+	 * {@link edu.kit.joana.util.collections.SimpleVector}.
+	 */
 	public int tmp;
 	public Object customData;
 
@@ -0,0 +1,1043 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+
+import org.antlr.runtime.RecognitionException;
+
+import edu.kit.joana.ifc.sdg.graph.SDGNode.NodeFactory;
+import edu.kit.joana.ifc.sdg.graph.SDG_Parser.SDGHeader;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadsInformation;
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadsInformation.ThreadInstance;
+import edu.kit.joana.util.Log;
+import edu.kit.joana.util.Logger;
+import edu.kit.joana.util.SourceLocation;
+import edu.kit.joana.util.collections.ArraySet;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * Parses SDGs in the textual .pdg format on several threads. The result is the same as the one of
+ * {@link SDGManualParser}, and the same constraints on the line structure of the file apply.
+ * <p>
+ * The input is read sequentially and cut into chunks at the end of node blocks. The nodes of each chunk are parsed on
+ * a {@link ForkJoinPool} with a hand-written tokenizer that works directly on the bytes of the chunk, so ANTLR is only
+ * used for the header and the thread information. The nodes are then created in file order, because nodes without a
+ * source or bytecode position inherit the one of their predecessor. Finally, the edges are created and added to the
+ * graph in parallel: first the outgoing edges of the nodes of each chunk, then the incoming edges of disjoint sets of
+ * nodes.
+ */
+public final class SDGParallelParser {
+
+	private static final int CHUNK_SIZE = 1 << 22;
+
+	private static final Keywords<SDGNode.Kind> NODE_KINDS = new Keywords<>(SDGNode.Kind.values());
+	private static final Keywords<SDGNode.Operation> OPERATIONS = new Keywords<>(SDGNode.Operation.values());
+	private static final Keywords<SDGEdge.Kind> EDGE_KINDS;
+
+	static {
+		final Map<String, SDGEdge.Kind> kinds = new HashMap<>();
+		for (final SDGEdge.Kind k : SDGEdge.Kind.values()) {
+			kinds.put(k.toString(), k);
+		}
+		// deprecated name of summary edges
+		kinds.put("SP", SDGEdge.Kind.SUMMARY);
+		EDGE_KINDS = new Keywords<>(kinds);
+	}
+
+	private NodeFactory nodeFact = new SDGNode.SDGNodeFactory();
+	private final int parallelism;
+
+	private SDGParallelParser(final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism has to be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	public void setNodeFactory(final NodeFactory nodeFact) {
+		this.nodeFact = nodeFact;
+	}
+
+	public static SDG parse(final InputStream in, final int parallelism) throws IOException, RecognitionException {
+		return parse(in, null, parallelism);
+	}
+
+	public static SDG parse(final InputStream in, final NodeFactory nodeFact, final int parallelism)
+			throws IOException, RecognitionException {
+		final SDGParallelParser parser = new SDGParallelParser(parallelism);
+		if (nodeFact != null) {
+			parser.setNodeFactory(nodeFact);
+		}
+
+		SDG result;
+		try {
+			result = parser.run(in);
+		} finally {
+			SourceLocation.clearSourceLocationPool();
+		}
+
+		result.trimToSize();
+
+		return result;
+	}
+
+	public SDG run(final InputStream in) throws IOException, RecognitionException {
+		final Logger log = Log.getLogger(Log.L_SDG_GRAPH_PARSE_INFO);
+		final long startTime = System.currentTimeMillis();
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			log.out("parsing sdg in parallel ");
+			final Input input = new Input(in);
+			final SDGHeader header = SDGManualParser.parseHeader(input.readHeader());
+			final List<Chunk> chunks = parseChunks(input, pool);
+			log.outln("done.");
+
+			log.out("building sdg... ");
+			final SDG sdg = header.createSDG();
+			int numNodes = 0;
+			for (final Chunk c : chunks) {
+				sdg.setJoanaCompiler(sdg.getJoanaCompiler() || c.joanaCompiler);
+				numNodes += c.stubs.size();
+			}
+			createNodes(sdg, chunks);
+			final int numEdges = createEdges(sdg, chunks, numNodes, pool);
+			createThreadsInformation(sdg, chunks);
+			log.outln("done.");
+
+			if (log.isEnabled()) {
+				final long time = System.currentTimeMillis() - startTime;
+				log.outln("read " + header + " with " + numNodes + " nodes and " + numEdges + " edges in " + time
+					+ "ms using " + parallelism + " threads.");
+			}
+
+			header.setRoot(sdg);
+
+			return sdg;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Reads the input after the header and parses it in chunks. Returns the parsed chunks in file order, up to the
+	 * chunk containing the end of the sdg.
+	 */
+	private List<Chunk> parseChunks(final Input input, final ForkJoinPool pool)
+			throws IOException, RecognitionException {
+		// do not read ahead too far if the workers are slower than the input
+		final Semaphore inFlight = new Semaphore(2 * parallelism);
+		final List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+		try {
+			byte[] buf;
+			while ((buf = input.nextChunk()) != null) {
+				inFlight.acquire();
+				tasks.add(pool.submit(new ChunkTask(buf, input.chunkLength(), inFlight)));
+			}
+
+			final List<Chunk> chunks = new ArrayList<>(tasks.size());
+			for (int i = 0; i < tasks.size(); i++) {
+				final Chunk c = tasks.get(i).get();
+				// drop the completed task, nothing but the chunk is needed any more
+				tasks.set(i, null);
+				chunks.add(c);
+				if (c.endOfSdg) {
+					return chunks;
+				}
+			}
+		} catch (InterruptedException e) {
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			rethrow(e);
+		} finally {
+			for (final ForkJoinTask<Chunk> t : tasks) {
+				if (t != null) {
+					t.cancel(true);
+				}
+			}
+		}
+
+		throw new IOException("unexpected end of file.");
+	}
+
+	/**
+	 * Parses one chunk of the input. Drops the input buffer as soon as it has been parsed, since the task may be
+	 * referenced a lot longer than that.
+	 */
+	private static final class ChunkTask implements Callable<Chunk> {
+		private byte[] bytes;
+		private final int length;
+		private final Semaphore inFlight;
+
+		private ChunkTask(final byte[] bytes, final int length, final Semaphore inFlight) {
+			this.bytes = bytes;
+			this.length = length;
+			this.inFlight = inFlight;
+		}
+
+		@Override
+		public Chunk call() throws ParserException {
+			try {
+				return parseChunk(bytes, 0, length);
+			} finally {
+				bytes = null;
+				inFlight.release();
+			}
+		}
+	}
+
+	private static void rethrow(final ExecutionException e) throws IOException, RecognitionException {
+		Throwable cause = e.getCause();
+		while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+			// the fork join pool wraps checked exceptions
+			cause = cause.getCause();
+		}
+		if (cause instanceof RecognitionException) {
+			throw (RecognitionException) cause;
+		} else if (cause instanceof IOException) {
+			throw (IOException) cause;
+		} else if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		throw new IOException(cause);
+	}
+
+	private void createNodes(final SDG sdg, final List<Chunk> chunks) {
+		// see SDGVertex_.g: nodes without position inherit the position of the previous node
+		SourceLocation defaultSrcPos = SourceLocation.UNKNOWN;
+		String defaultBcName = "<undefined>";
+		int defaultBcIndex = -1;
+		for (final Chunk c : chunks) {
+			c.nodes = new SDGNode[c.stubs.size()];
+			for (int i = 0; i < c.nodes.length; i++) {
+				final NodeStub s = c.stubs.get(i);
+				if (s.hasSrcPos) {
+					defaultSrcPos = SourceLocation.getLocation(s.srcFile, s.sr, s.sc, s.er, s.ec);
+				}
+				if (s.hasBcPos) {
+					defaultBcName = s.bcName;
+					defaultBcIndex = s.bcIndex;
+				}
+
+				final SDGNode n = nodeFact.createNode(s.op, SDGBinaryParser.findKindId(s.op, s.kind), s.id, s.val,
+					s.procId, s.type, defaultSrcPos, defaultBcName, defaultBcIndex, s.localDefNames, s.localUseNames,
+					s.unresolvedCallTarget, (s.allocSites != null ? s.allocSites.toArray() : null), s.classLoader);
+				if (s.aliasDataSrc != null) {
+					n.setAliasDataSources(s.aliasDataSrc);
+				}
+				if (s.threadNums != null) {
+					n.setThreadNumbers(s.threadNums);
+				}
+
+				sdg.addVertex(n);
+				c.nodes[i] = n;
+			}
+		}
+	}
+
+	/**
+	 * Creates all edges. The outgoing edges of the nodes of each chunk are added by one task per chunk, which also
+	 * distributes the edges into buckets by their target. Then the incoming edges are added by one task per bucket.
+	 */
+	private int createEdges(final SDG sdg, final List<Chunk> chunks, final int numNodes, final ForkJoinPool pool)
+			throws IOException, RecognitionException {
+		final NodeIndex index = new NodeIndex(sdg, chunks, numNodes);
+		final int numBuckets = 4 * parallelism;
+
+		final List<ForkJoinTask<List<List<SDGEdge>>>> outgoing = new ArrayList<>(chunks.size());
+		for (final Chunk c : chunks) {
+			outgoing.add(pool.submit(() -> addOutgoingEdges(sdg, c, index, numBuckets)));
+		}
+
+		int numEdges = 0;
+		try {
+			final List<List<List<SDGEdge>>> buckets = new ArrayList<>(chunks.size());
+			for (final ForkJoinTask<List<List<SDGEdge>>> t : outgoing) {
+				buckets.add(t.get());
+			}
+
+			final List<ForkJoinTask<Integer>> incoming = new ArrayList<>(numBuckets);
+			for (int b = 0; b < numBuckets; b++) {
+				final int bucket = b;
+				incoming.add(pool.submit(() -> addIncomingEdges(sdg, buckets, bucket)));
+			}
+			for (final ForkJoinTask<Integer> t : incoming) {
+				numEdges += t.get();
+			}
+		} catch (InterruptedException e) {
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			rethrow(e);
+		}
+		// the edges are added concurrently without counting each addition as a modification of the graph
+		sdg.edgesAddedConcurrentlyUNSAFE();
+
+		return numEdges;
+	}
+
+	private static List<List<SDGEdge>> addOutgoingEdges(final SDG sdg, final Chunk c, final NodeIndex index,
+			final int numBuckets) throws ParserException {
+		final List<List<SDGEdge>> buckets = new ArrayList<>(Collections.nCopies(numBuckets, (List<SDGEdge>) null));
+		for (int i = 0; i < c.nodes.length; i++) {
+			final NodeStub s = c.stubs.get(i);
+			if (s.numEdges == 0) {
+				continue;
+			}
+
+			final SDGNode from = c.nodes[i];
+			final SDGEdge[] edges = new SDGEdge[s.numEdges];
+			for (int e = 0; e < s.numEdges; e++) {
+				final SDGNode to = index.get(s.edgeTarget[e]);
+				if (to == null) {
+					throw new ParserException("edge from node " + s.id + " to unknown node " + s.edgeTarget[e]);
+				}
+				edges[e] = SDGBinaryParser.createEdge(from, to, s.edgeKind[e],
+					(s.edgeLabel != null ? s.edgeLabel[e] : null));
+
+				final int bucket = Math.floorMod(to.getId(), numBuckets);
+				if (buckets.get(bucket) == null) {
+					buckets.set(bucket, new ArrayList<>());
+				}
+				buckets.get(bucket).add(edges[e]);
+			}
+			sdg.addOutgoingEdgesAtConcurrentlyUNSAFE(from, toSet(edges, edges.length));
+		}
+
+		// the stubs are not needed anymore
+		c.stubs = null;
+
+		return buckets;
+	}
+
+	private static final Comparator<SDGEdge> BY_TARGET = new Comparator<SDGEdge>() {
+		@Override
+		public int compare(final SDGEdge e1, final SDGEdge e2) {
+			return Integer.compare(e1.getTarget().getId(), e2.getTarget().getId());
+		}
+	};
+
+	private static int addIncomingEdges(final SDG sdg, final List<List<List<SDGEdge>>> buckets, final int bucket) {
+		int size = 0;
+		for (final List<List<SDGEdge>> b : buckets) {
+			size += (b.get(bucket) != null ? b.get(bucket).size() : 0);
+		}
+		final SDGEdge[] edges = new SDGEdge[size];
+		int pos = 0;
+		for (final List<List<SDGEdge>> b : buckets) {
+			if (b.get(bucket) != null) {
+				for (final SDGEdge e : b.get(bucket)) {
+					edges[pos++] = e;
+				}
+			}
+		}
+		Arrays.sort(edges, BY_TARGET);
+
+		int numEdges = 0;
+		for (int start = 0; start < edges.length;) {
+			final SDGNode to = edges[start].getTarget();
+			int end = start + 1;
+			while (end < edges.length && edges[end].getTarget() == to) {
+				end++;
+			}
+			final ArraySet<SDGEdge> in = toSet(Arrays.copyOfRange(edges, start, end), end - start);
+			sdg.addIncomingEdgesAtConcurrentlyUNSAFE(to, in);
+			numEdges += in.size();
+			start = end;
+		}
+
+		return numEdges;
+	}
+
+	/**
+	 * Sorts the given edges as required by {@link ArraySet} and drops duplicates.
+	 */
+	private static ArraySet<SDGEdge> toSet(final SDGEdge[] edges, final int length) {
+		Arrays.sort(edges, 0, length, ArraySet.COMPARATOR);
+		int size = 0;
+		for (int i = 0; i < length; i++) {
+			final SDGEdge e = edges[i];
+			boolean duplicate = false;
+			for (int j = size - 1; j >= 0 && edges[j].hashCode() == e.hashCode(); j--) {
+				if (edges[j].equals(e)) {
+					duplicate = true;
+					break;
+				}
+			}
+			if (!duplicate) {
+				edges[size++] = e;
+			}
+		}
+
+		return ArraySet.own(size == edges.length ? edges : Arrays.copyOf(edges, size));
+	}
+
+	private static void createThreadsInformation(final SDG sdg, final List<Chunk> chunks)
+			throws RecognitionException {
+		final LinkedList<ThreadInstance> threads = new LinkedList<>();
+		for (final Chunk c : chunks) {
+			for (final String str : c.threads) {
+				threads.add(SDGManualParser.parseThreadInstance(str).create(sdg));
+			}
+		}
+
+		if (!threads.isEmpty()) {
+			sdg.setThreadsInfo(new ThreadsInformation(threads));
+		}
+	}
+
+	/**
+	 * Maps node IDs to nodes. Uses an array if the IDs are dense enough and the hash map of the sdg otherwise. It is
+	 * only read once all nodes are created, so it may be used by several threads.
+	 */
+	private static final class NodeIndex {
+		private final SDG sdg;
+		private final SDGNode[] nodes;
+		private final int minId;
+
+		private NodeIndex(final SDG sdg, final List<Chunk> chunks, final int numNodes) {
+			this.sdg = sdg;
+			int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+			for (final Chunk c : chunks) {
+				for (final SDGNode n : c.nodes) {
+					min = Math.min(min, n.getId());
+					max = Math.max(max, n.getId());
+				}
+			}
+			this.minId = min;
+			if (numNodes > 0 && (long) max - min < 2L * numNodes + 1024) {
+				nodes = new SDGNode[max - min + 1];
+				for (final Chunk c : chunks) {
+					for (final SDGNode n : c.nodes) {
+						nodes[n.getId() - min] = n;
+					}
+				}
+			} else {
+				nodes = null;
+			}
+		}
+
+		private SDGNode get(final int id) {
+			if (nodes == null) {
+				return sdg.getNode(id);
+			}
+			final long idx = (long) id - minId;
+			return (idx >= 0 && idx < nodes.length ? nodes[(int) idx] : null);
+		}
+	}
+
+	/**
+	 * Reads the input and cuts it into chunks that end behind a line ending with <tt>}</tt>, which is the end of a
+	 * node or thread block, or the end of the sdg.
+	 */
+	private static final class Input {
+		private final InputStream in;
+		private byte[] buf = new byte[CHUNK_SIZE];
+		private int length = 0;
+		private boolean eof = false;
+		private int chunkLength;
+
+		private Input(final InputStream in) {
+			this.in = in;
+		}
+
+		private void fill() throws IOException {
+			while (!eof && length < buf.length) {
+				final int read = in.read(buf, length, buf.length - length);
+				if (read < 0) {
+					eof = true;
+				} else {
+					length += read;
+				}
+			}
+		}
+
+		/**
+		 * Reads the lines up to the first line ending with <tt>{</tt>, as done by {@link SDGManualParser}.
+		 */
+		private String readHeader() throws IOException {
+			final StringBuilder header = new StringBuilder();
+			int pos = 0;
+			while (true) {
+				final int nl = indexOf(buf, pos, length, (byte) '\n');
+				if (nl < 0) {
+					if (eof) {
+						throw new IOException("unexpected end of file.");
+					} else if (length == buf.length) {
+						buf = Arrays.copyOf(buf, 2 * buf.length);
+					}
+					fill();
+					continue;
+				}
+
+				final int lineEnd = stripLineEnd(buf, pos, nl);
+				header.append(new String(buf, pos, lineEnd - pos, StandardCharsets.UTF_8));
+				pos = nl + 1;
+				if (lineEnd > 0 && buf[lineEnd - 1] == '{') {
+					System.arraycopy(buf, pos, buf, 0, length - pos);
+					length -= pos;
+					return header.toString().trim();
+				}
+			}
+		}
+
+		/**
+		 * Returns the buffer containing the next chunk from index 0 to {@link #chunkLength()}, or null at the end of
+		 * the input. The buffer is not used by this input afterwards.
+		 */
+		private byte[] nextChunk() throws IOException {
+			while (true) {
+				fill();
+				if (length == 0) {
+					return null;
+				}
+
+				final int cut = (eof ? length : lastBlockEnd(buf, length));
+				if (cut > 0) {
+					final byte[] chunk = buf;
+					buf = new byte[Math.max(CHUNK_SIZE, 2 * (length - cut))];
+					System.arraycopy(chunk, cut, buf, 0, length - cut);
+					length -= cut;
+					chunkLength = cut;
+					return chunk;
+				}
+
+				// a single block is larger than the buffer
+				buf = Arrays.copyOf(buf, 2 * buf.length);
+			}
+		}
+
+		private int chunkLength() {
+			return chunkLength;
+		}
+	}
+
+	private static int indexOf(final byte[] b, final int from, final int to, final byte c) {
+		for (int i = from; i < to; i++) {
+			if (b[i] == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the end of the given line without its line terminator.
+	 */
+	private static int stripLineEnd(final byte[] b, final int lineStart, final int lineEnd) {
+		return (lineEnd > lineStart && b[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd);
+	}
+
+	/**
+	 * Returns the position behind the last complete line ending with <tt>}</tt>, or 0 if there is none.
+	 */
+	private static int lastBlockEnd(final byte[] b, final int length) {
+		for (int i = length - 1; i >= 0; i--) {
+			if (b[i] == '\n') {
+				final int lineEnd = stripLineEnd(b, 0, i);
+				if (lineEnd > 0 && b[lineEnd - 1] == '}') {
+					return i + 1;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * The result of parsing a chunk of the input.
+	 */
+	private static final class Chunk {
+		private List<NodeStub> stubs = new ArrayList<>();
+		private SDGNode[] nodes;
+		private final List<String> threads = new ArrayList<>(0);
+		private boolean joanaCompiler = false;
+		private boolean endOfSdg = false;
+	}
+
+	/**
+	 * Processes the lines of a chunk in the same way as {@link SDGManualParser#run(InputStream)}.
+	 */
+	private static Chunk parseChunk(final byte[] b, final int from, final int to) throws ParserException {
+		final Chunk chunk = new Chunk();
+		final Tokenizer tok = new Tokenizer(b);
+		int pos = from;
+		while (pos < to) {
+			final int nl = indexOf(b, pos, to, (byte) '\n');
+			int lineStart = pos;
+			int lineEnd = stripLineEnd(b, pos, (nl < 0 ? to : nl));
+			pos = (nl < 0 ? to : nl + 1);
+
+			// trim
+			while (lineStart < lineEnd && (b[lineStart] & 0xff) <= ' ') lineStart++;
+			while (lineEnd > lineStart && (b[lineEnd - 1] & 0xff) <= ' ') lineEnd--;
+			if (lineStart == lineEnd) {
+				continue;
+			}
+
+			if (lineEnd - lineStart == 1 && b[lineStart] == '}') {
+				chunk.endOfSdg = true;
+				break;
+			} else if (startsWith(b, lineStart, lineEnd, "JComp")) {
+				chunk.joanaCompiler = true;
+			} else if (startsWith(b, lineStart, lineEnd, "Thread")) {
+				final StringBuilder sb = new StringBuilder(new String(b, lineStart, lineEnd - lineStart,
+						StandardCharsets.UTF_8));
+				pos = appendBlock(b, pos, to, sb);
+				chunk.threads.add(sb.toString());
+			} else if (b[lineEnd - 1] == '{') {
+				final int blockEnd = endOfBlock(b, pos, to);
+				if (blockEnd < 0) {
+					throw new ParserException("unexpected end of file in node "
+						+ new String(b, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+				}
+				tok.reset(lineStart, blockEnd);
+				chunk.stubs.add(tok.node());
+				pos = blockEnd;
+			}
+		}
+
+		return chunk;
+	}
+
+	private static boolean startsWith(final byte[] b, final int from, final int to, final String prefix) {
+		if (to - from < prefix.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (b[from + i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the position behind the first line starting at <tt>pos</tt> that ends with <tt>}</tt>, or -1.
+	 */
+	private static int endOfBlock(final byte[] b, int pos, final int to) {
+		while (pos < to) {
+			final int nl = indexOf(b, pos, to, (byte) '\n');
+			final int lineEnd = stripLineEnd(b, pos, (nl < 0 ? to : nl));
+			if (lineEnd > pos && b[lineEnd - 1] == '}') {
+				return (nl < 0 ? to : nl + 1);
+			}
+			pos = (nl < 0 ? to : nl + 1);
+		}
+		return -1;
+	}
+
+	private static int appendBlock(final byte[] b, final int pos, final int to, final StringBuilder sb)
+			throws ParserException {
+		final int end = endOfBlock(b, pos, to);
+		if (end < 0) {
+			throw new ParserException("unexpected end of file in thread " + sb);
+		}
+		for (int p = pos; p < end;) {
+			final int nl = indexOf(b, p, end, (byte) '\n');
+			final int lineEnd = stripLineEnd(b, p, (nl < 0 ? end : nl));
+			sb.append(new String(b, p, lineEnd - p, StandardCharsets.UTF_8));
+			p = (nl < 0 ? end : nl + 1);
+		}
+		return end;
+	}
+
+	/**
+	 * A node as it is described in the file, see {@link SDGVertex_Parser}.
+	 */
+	private static final class NodeStub {
+		private SDGNode.Kind kind;
+		private int id;
+		private SDGNode.Operation op;
+		private int procId;
+		private String val;
+		private String type;
+		private boolean hasSrcPos = false;
+		private String srcFile;
+		private int sr, sc, er, ec;
+		private boolean hasBcPos = false;
+		private String bcName;
+		private int bcIndex;
+		private int[] threadNums;
+		private String unresolvedCallTarget;
+		private String classLoader;
+		private TIntHashSet allocSites;
+		private TIntHashSet aliasDataSrc;
+		private String[] localDefNames;
+		private String[] localUseNames;
+
+		private int numEdges = 0;
+		private int[] edgeTarget = new int[4];
+		private byte[] edgeKind = new byte[4];
+		private String[] edgeLabel;
+
+		private void addEdge(final SDGEdge.Kind kind, final int target, final String label) {
+			if (numEdges == edgeTarget.length) {
+				edgeTarget = Arrays.copyOf(edgeTarget, 2 * numEdges);
+				edgeKind = Arrays.copyOf(edgeKind, 2 * numEdges);
+				if (edgeLabel != null) {
+					edgeLabel = Arrays.copyOf(edgeLabel, 2 * numEdges);
+				}
+			}
+			if (label != null && edgeLabel == null) {
+				edgeLabel = new String[edgeTarget.length];
+			}
+			edgeTarget[numEdges] = target;
+			edgeKind[numEdges] = (byte) kind.ordinal();
+			if (label != null) {
+				edgeLabel[numEdges] = label;
+			}
+			numEdges++;
+		}
+	}
+
+	/**
+	 * Splits a node block into tokens and parses it as specified by SDGVertex_.g, without creating a string for
+	 * every token.
+	 */
+	private static final class Tokenizer {
+		private final byte[] b;
+		private int pos;
+		private int end;
+
+		private Tokenizer(final byte[] b) {
+			this.b = b;
+		}
+
+		private void reset(final int from, final int to) {
+			this.pos = from;
+			this.end = to;
+		}
+
+		private NodeStub node() throws ParserException {
+			final NodeStub n = new NodeStub();
+			n.kind = keyword(NODE_KINDS, "node kind");
+			n.id = mayNegNumber();
+			expect('{');
+			while (peek() != '}') {
+				final int wordStart = pos;
+				final int len = word();
+				if (len == 1) {
+					attribute(n, (char) b[wordStart]);
+				} else if (len == 2 && b[wordStart] == 'L' && (b[wordStart + 1] == 'D' || b[wordStart + 1] == 'U')) {
+					final String[] names = stringList();
+					if (b[wordStart + 1] == 'D') {
+						n.localDefNames = names;
+					} else {
+						n.localUseNames = names;
+					}
+				} else {
+					final SDGEdge.Kind kind = EDGE_KINDS.get(b, wordStart, len);
+					if (kind == null) {
+						throw error("unknown attribute or edge kind");
+					}
+					final int target = mayNegNumber();
+					final String label = (peek() == ':' ? skip().string() : null);
+					n.addEdge(kind, target, label);
+				}
+				expect(';');
+			}
+			expect('}');
+			if (n.op == null) {
+				throw new ParserException("node " + n.id + " has no operation");
+			}
+
+			return n;
+		}
+
+		private void attribute(final NodeStub n, final char key) throws ParserException {
+			switch (key) {
+			case 'S':
+				n.hasSrcPos = true;
+				n.srcFile = string();
+				expect(':');
+				n.sr = number();
+				expect(',');
+				n.sc = number();
+				expect('-');
+				n.er = number();
+				expect(',');
+				n.ec = number();
+				break;
+			case 'B':
+				n.hasBcPos = true;
+				n.bcName = string();
+				expect(':');
+				n.bcIndex = mayNegNumber();
+				break;
+			case 'U':
+				if (isDigit(peek())) {
+					// deprecated unit id
+					number();
+				} else {
+					n.unresolvedCallTarget = string();
+				}
+				break;
+			case 'P':
+				n.procId = mayNegNumber();
+				break;
+			case 'O':
+				n.op = keyword(OPERATIONS, "operation");
+				break;
+			case 'V':
+				n.val = string();
+				break;
+			case 'T':
+				n.type = string();
+				break;
+			case 'Z':
+				n.threadNums = numberSet().toArray();
+				Arrays.sort(n.threadNums);
+				break;
+			case 'N':
+				// no termination guaranteed - not stored in the node
+				break;
+			case 'C':
+				n.classLoader = string();
+				break;
+			case 'A':
+				n.allocSites = numberSet();
+				break;
+			case 'D':
+				n.aliasDataSrc = numberSet();
+				break;
+			default:
+				throw error("unknown attribute " + key);
+			}
+		}
+
+		private byte peek() throws ParserException {
+			while (pos < end && (b[pos] == ' ' || b[pos] == '\t' || b[pos] == '\n' || b[pos] == '\r')) {
+				pos++;
+			}
+			if (pos >= end) {
+				throw error("unexpected end of node");
+			}
+			return b[pos];
+		}
+
+		private Tokenizer skip() {
+			pos++;
+			return this;
+		}
+
+		private void expect(final char c) throws ParserException {
+			if (peek() != c) {
+				throw error("expected '" + c + "'");
+			}
+			pos++;
+		}
+
+		private static boolean isDigit(final byte c) {
+			return c >= '0' && c <= '9';
+		}
+
+		private static boolean isWordPart(final byte c) {
+			return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_' || c == '-';
+		}
+
+		/**
+		 * Skips the next word and returns its length.
+		 */
+		private int word() throws ParserException {
+			peek();
+			final int start = pos;
+			while (pos < end && isWordPart(b[pos])) {
+				pos++;
+			}
+			if (pos == start) {
+				throw error("expected a keyword");
+			}
+			return pos - start;
+		}
+
+		private <T> T keyword(final Keywords<T> keywords, final String what) throws ParserException {
+			final int len = word();
+			final T value = keywords.get(b, pos - len, len);
+			if (value == null) {
+				throw error("unknown " + what + " " + new String(b, pos - len, len, StandardCharsets.UTF_8));
+			}
+			return value;
+		}
+
+		private int number() throws ParserException {
+			if (!isDigit(peek())) {
+				throw error("expected a number");
+			}
+			long value = 0;
+			while (pos < end && isDigit(b[pos])) {
+				value = 10 * value + (b[pos++] - '0');
+				if (value > Integer.MAX_VALUE) {
+					throw error("number too large");
+				}
+			}
+			return (int) value;
+		}
+
+		private int mayNegNumber() throws ParserException {
+			if (peek() == '-') {
+				pos++;
+				return -number();
+			}
+			return number();
+		}
+
+		private TIntHashSet numberSet() throws ParserException {
+			final TIntHashSet nums = new TIntHashSet();
+			nums.add(mayNegNumber());
+			while (peek() == ',') {
+				pos++;
+				nums.add(mayNegNumber());
+			}
+			return nums;
+		}
+
+		/**
+		 * Parses a string in quotes, or in the deprecated form <tt>&lt;"..."&gt;</tt>. As in SDGVertex_.g, the
+		 * quotes are part of the value in the deprecated form.
+		 */
+		private String string() throws ParserException {
+			final byte c = peek();
+			final int start = pos;
+			if (c == '"') {
+				final int close = indexOf(b, pos + 1, end, (byte) '"');
+				if (close < 0) {
+					throw error("unterminated string");
+				}
+				pos = close + 1;
+			} else if (c == '<' && pos + 1 < end && b[pos + 1] == '"') {
+				int p = pos + 2;
+				while (p + 1 < end && !(b[p] == '"' && b[p + 1] == '>')) {
+					p++;
+				}
+				if (p + 1 >= end) {
+					throw error("unterminated string");
+				}
+				pos = p + 2;
+			} else {
+				throw error("expected a string");
+			}
+			// labels, types, source files and bytecode names repeat a lot, keep only one copy of each
+			return new String(b, start + 1, pos - start - 2, StandardCharsets.UTF_8).intern();
+		}
+
+		private String[] stringList() throws ParserException {
+			if (peek() == '[') {
+				pos++;
+				if (peek() == ']') {
+					pos++;
+					return new String[0];
+				}
+				final List<String> strs = new ArrayList<>();
+				strs.add(string());
+				while (peek() == ',') {
+					pos++;
+					strs.add(string());
+				}
+				expect(']');
+				return strs.toArray(new String[strs.size()]);
+			}
+			final int len = word();
+			if (len != 4 || !startsWith(b, pos - len, pos, "null")) {
+				throw error("expected a list of strings");
+			}
+			return new String[0];
+		}
+
+		private ParserException error(final String msg) {
+			int lineStart = pos;
+			while (lineStart > 0 && b[lineStart - 1] != '\n') {
+				lineStart--;
+			}
+			int lineEnd = indexOf(b, pos, end, (byte) '\n');
+			lineEnd = (lineEnd < 0 ? end : lineEnd);
+			return new ParserException(msg + " at: " + new String(b, lineStart, lineEnd - lineStart,
+					StandardCharsets.UTF_8).trim());
+		}
+	}
+
+	/**
+	 * Maps keywords, given as a range of an array of ASCII characters, to values without creating strings.
+	 */
+	private static final class Keywords<T> {
+		private final byte[][] keys;
+		private final Object[] values;
+		private final int mask;
+
+		private Keywords(final Enum<?>[] values) {
+			this(byName(values));
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> Map<String, T> byName(final Enum<?>[] values) {
+			final Map<String, T> map = new HashMap<>();
+			for (final Enum<?> v : values) {
+				map.put(v.toString(), (T) v);
+			}
+			return map;
+		}
+
+		private Keywords(final Map<String, T> map) {
+			final int size = Integer.highestOneBit(4 * map.size() + 1) << 1;
+			this.keys = new byte[size][];
+			this.values = new Object[size];
+			this.mask = size - 1;
+			for (final Map.Entry<String, T> e : map.entrySet()) {
+				final byte[] key = e.getKey().getBytes(StandardCharsets.US_ASCII);
+				int i = hash(key, 0, key.length) & mask;
+				while (keys[i] != null) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = key;
+				values[i] = e.getValue();
+			}
+		}
+
+		private static int hash(final byte[] b, final int from, final int len) {
+			int h = len;
+			for (int i = from; i < from + len; i++) {
+				h = 31 * h + b[i];
+			}
+			return h ^ (h >>> 16);
+		}
+
+		@SuppressWarnings("unchecked")
+		private T get(final byte[] b, final int from, final int len) {
+			int i = hash(b, from, len) & mask;
+			while (keys[i] != null) {
+				final byte[] key = keys[i];
+				if (key.length == len) {
+					boolean equal = true;
+					for (int k = 0; k < len && equal; k++) {
+						equal = (key[k] == b[from + k]);
+					}
+					if (equal) {
+						return (T) values[i];
+					}
+				}
+				i = (i + 1) & mask;
+			}
+			return null;
+		}
+	}
+}
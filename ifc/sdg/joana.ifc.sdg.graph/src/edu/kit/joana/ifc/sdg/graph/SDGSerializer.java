@@ -31,6 +31,18 @@ import gnu.trove.iterator.TIntIterator;
  */
 public final class SDGSerializer {
 
+    /** the order of the outgoing edges of a node in the .pdg format */
+    static final Comparator<SDGEdge> EDGE_ORDER = new Comparator<SDGEdge>() {
+        @Override
+        public int compare(SDGEdge o1, SDGEdge o2) {
+            final int byKind = o1.getKind().compareTo(o2.getKind());
+            if (byKind != 0) return byKind;
+
+            final int byTarget = Integer.compare(o1.getTarget().getId(), o2.getTarget().getId());
+            return byTarget;
+        }
+    };
+
     private SDGSerializer() {}
 
     static Iterator<SDGNode> orderedNodes(JoanaGraph g) {
@@ -192,18 +204,8 @@ public final class SDGSerializer {
     private static void printPDGDependencies(JoanaGraph g, SDGNode n, PrintWriter pw) {
         final Set<SDGEdge> outgoing = g.outgoingEdgesOf(n);
         final SDGEdge[] outgoingSorted = g.outgoingEdgesOf(n).toArray(new SDGEdge[outgoing.size()]);
-        // final Comparator<SDGEdge> comparator = SDGEdge.getComparator() <- this doesnt work
-        final Comparator<SDGEdge> comparator = new Comparator<SDGEdge>() {
-            @Override
-            public int compare(SDGEdge o1, SDGEdge o2) {
-                final int byKind = o1.getKind().compareTo(o2.getKind());
-                if (byKind != 0) return byKind;
-                
-                final int byTarget = Integer.compare(o1.getTarget().getId(), o2.getTarget().getId());
-                return byTarget;
-            }
-        };
-        Arrays.sort(outgoingSorted, comparator);
+        // SDGEdge.getComparator() cannot be used here, it does not order by target
+        Arrays.sort(outgoingSorted, EDGE_ORDER);
         for (SDGEdge e : outgoingSorted) {
             SDGNode node = e.getTarget();
             String kind = e.getKind().toString();
@@ -0,0 +1,320 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import edu.kit.joana.ifc.sdg.graph.slicer.graph.threads.ThreadsInformation.ThreadInstance;
+import gnu.trove.iterator.TIntIterator;
+
+/**
+ * Writes SDGs in the textual .pdg format, producing exactly the same output as {@link SDGSerializer}.
+ * <p>
+ * In contrast to {@link SDGSerializer}, the output is encoded directly into a single reused byte buffer, which is
+ * written to a channel whenever it is full, so no strings are built for numbers, edges or whole nodes. Nodes are only
+ * sorted by their ID if the graph does not already iterate them in this order, and the outgoing edges of a node are
+ * only sorted if they are not yet in the canonical order (by kind, then by target ID). The output is encoded in
+ * UTF-8. Optionally, it is compressed with gzip, such files can be read with
+ * {@link SDG#readFromAndUseLessHeap(String)}.
+ */
+public final class SDGStreamingSerializer {
+
+	/**
+	 * The compression applied to the written .pdg text.
+	 */
+	public enum Compression {
+		NONE, GZIP;
+	}
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final byte[][] NODE_KINDS = names(SDGNode.Kind.values());
+	private static final byte[][] OPERATIONS = names(SDGNode.Operation.values());
+	private static final byte[][] EDGE_KINDS = names(SDGEdge.Kind.values());
+
+	private final WritableByteChannel out;
+	private final ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+	private final byte[] digits = new byte[20];
+	private SDGEdge[] edges = new SDGEdge[16];
+
+	private SDGStreamingSerializer(final WritableByteChannel out) {
+		this.out = out;
+	}
+
+	private static byte[][] names(final Enum<?>[] values) {
+		final byte[][] names = new byte[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			names[i] = values[i].toString().getBytes(StandardCharsets.UTF_8);
+		}
+		return names;
+	}
+
+	public static void toPDGFormat(final JoanaGraph g, final String fileName, final Compression compression)
+			throws IOException {
+		try (final FileOutputStream out = new FileOutputStream(fileName)) {
+			if (compression == Compression.NONE) {
+				toPDGFormat(g, out.getChannel());
+			} else {
+				toPDGFormat(g, out, compression);
+			}
+		}
+	}
+
+	public static void toPDGFormat(final JoanaGraph g, final OutputStream out) throws IOException {
+		toPDGFormat(g, out, Compression.NONE);
+	}
+
+	/**
+	 * Writes the graph to the given stream, which is flushed but not closed afterwards.
+	 */
+	public static void toPDGFormat(final JoanaGraph g, final OutputStream out, final Compression compression)
+			throws IOException {
+		switch (compression) {
+		case NONE:
+			toPDGFormat(g, Channels.newChannel(out));
+			break;
+		case GZIP:
+			final GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+			toPDGFormat(g, Channels.newChannel(gzip));
+			gzip.finish();
+			break;
+		default:
+			throw new IllegalArgumentException("unknown compression: " + compression);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes the graph uncompressed to the given channel, which is not closed afterwards.
+	 */
+	public static void toPDGFormat(final JoanaGraph g, final WritableByteChannel out) throws IOException {
+		new SDGStreamingSerializer(out).write(g);
+	}
+
+	private void write(final JoanaGraph g) throws IOException {
+		put("SDG ");
+		if (g.getName() != null) {
+			put('"'); put(g.getName()); put("\" ");
+		}
+		if (g.getRoot() != null) {
+			put("root "); put(g.getRoot().getId()); put(' ');
+		}
+		put("{\n");
+		if (g instanceof SDG && ((SDG) g).getJoanaCompiler()) {
+			put("JComp\n");
+		}
+
+		for (final SDGNode n : nodesById(g)) {
+			writeNode(g, n);
+		}
+
+		if (g.getThreadsInfo() != null) {
+			for (final ThreadInstance ti : g.getThreadsInfo()) {
+				put(ti.toString());
+			}
+		}
+
+		put("}\n");
+		flush();
+	}
+
+	private static SDGNode[] nodesById(final JoanaGraph g) {
+		final SDGNode[] nodes = g.vertexSet().toArray(new SDGNode[g.vertexSet().size()]);
+		for (int i = 1; i < nodes.length; i++) {
+			if (nodes[i - 1].getId() > nodes[i].getId()) {
+				Arrays.sort(nodes, SDGNode.getIDComparator());
+				break;
+			}
+		}
+		return nodes;
+	}
+
+	private void writeNode(final JoanaGraph g, final SDGNode n) throws IOException {
+		put(NODE_KINDS[n.getKind().ordinal()]); put(' '); put(n.getId()); put(" {\n");
+		put("O "); put(OPERATIONS[n.getOperation().ordinal()]); put(";\n");
+
+		if (n.getLabel() != null) {
+			put("V \""); put(n.getLabel()); put("\";\n");
+		}
+		if (n.getType() != null) {
+			put("T \""); put(n.getType()); put("\";\n");
+		}
+
+		put("P "); put(n.getProc()); put(";\n");
+
+		if (n.getSource() != null) {
+			put("S \""); put(n.getSource()); put("\":");
+			put(n.getSr()); put(','); put(n.getSc()); put('-'); put(n.getEr()); put(','); put(n.getEc());
+			put(";\n");
+		}
+		if (n.getBytecodeName() != null) {
+			put("B \""); put(n.getBytecodeName()); put("\":"); put(n.getBytecodeIndex()); put(";\n");
+		}
+
+		final int[] threads = n.getThreadNumbers();
+		if (threads != null && threads.length > 0) {
+			put("Z "); putList(threads); put(";\n");
+		}
+		final int[] allocSites = n.getAllocationSites();
+		if (allocSites != null && allocSites.length > 0) {
+			put("A "); putList(allocSites); put(";\n");
+		}
+		if (n.getAliasDataSources() != null) {
+			put("D ");
+			for (final TIntIterator it = n.getAliasDataSources().iterator(); it.hasNext();) {
+				put(it.next());
+				if (it.hasNext()) {
+					put(", ");
+				}
+			}
+			put(";\n");
+		}
+		if (n.getClassLoader() != null) {
+			put("C \""); put(n.getClassLoader()); put("\";\n");
+		}
+		if (n.getUnresolvedCallTarget() != null) {
+			put("U \""); put(n.getUnresolvedCallTarget()); put("\";\n");
+		}
+
+		final String[] localDefNames = n.getLocalDefNames();
+		if (localDefNames != null && localDefNames.length > 0) {
+			put("LD ["); putQuotedList(localDefNames); put("];\n");
+		}
+		final String[] localUseNames = n.getLocalUseNames();
+		if (localUseNames != null && localUseNames.length > 0) {
+			put("LU ["); putQuotedList(localUseNames); put("];\n");
+		}
+
+		writeDependencies(g, n);
+		put("}\n");
+	}
+
+	private void writeDependencies(final JoanaGraph g, final SDGNode n) throws IOException {
+		final SDGEdge[] outgoing = g.outgoingEdgesOfUnsafe(n);
+		if (outgoing == null) {
+			return;
+		}
+		if (edges.length < outgoing.length) {
+			edges = new SDGEdge[Math.max(outgoing.length, 2 * edges.length)];
+		}
+
+		// the edge array of a node may contain gaps
+		int size = 0;
+		boolean sorted = true;
+		for (final SDGEdge e : outgoing) {
+			if (e != null) {
+				sorted &= (size == 0 || SDGSerializer.EDGE_ORDER.compare(edges[size - 1], e) <= 0);
+				edges[size++] = e;
+			}
+		}
+		if (!sorted) {
+			Arrays.sort(edges, 0, size, SDGSerializer.EDGE_ORDER);
+		}
+
+		for (int i = 0; i < size; i++) {
+			final SDGEdge e = edges[i];
+			put(EDGE_KINDS[e.getKind().ordinal()]); put(' '); put(e.getTarget().getId());
+			if (e.getLabel() != null) {
+				put(": \""); put(e.getLabel()); put('"');
+			}
+			put(";\n");
+			edges[i] = null;
+		}
+	}
+
+	private void putList(final int[] values) throws IOException {
+		put(values[0]);
+		for (int i = 1; i < values.length; i++) {
+			put(", "); put(values[i]);
+		}
+	}
+
+	private void putQuotedList(final String[] values) throws IOException {
+		put('"'); put(values[0]); put('"');
+		for (int i = 1; i < values.length; i++) {
+			put(", \""); put(values[i]); put('"');
+		}
+	}
+
+	private void put(final char c) throws IOException {
+		if (!buf.hasRemaining()) {
+			flush();
+		}
+		buf.put((byte) c);
+	}
+
+	private void put(final byte[] bytes) throws IOException {
+		int off = 0;
+		while (off < bytes.length) {
+			if (!buf.hasRemaining()) {
+				flush();
+			}
+			final int len = Math.min(buf.remaining(), bytes.length - off);
+			buf.put(bytes, off, len);
+			off += len;
+		}
+	}
+
+	/**
+	 * Writes the given string, which is encoded on the fly as long as it consists of ASCII characters only.
+	 * A null string is written as "null", as done by {@link java.io.PrintWriter}.
+	 */
+	private void put(final String s) throws IOException {
+		if (s == null) {
+			put("null");
+			return;
+		}
+		final int length = s.length();
+		for (int i = 0; i < length; i++) {
+			final char c = s.charAt(i);
+			if (c >= 0x80) {
+				put(s.substring(i).getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+			if (!buf.hasRemaining()) {
+				flush();
+			}
+			buf.put((byte) c);
+		}
+	}
+
+	private void put(final int value) throws IOException {
+		long v = value;
+		if (v < 0) {
+			put('-');
+			v = -v;
+		}
+		int pos = digits.length;
+		do {
+			digits[--pos] = (byte) ('0' + (v % 10));
+			v /= 10;
+		} while (v != 0);
+
+		if (buf.remaining() < digits.length - pos) {
+			flush();
+		}
+		buf.put(digits, pos, digits.length - pos);
+	}
+
+	private void flush() throws IOException {
+		buf.flip();
+		while (buf.hasRemaining()) {
+			out.write(buf);
+		}
+		buf.clear();
+	}
+
+}
@@ -269,7 +269,7 @@ private node_attr[SDGNodeStub node]
                               node.localDefNames = ldefs;
                             } // names of local variables defined
   | 'LU' luses=mayEmptyStringList {
-                              node.localUseNames = ldefs;
+                              node.localUseNames = luses;
                             } // names of local variables used
   ;
 
@@ -876,7 +876,7 @@ public class SDGVertex_Parser extends Parser {
 					state._fsp--;
 
 
-					                              node.localUseNames = ldefs;
+					                              node.localUseNames = luses;
 					                            
 					}
 					break;
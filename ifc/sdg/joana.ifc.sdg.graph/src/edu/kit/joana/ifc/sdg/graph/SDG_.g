@@ -396,7 +396,7 @@ private node_attr[SDGNodeStub node]
                               node.localDefNames = ldefs;
                             } // names of local variables defined
   | 'LU' luses=mayEmptyStringList {
-                              node.localUseNames = ldefs;
+                              node.localUseNames = luses;
                             }; // names of local variables used
 
 private pos_num_set returns [TIntSet nums = new TIntHashSet();]
@@ -1695,7 +1695,7 @@ public class SDG_Parser extends Parser {
 					state._fsp--;
 
 
-					                              node.localUseNames = ldefs;
+					                              node.localUseNames = luses;
 					                            
 					}
 					break;
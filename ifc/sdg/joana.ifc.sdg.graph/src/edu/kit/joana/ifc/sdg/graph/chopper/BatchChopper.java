@@ -0,0 +1,325 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.chopper;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicer;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerBackward;
+import edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerForward;
+
+
+/**
+ * Computes the chops of many chopping criteria on a fork/join pool and reports each chop as soon as it is computed,
+ * so the chops never have to be held in memory at the same time.
+ *
+ * The two-phase forward slice of each source criterion and the two-phase backward slice of each target criterion is
+ * computed once and shared among all criteria with the same source resp. target, and dropped once the last of them
+ * has been chopped. The intersection of the two slices is the chop of the {@link InsensitiveIntersectionChopper}.
+ * If a chopper is given, it computes the chops instead, but only for criteria whose intersection is not empty,
+ * and only searches that intersection, see {@link Chopper#subgraphChop(Collection, Collection, Collection)}.
+ * Hence it has to be a chopper for sequential programs, whose chops are contained in that intersection,
+ * such as {@link NonSameLevelChopper}.
+ * While a batch runs, at most the slices of all sources and all targets are kept, never one set of nodes per
+ * criterion.
+ *
+ * Each worker thread uses its own chopper and slicers, so the given graph must not be modified during a batch.
+ */
+public class BatchChopper {
+
+	/**
+	 * Receives the chops computed by a {@link BatchChopper}.
+	 */
+	public interface ChopListener {
+		/**
+		 * Is called once for each criterion, in the order the chops are completed.
+		 * Calls are never concurrent, but may come from different threads.
+		 *
+		 * @param index      The position of the criterion in the list of criteria.
+		 * @param criterion  The criterion.
+		 * @param chop       Its chop.
+		 */
+		void chopComputed(int index, ChoppingCriterion criterion, Collection<SDGNode> chop);
+	}
+
+	/** The number of criteria below which a task does not split any further. */
+	private static final int THRESHOLD = 4;
+
+	private final SDG sdg;
+	private final Function<SDG, ? extends Chopper> newChopper;
+	private final int parallelism;
+
+	private final int minId;
+	private final SDGNode[] nodes;
+
+	/**
+	 * Instantiates a BatchChopper computing context-insensitive chops, like {@link InsensitiveIntersectionChopper}.
+	 *
+	 * @param g            A SDG. Must not be a cSDG.
+	 * @param parallelism  The number of threads to use.
+	 */
+	public BatchChopper(SDG g, int parallelism) {
+		this(g, null, parallelism);
+	}
+
+	/**
+	 * Instantiates a BatchChopper computing chops with the choppers created by <code>newChopper</code>.
+	 *
+	 * @param g            A SDG. Must not be a cSDG.
+	 * @param newChopper   Creates a chopper for the given graph, one for each worker thread.
+	 *                     If null, the chops are computed context-insensitively.
+	 * @param parallelism  The number of threads to use.
+	 */
+	public BatchChopper(SDG g, Function<SDG, ? extends Chopper> newChopper, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism has to be positive: " + parallelism);
+		}
+		this.sdg = g;
+		this.newChopper = newChopper;
+		this.parallelism = parallelism;
+
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for (SDGNode n : g.vertexSet()) {
+			min = Math.min(min, n.getId());
+			max = Math.max(max, n.getId());
+		}
+		if (min > max) {
+			min = max = 0;
+		}
+		this.minId = min;
+		this.nodes = new SDGNode[max - min + 1];
+		for (SDGNode n : g.vertexSet()) {
+			nodes[n.getId() - min] = n;
+		}
+	}
+
+	/**
+	 * Computes the chops of all given criteria and passes each of them to <code>listener</code>.
+	 * Returns when all chops have been reported.
+	 *
+	 * @param criteria  The chopping criteria. Their source and target sets should not be empty.
+	 * @param listener  Receives the chops.
+	 */
+	public void chop(List<ChoppingCriterion> criteria, ChopListener listener) {
+		final Batch batch = new Batch(criteria, listener);
+		final ChopTask task = new ChopTask(batch, 0, criteria.size());
+
+		if (parallelism == 1 || criteria.size() <= THRESHOLD) {
+			task.compute();
+		} else {
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				pool.invoke(task);
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * A source or target criterion shared by several chopping criteria, together with its slice.
+	 */
+	private static final class Endpoint {
+		private final Set<SDGNode> criterion;
+		private int uses = 0;
+		private BitSet slice = null;
+
+		private Endpoint(Set<SDGNode> criterion) {
+			this.criterion = criterion;
+		}
+	}
+
+	/**
+	 * The state of one call of {@link BatchChopper#chop(List, ChopListener)}.
+	 */
+	private final class Batch {
+		private final List<ChoppingCriterion> criteria;
+		private final ChopListener listener;
+		private final Endpoint[] sources;
+		private final Endpoint[] targets;
+		private final ThreadLocal<SummarySlicer> forward = ThreadLocal.withInitial(() -> new SummarySlicerForward(sdg));
+		private final ThreadLocal<SummarySlicer> backward = ThreadLocal.withInitial(() -> new SummarySlicerBackward(sdg));
+		private final ThreadLocal<Chopper> chopper;
+
+		private Batch(List<ChoppingCriterion> criteria, ChopListener listener) {
+			this.criteria = criteria;
+			this.listener = listener;
+			this.sources = new Endpoint[criteria.size()];
+			this.targets = new Endpoint[criteria.size()];
+			this.chopper = (newChopper == null ? null : ThreadLocal.withInitial(() -> newChopper.apply(sdg)));
+
+			final Map<Set<SDGNode>, Endpoint> sourceEndpoints = new HashMap<Set<SDGNode>, Endpoint>();
+			final Map<Set<SDGNode>, Endpoint> targetEndpoints = new HashMap<Set<SDGNode>, Endpoint>();
+			for (int i = 0; i < criteria.size(); i++) {
+				sources[i] = endpoint(sourceEndpoints, criteria.get(i).getSourceSet());
+				targets[i] = endpoint(targetEndpoints, criteria.get(i).getTargetSet());
+			}
+		}
+
+		private Endpoint endpoint(Map<Set<SDGNode>, Endpoint> endpoints, Collection<SDGNode> criterion) {
+			final Set<SDGNode> key = new HashSet<SDGNode>(criterion);
+			Endpoint e = endpoints.get(key);
+			if (e == null) {
+				e = new Endpoint(key);
+				endpoints.put(key, e);
+			}
+			e.uses++;
+			return e;
+		}
+
+		/**
+		 * Returns the slice of the given endpoint, which is computed by the first caller.
+		 */
+		private BitSet acquire(Endpoint e, ThreadLocal<SummarySlicer> slicer) {
+			synchronized (e) {
+				if (e.slice == null) {
+					e.slice = toBitSet(slicer.get().slice(e.criterion));
+				}
+				return e.slice;
+			}
+		}
+
+		/**
+		 * Drops the slice of the given endpoint once all its criteria have been chopped.
+		 */
+		private void release(Endpoint e) {
+			synchronized (e) {
+				if (--e.uses == 0) {
+					e.slice = null;
+				}
+			}
+		}
+
+		private void chop(int i) {
+			final ChoppingCriterion criterion = criteria.get(i);
+			final BitSet intersection = (BitSet) acquire(sources[i], forward).clone();
+			intersection.and(acquire(targets[i], backward));
+			release(sources[i]);
+			release(targets[i]);
+
+			final Collection<SDGNode> chop;
+			if (intersection.isEmpty()) {
+				chop = Collections.emptySet();
+			} else if (chopper == null) {
+				chop = toNodes(intersection);
+			} else {
+				chop = chopper.get().subgraphChop(criterion.getSourceSet(), criterion.getTargetSet(),
+						new NodeSet(intersection));
+			}
+
+			synchronized (listener) {
+				listener.chopComputed(i, criterion, chop);
+			}
+		}
+	}
+
+	private final class ChopTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Batch batch;
+		private final int from;
+		private final int to;
+
+		private ChopTask(Batch batch, int from, int to) {
+			this.batch = batch;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > THRESHOLD && getPool() != null) {
+				final int mid = (from + to) >>> 1;
+				invokeAll(new ChopTask(batch, from, mid), new ChopTask(batch, mid, to));
+				return;
+			}
+
+			for (int i = from; i < to; i++) {
+				batch.chop(i);
+			}
+		}
+	}
+
+	/**
+	 * The nodes of a set of node indices.
+	 */
+	private final class NodeSet extends AbstractSet<SDGNode> {
+		private final BitSet set;
+
+		private NodeSet(BitSet set) {
+			this.set = set;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof SDGNode)) {
+				return false;
+			}
+			final int i = ((SDGNode) o).getId() - minId;
+			return i >= 0 && i < nodes.length && nodes[i] == o && set.get(i);
+		}
+
+		@Override
+		public Iterator<SDGNode> iterator() {
+			return new Iterator<SDGNode>() {
+				private int next = set.nextSetBit(0);
+
+				@Override
+				public boolean hasNext() {
+					return next >= 0;
+				}
+
+				@Override
+				public SDGNode next() {
+					if (next < 0) {
+						throw new NoSuchElementException();
+					}
+					final SDGNode n = nodes[next];
+					next = set.nextSetBit(next + 1);
+					return n;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return set.cardinality();
+		}
+	}
+
+	private BitSet toBitSet(Collection<SDGNode> slice) {
+		final BitSet result = new BitSet(nodes.length);
+		for (SDGNode n : slice) {
+			result.set(n.getId() - minId);
+		}
+		return result;
+	}
+
+	private Collection<SDGNode> toNodes(BitSet set) {
+		final Collection<SDGNode> result = new HashSet<SDGNode>();
+		for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+			result.add(nodes[i]);
+		}
+		return result;
+	}
+}
@@ -71,6 +71,24 @@ public abstract class Chopper {
      */
     public abstract Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet);
 
+    /**
+     * Computes a chop between <code>sourceSet</code> and <code>sinkSet</code> that only searches the nodes in
+     * <code>sub</code>, which has to contain the chop. For choppers of sequential programs, this is the case for the
+     * intersection of the two-phase forward slice of <code>sourceSet</code> and the two-phase backward slice of
+     * <code>sinkSet</code>.
+     * The default implementation ignores <code>sub</code> and calls
+     * <code>chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet)</code>.
+     *
+     * @param sourceSet   The source of the chop.
+     * @param sinkSet     The sink of the chop.
+     * @param sub         The nodes to search, contains the chop.
+     * @return            The chop, mostly a HashSet.
+     */
+    public Collection<SDGNode> subgraphChop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) {
+    	return chop(sourceSet, sinkSet);
+    }
+
     /**
      * Convenience method computing a chop between a source node and a sink node.
      * Calls <code>chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet)</code>
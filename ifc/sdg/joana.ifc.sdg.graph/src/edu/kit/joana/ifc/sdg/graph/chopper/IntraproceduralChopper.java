@@ -68,7 +68,24 @@ public class IntraproceduralChopper extends Chopper {
      * or if one of the sets is empty.
      */
     public Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet)
-    throws InvalidCriterionException {// the bouncer
+    throws InvalidCriterionException {
+    	return chop(sourceSet, sinkSet, null);
+    }
+
+    /**
+     * Computes an intra-procedural chop from <code>sourceSet</code> to <code>sinkSet</code>
+     * that only searches the nodes in <code>sub</code>.
+     *
+     * @throws InvalidCriterionException, if the nodes in sourceSet and targetSet do not belong to the same procedure
+     * or if one of the sets is empty.
+     */
+    public Collection<SDGNode> subgraphChop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) throws InvalidCriterionException {
+    	return chop(sourceSet, sinkSet, sub);
+    }
+
+    private Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) throws InvalidCriterionException {// the bouncer
     	if (!Chopper.testSameLevelSetCriteria(sourceSet, sinkSet)) {
     		// Thou shall not pass!
     		throw new InvalidCriterionException("This is not a same-level chopping criterion: "+sourceSet+", "+sinkSet);
@@ -93,7 +110,7 @@ public class IntraproceduralChopper extends Chopper {
 
                 SDGNode m = e.getSource();
 
-                if (visitedBackward.add(m)) {
+                if ((sub == null || sub.contains(m)) && visitedBackward.add(m)) {
                     worklist.push(m);
                 }
             }
@@ -101,9 +118,12 @@ public class IntraproceduralChopper extends Chopper {
 
         // === forward phase ===
 
-        sourceSet.retainAll(visitedBackward);
-        worklist.addAll(sourceSet);
-        visitedForward.addAll(sourceSet);
+        // the source set is not modified, it may be immutable
+        for (SDGNode n : sourceSet) {
+            if (visitedBackward.contains(n) && visitedForward.add(n)) {
+                worklist.add(n);
+            }
+        }
 
         while (!worklist.isEmpty()) {
             SDGNode n = worklist.pop();
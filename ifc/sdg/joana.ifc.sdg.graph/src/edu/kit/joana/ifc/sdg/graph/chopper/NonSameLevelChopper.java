@@ -71,7 +71,18 @@ public class NonSameLevelChopper extends Chopper {
      */
     public Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet) {
         Collection<SDGNode> chop = truncated.chop(sourceSet, sinkSet);
-        sameLevelChopsAux(chop);
+        sameLevelChopsAux(chop, null);
+        return chop;
+    }
+
+    /**
+     * Computes a context-sensitive unbound chop from <code>sourceSet</code> to <code>sinkSet</code>
+     * that only searches the nodes in <code>sub</code>.
+     */
+    public Collection<SDGNode> subgraphChop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) {
+        Collection<SDGNode> chop = truncated.subgraphChop(sourceSet, sinkSet, sub);
+        sameLevelChopsAux(chop, sub);
         return chop;
     }
 
@@ -80,8 +91,9 @@ public class NonSameLevelChopper extends Chopper {
      * The nodes are added to the given chop. Uses the {@link SummaryMergedChopper} to compute the same-level chops.
      *
      * @param chop  The truncated unbound chop.
+     * @param sub   The nodes to search, or null for all nodes.
      */
-    private void sameLevelChopsAux(Collection<SDGNode> chop) {
+    private void sameLevelChopsAux(Collection<SDGNode> chop, Collection<SDGNode> sub) {
         LinkedList<Criterion> worklist = new LinkedList<Criterion>();
         Set<SDGNodeTuple> visitedTuples = new HashSet<SDGNodeTuple>();
         worklist.addAll(getSummarySites(chop));
@@ -112,7 +124,7 @@ public class NonSameLevelChopper extends Chopper {
 
             // do a new chop between the criteria sets just created and
             // extend chop with new chop and worklist with new node pairs
-            Collection<SDGNode> newChop = smc.chop(auxSourceSet, auxSinkSet);
+            Collection<SDGNode> newChop = (sub == null ? smc.chop(auxSourceSet, auxSinkSet) : smc.subgraphChop(auxSourceSet, auxSinkSet, sub));
             chop.addAll(newChop);
         }
     }
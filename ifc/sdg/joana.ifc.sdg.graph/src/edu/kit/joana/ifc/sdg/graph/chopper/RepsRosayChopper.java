@@ -53,6 +53,11 @@ public class RepsRosayChopper extends Chopper {
      * Triggered by {@link Chopper#setGraph(SDG)}.
      */
     protected void onSetGraph() {
+        if (sdg != null) {
+        	// speeds up getAllFormalPairs
+        	sdg.prepareCallSiteIndex();
+        }
+
         if (truncated == null) {
             truncated = new TruncatedNonSameLevelChopper(sdg);
 
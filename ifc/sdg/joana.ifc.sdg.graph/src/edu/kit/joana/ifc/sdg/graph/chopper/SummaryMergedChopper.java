@@ -77,6 +77,23 @@ public class SummaryMergedChopper extends Chopper {
      */
     public Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet)
     throws InvalidCriterionException{
+    	return chop(sourceSet, sinkSet, null);
+    }
+
+	/**
+     * Computes a context-sensitive same-level chop from <code>sourceSet</code> to <code>sinkSet</code>
+     * that only searches the nodes in <code>sub</code>.
+     *
+     * @throws InvalidCriterionException, if the nodes in sourceSet and targetSet do not belong to the same procedure
+     * or if one of the sets is empty.
+     */
+    public Collection<SDGNode> subgraphChop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) throws InvalidCriterionException {
+    	return chop(sourceSet, sinkSet, sub);
+    }
+
+    private Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) throws InvalidCriterionException {
     	// the bouncer
     	if (!Chopper.testSameLevelSetCriteria(sourceSet, sinkSet)) {
     		// Thou shall not pass!
@@ -84,7 +101,7 @@ public class SummaryMergedChopper extends Chopper {
         }
 
         // compute an initial intra-procedural chop between source and sink
-        Collection<SDGNode> chop = intraChopper.chop(sourceSet, sinkSet);
+        Collection<SDGNode> chop = intraChop(sourceSet, sinkSet, sub);
 
         // retrieve all ({formal-in} / {formal-out}) pairs that belong to a procedure called in the chop
         LinkedList<Criterion> worklist = new LinkedList<Criterion>();
@@ -114,11 +131,16 @@ public class SummaryMergedChopper extends Chopper {
 
             // compute a chop for the new criterion
             // update the worklist with new ({formal-in} / {formal-out}) pairs
-            Collection<SDGNode> newChop = intraChopper.chop(auxSourceSet, auxSinkSet);
+            Collection<SDGNode> newChop = intraChop(auxSourceSet, auxSinkSet, sub);
             chop.addAll(newChop);
             worklist.addAll(getSummarySites(newChop));
         }
 
         return chop;
     }
+
+    private Collection<SDGNode> intraChop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) {
+    	return (sub == null ? intraChopper.chop(sourceSet, sinkSet) : intraChopper.subgraphChop(sourceSet, sinkSet, sub));
+    }
 }
@@ -71,14 +71,28 @@ public class TruncatedNonSameLevelChopper extends Chopper {
      * @return           The chop (a HashSet).
      */
     public Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet) {
+    	return chop(sourceSet, sinkSet, null);
+    }
+
+    /**
+     * Computes a context-sensitive truncated unbound chop from <code>sourceSet</code> to <code>sinkSet</code>
+     * whose slices only search the nodes in <code>sub</code>.
+     */
+    public Collection<SDGNode> subgraphChop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) {
+    	return chop(sourceSet, sinkSet, sub);
+    }
+
+    private Collection<SDGNode> chop(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
+    		Collection<SDGNode> sub) {
         Collection<SDGNode> chop = new HashSet<SDGNode>();
 
         // compute the angular point of the chop
-        Collection<SDGNode> w = w(sourceSet, sinkSet);
+        Collection<SDGNode> w = w(sourceSet, sinkSet, sub);
 
         // compute the left-side truncated chop and the right-side truncated chop
-        Collection<SDGNode> opLeft = leftIntersection(sourceSet, w);
-        Collection<SDGNode> opRight = rightIntersection(w, sinkSet);
+        Collection<SDGNode> opLeft = leftIntersection(sourceSet, w, sub);
+        Collection<SDGNode> opRight = rightIntersection(w, sinkSet, sub);
 
         // unification of opLeft and opRight
         chop.addAll(opLeft);
@@ -92,9 +106,10 @@ public class TruncatedNonSameLevelChopper extends Chopper {
      *
      * @param sourceSet     The source of the chop.
      * @param sinkSet       The sink of the chop.
+     * @param sub           The nodes to search, or null for all nodes.
      * @return              The angular point of the chop (can be empty).
      */
-    private Collection<SDGNode> w(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet) {
+    private Collection<SDGNode> w(Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet, Collection<SDGNode> sub) {
         // we need two-phase slicers that only compute phase 1
         Set<SDGEdge.Kind> omitForward = EnumSet.of(
         		SDGEdge.Kind.INTERFERENCE,
@@ -113,10 +128,10 @@ public class TruncatedNonSameLevelChopper extends Chopper {
 
         // now let's run those slicers and intersect their result
         forward.setOmittedEdges(omitForward);
-        Collection<SDGNode> forwardSlice = forward.slice(sourceSet);
+        Collection<SDGNode> forwardSlice = slice(forward, sourceSet, sub);
 
         backward.setOmittedEdges(omitBackward);
-        Collection<SDGNode> backwardSlice = backward.slice(sinkSet);
+        Collection<SDGNode> backwardSlice = slice(backward, sinkSet, sub);
 
         forwardSlice.retainAll(backwardSlice);
 
@@ -128,9 +143,10 @@ public class TruncatedNonSameLevelChopper extends Chopper {
      *
      * @param sourceSet     The source of the chop.
      * @param w             The angular point of the chop.
+     * @param sub           The nodes to search, or null for all nodes.
      * @return              The left-side truncated chop.
      */
-    private Collection<SDGNode> leftIntersection(Collection<SDGNode> sourceSet, Collection<SDGNode> w) {
+    private Collection<SDGNode> leftIntersection(Collection<SDGNode> sourceSet, Collection<SDGNode> w, Collection<SDGNode> sub) {
         // we need a forward slicer that only computes phase 1,
         // and a backward slicer that only computes phase 2
         Set<SDGEdge.Kind> omitForward = EnumSet.of(
@@ -150,7 +166,7 @@ public class TruncatedNonSameLevelChopper extends Chopper {
                 SDGEdge.Kind.CALL);
 
         // run the slicers and intersect their results
-        Collection<SDGNode> result = branchChop(sourceSet, w, omitForward, omitBackward);
+        Collection<SDGNode> result = branchChop(sourceSet, w, omitForward, omitBackward, sub);
 
         return result;
     }
@@ -160,9 +176,10 @@ public class TruncatedNonSameLevelChopper extends Chopper {
      *
      * @param sinkSet       The sink of the chop.
      * @param w             The angular point of the chop.
+     * @param sub           The nodes to search, or null for all nodes.
      * @return              The right-side truncated chop.
      */
-    private Collection<SDGNode> rightIntersection(Collection<SDGNode> w, Collection<SDGNode> sinkSet) {
+    private Collection<SDGNode> rightIntersection(Collection<SDGNode> w, Collection<SDGNode> sinkSet, Collection<SDGNode> sub) {
         // we need a forward slicer that only computes phase 2,
         // and a backward slicer that only computes phase 1
         Set<SDGEdge.Kind> omitForward = EnumSet.of(
@@ -180,7 +197,7 @@ public class TruncatedNonSameLevelChopper extends Chopper {
                 SDGEdge.Kind.PARAMETER_OUT);
 
         // run the slicers and intersect their results
-        Collection<SDGNode> result = branchChop(w, sinkSet, omitForward, omitBackward);
+        Collection<SDGNode> result = branchChop(w, sinkSet, omitForward, omitBackward, sub);
 
         return result;
     }
@@ -193,15 +210,20 @@ public class TruncatedNonSameLevelChopper extends Chopper {
      * @param sinkSet        The sink of the chop.
      * @param omitForward    Kinds of edges to be omitted by the forward slicer.
      * @param omitBackward   Kinds of edges to be omitted by the backward slicer.
+     * @param sub            The nodes to search, or null for all nodes.
      * @return               The chop.
      */
     private Collection<SDGNode> branchChop (Collection<SDGNode> sourceSet, Collection<SDGNode> sinkSet,
-    		Set<SDGEdge.Kind> omitForward, Set<SDGEdge.Kind> omitBackward) {
+    		Set<SDGEdge.Kind> omitForward, Set<SDGEdge.Kind> omitBackward, Collection<SDGNode> sub) {
 
         forward.setOmittedEdges(omitForward);
         backward.setOmittedEdges(omitBackward);
 
-        Collection<SDGNode> forwardSlice = forward.slice(sourceSet);
+        Collection<SDGNode> forwardSlice = slice(forward, sourceSet, sub);
         return backward.subgraphSlice(sinkSet, forwardSlice);
     }
+
+    private static Collection<SDGNode> slice(SummarySlicer slicer, Collection<SDGNode> criteria, Collection<SDGNode> sub) {
+    	return (sub == null ? slicer.slice(criteria) : slicer.subgraphSlice(criteria, sub));
+    }
 }
@@ -21,20 +21,20 @@ public class Criterion {
 	private final Collection<SDGNode> target;
 	
 
-	Criterion(SDGNode target) {
+	public Criterion(SDGNode target) {
 		this.target = Collections.singleton(target);
 	}
 
-	Criterion(SDGNode source, SDGNode target) {
+	public Criterion(SDGNode source, SDGNode target) {
 		this.source = Collections.singleton(source);
 		this.target = Collections.singleton(target);
 	}
 
-	Collection<SDGNode> getSource() {
+	public Collection<SDGNode> getSource() {
 		return source;
 	}
 
-	Collection<SDGNode> getTarget() {
+	public Collection<SDGNode> getTarget() {
 		return target;
 	}
 
@@ -49,6 +49,10 @@ public abstract class Context2PhaseSlicer {
     public Context2PhaseSlicer(SDG g, ContextManager<StaticContext> m) {
         sdg = g;
         man = m;
+        if (sdg != null) {
+        	// speeds up the many call site lookups of getCallEntryFor
+        	sdg.prepareCallSiteIndex();
+        }
     }
 
     /**
@@ -59,6 +63,10 @@ public abstract class Context2PhaseSlicer {
     public void setGraph(SDG graph) {
         sdg = graph;
         man = StaticContextManager.create(graph);
+        if (sdg != null) {
+        	// speeds up the many call site lookups of getCallEntryFor
+        	sdg.prepareCallSiteIndex();
+        }
     }
 
     public void setOmittedEdges(Set<SDGEdge.Kind> omit){
@@ -72,6 +72,10 @@ public abstract class ContextSlicer<C extends Context<C>> implements Slicer {
         sdg = graph;
 
         conMan = newManager.apply(sdg);
+        if (sdg != null) {
+        	// speeds up the many call site lookups of getCallEntryFor
+        	sdg.prepareCallSiteIndex();
+        }
     }
 
     public Collection<SDGNode> slice(SDGNode criterion) {
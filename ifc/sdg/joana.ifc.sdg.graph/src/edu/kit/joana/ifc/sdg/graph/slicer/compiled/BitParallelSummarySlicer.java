@@ -0,0 +1,295 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.graph.slicer.Slicer;
+
+/**
+ * A 2-phase summary slicer that computes the slices of many criteria in one traversal.
+ *
+ * Every node carries two bit vectors of criteria, one per phase, and the traversal pushes these
+ * vectors along the edges instead of single marks, so up to 64 criteria share each word operation.
+ * Batches larger than the configured width are sliced in consecutive passes.
+ *
+ * The slicer walks the same edges as the given {@link CompiledSummarySlicer}, which determines the
+ * direction and the omitted edges. The slice of a criterion contains the nodes reachable along phase-1
+ * edges, plus the nodes reachable along phase-2 edges from the targets of descending edges. This is
+ * the slice of {@link edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicer}, except where the latter
+ * first reaches a node through a descending edge and then ignores that the node is also reachable in
+ * phase 1; there the result here is a superset. This happens in recursive procedures, e.g. if a backward
+ * slice reaches the formal-out node of a procedure both through the parameter-out edge of a recursive
+ * call and intraprocedurally: the summary slicer does not continue phase 1 at that node, so it misses
+ * the actual-in nodes of other callers on which the formal-out node depends.
+ *
+ * All per-slice state lives in the methods, so one instance may be used by several threads at once
+ * as long as the underlying slicer is not changed.
+ */
+public class BitParallelSummarySlicer implements Slicer {
+
+	/** the default number of 64 bit words per node and phase, i.e. 256 criteria per pass */
+	public static final int DEFAULT_WORDS_PER_NODE = 4;
+
+	private static final byte SKIP = CompiledSummarySlicer.SKIP;
+	private static final byte OTHER = CompiledSummarySlicer.OTHER;
+	private static final byte OTHER_IF_INTERPROC = CompiledSummarySlicer.OTHER_IF_INTERPROC;
+
+	private final CompiledSummarySlicer slicer;
+	private final int wordsPerNode;
+
+	/**
+	 * @param slicer determines the graph, the direction and the omitted edges
+	 * @param wordsPerNode number of 64 bit words per node and phase; a pass slices 64 times as many criteria
+	 */
+	public BitParallelSummarySlicer(CompiledSummarySlicer slicer, int wordsPerNode) {
+		if (wordsPerNode < 1) {
+			throw new IllegalArgumentException("wordsPerNode must be positive: " + wordsPerNode);
+		}
+		this.slicer = slicer;
+		this.wordsPerNode = wordsPerNode;
+	}
+
+	public BitParallelSummarySlicer(CompiledSummarySlicer slicer) {
+		this(slicer, DEFAULT_WORDS_PER_NODE);
+	}
+
+	/**
+	 * Compiles the given SDG. Prefer {@link #setGraph(CompiledSDG)} if a compiled view already exists.
+	 */
+	public void setGraph(SDG graph) {
+		slicer.setGraph(graph);
+	}
+
+	public void setGraph(CompiledSDG graph) {
+		slicer.setGraph(graph);
+	}
+
+	public CompiledSDG getGraph() {
+		return slicer.getGraph();
+	}
+
+	public Collection<SDGNode> slice(SDGNode criterion) {
+		return slice(Collections.singleton(criterion));
+	}
+
+	/**
+	 * Computes the slice for all given criteria together, in a single pass with one bit per node.
+	 */
+	public Collection<SDGNode> slice(Collection<SDGNode> criteria) {
+		final CompiledSDG g = slicer.getGraph();
+		final int[] rows = rowsOf(g, criteria);
+		final int n = g.numberOfNodes();
+		final long[] phase1 = new long[n];
+		final long[] phase2 = new long[n];
+		// all criteria share lane 0
+		propagate(rows, 0, rows.length, 1, 0, phase1, phase2);
+
+		final BitSet slice = new BitSet(n);
+		for (int row = 0; row < n; row++) {
+			if ((phase1[row] | phase2[row]) != 0) {
+				slice.set(row);
+			}
+		}
+
+		return g.toNodeSet(slice);
+	}
+
+	/**
+	 * Computes the slice of each of the given rows of the compiled graph separately.
+	 *
+	 * @return for each criterion, the rows of its slice
+	 */
+	public BitSet[] sliceEach(int[] criteria) {
+		final int n = slicer.getGraph().numberOfNodes();
+		final BitSet[] slices = new BitSet[criteria.length];
+		for (int i = 0; i < criteria.length; i++) {
+			slices[i] = new BitSet();
+		}
+
+		final int lanesPerPass = wordsPerNode << 6;
+		final long[] phase1 = new long[n * wordsPerNode];
+		final long[] phase2 = new long[n * wordsPerNode];
+		for (int from = 0; from < criteria.length; from += lanesPerPass) {
+			final int lanes = Math.min(lanesPerPass, criteria.length - from);
+			final int words = (lanes + 63) >>> 6;
+			propagate(criteria, from, lanes, words, -1, phase1, phase2);
+
+			for (int row = 0; row < n; row++) {
+				for (int k = 0; k < words; k++) {
+					long reached = phase1[row * words + k] | phase2[row * words + k];
+					while (reached != 0) {
+						final int lane = (k << 6) + Long.numberOfTrailingZeros(reached);
+						slices[from + lane].set(row);
+						reached &= reached - 1;
+					}
+				}
+			}
+		}
+
+		return slices;
+	}
+
+	/**
+	 * Slices every criterion separately and records which of the targets each slice contains.
+	 * Slicing forward from sources with sinks as targets yields the source&times;sink matrix of possible flows.
+	 */
+	public ReachabilityMatrix reachability(List<SDGNode> criteria, List<SDGNode> targets) {
+		final CompiledSDG g = slicer.getGraph();
+		final int[] criteriaRows = rowsOf(g, criteria);
+		final int[] targetRows = rowsOf(g, targets);
+		final ReachabilityMatrix matrix = new ReachabilityMatrix(new ArrayList<SDGNode>(criteria),
+				new ArrayList<SDGNode>(targets));
+
+		final int n = g.numberOfNodes();
+		final int lanesPerPass = wordsPerNode << 6;
+		final long[] phase1 = new long[n * wordsPerNode];
+		final long[] phase2 = new long[n * wordsPerNode];
+		for (int from = 0; from < criteriaRows.length; from += lanesPerPass) {
+			final int lanes = Math.min(lanesPerPass, criteriaRows.length - from);
+			final int words = (lanes + 63) >>> 6;
+			propagate(criteriaRows, from, lanes, words, -1, phase1, phase2);
+
+			for (int t = 0; t < targetRows.length; t++) {
+				final int row = targetRows[t];
+				for (int k = 0; k < words; k++) {
+					long reached = phase1[row * words + k] | phase2[row * words + k];
+					while (reached != 0) {
+						final int lane = (k << 6) + Long.numberOfTrailingZeros(reached);
+						matrix.set(from + lane, t);
+						reached &= reached - 1;
+					}
+				}
+			}
+		}
+
+		return matrix;
+	}
+
+	private static int[] rowsOf(CompiledSDG g, Collection<SDGNode> nodes) {
+		final int[] rows = new int[nodes.size()];
+		int i = 0;
+		for (SDGNode n : nodes) {
+			rows[i] = g.rowOf(n);
+			if (rows[i] < 0) {
+				throw new IllegalArgumentException("Node " + n + " is not part of the compiled graph.");
+			}
+			i++;
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Runs both phases for the criteria from (inclusive) to from + lanes (exclusive).
+	 * Criterion from + i is assigned to lane i, or to the given fixed lane if that is not negative.
+	 * Afterwards, phase1 and phase2 hold words bits vectors per row, where a lane is set in phase2
+	 * only if it is not set in phase1.
+	 */
+	private void propagate(int[] criteria, int from, int lanes, int words, int fixedLane, long[] phase1, long[] phase2) {
+		final CompiledSDG g = slicer.getGraph();
+		final byte[][] act = slicer.actionTable();
+		final CompiledSDG.Adjacency adj = slicer.edgesToTraverse();
+		final int n = g.numberOfNodes();
+		final boolean[] queued = new boolean[n];
+		final IntDeque worklist = new IntDeque(64);
+
+		Arrays.fill(phase1, 0, n * words, 0L);
+		Arrays.fill(phase2, 0, n * words, 0L);
+		for (int i = 0; i < lanes; i++) {
+			final int row = criteria[from + i];
+			final int lane = (fixedLane < 0 ? i : fixedLane);
+			phase1[row * words + (lane >>> 6)] |= 1L << lane;
+			if (!queued[row]) {
+				queued[row] = true;
+				worklist.addLast(row);
+			}
+		}
+
+		// phase 1: descending edges only seed phase 2
+		byte[] current = act[0];
+		while (!worklist.isEmpty()) {
+			final int w = worklist.poll();
+			queued[w] = false;
+			final int wOff = w * words;
+
+			for (int e = adj.begin(w), end = adj.end(w); e < end; e++) {
+				final byte a = current[adj.kindOrdinal(e)];
+				if (a == SKIP) continue;
+
+				final int v = adj.adjacent(e);
+				final int vOff = v * words;
+				if (a == OTHER || (a == OTHER_IF_INTERPROC && g.getProc(v) != g.getProc(w))) {
+					for (int k = 0; k < words; k++) {
+						phase2[vOff + k] |= phase1[wOff + k];
+					}
+				} else {
+					boolean changed = false;
+					for (int k = 0; k < words; k++) {
+						final long add = phase1[wOff + k] & ~phase1[vOff + k];
+						if (add != 0) {
+							phase1[vOff + k] |= add;
+							changed = true;
+						}
+					}
+					if (changed && !queued[v]) {
+						queued[v] = true;
+						worklist.addLast(v);
+					}
+				}
+			}
+		}
+
+		// phase 2 starts at the seeds that have not been reached in phase 1 already
+		for (int row = 0; row < n; row++) {
+			boolean seeded = false;
+			for (int k = row * words, end = k + words; k < end; k++) {
+				phase2[k] &= ~phase1[k];
+				seeded |= phase2[k] != 0;
+			}
+			if (seeded) {
+				queued[row] = true;
+				worklist.addLast(row);
+			}
+		}
+
+		current = act[1];
+		while (!worklist.isEmpty()) {
+			final int w = worklist.poll();
+			queued[w] = false;
+			final int wOff = w * words;
+
+			for (int e = adj.begin(w), end = adj.end(w); e < end; e++) {
+				if (current[adj.kindOrdinal(e)] == SKIP) continue;
+
+				final int v = adj.adjacent(e);
+				final int vOff = v * words;
+				boolean changed = false;
+				for (int k = 0; k < words; k++) {
+					final long add = phase2[wOff + k] & ~phase1[vOff + k] & ~phase2[vOff + k];
+					if (add != 0) {
+						phase2[vOff + k] |= add;
+						changed = true;
+					}
+				}
+				if (changed && !queued[v]) {
+					queued[v] = true;
+					worklist.addLast(v);
+				}
+			}
+		}
+	}
+}
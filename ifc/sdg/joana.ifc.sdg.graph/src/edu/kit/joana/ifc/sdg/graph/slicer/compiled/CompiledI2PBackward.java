@@ -0,0 +1,34 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+
+/**
+ * Backward variant of {@link CompiledI2PSlicer},
+ * equivalent to {@link edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PBackward}.
+ */
+public class CompiledI2PBackward extends CompiledI2PSlicer {
+
+	public CompiledI2PBackward(CompiledSDG g) {
+		super(g);
+	}
+
+	protected CompiledSDG.Adjacency edgesToTraverse() {
+		return g.incoming();
+	}
+
+	protected byte phase1Action(SDGEdge.Kind kind) {
+		return kind == SDGEdge.Kind.PARAMETER_OUT ? OTHER : FOLLOW;
+	}
+
+	protected byte phase2Action(SDGEdge.Kind kind) {
+		return (kind == SDGEdge.Kind.PARAMETER_IN || kind == SDGEdge.Kind.CALL) ? SKIP : FOLLOW;
+	}
+}
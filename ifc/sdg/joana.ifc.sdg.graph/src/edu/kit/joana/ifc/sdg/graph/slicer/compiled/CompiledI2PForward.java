@@ -0,0 +1,34 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+
+/**
+ * Forward variant of {@link CompiledI2PSlicer},
+ * equivalent to {@link edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PForward}.
+ */
+public class CompiledI2PForward extends CompiledI2PSlicer {
+
+	public CompiledI2PForward(CompiledSDG g) {
+		super(g);
+	}
+
+	protected CompiledSDG.Adjacency edgesToTraverse() {
+		return g.outgoing();
+	}
+
+	protected byte phase1Action(SDGEdge.Kind kind) {
+		return (kind == SDGEdge.Kind.PARAMETER_IN || kind == SDGEdge.Kind.CALL) ? OTHER : FOLLOW;
+	}
+
+	protected byte phase2Action(SDGEdge.Kind kind) {
+		return kind == SDGEdge.Kind.PARAMETER_OUT ? SKIP : FOLLOW;
+	}
+}
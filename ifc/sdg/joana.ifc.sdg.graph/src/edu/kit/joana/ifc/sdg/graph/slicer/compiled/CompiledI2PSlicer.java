@@ -0,0 +1,169 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import gnu.trove.list.array.TIntArrayList;
+
+/**
+ * The iterative 2-phase slicer of {@link edu.kit.joana.ifc.sdg.graph.slicer.conc.Iterative2PhaseSlicer},
+ * running on a {@link CompiledSDG}. Computes the same slices as its SDG-based counterpart.
+ *
+ * Warning: like the original, this algorithm is thread-insensitive.
+ *
+ * Instances may be shared between threads, provided each thread slices with its own {@link SliceWorkspace}.
+ */
+public abstract class CompiledI2PSlicer implements CompiledSlicer {
+
+	/** do not traverse the edge */
+	protected static final byte SKIP = 0;
+	/** traverse the edge and mark the reached node with the current phase */
+	protected static final byte FOLLOW = 1;
+	/** traverse the edge and mark the reached node with phase 2 (only meaningful in phase 1) */
+	protected static final byte OTHER = 2;
+
+	private static final SDGEdge.Kind[] KINDS = SDGEdge.Kind.values();
+
+	private static final byte UNVISITED = SliceWorkspace.UNVISITED;
+	private static final byte PHASE1 = 1;
+	private static final byte PHASE2 = 2;
+
+	protected CompiledSDG g;
+
+	private final byte[][] actions = new byte[2][KINDS.length];
+	private final boolean[] threadEdge = new boolean[KINDS.length];
+
+	protected CompiledI2PSlicer(CompiledSDG g) {
+		this.g = g;
+		for (SDGEdge.Kind k : KINDS) {
+			if (k.isSDGEdge()) {
+				actions[0][k.ordinal()] = phase1Action(k);
+				actions[1][k.ordinal()] = phase2Action(k);
+			}
+			threadEdge[k.ordinal()] = k.isThreadEdge();
+		}
+	}
+
+	/**
+	 * Compiles the given SDG. Prefer {@link #setGraph(CompiledSDG)} if a compiled view already exists.
+	 */
+	public void setGraph(SDG graph) {
+		g = new CompiledSDG(graph);
+	}
+
+	public void setGraph(CompiledSDG graph) {
+		g = graph;
+	}
+
+	public CompiledSDG getGraph() {
+		return g;
+	}
+
+	public Collection<SDGNode> slice(SDGNode c) {
+		return slice(Collections.singleton(c));
+	}
+
+	public Collection<SDGNode> slice(Collection<SDGNode> c) {
+		final TIntArrayList rows = new TIntArrayList(c.size());
+		for (SDGNode n : c) {
+			final int row = g.rowOf(n);
+			if (row < 0) {
+				throw new IllegalArgumentException("Node " + n + " is not part of the compiled graph.");
+			}
+			rows.add(row);
+		}
+
+		return g.toNodeSet(sliceRows(rows.toArray()));
+	}
+
+	/**
+	 * Computes the slice for the given rows of the compiled graph.
+	 *
+	 * @return the rows of the slice
+	 */
+	public BitSet sliceRows(int[] criteria) {
+		final SliceWorkspace ws = new SliceWorkspace(g);
+		sliceRows(criteria, ws);
+		return ws.toBitSet();
+	}
+
+	public void sliceRows(int[] criteria, SliceWorkspace ws) {
+		ws.reset(g);
+		final CompiledSDG.Adjacency adj = edgesToTraverse();
+		final byte[] mark = ws.mark;
+		final IntDeque worklist = ws.worklist;
+
+		for (int c : criteria) {
+			ws.mark(c, PHASE1);
+			worklist.addLast(c);
+		}
+
+		while (!worklist.isEmpty()) {
+			final int next = worklist.poll();
+			final byte currentPhase = mark[next];
+			final byte[] current = actions[currentPhase - 1];
+
+			for (int e = adj.begin(next), end = adj.end(next); e < end; e++) {
+				final int k = adj.kindOrdinal(e);
+				final byte a = current[k];
+				// if we are in phase 1 or e is not a descending edge, traverse e
+				if (a == SKIP) continue;
+
+				final int adjacent = adj.adjacent(e);
+				final byte status = mark[adjacent];
+
+				if (status == UNVISITED // hasn't been visited before
+						|| (status == PHASE2 && (currentPhase == PHASE1 || threadEdge[k]))) {
+					if (threadEdge[k]) {
+						worklist.addFirst(adjacent);
+					} else {
+						worklist.addLast(adjacent);
+					}
+
+					// determine how to mark `adjacent'
+					if (currentPhase == PHASE1 && a == OTHER) {
+						// standard two-phase slicing: mark adjacent with phase 2
+						ws.mark(adjacent, PHASE2);
+
+					} else if (currentPhase == PHASE2 && threadEdge[k]) {
+						// we are in phase 2 and about to traverse an interference edge: mark adjacent with phase 1
+						ws.mark(adjacent, PHASE1);
+
+					} else {
+						// mark adjacent with the current phase
+						ws.mark(adjacent, currentPhase);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the adjacency lists the slicer walks along
+	 */
+	protected abstract CompiledSDG.Adjacency edgesToTraverse();
+
+	/**
+	 * Called during construction; must not depend on instance state.
+	 * @return one of SKIP, FOLLOW or OTHER for SDG edges of the given kind in phase 1
+	 */
+	protected abstract byte phase1Action(SDGEdge.Kind kind);
+
+	/**
+	 * Called during construction; must not depend on instance state.
+	 * @return SKIP or FOLLOW for SDG edges of the given kind in phase 2
+	 */
+	protected abstract byte phase2Action(SDGEdge.Kind kind);
+}
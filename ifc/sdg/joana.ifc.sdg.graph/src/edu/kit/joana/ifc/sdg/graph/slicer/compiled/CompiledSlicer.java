@@ -0,0 +1,30 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.slicer.Slicer;
+
+/**
+ * A slicer running on a {@link CompiledSDG}.
+ *
+ * Implementations keep no per-slice state in the slicer object itself, so one instance
+ * can be used by several threads at once, each passing its own {@link SliceWorkspace}.
+ */
+public interface CompiledSlicer extends Slicer {
+
+	public CompiledSDG getGraph();
+
+	public void setGraph(CompiledSDG graph);
+
+	/**
+	 * Computes the slice for the given rows of the compiled graph.
+	 * The workspace is reset first and afterwards holds the rows of the slice.
+	 */
+	public void sliceRows(int[] criteria, SliceWorkspace ws);
+}
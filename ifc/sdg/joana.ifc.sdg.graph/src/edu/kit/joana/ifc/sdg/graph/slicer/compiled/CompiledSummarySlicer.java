@@ -0,0 +1,195 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import gnu.trove.list.array.TIntArrayList;
+
+/**
+ * The standard 2-phase slicer of {@link edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicer},
+ * running on a {@link CompiledSDG}. Computes the same slices as its SDG-based counterpart.
+ *
+ * The per-edge decisions of both phases are tabulated by edge kind once, so a slice only
+ * reads the int and byte arrays of the compiled graph plus one mark per node.
+ * Instances may be shared between threads as long as the omitted edges are not changed,
+ * provided each thread slices with its own {@link SliceWorkspace}.
+ */
+public abstract class CompiledSummarySlicer implements CompiledSlicer {
+
+	/** do not traverse the edge */
+	protected static final byte SKIP = 0;
+	/** traverse the edge in the current phase */
+	protected static final byte FOLLOW = 1;
+	/** traverse the edge in the next phase */
+	protected static final byte OTHER = 2;
+	/** traverse the edge in the next phase if it connects different procedures, else in the current phase */
+	protected static final byte OTHER_IF_INTERPROC = 3;
+
+	private static final SDGEdge.Kind[] KINDS = SDGEdge.Kind.values();
+
+	private static final byte UNVISITED = SliceWorkspace.UNVISITED;
+	private static final byte PHASE1 = 1;
+	private static final byte PHASE2 = 2;
+
+	protected CompiledSDG g;
+	protected Set<SDGEdge.Kind> omittedEdges;
+
+	private volatile byte[][] actions;
+
+	public CompiledSummarySlicer(CompiledSDG graph, Set<SDGEdge.Kind> omit) {
+		this.g = graph;
+		this.omittedEdges = omit;
+	}
+
+	public CompiledSummarySlicer(CompiledSDG graph) {
+		this(graph, EnumSet.copyOf(SDGEdge.Kind.threadEdges()));
+	}
+
+	public void addToOmit(SDGEdge.Kind kind) {
+		omittedEdges.add(kind);
+		actions = null;
+	}
+
+	public void setOmittedEdges(Set<SDGEdge.Kind> omit) {
+		this.omittedEdges = omit;
+		actions = null;
+	}
+
+	/**
+	 * Compiles the given SDG. Prefer {@link #setGraph(CompiledSDG)} if a compiled view already exists.
+	 */
+	public void setGraph(SDG graph) {
+		g = new CompiledSDG(graph);
+	}
+
+	public void setGraph(CompiledSDG graph) {
+		g = graph;
+	}
+
+	public CompiledSDG getGraph() {
+		return g;
+	}
+
+	public Collection<SDGNode> slice(SDGNode criterion) {
+		return slice(Collections.singleton(criterion));
+	}
+
+	public Collection<SDGNode> slice(Collection<SDGNode> criteria) {
+		final TIntArrayList rows = new TIntArrayList(criteria.size());
+		for (SDGNode c : criteria) {
+			final int row = g.rowOf(c);
+			if (row < 0) {
+				throw new IllegalArgumentException("Node " + c + " is not part of the compiled graph.");
+			}
+			rows.add(row);
+		}
+
+		return g.toNodeSet(sliceRows(rows.toArray()));
+	}
+
+	/**
+	 * Computes the slice for the given rows of the compiled graph.
+	 *
+	 * @return the rows of the slice
+	 */
+	public BitSet sliceRows(int[] criteria) {
+		final SliceWorkspace ws = new SliceWorkspace(g);
+		sliceRows(criteria, ws);
+		return ws.toBitSet();
+	}
+
+	public void sliceRows(int[] criteria, SliceWorkspace ws) {
+		ws.reset(g);
+		final byte[][] act = actionTable();
+		final CompiledSDG.Adjacency adj = edgesToTraverse();
+		final byte[] mark = ws.mark;
+		IntDeque worklist = ws.worklist;
+		final IntDeque nextWorklist = ws.nextWorklist;
+		byte phase = PHASE1;
+
+		for (int c : criteria) {
+			if (mark[c] == UNVISITED) {
+				ws.mark(c, PHASE1);
+				worklist.addLast(c);
+			}
+		}
+
+		while (!worklist.isEmpty()) {
+			final byte[] current = act[phase - 1];
+
+			while (!worklist.isEmpty()) {
+				final int w = worklist.poll();
+
+				for (int e = adj.begin(w), end = adj.end(w); e < end; e++) {
+					final byte a = current[adj.kindOrdinal(e)];
+					if (a == SKIP) continue;
+
+					final int v = adj.adjacent(e);
+					if (mark[v] == UNVISITED || (phase == PHASE1 && mark[v] == PHASE2)) {
+						// if node was not yet added or node was added in phase2
+						ws.mark(v, phase);
+						if (a == OTHER || (a == OTHER_IF_INTERPROC && g.getProc(v) != g.getProc(w))) {
+							nextWorklist.addLast(v);
+						} else {
+							worklist.addLast(v);
+						}
+					}
+				}
+			}
+
+			// swap worklists and phases; from now on both worklists are the same
+			worklist = nextWorklist;
+			phase = PHASE2;
+		}
+	}
+
+	/**
+	 * @return the actions of phase 1 and phase 2, indexed by edge kind ordinal
+	 */
+	byte[][] actionTable() {
+		byte[][] act = actions;
+		if (act == null) {
+			act = new byte[2][KINDS.length];
+			for (SDGEdge.Kind k : KINDS) {
+				if (k.isSDGEdge() && !omittedEdges.contains(k)) {
+					act[0][k.ordinal()] = phase1Action(k);
+					act[1][k.ordinal()] = phase2Action(k);
+				}
+			}
+			actions = act;
+		}
+
+		return act;
+	}
+
+	/**
+	 * @return the adjacency lists the slicer walks along
+	 */
+	protected abstract CompiledSDG.Adjacency edgesToTraverse();
+
+	/**
+	 * @return one of SKIP, FOLLOW, OTHER or OTHER_IF_INTERPROC for edges of the given kind in phase 1;
+	 * omitted and non-SDG edges are skipped without asking
+	 */
+	protected abstract byte phase1Action(SDGEdge.Kind kind);
+
+	/**
+	 * @return one of SKIP, FOLLOW, OTHER or OTHER_IF_INTERPROC for edges of the given kind in phase 2;
+	 * omitted and non-SDG edges are skipped without asking
+	 */
+	protected abstract byte phase2Action(SDGEdge.Kind kind);
+}
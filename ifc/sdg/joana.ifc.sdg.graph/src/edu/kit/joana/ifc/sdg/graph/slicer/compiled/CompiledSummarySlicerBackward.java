@@ -0,0 +1,52 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.Set;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+
+/**
+ * Backward variant of {@link CompiledSummarySlicer},
+ * equivalent to {@link edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerBackward}.
+ */
+public class CompiledSummarySlicerBackward extends CompiledSummarySlicer {
+
+	public CompiledSummarySlicerBackward(CompiledSDG graph, Set<SDGEdge.Kind> omit) {
+		super(graph, omit);
+	}
+
+	public CompiledSummarySlicerBackward(CompiledSDG graph) {
+		super(graph);
+	}
+
+	protected CompiledSDG.Adjacency edgesToTraverse() {
+		return g.incoming();
+	}
+
+	protected byte phase1Action(SDGEdge.Kind kind) {
+		return kind == SDGEdge.Kind.PARAMETER_OUT ? OTHER : FOLLOW;
+	}
+
+	protected byte phase2Action(SDGEdge.Kind kind) {
+		switch (kind) {
+		case INTERFERENCE:
+			return OTHER;
+		case DATA_DEP:
+		case DATA_HEAP:
+		case DATA_ALIAS:
+			return OTHER_IF_INTERPROC;
+		case PARAMETER_IN:
+		case CALL:
+			return SKIP;
+		default:
+			return FOLLOW;
+		}
+	}
+}
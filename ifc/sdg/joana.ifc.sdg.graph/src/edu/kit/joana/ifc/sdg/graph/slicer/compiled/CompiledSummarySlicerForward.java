@@ -0,0 +1,51 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.Set;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+
+/**
+ * Forward variant of {@link CompiledSummarySlicer},
+ * equivalent to {@link edu.kit.joana.ifc.sdg.graph.slicer.SummarySlicerForward}.
+ */
+public class CompiledSummarySlicerForward extends CompiledSummarySlicer {
+
+	public CompiledSummarySlicerForward(CompiledSDG graph, Set<SDGEdge.Kind> omit) {
+		super(graph, omit);
+	}
+
+	public CompiledSummarySlicerForward(CompiledSDG graph) {
+		super(graph);
+	}
+
+	protected CompiledSDG.Adjacency edgesToTraverse() {
+		return g.outgoing();
+	}
+
+	protected byte phase1Action(SDGEdge.Kind kind) {
+		return (kind == SDGEdge.Kind.PARAMETER_IN || kind == SDGEdge.Kind.CALL) ? OTHER : FOLLOW;
+	}
+
+	protected byte phase2Action(SDGEdge.Kind kind) {
+		switch (kind) {
+		case INTERFERENCE:
+			return OTHER;
+		case DATA_DEP:
+		case DATA_HEAP:
+		case DATA_ALIAS:
+			return OTHER_IF_INTERPROC;
+		case PARAMETER_OUT:
+			return SKIP;
+		default:
+			return FOLLOW;
+		}
+	}
+}
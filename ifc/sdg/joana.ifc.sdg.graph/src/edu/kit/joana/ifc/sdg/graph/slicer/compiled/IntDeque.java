@@ -0,0 +1,60 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.Arrays;
+
+/**
+ * A growable ring buffer of ints, used as worklist by the compiled slicers.
+ * Polling follows the order of the LinkedList worklists of the SDG-based slicers.
+ */
+final class IntDeque {
+	private int[] elems;
+	private int head;
+	private int size;
+
+	IntDeque(int capacity) {
+		elems = new int[Math.max(16, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1)];
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void addLast(int e) {
+		if (size == elems.length) grow();
+		elems[(head + size) & (elems.length - 1)] = e;
+		size++;
+	}
+
+	void addFirst(int e) {
+		if (size == elems.length) grow();
+		head = (head - 1) & (elems.length - 1);
+		elems[head] = e;
+		size++;
+	}
+
+	void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	int poll() {
+		final int e = elems[head];
+		head = (head + 1) & (elems.length - 1);
+		size--;
+		return e;
+	}
+
+	private void grow() {
+		final int[] larger = Arrays.copyOf(elems, elems.length << 1);
+		// move the wrapped-around prefix behind the old end
+		System.arraycopy(elems, 0, larger, elems.length, head);
+		elems = larger;
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+
+/**
+ * The result of slicing a batch of criteria: records for every criterion which of a given list of
+ * target nodes are contained in its slice. For a forward slicer with sources as criteria and sinks
+ * as targets, this is the source&times;sink matrix of possible flows; for a backward slicer with sinks
+ * as criteria and sources as targets, the sink&times;source matrix.
+ *
+ * @see BitParallelSummarySlicer#reachability(List, List)
+ */
+public final class ReachabilityMatrix {
+
+	private final List<SDGNode> criteria;
+	private final List<SDGNode> targets;
+	/** criterion index -> bits of the reached targets, one row of wordsPerRow words per criterion */
+	private final long[] bits;
+	private final int wordsPerRow;
+
+	ReachabilityMatrix(List<SDGNode> criteria, List<SDGNode> targets) {
+		this.criteria = Collections.unmodifiableList(criteria);
+		this.targets = Collections.unmodifiableList(targets);
+		this.wordsPerRow = (targets.size() + 63) >>> 6;
+		this.bits = new long[criteria.size() * wordsPerRow];
+	}
+
+	void set(int criterion, int target) {
+		bits[criterion * wordsPerRow + (target >>> 6)] |= 1L << target;
+	}
+
+	public List<SDGNode> getCriteria() {
+		return criteria;
+	}
+
+	public List<SDGNode> getTargets() {
+		return targets;
+	}
+
+	/**
+	 * @return true iff the target with the given index is contained in the slice of the criterion with the given index
+	 */
+	public boolean reaches(int criterion, int target) {
+		if (target < 0 || target >= targets.size()) {
+			throw new IndexOutOfBoundsException("target " + target);
+		}
+		return (bits[criterion * wordsPerRow + (target >>> 6)] & (1L << target)) != 0;
+	}
+
+	/**
+	 * @return the indices of the targets contained in the slice of the criterion with the given index
+	 */
+	public BitSet targetsOf(int criterion) {
+		if (criterion < 0 || criterion >= criteria.size()) {
+			throw new IndexOutOfBoundsException("criterion " + criterion);
+		}
+		final long[] row = new long[wordsPerRow];
+		System.arraycopy(bits, criterion * wordsPerRow, row, 0, wordsPerRow);
+		return BitSet.valueOf(row);
+	}
+
+	/**
+	 * @return the indices of the criteria whose slices contain the target with the given index
+	 */
+	public BitSet criteriaOf(int target) {
+		final BitSet ret = new BitSet(criteria.size());
+		for (int c = 0; c < criteria.size(); c++) {
+			if (reaches(c, target)) {
+				ret.set(c);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @return the number of (criterion, target) pairs in the matrix where the criterion reaches the target
+	 */
+	public int cardinality() {
+		int ret = 0;
+		for (long w : bits) {
+			ret += Long.bitCount(w);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.compiled;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import gnu.trove.list.array.TIntArrayList;
+
+/**
+ * The mutable state of one slice on a {@link CompiledSDG}: a mark per node, the worklists, and the
+ * list of visited rows. A workspace can be reused for any number of slices on graphs of the same size;
+ * resetting it only touches the rows visited by the previous slice.
+ *
+ * A workspace must not be used by several threads at once.
+ */
+public final class SliceWorkspace {
+
+	static final byte UNVISITED = 0;
+
+	final byte[] mark;
+	final IntDeque worklist = new IntDeque(64);
+	final IntDeque nextWorklist = new IntDeque(64);
+	private final TIntArrayList visited = new TIntArrayList();
+
+	public SliceWorkspace(CompiledSDG g) {
+		this(g.numberOfNodes());
+	}
+
+	public SliceWorkspace(int numberOfNodes) {
+		this.mark = new byte[numberOfNodes];
+	}
+
+	/**
+	 * Forgets the previous slice.
+	 */
+	void reset(CompiledSDG g) {
+		if (mark.length != g.numberOfNodes()) {
+			throw new IllegalArgumentException("Workspace for " + mark.length + " nodes used on a graph with "
+					+ g.numberOfNodes() + " nodes.");
+		}
+		for (int i = 0; i < visited.size(); i++) {
+			mark[visited.getQuick(i)] = UNVISITED;
+		}
+		visited.resetQuick();
+		worklist.clear();
+		nextWorklist.clear();
+	}
+
+	/**
+	 * Marks the given row, recording it as visited if it was not marked before.
+	 */
+	void mark(int row, byte m) {
+		if (mark[row] == UNVISITED) {
+			visited.add(row);
+		}
+		mark[row] = m;
+	}
+
+	/**
+	 * @return the number of rows in the slice
+	 */
+	public int size() {
+		return visited.size();
+	}
+
+	/**
+	 * @return the i-th row of the slice, in the order in which the rows were reached
+	 */
+	public int get(int i) {
+		return visited.get(i);
+	}
+
+	public boolean contains(int row) {
+		return mark[row] != UNVISITED;
+	}
+
+	/**
+	 * @return the rows of the slice in ascending order
+	 */
+	public int[] toSortedArray() {
+		final int[] rows = visited.toArray();
+		Arrays.sort(rows);
+		return rows;
+	}
+
+	public BitSet toBitSet() {
+		final BitSet rows = new BitSet(mark.length);
+		for (int i = 0; i < visited.size(); i++) {
+			rows.set(visited.getQuick(i));
+		}
+		return rows;
+	}
+}
@@ -7,6 +7,7 @@
  */
 package edu.kit.joana.ifc.sdg.graph.slicer.conc;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,6 +38,11 @@ public abstract class CFGSlicer {
     protected CFG g;
     private Set<SDGEdge.Kind> omittedEdges = new HashSet<SDGEdge.Kind>();
 
+    /* the phase in which each node was reached, indexed by node ID - marksOffset.
+     * Kept per slicer instead of in SDGNode.customData, so that several slicers may slice the same graph at once. */
+    private Phase[] marks = new Phase[0];
+    private int marksOffset = 0;
+
     protected abstract Iterable<SDGEdge> edgesToTraverse(SDGNode node);
 
     protected abstract SDGNode reachedNode(SDGEdge edge);
@@ -68,12 +74,36 @@ public abstract class CFGSlicer {
     	return slice(Collections.singleton(c));
     }
 
-    private static void slice_put(SDGNode n, Phase phase) {
-    	n.customData = phase;
+    private void slice_put(SDGNode n, Phase phase) {
+    	marks[n.getId() - marksOffset] = phase;
     }
     
-    private static Phase slice_get(SDGNode n) {
-    	return (Phase) n.customData;
+    private Phase slice_get(SDGNode n) {
+    	return marks[n.getId() - marksOffset];
+    }
+
+    private void resetMarks(Collection<SDGNode> c) {
+    	int min = Integer.MAX_VALUE;
+    	int max = Integer.MIN_VALUE;
+    	for (SDGNode n : g.vertexSet()) {
+    		min = Math.min(min, n.getId());
+    		max = Math.max(max, n.getId());
+    	}
+    	for (SDGNode n : c) {
+    		min = Math.min(min, n.getId());
+    		max = Math.max(max, n.getId());
+    	}
+    	if (min > max) {
+    		min = max = 0;
+    	}
+
+    	final int size = max - min + 1;
+    	if (marks.length < size) {
+    		marks = new Phase[size];
+    	} else {
+    		Arrays.fill(marks, 0, size, null);
+    	}
+    	marksOffset = min;
     }
     
     public Collection<SDGNode> slice(Collection<SDGNode> c) {
@@ -85,9 +115,7 @@ public abstract class CFGSlicer {
         boolean assertionEnabled = false;
         assert (assertionEnabled = true);
 
-        for (SDGNode n : g.vertexSet()) {
-        	slice_put(n, null);
-        }
+        resetMarks(c);
         
         worklist.addAll(c);
 
@@ -155,7 +183,7 @@ public abstract class CFGSlicer {
 		final Set<SDGNode> result =
 				g.vertexSet()
 				 .stream()
-				 .filter(n -> n.customData != null)
+				 .filter(n -> slice_get(n) != null)
 				 .collect(Collectors.toSet());
 		
 		assert slice.keySet().equals(result);
@@ -9,6 +9,7 @@ package edu.kit.joana.ifc.sdg.graph.slicer.conc;
 
 import java.util.Collection;
 
+import edu.kit.joana.ifc.sdg.graph.EdgeOverlay;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
@@ -21,11 +22,29 @@ import edu.kit.joana.ifc.sdg.graph.SDGNode;
  */
 public class I2PBackward extends Iterative2PhaseSlicer {
 
+    /** additional edges to traverse, or null */
+    private final EdgeOverlay overlay;
+
     public I2PBackward(SDG g) {
+        this(g, null);
+    }
+
+    /**
+     * Creates a slicer which also traverses the edges of the given overlay,
+     * as long as it slices the graph the overlay lies upon.
+     */
+    public I2PBackward(SDG g, EdgeOverlay overlay) {
         super(g);
+        if (overlay != null && overlay.getBase() != g) {
+            throw new IllegalArgumentException("overlay does not belong to the given graph");
+        }
+        this.overlay = overlay;
     }
 
     protected Collection<SDGEdge> edgesToTraverse(SDGNode node) {
+        if (overlay != null && overlay.getBase() == g) {
+            return overlay.incomingEdgesOf(node);
+        }
         return this.g.incomingEdgesOf(node);
     }
 
@@ -7,9 +7,9 @@
  */
 package edu.kit.joana.ifc.sdg.graph.slicer.conc.krinke;
 
-import java.util.HashMap;
-
 import edu.kit.joana.ifc.sdg.graph.slicer.graph.Context;
+import gnu.trove.map.hash.TLongByteHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
 
 /** A cache for optimising the reachability computations.
  * After the reachability of two contexts is computed, the result together with
@@ -20,17 +20,49 @@ import edu.kit.joana.ifc.sdg.graph.slicer.graph.Context;
  * of the same thread and with incoming or outgoing interference edges, the cache will
  * usually be of maintainable size.
  *
+ * The contexts are interned: each context gets a dense int ID the first time it is added,
+ * and the results are stored under the pair of IDs of source and target, so neither a
+ * lookup nor an addition allocates a key object. The cache may be kept over several
+ * slices of the same graph. Once it holds <tt>capacity</tt> results it is cleared.
+ *
+ * The cache is not thread-safe: even a lookup may not run concurrently with an addition,
+ * so a cache, and all checkers sharing it, may only be used by one thread at a time.
  *
  * @author Dennis Giffhorn
  * @version 1.0
  */
 public class ReachabilityCache<C extends Context<C>> {
-    private final HashMap<Key<C>, Boolean> cache;
+    /** The default maximal number of cached results. */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
 
-    /** Creates a new empty ReachabilityCache.
+    private static final int NO_ID = -1;
+    private static final byte NOT_REACHING = 0;
+    private static final byte REACHING = 1;
+    private static final byte UNKNOWN = -1;
+
+    private final int capacity;
+    /** the interned contexts and their IDs */
+    private final TObjectIntHashMap<C> ids;
+    /** the results, keyed by the IDs of source and target context */
+    private final TLongByteHashMap cache;
+
+    /** Creates a new empty ReachabilityCache with the default capacity.
      */
     public ReachabilityCache(){
-        cache = new HashMap<Key<C>, Boolean>();
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Creates a new empty ReachabilityCache.
+     *
+     * @param capacity  The maximal number of cached results.
+     */
+    public ReachabilityCache(int capacity){
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.ids = new TObjectIntHashMap<C>(16, 0.5f, NO_ID);
+        this.cache = new TLongByteHashMap(16, 0.5f, 0L, UNKNOWN);
     }
 
     /** Adds a reachability computation's result to the cache.
@@ -40,7 +72,10 @@ public class ReachabilityCache<C extends Context<C>> {
      * @param result   Its result.
      */
     public void add(C from, C to, boolean result){
-        cache.put(new Key<C>(from, to), result);
+        if (cache.size() >= capacity) {
+            clear();
+        }
+        cache.put(key(intern(from), intern(to)), result ? REACHING : NOT_REACHING);
     }
 
     /** Checks whether the cache contains a reachability result for a given pair of contexts.
@@ -49,66 +84,57 @@ public class ReachabilityCache<C extends Context<C>> {
      * @param to  The target context in the computation.
      */
     public boolean contains(C from, C to){
-        return cache.containsKey(new Key<C>(from, to));
+        return lookup(from, to) != UNKNOWN;
     }
 
     /** Returns the cached result of a certain reachability computation.
      *
      * @param from  The source context in the computation.
      * @param to  The target context in the computation.
+     * @return  The cached result, false if no result is cached.
      */
     public boolean isReaching(C from, C to) {
-        return cache.get(new Key<C>(from, to));
+        return lookup(from, to) == REACHING;
     }
 
+    /** Removes all cached results and interned contexts.
+     */
+    public void clear() {
+        ids.clear();
+        cache.clear();
+    }
 
-
-    /** A Key for the used HashMap.
-     * Contains two Contexts, the start and the target of a reachability analysis.
+    /** Returns the number of cached results.
      */
-    static class Key<C> {
-        private final C from;
-        private final C to;
+    public int size() {
+        return cache.size();
+    }
 
-        /** Creates a new Key for two Contexts.
-         * @param f  Context one.
-         * @param t  Context two.
-         */
-        Key(C f, C t) {
-            from = f;
-            to = t;
+    private byte lookup(C from, C to) {
+        final int f = ids.get(from);
+        if (f == NO_ID) {
+            return UNKNOWN;
         }
-
-        /** Returns the start Context.
-         * @return  A Context.
-         */
-        C from() {
-            return from;
+        final int t = ids.get(to);
+        if (t == NO_ID) {
+            return UNKNOWN;
         }
+        return cache.get(key(f, t));
+    }
 
-        /** Returns the target Context.
-         * @return  A Context.
-         */
-        C to() {
-            return to;
+    /** Returns the ID of the given context, the context is interned if it has none yet.
+     * Contexts are mutable, so a copy is interned.
+     */
+    private int intern(C c) {
+        int id = ids.get(c);
+        if (id == NO_ID) {
+            id = ids.size();
+            ids.put(c.copy(), id);
         }
+        return id;
+    }
 
-		public boolean equals(Object o) {
-			if (this == o) {
-				return true;
-			}
-
-			else if (!(o instanceof Key)) {
-				return false;
-			}
-
-			@SuppressWarnings("unchecked")
-			Key<C> k = (Key<C>) o;
-			return from.equals(k.from) && to.equals(k.to);
-		}
-
-        public int hashCode() {
-        	return from.hashCode() | (to.hashCode() << 16);
-        }
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xffffffffL);
     }
 }
@@ -36,7 +36,18 @@ public class ReachabilityChecker {
      * @param folded_icfg  A folded version of the ICFG.
      */
     public ReachabilityChecker(FoldedCFG foldedIcfg) {
-        this.cache = new ReachabilityCache<>();
+        this(foldedIcfg, new ReachabilityCache<DynamicContext>());
+    }
+
+    /** Creates a new instance of ReachabilityChecker that uses the given cache.
+     * The cache may be shared by all checkers that work on the same folded ICFG,
+     * as long as they are used by one thread at a time, see {@link ReachabilityCache}.
+     *
+     * @param foldedIcfg  A folded version of the ICFG.
+     * @param cache  The cache for already tested reachabilities.
+     */
+    public ReachabilityChecker(FoldedCFG foldedIcfg, ReachabilityCache<DynamicContext> cache) {
+        this.cache = cache;
         this.foldedIcfg = foldedIcfg;
     }
 
@@ -64,15 +75,17 @@ public class ReachabilityChecker {
 
         // first, check cache
         // if not cached, traverse ICFG
-        if (cache.contains(source, target) && cache.isReaching(source, target)) {
-            return true;
+        if (cache.contains(source, target)) {
+            return cache.isReaching(source, target);
 
         } else {
         	DynamicContext context_copy = source.copy();
 
             // traverse graph to see if context reaches target
             // save result in cache
-            return reachable(context_copy, target);
+            boolean result = reachable(context_copy, target);
+            cache.add(source, target, result);
+            return result;
         }
     }
 
@@ -22,6 +22,7 @@ import org.jgrapht.traverse.DepthFirstIterator;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
+import edu.kit.joana.ifc.sdg.graph.EdgeOverlay;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
@@ -36,15 +37,32 @@ public class NandaBackward implements NandaMode {
 	private ContextGraphs contextGraphs;
 	private MHPAnalysis mhp;
 	private SDG graph;
+	/** additional edges to traverse, or null */
+	private final EdgeOverlay overlay;
+
+	public NandaBackward() {
+		this(null);
+	}
+
+	/**
+	 * Creates a backward mode which also traverses the edges of the given overlay.
+	 * The slicer using this mode has to work on the graph the overlay lies upon.
+	 */
+	public NandaBackward(EdgeOverlay overlay) {
+		this.overlay = overlay;
+	}
 
 	public void init(ContextGraphs contextGraphs, MHPAnalysis mhp, SDG graph) {
+		if (overlay != null && graph != null && overlay.getBase() != graph) {
+			throw new IllegalArgumentException("overlay does not belong to the given graph");
+		}
 		this.contextGraphs = contextGraphs;
 		this.mhp = mhp;
 		this.graph = graph;
 	}
 
     public SummarySlicer initSummarySlicer(SDG g) {
-        return new SummarySlicer.Backward(g);
+        return new SummarySlicer.Backward(g, overlay);
     }
 
 	@Override
@@ -138,6 +156,9 @@ public class NandaBackward implements NandaMode {
     }
 
     public Collection<SDGEdge> getEdges(SDGNode node) {
+		if (overlay != null) {
+			return overlay.incomingEdgesOf(node);
+		}
 		return graph.incomingEdgesOf(node);
 	}
 
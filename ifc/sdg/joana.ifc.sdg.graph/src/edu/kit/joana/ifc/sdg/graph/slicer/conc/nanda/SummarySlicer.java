@@ -12,6 +12,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
 
+import edu.kit.joana.ifc.sdg.graph.EdgeOverlay;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
@@ -53,12 +54,30 @@ public abstract class SummarySlicer {
     public abstract Collection<SDGNode> slice(Collection<SDGNode> criteria, Set<SDGNode> slice);
 
     static class Backward extends SummarySlicer {
+        /** additional edges to traverse, or null */
+        private final EdgeOverlay overlay;
 
         /** Creates a new instance of SummarySlicer.
          * @param graph  The graph to slice.
          */
         public Backward(SDG graph) {
+            this(graph, null);
+        }
+
+        /** Creates a new instance of SummarySlicer which also traverses the edges of the given overlay.
+         * @param graph  The graph to slice.
+         * @param overlay  Additional edges on top of the graph, or null.
+         */
+        public Backward(SDG graph, EdgeOverlay overlay) {
             super(graph);
+            this.overlay = overlay;
+        }
+
+        private Collection<SDGEdge> incomingEdgesOf(SDGNode node) {
+            if (overlay != null) {
+                return overlay.incomingEdgesOf(node);
+            }
+            return g.incomingEdgesOf(node);
         }
 
         /** Sets a new graph to slice.
@@ -94,7 +113,7 @@ public abstract class SummarySlicer {
             while (!worklist.isEmpty()) {
                 SDGNode w = worklist.poll();
 
-                for (SDGEdge e : g.incomingEdgesOf(w)) {
+                for (SDGEdge e : incomingEdgesOf(w)) {
                     // omitted edges are interference, fork, and fork-in edges
                     if (omittedEdges.contains(e.getKind())) {
                         // add node to interfering-set
@@ -130,7 +149,7 @@ public abstract class SummarySlicer {
             while (!nextWorklist.isEmpty()) {
                 SDGNode w = nextWorklist.poll();
 
-                for (SDGEdge e : g.incomingEdgesOf(w)) {
+                for (SDGEdge e : incomingEdgesOf(w)) {
                     // omitted edges are interference, fork, and fork-in edges
                     if (omittedEdges.contains(e.getKind())) {
                         // add node to interfering-set
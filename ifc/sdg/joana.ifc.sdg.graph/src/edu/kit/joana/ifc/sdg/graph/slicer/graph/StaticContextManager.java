@@ -10,6 +10,7 @@ package edu.kit.joana.ifc.sdg.graph.slicer.graph;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.kit.joana.ifc.sdg.graph.PDGs;
 import edu.kit.joana.ifc.sdg.graph.SDG;
@@ -28,29 +29,40 @@ import gnu.trove.set.hash.THashSet;
 
 public class StaticContextManager implements ContextManager<StaticContextManager.StaticContext> {
 
-	/* the context class */
+	/** The maximal number of contexts the call strings of a manager keep, further contexts are created on each request. */
+	public static final int MAX_CACHED_CONTEXTS = 1 << 20;
+
+	/* the context class
+	 * Static contexts are immutable and hash-consed: each call string creates the contexts of its
+	 * nodes once, so copying a context or moving it to another node or call string returns an
+	 * existing object if there is one. Once a manager keeps MAX_CACHED_CONTEXTS contexts, new ones
+	 * are not kept any more, so equal contexts are not necessarily identical. */
 	public static class StaticContext extends Context<StaticContext> {
 
-		protected CallString stack;
+		protected final CallString stack;
+		private final int hash;
 
 		StaticContext(SDGNode n, CallString s, int t) {
 			super(n,t);
 			if (s == null) throw new RuntimeException("null call string for node "+n+" in proc "+n.getProc()+" in thread "+t);
 			stack = s;
+			hash = 31 * s.id + n.getId();
 		}
 
 		private StaticContext(SDGNode n, CallString s) {
-			super(n, n.getThreadNumbers()[0]);
-			if (s == null) throw new RuntimeException("null call string for node "+n+" in proc "+n.getProc());
-			stack = s;
+			this(n, s, n.getThreadNumbers()[0]);
 		}
 
 		public StaticContext copy() {
-			return new StaticContext(node, stack, thread);
+			// contexts are immutable
+			return this;
 		}
 		
 		public StaticContext copyWithNewNode(SDGNode newNode) {
-			return new StaticContext(newNode, stack, thread);
+			if (newNode == node) {
+				return this;
+			}
+			return stack.context(newNode, thread);
 		}
 
 		
@@ -60,10 +72,7 @@ public class StaticContextManager implements ContextManager<StaticContextManager
 		 */
 		@Override
 		public int hashCode() {
-			final int prime = 31;
-			int result = 1;
-			result = prime * result + ((stack == null) ? 0 : stack.hashCode());
-			return result;
+			return hash;
 		}
 
 		/* (non-Javadoc)
@@ -109,7 +118,7 @@ public class StaticContextManager implements ContextManager<StaticContextManager
 	            return node;
 
 	        } else {
-	            return stack.calls.get(index -1);
+	            return stack.callArray[index -1];
 	        }
 	    }
 
@@ -144,15 +153,18 @@ public class StaticContextManager implements ContextManager<StaticContextManager
 
 		public StaticContext descend(SDGNode reachedNode, SDGNodeTuple callSite) {
 	        CallString called = this.stack.desc.get(callSite);
-	        StaticContext down = new StaticContext(reachedNode, called, thread);
-	        return down;
+	        if (called == null) {
+	        	// fails with a descriptive message
+	        	return new StaticContext(reachedNode, called, thread);
+	        }
+	        return called.context(reachedNode, thread);
         }
 
 		public StaticContext ascend(SDGNode reachedNode, SDGNodeTuple callSite) {
         	CallString caller = stack.asc.get(callSite);
         	if (caller != null) {
         		// if caller == null, the reached procedure has no other calling context
-        		StaticContext up = new StaticContext(reachedNode, caller, thread);
+        		StaticContext up = caller.context(reachedNode, thread);
 //		            verify(up);
 	            return up;
         	}
@@ -177,16 +189,91 @@ public class StaticContextManager implements ContextManager<StaticContextManager
 
 
 
-	/* the call-string class */
+	/* the call-string class
+	 * The call strings form a graph connected by call edges, each call string exists only once.
+	 * The contexts of a call string are kept in an open-addressing table. Contexts only have final
+	 * fields, so the table is read without locking; only a miss locks the call string. */
 	static class CallString {
+		private static final int INITIAL_CONTEXTS = 8;
+
+		private final int id;
 		private final LinkedList<SDGNode> calls;
+		private final SDGNode[] callArray;
 		private final THashMap<SDGNodeTuple, CallString> asc;  // call edge -> call string
 		private final THashMap<SDGNodeTuple, CallString> desc; // call edge -> call string
-
-		CallString (LinkedList<SDGNode> stack) {
+		/** number of contexts all call strings of the manager may still keep */
+		private final AtomicInteger budget;
+		/** the contexts, a table is replaced by a larger one instead of being modified when it gets full */
+		private volatile StaticContext[] contexts = new StaticContext[INITIAL_CONTEXTS];
+		private int size = 0; // guarded by this
+
+		CallString (LinkedList<SDGNode> stack, int id, AtomicInteger budget) {
+			this.id = id;
 			calls = stack;
+			callArray = stack.toArray(new SDGNode[stack.size()]);
 			asc = new THashMap<SDGNodeTuple, CallString>();
 			desc = new THashMap<SDGNodeTuple, CallString>();
+			this.budget = budget;
+		}
+
+		/** Returns the context of the given node in the given thread with this call string,
+		 * which is created on first request. */
+		private StaticContext context(SDGNode n, int thread) {
+			final StaticContext c = find(contexts, n, thread);
+			return c != null ? c : add(n, thread);
+		}
+
+		private synchronized StaticContext add(SDGNode n, int thread) {
+			StaticContext[] table = contexts;
+			StaticContext c = find(table, n, thread);
+			if (c != null) {
+				return c;
+			}
+			c = new StaticContext(n, this, thread);
+			if (budget.get() <= 0) {
+				return c;
+			}
+			budget.decrementAndGet();
+
+			if (2 * (size + 1) > table.length) {
+				final StaticContext[] larger = new StaticContext[2 * table.length];
+				for (StaticContext old : table) {
+					if (old != null) {
+						larger[slot(larger, old.node, old.thread)] = old;
+					}
+				}
+				table = larger;
+			}
+			table[slot(table, n, thread)] = c;
+			size++;
+			// publishes the new context, also if the table is not replaced
+			contexts = table;
+			return c;
+		}
+
+		private static StaticContext find(StaticContext[] table, SDGNode n, int thread) {
+			final int mask = table.length - 1;
+			for (int i = hash(n, thread) & mask; ; i = (i + 1) & mask) {
+				final StaticContext c = table[i];
+				if (c == null || (c.node == n && c.thread == thread)) {
+					return c;
+				}
+			}
+		}
+
+		/** Returns the free slot for the given node and thread, which are not in the table. */
+		private static int slot(StaticContext[] table, SDGNode n, int thread) {
+			final int mask = table.length - 1;
+			int i = hash(n, thread) & mask;
+			while (table[i] != null) {
+				i = (i + 1) & mask;
+			}
+			return i;
+		}
+
+		private static int hash(SDGNode n, int thread) {
+			final int h = (n.getId() * 31 + thread) * 0x9e3779b9;
+			return h ^ (h >>> 16);
 		}
 
 		private SDGNode peek() {
@@ -212,6 +299,7 @@ public class StaticContextManager implements ContextManager<StaticContextManager
 		private final TIntObjectHashMap<TIntObjectHashMap<LinkedList<CallString>>> map;
 		private final THashMap<LinkedList<SDGNode>, CallString> unique;
 		private final THashMap<DynamicContext, CallString> cons;
+		private final AtomicInteger budget = new AtomicInteger(MAX_CACHED_CONTEXTS);
 
 		private ContextCreator(SDG g, CallGraph c, FoldedCallGraph fc) {
 			this.g = g;
@@ -252,7 +340,7 @@ public class StaticContextManager implements ContextManager<StaticContextManager
 
 				// update the unique call strings map
 				if (s == null) {
-					s = new CallString(c.getCallStack());
+					s = new CallString(c.getCallStack(), unique.size(), budget);
 					unique.put(c.getCallStack(), s);
 				}
 
@@ -355,8 +443,7 @@ public class StaticContextManager implements ContextManager<StaticContextManager
 		LinkedList<CallString> l = procsThreadsCallStrings.get(node.getProc()).get(thread);
 
 		for (CallString s : l) {
-			StaticContext newContext = new StaticContext(node, s, thread);
-			result.add(newContext);
+			result.add(s.context(node, thread));
 		}
 
 		return result;
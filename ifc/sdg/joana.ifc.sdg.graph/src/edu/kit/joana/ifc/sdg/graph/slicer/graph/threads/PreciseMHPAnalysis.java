@@ -22,9 +22,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.ibm.wala.util.intset.BitVectorIntSet;
 import com.ibm.wala.util.intset.EmptyIntSet;
 import com.ibm.wala.util.intset.IntIterator;
@@ -57,6 +58,9 @@ import edu.kit.joana.util.collections.SimpleVectorBase;
 public class PreciseMHPAnalysis implements MHPAnalysis {
 
 	private static final Logger debug = Log.getLogger(Log.L_MHP_DEBUG);
+
+	/** up to this number of thread regions, their parallelism is computed as a matrix of regions, not of start nodes */
+	private static final int MAX_REGIONS_FOR_REGION_MATRIX = 100;
 	
     private final ThreadsInformation info;
     private final IBitMatrix<ThreadRegion> threadRegionMap;
@@ -258,9 +262,37 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
      */
 
     public static PreciseMHPAnalysis analyze(SDG sdg) {
+        return analyze(sdg, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Needs a pre-processed cSDG.
+     * The parallelism induced by the different fork nodes is computed by the given number of worker threads.
+     *
+     * @param sdg
+     * @param parallelism the number of worker threads
+     * @return
+     */
+    public static PreciseMHPAnalysis analyze(SDG sdg, int parallelism) {
+        return analyze(sdg, parallelism, false);
+    }
+
+    /** Needs a pre-processed cSDG.
+     * The parallelism induced by the different fork nodes is computed by the given number of worker threads.
+     * Usually, the parallelism of thread regions is only computed via the parallelism of their start nodes
+     * for more than {@value #MAX_REGIONS_FOR_REGION_MATRIX} thread regions.
+     *
+     * @param sdg
+     * @param parallelism the number of worker threads
+     * @param startNodesOnly compute the parallelism via the start nodes however many thread regions there are
+     * @return
+     */
+    public static PreciseMHPAnalysis analyze(SDG sdg, int parallelism, boolean startNodesOnly) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
         ThreadsInformation info = sdg.getThreadsInfo();
         CFG icfg = ICFGBuilder.extractICFG(sdg);
-        PreciseMHPAnalysis tr = analyze(icfg, info);
+        PreciseMHPAnalysis tr = analyze(icfg, info, parallelism, startNodesOnly ? 0 : MAX_REGIONS_FOR_REGION_MATRIX);
 
         return tr;
     }
@@ -307,12 +339,13 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
      * @return
      */
 
-	private static PreciseMHPAnalysis analyze(CFG icfg, ThreadsInformation info) {
+	private static PreciseMHPAnalysis analyze(CFG icfg, ThreadsInformation info, int parallelism,
+			int maxRegionsForRegionMatrix) {
 		final Logger log = Log.getLogger(Log.L_MHP_INFO);
         log.outln("Compute Thread Regions ...");
         ThreadRegions tr = ThreadRegions.createPreciseThreadRegions(icfg, info);
 //        if (DEBUG) System.out.println(tr);
-        MHPComputation mhp = new MHPComputation(icfg, info, tr);
+        MHPComputation mhp = new MHPComputation(icfg, info, tr, parallelism, maxRegionsForRegionMatrix);
     	PreciseMHPAnalysis result = mhp.getMHPMap();
 
     	return result;
@@ -383,11 +416,16 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
         private LinkedList<DynamicContext> forks;
         private HashMap<DynamicContext, IntSet> indirectForks;
         private final CFGJoinSensitiveForward slicer;
+        private final int parallelism;
+        private final int maxRegionsForRegionMatrix;
 
-        private MHPComputation (CFG icfg, ThreadsInformation info, ThreadRegions tr) {
+        private MHPComputation (CFG icfg, ThreadsInformation info, ThreadRegions tr, int parallelism,
+        		int maxRegionsForRegionMatrix) {
             this.icfg = icfg;
             this.info = info;
             this.tr = tr;
+            this.parallelism = parallelism;
+            this.maxRegionsForRegionMatrix = maxRegionsForRegionMatrix;
             slicer = new CFGJoinSensitiveForward(icfg);
         }
 
@@ -399,15 +437,15 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
         	//debug.outln("compute join dominance");//("Indirect Forks:\n"+indirectForks);
         	//joinDominance = computeJoinDominance();
         	debug.outln("compute parallelism");//("Indirect Forks:\n"+indirectForks);
+        	final List<ForkParallelism> forkParallelism = computeForkParallelism();
         	
-        	
-        	if (tr.size() <= 100) {
+        	if (tr.size() <= maxRegionsForRegionMatrix) {
         		final SymmetricBitMatrix<ThreadRegion> threadRegionMap;
-        		threadRegionMap = computeThreadRegionParallelism();
+        		threadRegionMap = computeThreadRegionParallelism(forkParallelism);
         		assert isFunctionOfStartNodeAndDymanicityOnly(threadRegionMap);
         	
         		StartNodeBitMatrix threadRegionMapForStartNodes = null;
-        		assert IBitMatrix.equals(threadRegionMap, (threadRegionMapForStartNodes = computeThreadRegionParallelismForStartNodes()));
+        		assert IBitMatrix.equals(threadRegionMap, (threadRegionMapForStartNodes = computeThreadRegionParallelismForStartNodes(forkParallelism)));
 
         		computeThreadParallelism(threadRegionMap);
         		assert isFunctionOfStartNodeAndDymanicityOnly(threadRegionMap);
@@ -418,10 +456,10 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
         		this.threadRegionMap = threadRegionMap;
         	} else {
         		final StartNodeBitMatrix threadRegionMapForStartNodes;
-        		threadRegionMapForStartNodes = computeThreadRegionParallelismForStartNodes();
+        		threadRegionMapForStartNodes = computeThreadRegionParallelismForStartNodes(forkParallelism);
         	
         		SymmetricBitMatrix<ThreadRegion> threadRegionMap = null;
-        		assert IBitMatrix.equals(threadRegionMapForStartNodes, (threadRegionMap = computeThreadRegionParallelism()));
+        		assert IBitMatrix.equals(threadRegionMapForStartNodes, (threadRegionMap = computeThreadRegionParallelism(forkParallelism)));
 
 
         		computeThreadParallelismForStartNodes(threadRegionMapForStartNodes);
@@ -568,9 +606,33 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
         	return result;
         }
         
-        private SymmetricBitMatrix<ThreadRegion> computeThreadRegionParallelism() {
-            SymmetricBitMatrix<ThreadRegion> result = new SymmetricBitMatrix<>(tr.size());
+        /**
+         * The thread regions made parallel by the threads spawned at one fork node.
+         */
+        private static final class ForkParallelism {
+        	/** IDs of the regions of spawned threads that are parallel to the regions in either slice */
+        	private final IntSet spawnedSecondSlice;
+        	/** IDs of the regions of spawned threads that are parallel to the regions in the join slice only */
+        	private final IntSet spawnedJoinSlice;
+        	/** regions whose start node is in the join-sensitive slice from the fork */
+        	private final List<ThreadRegion> inBothSlices;
+        	/** regions whose start node is in the second slice from the fork only */
+        	private final List<ThreadRegion> inSecondSliceOnly;
+
+        	private ForkParallelism(IntSet spawnedSecondSlice, IntSet spawnedJoinSlice,
+        			List<ThreadRegion> inBothSlices, List<ThreadRegion> inSecondSliceOnly) {
+        		this.spawnedSecondSlice = spawnedSecondSlice;
+        		this.spawnedJoinSlice = spawnedJoinSlice;
+        		this.inBothSlices = inBothSlices;
+        		this.inSecondSliceOnly = inSecondSliceOnly;
+        	}
+        }
 
+        /**
+         * Computes the parallelism induced by each fork node. The fork nodes are independent of each other and
+         * are processed by a pool of {@link #parallelism} workers, each with its own slicer.
+         */
+        private List<ForkParallelism> computeForkParallelism() {
             boolean assertionsEnabled = false;
             assert (assertionsEnabled = true);
 
@@ -620,114 +682,194 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
             		});
             	}
             }
-            	
-            
+
     		// process parallelism induced by forks
             debug.outln("parallelism through forks");
-            for (Entry<SDGNode, ThreadInstance> forkEntry : representantOfForkNode.entrySet()) {
-            	debug.out(".");
+            final List<SDGNode> forkNodes = new ArrayList<>(representantOfForkNode.keySet());
+            final ForkParallelism[] result = new ForkParallelism[forkNodes.size()];
+            final ForkTaskInput input = new ForkTaskInput(forkNodes, representantOfForkNode, representsSomeDynamic,
+            		representedThreads, result);
+
+            if (parallelism == 1 || forkNodes.size() <= 1) {
+            	for (int i = 0; i < forkNodes.size(); i++) {
+            		result[i] = computeForkParallelism(input, i, slicer);
+            	}
+            } else {
+            	final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            	try {
+            		pool.invoke(new ForkTask(input, 0, forkNodes.size()));
+            	} finally {
+            		pool.shutdown();
+            	}
+            }
+
+            return Arrays.asList(result);
+        }
 
-            	final ThreadInstance forkInstance = forkEntry.getValue();
-            	final SDGNode forkNode = forkEntry.getKey();
-            	final boolean someDynamic = representsSomeDynamic.get(forkNode);
-            	final IntSet represented = representedThreads.get(forkNode);
+        /**
+         * The data shared by all tasks of one run of {@link #computeForkParallelism()}.
+         */
+        private final class ForkTaskInput {
+        	private final List<SDGNode> forkNodes;
+        	private final Map<SDGNode, ThreadInstance> representantOfForkNode;
+        	private final Map<SDGNode, Boolean> representsSomeDynamic;
+        	private final Map<SDGNode, MutableIntSet> representedThreads;
+        	/** fork node index -> its parallelism; each slot is written by exactly one task */
+        	private final ForkParallelism[] result;
+        	/** slicers keep state while slicing, so every worker uses its own */
+        	private final ThreadLocal<CFGJoinSensitiveForward> slicers =
+        			ThreadLocal.withInitial(() -> new CFGJoinSensitiveForward(icfg));
+
+        	private ForkTaskInput(List<SDGNode> forkNodes, Map<SDGNode, ThreadInstance> representantOfForkNode,
+        			Map<SDGNode, Boolean> representsSomeDynamic, Map<SDGNode, MutableIntSet> representedThreads,
+        			ForkParallelism[] result) {
+        		this.forkNodes = forkNodes;
+        		this.representantOfForkNode = representantOfForkNode;
+        		this.representsSomeDynamic = representsSomeDynamic;
+        		this.representedThreads = representedThreads;
+        		this.result = result;
+        	}
+        }
 
-            	LinkedList<SDGNode> succ = new LinkedList<SDGNode>();
+        private final class ForkTask extends RecursiveAction {
 
-            	for (SDGEdge e : icfg.getOutgoingEdgesOfKindUnsafe(forkNode, SDGEdge.Kind.CONTROL_FLOW)) {
-            		succ.add(e.getTarget());
-            	}
+        	private static final long serialVersionUID = 1L;
 
+        	private final ForkTaskInput input;
+        	private final int from;
+        	private final int to;
 
-            	final IntSet spawnedThreadsSecondSlice;
-            	final IntSet spawnedThreadsJoinSlice;
-            	{
-            		IntSet spawnedThreadsSecondSliceTemp = EmptyIntSet.instance;
-            		IntSet spawnedThreadsJoinSliceTemp = EmptyIntSet.instance;
-            		// TODO: smarter enumeration. We should be able to simply create one "root" DynamicContext here
-            		for (DynamicContext fork : forks) {
-            			if (fork == null) continue;
-            			if (fork.getNode().equals(forkNode)) {
-            				final IntSet indirectForked = indirectForks.get(fork);
-            				if (someDynamic || represented.size() > 1) {
-            					spawnedThreadsSecondSliceTemp = spawnedThreadsSecondSliceTemp.union(indirectForked);
-            				} else if ( !represented.sameValue(indirectForked)) {
-            					assert represented.size() == 1;
-            					assert represented.contains(forkInstance.getId());
-            					assert !forkInstance.isDynamic();
-            					
-            					spawnedThreadsJoinSliceTemp   = spawnedThreadsJoinSliceTemp.union(represented);
-            					
-            					final MutableIntSet withoutForkInstance = new BitVectorIntSet(indirectForked);
-            					withoutForkInstance.remove(forkInstance.getId());
-            					spawnedThreadsSecondSliceTemp = spawnedThreadsSecondSliceTemp.union(withoutForkInstance);
-            				} else {
-            					spawnedThreadsJoinSliceTemp   = spawnedThreadsJoinSliceTemp.union(  indirectForked);
-            				}
+        	private ForkTask(ForkTaskInput input, int from, int to) {
+        		this.input = input;
+        		this.from = from;
+        		this.to = to;
+        	}
+
+        	@Override
+        	protected void compute() {
+        		if (to - from == 1) {
+        			input.result[from] = computeForkParallelism(input, from, input.slicers.get());
+        		} else {
+        			final int mid = (from + to) >>> 1;
+        			invokeAll(new ForkTask(input, from, mid), new ForkTask(input, mid, to));
+        		}
+        	}
+        }
+
+        private ForkParallelism computeForkParallelism(ForkTaskInput input, int i, CFGJoinSensitiveForward slicer) {
+            debug.out(".");
+
+            final SDGNode forkNode = input.forkNodes.get(i);
+            final ThreadInstance forkInstance = input.representantOfForkNode.get(forkNode);
+            final boolean someDynamic = input.representsSomeDynamic.get(forkNode);
+            final IntSet represented = input.representedThreads.get(forkNode);
+
+            LinkedList<SDGNode> succ = new LinkedList<SDGNode>();
+
+            for (SDGEdge e : icfg.getOutgoingEdgesOfKindUnsafe(forkNode, SDGEdge.Kind.CONTROL_FLOW)) {
+            	succ.add(e.getTarget());
+            }
+
+
+            final IntSet spawnedThreadsSecondSlice;
+            final IntSet spawnedThreadsJoinSlice;
+            {
+            	IntSet spawnedThreadsSecondSliceTemp = EmptyIntSet.instance;
+            	IntSet spawnedThreadsJoinSliceTemp = EmptyIntSet.instance;
+            	// TODO: smarter enumeration. We should be able to simply create one "root" DynamicContext here
+            	for (DynamicContext fork : forks) {
+            		if (fork == null) continue;
+            		if (fork.getNode().equals(forkNode)) {
+            			final IntSet indirectForked = indirectForks.get(fork);
+            			if (someDynamic || represented.size() > 1) {
+            				spawnedThreadsSecondSliceTemp = spawnedThreadsSecondSliceTemp.union(indirectForked);
+            			} else if ( !represented.sameValue(indirectForked)) {
+            				assert represented.size() == 1;
+            				assert represented.contains(forkInstance.getId());
+            				assert !forkInstance.isDynamic();
+            				
+            				spawnedThreadsJoinSliceTemp   = spawnedThreadsJoinSliceTemp.union(represented);
+            				
+            				final MutableIntSet withoutForkInstance = new BitVectorIntSet(indirectForked);
+            				withoutForkInstance.remove(forkInstance.getId());
+            				spawnedThreadsSecondSliceTemp = spawnedThreadsSecondSliceTemp.union(withoutForkInstance);
+            			} else {
+            				spawnedThreadsJoinSliceTemp   = spawnedThreadsJoinSliceTemp.union(  indirectForked);
             			}
             		}
-            		spawnedThreadsSecondSlice = spawnedThreadsSecondSliceTemp;
-            		spawnedThreadsJoinSlice   = spawnedThreadsJoinSliceTemp;
             	}
+            	spawnedThreadsSecondSlice = spawnedThreadsSecondSliceTemp;
+            	spawnedThreadsJoinSlice   = spawnedThreadsJoinSliceTemp;
+            }
 
 
-            	MutableIntSet spawnedThreadRegionsSecondSlice = new BitVectorIntSet();
-            	for (IntIterator it = spawnedThreadsSecondSlice.intIterator(); it.hasNext();) {
-            		final int pThreadId = it.next();
-            		for (ThreadRegion p : tr.getThreadRegionSet(pThreadId)) {
-            			spawnedThreadRegionsSecondSlice.add(p.getID());
-            		}
+            MutableIntSet spawnedThreadRegionsSecondSlice = new BitVectorIntSet();
+            for (IntIterator it = spawnedThreadsSecondSlice.intIterator(); it.hasNext();) {
+            	final int pThreadId = it.next();
+            	for (ThreadRegion p : tr.getThreadRegionSet(pThreadId)) {
+            		spawnedThreadRegionsSecondSlice.add(p.getID());
             	}
+            }
 
-            	MutableIntSet spawnedThreadRegionsJoinSlice = new BitVectorIntSet();
-            	for (IntIterator it = spawnedThreadsJoinSlice.intIterator(); it.hasNext();) {
-            		final int pThreadId = it.next();
-            		for (ThreadRegion p : tr.getThreadRegionSet(pThreadId)) {
-            			spawnedThreadRegionsJoinSlice.add(p.getID());
-            		}
+            MutableIntSet spawnedThreadRegionsJoinSlice = new BitVectorIntSet();
+            for (IntIterator it = spawnedThreadsJoinSlice.intIterator(); it.hasNext();) {
+            	final int pThreadId = it.next();
+            	for (ThreadRegion p : tr.getThreadRegionSet(pThreadId)) {
+            		spawnedThreadRegionsJoinSlice.add(p.getID());
             	}
-            	
-            	assert spawnedThreadRegionsSecondSlice.intersection(spawnedThreadRegionsJoinSlice).isEmpty();
+            }
+            
+            assert spawnedThreadRegionsSecondSlice.intersection(spawnedThreadRegionsJoinSlice).isEmpty();
 
 
-            	slicer.setJoins(forkInstance.getJoins());
-            	final Collection<SDGNode> joinSlice = slicer.slice(succ);
-            	final Collection<SDGNode> secondSlice;
-            	if (spawnedThreadRegionsSecondSlice.isEmpty()) {
-            		secondSlice = Collections.emptySet();
-            	} else {
-            		secondSlice = slicer.secondSlice(succ);
-            	}
-            	LinkedList<ThreadRegion> inBothSlices = new LinkedList<>();
-            	LinkedList<ThreadRegion> inSecondSliceOnly = new LinkedList<>();
-
-            	for (int x = 0; x < tr.size(); x++) {
-            		ThreadRegion q = tr.getThreadRegion(x);
-            		if (joinSlice.contains(q.getStart())) {
-            			inBothSlices.add(q);
-            		} else if (secondSlice.contains(q.getStart())) {
-            			inSecondSliceOnly.add(q);
-            		}
+            slicer.setJoins(forkInstance.getJoins());
+            final Collection<SDGNode> joinSlice = slicer.slice(succ);
+            final Collection<SDGNode> secondSlice;
+            if (spawnedThreadRegionsSecondSlice.isEmpty()) {
+            	secondSlice = Collections.emptySet();
+            } else {
+            	secondSlice = slicer.secondSlice(succ);
+            }
+            LinkedList<ThreadRegion> inBothSlices = new LinkedList<>();
+            LinkedList<ThreadRegion> inSecondSliceOnly = new LinkedList<>();
+
+            for (int x = 0; x < tr.size(); x++) {
+            	ThreadRegion q = tr.getThreadRegion(x);
+            	if (joinSlice.contains(q.getStart())) {
+            		inBothSlices.add(q);
+            	} else if (secondSlice.contains(q.getStart())) {
+            		inSecondSliceOnly.add(q);
             	}
-            	
+            }
 
-            	for (IntIterator it = spawnedThreadRegionsSecondSlice.intIterator(); it.hasNext();) {
+            return new ForkParallelism(spawnedThreadRegionsSecondSlice, spawnedThreadRegionsJoinSlice,
+            		inBothSlices, inSecondSliceOnly);
+        }
+
+        private SymmetricBitMatrix<ThreadRegion> computeThreadRegionParallelism(List<ForkParallelism> forkParallelism) {
+            SymmetricBitMatrix<ThreadRegion> result = new SymmetricBitMatrix<>(tr.size());
+
+            boolean assertionsEnabled = false;
+            assert (assertionsEnabled = true);
+
+            for (ForkParallelism fp : forkParallelism) {
+            	for (IntIterator it = fp.spawnedSecondSlice.intIterator(); it.hasNext();) {
             		final int p = it.next();
-            		for (ThreadRegion q : inSecondSliceOnly) {
+            		for (ThreadRegion q : fp.inSecondSliceOnly) {
             			result.set(p, q.getID());
             			assert
             			result.get(q.getID(), p);
             		}
-            		for (ThreadRegion q : inBothSlices) {
+            		for (ThreadRegion q : fp.inBothSlices) {
             			result.set(p, q.getID());
             			assert
             			result.get(q.getID(), p);
             		}
             	}
             	
-            	for (IntIterator it = spawnedThreadRegionsJoinSlice.intIterator(); it.hasNext();) {
+            	for (IntIterator it = fp.spawnedJoinSlice.intIterator(); it.hasNext();) {
             		final int p = it.next();
-            		for (ThreadRegion q : inBothSlices) {
+            		for (ThreadRegion q : fp.inBothSlices) {
             			result.set(p, q.getID());
             			assert
             			result.get(q.getID(), p);
@@ -744,65 +886,13 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
         }
         
         
-        private StartNodeBitMatrix computeThreadRegionParallelismForStartNodes() {
-
-            boolean assertionsEnabled = false;
-            assert (assertionsEnabled = true);
-
-            if (assertionsEnabled) {
-            	for (ThreadInstance ti1 : info) {
-            		for(ThreadInstance ti2 : info) {
-            			if (ti1.getFork() != null && ti1.getFork().equals(ti2.getFork())) {
-            				assert (ti1.getJoins().equals(ti2.getJoins())); 
-            			}
-            		}
-            	}
-            	
-            	for (DynamicContext fork1 : forks) {
-            		if (fork1 == null) continue;
-            		for (DynamicContext fork2 : forks) {
-                		if (fork2 == null) continue;
-                		if (fork1.getThread() == fork2.getThread()) {
-                			assert fork1.getNode() == fork2.getNode();
-                		}
-            		}
-            	}
-            }
-            
-            final Map<SDGNode, ThreadInstance> representantOfForkNode = new HashMap<>();
-            final Map<SDGNode, Boolean>        representsSomeDynamic = new HashMap<>();
-            final Map<SDGNode, MutableIntSet>  representedThreads = new HashMap<>();
-            
-
-            for (ThreadInstance ti : info) {
-            	if (ti.getFork() == null) {
-            		assert ti.getId() == ThreadInstance.MAIN_THREAD_ID;
-            	} else {
-            		assert !ti.getFork().equals(info.getThread(ThreadInstance.MAIN_THREAD_ID).getEntry());
-            		representantOfForkNode.put(ti.getFork(), ti);
-            		representsSomeDynamic.compute(ti.getFork(), (k, someDynamic) -> {
-            			if (someDynamic == null) {
-            				someDynamic = ti.isDynamic();
-            			}
-            			someDynamic |= ti.isDynamic();
-            			return someDynamic;
-            		});
-            		representedThreads.compute(ti.getFork(), (k, represented) -> {
-            			if (represented == null) {
-            				represented = new BitVectorIntSet();
-            			}
-            			represented.add(ti.getId());
-            			return represented;
-            		});
-            	}
-            }
-            
+        private StartNodeBitMatrix computeThreadRegionParallelismForStartNodes(List<ForkParallelism> forkParallelism) {
             final Set<Pair<SDGNode, Boolean>> startNodes = new LinkedHashSet<>();
             for (ThreadRegion r : tr) {
             	startNodes.add(Pair.pair(r.getStart(), r.isDynamic()));
             }
 
-            final SymmetricBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix = new SymmetricBitMatrix<>(startNodes.size());
+            final SymmetricRowBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix = new SymmetricRowBitMatrix<>(startNodes.size());
 
             final Map<Pair<SDGNode, Boolean>, Integer> startNodesToNumber = new HashMap<>();
             int i = 0;
@@ -811,9 +901,12 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
             }
             
             final Map<Integer, MutableIntSet> numberToRegions = new HashMap<>(); // TODO: make this something array like
+            final int[] regionToNumber = new int[tr.size()];
             for (ThreadRegion r : tr) {
+            	final int number = startNodesToNumber.get(Pair.pair(r.getStart(), r.isDynamic()));
+            	regionToNumber[r.getID()] = number;
             	numberToRegions.compute(
-            		startNodesToNumber.get(Pair.pair(r.getStart(), r.isDynamic())),
+            		number,
             		(k, regions) -> {
             			if (regions == null) {
             				regions = MutableSparseIntSet.makeEmpty();
@@ -825,122 +918,33 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
             	);
             }
 
-            
-    		// process parallelism induced by forks
-            debug.outln("parallelism through forks");
-            for (Entry<SDGNode, ThreadInstance> forkEntry : representantOfForkNode.entrySet()) {
-            	debug.out(".");
-
-            	final ThreadInstance forkInstance = forkEntry.getValue();
-            	final SDGNode forkNode = forkEntry.getKey();
-            	final boolean someDynamic = representsSomeDynamic.get(forkNode);
-            	final IntSet represented = representedThreads.get(forkNode);
-
-            	LinkedList<SDGNode> succ = new LinkedList<SDGNode>();
-
-            	for (SDGEdge e : icfg.getOutgoingEdgesOfKindUnsafe(forkNode, SDGEdge.Kind.CONTROL_FLOW)) {
-            		succ.add(e.getTarget());
-            	}
-
-
-            	final IntSet spawnedThreadsSecondSlice;
-            	final IntSet spawnedThreadsJoinSlice;
-            	{
-            		IntSet spawnedThreadsSecondSliceTemp = EmptyIntSet.instance;
-            		IntSet spawnedThreadsJoinSliceTemp = EmptyIntSet.instance;
-            		// TODO: smarter enumeration. We should be able to simply create one "root" DynamicContext here
-            		for (DynamicContext fork : forks) {
-            			if (fork == null) continue;
-            			if (fork.getNode().equals(forkNode)) {
-            				final IntSet indirectForked = indirectForks.get(fork);
-            				if (someDynamic || represented.size() > 1) {
-            					spawnedThreadsSecondSliceTemp = spawnedThreadsSecondSliceTemp.union(indirectForked);
-            				} else if ( !represented.sameValue(indirectForked)) {
-            					assert represented.size() == 1;
-            					assert represented.contains(forkInstance.getId());
-            					assert !forkInstance.isDynamic();
-            					
-            					spawnedThreadsJoinSliceTemp   = spawnedThreadsJoinSliceTemp.union(represented);
-            					
-            					final MutableIntSet withoutForkInstance = new BitVectorIntSet(indirectForked);
-            					withoutForkInstance.remove(forkInstance.getId());
-            					spawnedThreadsSecondSliceTemp = spawnedThreadsSecondSliceTemp.union(withoutForkInstance);
-            				} else {
-            					spawnedThreadsJoinSliceTemp   = spawnedThreadsJoinSliceTemp.union(  indirectForked);
-            				}
-            			}
-            		}
-            		spawnedThreadsSecondSlice = spawnedThreadsSecondSliceTemp;
-            		spawnedThreadsJoinSlice   = spawnedThreadsJoinSliceTemp;
-            	}
-
-
-            	Set<Pair<SDGNode, Boolean>> spawnedThreadRegionsSecondSlice = new HashSet<>();
-            	for (IntIterator it = spawnedThreadsSecondSlice.intIterator(); it.hasNext();) {
-            		final int pThreadId = it.next();
-            		for (ThreadRegion p : tr.getThreadRegionSet(pThreadId)) {
-            			spawnedThreadRegionsSecondSlice.add(Pair.pair(p.getStart(), p.isDynamic()));
-            		}
+            // every fork makes all start nodes of one set parallel to all start nodes of another set,
+            // which are combined row-wise
+            for (ForkParallelism fp : forkParallelism) {
+            	final long[] spawnedSecondSlice = startNodesMatrix.newVector();
+            	for (IntIterator it = fp.spawnedSecondSlice.intIterator(); it.hasNext();) {
+            		SymmetricRowBitMatrix.add(spawnedSecondSlice, regionToNumber[it.next()]);
             	}
-
-            	Set<Pair<SDGNode, Boolean>> spawnedThreadRegionsJoinSlice = new HashSet<>();
-            	for (IntIterator it = spawnedThreadsJoinSlice.intIterator(); it.hasNext();) {
-            		final int pThreadId = it.next();
-            		for (ThreadRegion p : tr.getThreadRegionSet(pThreadId)) {
-            			spawnedThreadRegionsJoinSlice.add(Pair.pair(p.getStart(), p.isDynamic()));
-            		}
+            	final long[] spawnedJoinSlice = startNodesMatrix.newVector();
+            	for (IntIterator it = fp.spawnedJoinSlice.intIterator(); it.hasNext();) {
+            		SymmetricRowBitMatrix.add(spawnedJoinSlice, regionToNumber[it.next()]);
             	}
-            	
-            	assert Sets.intersection(spawnedThreadRegionsSecondSlice, spawnedThreadRegionsJoinSlice).isEmpty();
-
-
-            	slicer.setJoins(forkInstance.getJoins());
-            	final Collection<SDGNode> joinSlice = slicer.slice(succ);
-            	final Collection<SDGNode> secondSlice;
-            	if (spawnedThreadRegionsSecondSlice.isEmpty()) {
-            		secondSlice = Collections.emptySet();
-            	} else {
-            		secondSlice = slicer.secondSlice(succ);
+            	final long[] inBothSlices = startNodesMatrix.newVector();
+            	for (ThreadRegion q : fp.inBothSlices) {
+            		SymmetricRowBitMatrix.add(inBothSlices, regionToNumber[q.getID()]);
             	}
-            	Set<Pair<SDGNode, Boolean>> inBothSlices      = new HashSet<>();
-            	Set<Pair<SDGNode, Boolean>> inSecondSliceOnly = new HashSet<>();
-
-            	for (int x = 0; x < tr.size(); x++) {
-            		ThreadRegion q = tr.getThreadRegion(x);
-            		if (joinSlice.contains(q.getStart())) {
-            			inBothSlices.add(Pair.pair(q.getStart(), q.isDynamic()));
-            		} else if (secondSlice.contains(q.getStart())) {
-            			inSecondSliceOnly.add(Pair.pair(q.getStart(), q.isDynamic()));
-            		}
+            	final long[] inEitherSlice = inBothSlices.clone();
+            	for (ThreadRegion q : fp.inSecondSliceOnly) {
+            		SymmetricRowBitMatrix.add(inEitherSlice, regionToNumber[q.getID()]);
             	}
-            	
 
-            	for (Pair<SDGNode, Boolean> p : spawnedThreadRegionsSecondSlice) {
-            		for (Pair<SDGNode, Boolean> q : inSecondSliceOnly) {
-            			startNodesMatrix.set(startNodesToNumber.get(p), startNodesToNumber.get(q));
-            			assert
-            			startNodesMatrix.get(startNodesToNumber.get(q), startNodesToNumber.get(p));
-            		}
-            		for (Pair<SDGNode, Boolean> q : inBothSlices) {
-            			startNodesMatrix.set(startNodesToNumber.get(p), startNodesToNumber.get(q));
-            			assert
-            			startNodesMatrix.get(startNodesToNumber.get(q), startNodesToNumber.get(p));
-            		}
-            	}
-            	
-            	for (Pair<SDGNode, Boolean> p : spawnedThreadRegionsJoinSlice) {
-            		for (Pair<SDGNode, Boolean> q : inBothSlices) {
-            			startNodesMatrix.set(startNodesToNumber.get(p), startNodesToNumber.get(q));
-            			assert
-            			startNodesMatrix.get(startNodesToNumber.get(q), startNodesToNumber.get(p));
-            		}
-            	}
+            	startNodesMatrix.setAll(spawnedSecondSlice, inEitherSlice);
+            	startNodesMatrix.setAll(spawnedJoinSlice, inBothSlices);
             }
 
             return new StartNodeBitMatrix(startNodesMatrix, startNodesToNumber, numberToRegions, tr);
         }
 
-        
         private boolean computeThreadParallelism(IMutableBitMatrix<ThreadRegion> result) {
         	boolean assertionsEnabled = false;
         	assert (assertionsEnabled = true);
@@ -1042,7 +1046,7 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
         
         
         private boolean computeThreadParallelismForStartNodes(StartNodeBitMatrix result) {
-        	final SymmetricBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix = result.getStartNodesMatrix();
+        	final SymmetricRowBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix = result.getStartNodesMatrix();
         	final Map<Pair<SDGNode, Boolean>, Integer> startNodesToNumber = result.getStartNodesToNumber();
         	// process parallelism induced by thread spawning inside loops
         	debug.outln("\nparallelism through loops");
@@ -1050,29 +1054,16 @@ public class PreciseMHPAnalysis implements MHPAnalysis {
 				final DynamicContext fork = entry.getKey();
 				final int thread = fork.getThread();
         		if (info.isDynamic(thread)) {
-        			final Set<Integer> regs = new HashSet<>();
+        			final long[] regs = startNodesMatrix.newVector();
        				for (IntIterator it = entry.getValue().intIterator(); it.hasNext();) {
        					final int other_thread = it.next();
        					for (ThreadRegion other_region : tr.getThreadRegionSet(other_thread)) {
        						assert other_region.isDynamic();
-       						regs.add(startNodesToNumber.get(Pair.pair(other_region.getStart(), true)));
+       						SymmetricRowBitMatrix.add(regs, startNodesToNumber.get(Pair.pair(other_region.getStart(), true)));
        					}
        				}
-       				final ArrayList<Integer> regsArray = new ArrayList<>(regs.size());
-       				regsArray.addAll(regs);
-       				int toSet = regsArray.size();
-        			for (Integer p : regsArray) {
-        				int set = 0;
-        				assert regsArray instanceof RandomAccess;
-        				for (Integer q : Lists.reverse(regsArray)) {
-        					startNodesMatrix.set(p, q);
-        					assert
-        					startNodesMatrix.get(q, p);
-        					set++;
-        					if (set > toSet) break;
-        				}
-        				toSet--;
-        			}
+       				// all of them are pairwise parallel
+       				startNodesMatrix.setAll(regs, regs);
         		}
         	}
         	
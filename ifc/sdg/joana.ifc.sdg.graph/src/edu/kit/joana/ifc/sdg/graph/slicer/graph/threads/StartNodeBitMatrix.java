@@ -25,14 +25,14 @@ import edu.kit.joana.util.Pair;
 public class StartNodeBitMatrix implements IBitMatrix<ThreadRegion> {
 
 	
-	private final SymmetricBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix;
+	private final SymmetricRowBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix;
 	private final Map<Pair<SDGNode, Boolean>, Integer> startNodesToNumber;
 	private final Map<Integer, MutableIntSet> numberToRegions;
 	private final ThreadRegions threadRegions;
 
 	
 	public StartNodeBitMatrix(
-			SymmetricBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix,
+			SymmetricRowBitMatrix<Pair<SDGNode, Boolean>> startNodesMatrix,
 			final Map<Pair<SDGNode, Boolean>, Integer> startNodesToNumber,
 			Map<Integer, MutableIntSet> numberToRegions,
 			ThreadRegions threadRegions) {
@@ -117,7 +117,7 @@ public class StartNodeBitMatrix implements IBitMatrix<ThreadRegion> {
 		};
 	}
 	
-	SymmetricBitMatrix<Pair<SDGNode, Boolean>> getStartNodesMatrix() {
+	SymmetricRowBitMatrix<Pair<SDGNode, Boolean>> getStartNodesMatrix() {
 		return startNodesMatrix;
 	}
 	
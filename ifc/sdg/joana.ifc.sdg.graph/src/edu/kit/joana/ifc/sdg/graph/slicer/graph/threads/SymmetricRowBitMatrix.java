@@ -0,0 +1,194 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.graph.slicer.graph.threads;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import com.ibm.wala.util.intset.IntIterator;
+
+/**
+ * A symmetric square matrix of bits that stores each row as a contiguous run of 64-bit words.
+ * <p>
+ * Unlike {@link SymmetricBitMatrix}, which stores one triangle only, every bit is stored in its row and in its
+ * column. In exchange, rows are combined and scanned word by word: {@link #setAll(long[], long[])} marks all pairs of
+ * two sets of indices at once, and {@link #onCol(int)} skips empty words.
+ * <p>
+ * Sets of indices are passed as vectors of {@link #getWordsPerRow()} words, see {@link #newVector()} and
+ * {@link #add(long[], int)}.
+ */
+public final class SymmetricRowBitMatrix<T> implements ISymmetricBitMatrix<T>, IMutableBitMatrix<T> {
+
+	private static final int LOG_BITS_PER_WORD = 6;
+	private static final int BITS_PER_WORD = 1 << LOG_BITS_PER_WORD;
+
+	private final int dimension;
+	private final int wordsPerRow;
+	private final long[] bits;
+
+	public SymmetricRowBitMatrix(int dimension) {
+		if (dimension < 1) {
+			throw new IllegalArgumentException("dimension must be at least 1");
+		}
+		this.dimension = dimension;
+		this.wordsPerRow = (dimension + BITS_PER_WORD - 1) >>> LOG_BITS_PER_WORD;
+		final long size = (long) wordsPerRow * (long) dimension;
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("dimension is too large");
+		}
+		this.bits = new long[(int) size];
+	}
+
+	@Override
+	public boolean get(int i, int j) {
+		return (bits[i * wordsPerRow + (j >>> LOG_BITS_PER_WORD)] & (1L << j)) != 0;
+	}
+
+	/**
+	 * Sets the bits (i, j) and (j, i).
+	 */
+	@Override
+	public void set(int i, int j) {
+		bits[i * wordsPerRow + (j >>> LOG_BITS_PER_WORD)] |= 1L << j;
+		bits[j * wordsPerRow + (i >>> LOG_BITS_PER_WORD)] |= 1L << i;
+	}
+
+	/**
+	 * Sets the bits (i, j) and (j, i) for every i in <tt>rows</tt> and every j in <tt>cols</tt>.
+	 *
+	 * @param rows a vector of indices, see {@link #newVector()}
+	 * @param cols a vector of indices, see {@link #newVector()}
+	 */
+	public void setAll(long[] rows, long[] cols) {
+		if (rows.length != wordsPerRow || cols.length != wordsPerRow) {
+			throw new IllegalArgumentException("vectors must have " + wordsPerRow + " words");
+		}
+		orIntoRows(rows, cols);
+		orIntoRows(cols, rows);
+	}
+
+	private void orIntoRows(long[] rows, long[] vector) {
+		for (int w = 0; w < wordsPerRow; w++) {
+			long word = rows[w];
+			while (word != 0) {
+				final int i = (w << LOG_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+				final int base = i * wordsPerRow;
+				for (int k = 0; k < wordsPerRow; k++) {
+					bits[base + k] |= vector[k];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a new empty vector of indices for this matrix.
+	 */
+	public long[] newVector() {
+		return new long[wordsPerRow];
+	}
+
+	/**
+	 * Adds index i to the given vector.
+	 */
+	public static void add(long[] vector, int i) {
+		vector[i >>> LOG_BITS_PER_WORD] |= 1L << i;
+	}
+
+	/**
+	 * Returns the smallest j &gt;= <tt>from</tt> such that bit (i, j) is set, or -1 if there is none.
+	 */
+	public int nextSetBit(int i, int from) {
+		if (from >= dimension) {
+			return -1;
+		}
+		final int base = i * wordsPerRow;
+		int w = from >>> LOG_BITS_PER_WORD;
+		long word = bits[base + w] & (-1L << from);
+		while (true) {
+			if (word != 0) {
+				return (w << LOG_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+			}
+			if (++w == wordsPerRow) {
+				return -1;
+			}
+			word = bits[base + w];
+		}
+	}
+
+	/**
+	 * Iterates over all i such that bit (i, j) is set, in ascending order.
+	 */
+	@Override
+	public IntIterator onCol(int j) {
+		return new RowIterator(j, dimension - 1);
+	}
+
+	/**
+	 * Iterates over all i &lt;= j such that bit (i, j) is set, in ascending order.
+	 */
+	@Override
+	public IntIterator onColAsymemtric(int j) {
+		return new RowIterator(j, j);
+	}
+
+	private final class RowIterator implements IntIterator {
+		private final int row;
+		private final int last;
+		private int next;
+
+		private RowIterator(int row, int last) {
+			this.row = row;
+			this.last = last;
+			this.next = nextSetBit(row, 0);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next >= 0 && next <= last;
+		}
+
+		@Override
+		public int next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final int result = next;
+			next = nextSetBit(row, result + 1);
+			return result;
+		}
+	}
+
+	@Override
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * Returns the number of words of each row, which is also the length of a vector of indices.
+	 */
+	public int getWordsPerRow() {
+		return wordsPerRow;
+	}
+
+	public String toString() {
+		StringBuilder result = new StringBuilder(dimension * (dimension + 1));
+		for (int i = 0; i < dimension; i++) {
+			for (int j = 0; j < dimension; j++) {
+				result.append(get(i, j) ? '1' : '0');
+			}
+			result.append('\n');
+		}
+		return result.toString();
+	}
+
+	public static <T> boolean equals(SymmetricRowBitMatrix<T> a, SymmetricRowBitMatrix<T> b) {
+		if (a.dimension != b.dimension) return false;
+		return Arrays.equals(a.bits, b.bits);
+	}
+}
@@ -0,0 +1,253 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.irlsod;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.ifc.sdg.lattice.ICompiledLattice;
+import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import edu.kit.joana.ifc.sdg.lattice.LatticeUtil;
+import edu.kit.joana.util.Log;
+import edu.kit.joana.util.Logger;
+import gnu.trove.list.array.TIntArrayList;
+
+/**
+ * Worklist-driven computation of the least classification cl with
+ * <ul>
+ * <li>cl(n) &gt;= init(n) for every node n, and</li>
+ * <li>cl(m) &lt;= cl(n) for every dependency m of n.</li>
+ * </ul>
+ * The dependencies of every node are queried once, when the propagation is created, and stored as
+ * inverted adjacency lists over the rows of a {@link CompiledSDG}. The levels are held as ordinals of the
+ * {@link ICompiledLattice compiled} lattice in an array indexed by row, so propagation neither hashes nor allocates levels. Propagation starts at the nodes with a level above bottom and only revisits the
+ * dependents of a node whose level has risen, so every node is touched at most once per level it passes.
+ */
+public class LevelPropagation<L> {
+
+	private static final Logger debug = Log.getLogger(Log.L_IFC_DEBUG);
+
+	private final CompiledSDG graph;
+	private final ICompiledLattice<L> secLattice;
+
+	/** row -> first index of its dependents in dependents */
+	private final int[] dependentsStart;
+	/** the rows that depend on a row, grouped by row */
+	private final int[] dependents;
+
+	/**
+	 * Collects the dependencies of a node, i.e. the nodes whose levels flow into its level.
+	 * Nodes are given and reported as rows of the compiled graph.
+	 */
+	public interface Dependencies {
+		void collect(int row, TIntArrayList deps);
+	}
+
+	/**
+	 * Queries the dependencies of every node of the given graph.
+	 * @param graph numbering of the nodes
+	 * @param secLattice the lattice of the levels
+	 * @param dependencies maps a node to the nodes whose levels flow into its level. Nodes that are not part of
+	 * the graph are ignored.
+	 */
+	public LevelPropagation(final CompiledSDG graph, final IStaticLattice<L> secLattice,
+			final Function<SDGNode, ? extends Collection<? extends SDGNode>> dependencies) {
+		this(graph, secLattice, (row, deps) -> {
+			for (final SDGNode m : dependencies.apply(graph.getNode(row))) {
+				final int dep = graph.rowOf(m);
+				if (dep >= 0) {
+					deps.add(dep);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Queries the dependencies of every node of the given graph.
+	 * @param graph numbering of the nodes
+	 * @param secLattice the lattice of the levels
+	 * @param dependencies reports the dependencies of each row; duplicates are allowed
+	 */
+	public LevelPropagation(final CompiledSDG graph, final IStaticLattice<L> secLattice,
+			final Dependencies dependencies) {
+		this.graph = graph;
+		this.secLattice = LatticeUtil.compileLattice(secLattice);
+
+		final int n = graph.numberOfNodes();
+		final int[][] depsOf = new int[n][];
+		final int[] count = new int[n + 1];
+		final TIntArrayList rows = new TIntArrayList();
+		for (int row = 0; row < n; row++) {
+			rows.resetQuick();
+			dependencies.collect(row, rows);
+			rows.sort();
+			final int[] deps = new int[rows.size()];
+			int size = 0;
+			for (int i = 0; i < rows.size(); i++) {
+				final int dep = rows.getQuick(i);
+				// a node never raises its own level
+				if (dep != row && (size == 0 || deps[size - 1] != dep)) {
+					deps[size++] = dep;
+					count[dep + 1]++;
+				}
+			}
+			depsOf[row] = (size == deps.length ? deps : Arrays.copyOf(deps, size));
+		}
+
+		// invert: dependents of m are all rows having m as dependency
+		for (int row = 0; row < n; row++) {
+			if (count[row + 1] > Integer.MAX_VALUE - count[row]) {
+				throw new IllegalArgumentException("too many dependencies");
+			}
+			count[row + 1] += count[row];
+		}
+		this.dependentsStart = count;
+		this.dependents = new int[count[n]];
+		final int[] fill = Arrays.copyOf(count, n);
+		for (int row = 0; row < n; row++) {
+			for (final int dep : depsOf[row]) {
+				dependents[fill[dep]++] = row;
+			}
+		}
+	}
+
+	/**
+	 * Computes the least classification that satisfies the dependencies and lies above the given initial levels.
+	 * @param init initial levels; nodes without an initial level start at bottom
+	 * @return a map view of the computed classification of all nodes of the graph
+	 */
+	public Map<SDGNode, L> propagate(final Map<SDGNode, L> init) {
+		final int n = graph.numberOfNodes();
+		final int bottom = secLattice.bottom();
+		final int top = secLattice.top();
+		final int[] level = new int[n];
+		Arrays.fill(level, bottom);
+
+		final boolean[] queued = new boolean[n];
+		final TIntArrayList worklist = new TIntArrayList();
+		for (final Map.Entry<SDGNode, L> e : init.entrySet()) {
+			final int row = graph.rowOf(e.getKey());
+			if (row >= 0) {
+				level[row] = secLattice.join(level[row], secLattice.encode(e.getValue()));
+				if (!queued[row] && level[row] != bottom) {
+					queued[row] = true;
+					worklist.add(row);
+				}
+			}
+		}
+
+		int updates = 0;
+		while (!worklist.isEmpty()) {
+			final int m = worklist.removeAt(worklist.size() - 1);
+			queued[m] = false;
+			final int lm = level[m];
+
+			for (int i = dependentsStart[m], end = dependentsStart[m + 1]; i < end; i++) {
+				final int dep = dependents[i];
+				final int oldLevel = level[dep];
+				// nothing changes if current level is top already
+				if (oldLevel == top) {
+					continue;
+				}
+				final int newLevel = secLattice.join(oldLevel, lm);
+				if (newLevel != oldLevel) {
+					level[dep] = newLevel;
+					updates++;
+					if (!queued[dep]) {
+						queued[dep] = true;
+						worklist.add(dep);
+					}
+				}
+			}
+		}
+		debug.outln(String.format("needed %d update(s).", updates));
+
+		return new Classification<L>(graph, secLattice, level);
+	}
+
+	/**
+	 * A map view of the levels of all nodes of a compiled graph, decoding the ordinals on access.
+	 */
+	private static final class Classification<L> extends AbstractMap<SDGNode, L> {
+		private final CompiledSDG graph;
+		private final ICompiledLattice<L> secLattice;
+		private final int[] level;
+
+		private Classification(final CompiledSDG graph, final ICompiledLattice<L> secLattice, final int[] level) {
+			this.graph = graph;
+			this.secLattice = secLattice;
+			this.level = level;
+		}
+
+		@Override
+		public L get(final Object key) {
+			if (!(key instanceof SDGNode)) return null;
+			final int row = graph.rowOf((SDGNode) key);
+			return (row < 0 ? null : secLattice.decode(level[row]));
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return key instanceof SDGNode && graph.rowOf((SDGNode) key) >= 0;
+		}
+
+		@Override
+		public L put(final SDGNode key, final L value) {
+			final int row = graph.rowOf(key);
+			if (row < 0 || value == null) {
+				throw new IllegalArgumentException("Cannot classify " + key + " with " + value);
+			}
+			final L old = secLattice.decode(level[row]);
+			level[row] = secLattice.encode(value);
+			return old;
+		}
+
+		@Override
+		public int size() {
+			return level.length;
+		}
+
+		@Override
+		public Set<Map.Entry<SDGNode, L>> entrySet() {
+			return new AbstractSet<Map.Entry<SDGNode, L>>() {
+				@Override
+				public Iterator<Map.Entry<SDGNode, L>> iterator() {
+					return new Iterator<Map.Entry<SDGNode, L>>() {
+						private int next = 0;
+
+						@Override
+						public boolean hasNext() {
+							return next < level.length;
+						}
+
+						@Override
+						public Map.Entry<SDGNode, L> next() {
+							if (next >= level.length) throw new NoSuchElementException();
+							final int row = next++;
+							return new AbstractMap.SimpleImmutableEntry<SDGNode, L>(graph.getNode(row), secLattice.decode(level[row]));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return level.length;
+				}
+			};
+		}
+	}
+}
@@ -4,16 +4,14 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import edu.kit.joana.ifc.sdg.core.SecurityNode;
 import edu.kit.joana.ifc.sdg.core.violations.IUnaryViolation;
 import edu.kit.joana.ifc.sdg.core.violations.IViolation;
 import edu.kit.joana.ifc.sdg.core.violations.UnaryViolation;
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
 import edu.kit.joana.ifc.sdg.graph.SDG;
-import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
-import edu.kit.joana.ifc.sdg.graph.slicer.conc.I2PBackward;
 import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
 import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
 import edu.kit.joana.util.Log;
@@ -123,69 +121,42 @@ public class ORLSODChecker<L> extends AnnotationMapChecker<L> {
 		final SDG sdg = this.getSDG();
 		final IStaticLattice<L> secLattice = this.getLattice();
 		
-		final I2PBackward backw = new I2PBackward(sdg);
-		// 1.) initialize classification: we go from the bottom up, so every
-		// node is classified as low initially
-		// except for the user annotated nodes: They are classified with the
-		// level given by the user
-		cl = initCL(true);
-		// 2.) fixed-point iteration
-		int numIters = 0;
-		boolean change;
-		do {
-			change = false;
-			for (final SDGNode n : sdg.vertexSet()) {
-				final L oldLevel = cl.get(n);
-				// nothing changes if current level is top already
-				if (secLattice.getTop().equals(oldLevel)) {
-					continue;
-				}
-				L newLevel = oldLevel;
-
-				// 2a.) propagate from sdg predecessors
-				final Collection<SDGNode> predecessors;
-				switch (predecessorMethod) {
-				case EDGE:
-					// @formatter:off
-					predecessors = sdg.incomingEdgesOf(n).stream()
-					                                     .filter((e) -> e.getKind().isSDGEdge())
-					                                     .map(SDGEdge::getSource)
-					                                     .collect(Collectors.toSet());
-					// @formatter:on
-					debug.outln(String.format("BS(%s) = %s", n, predecessors));
-					break;
-				case SLICE:
-					predecessors = backw.slice(n);
-					debug.outln(String.format("PRED(%s) = %s", n, predecessors));
-					break;
-				default:
-					throw new IllegalArgumentException(predecessorMethod.toString());
-				}
-				for (final SDGNode m : predecessors) {
-					newLevel = secLattice.leastUpperBound(newLevel, cl.get(m));
-					if (secLattice.getTop().equals(newLevel)) {
-						break; // we can abort the loop here - level cannot get
-						// any higher
+		final CompiledSDG compiled = new CompiledSDG(sdg);
+		final CompiledSDG.Adjacency in = compiled.incoming();
+		// 1.) collect the nodes each node's level is propagated from, once
+		final LevelPropagation<L> propagation = new LevelPropagation<L>(compiled, secLattice, (row, deps) -> {
+			// 1a.) propagate from sdg predecessors
+			switch (predecessorMethod) {
+			case EDGE:
+			case SLICE:
+				// The least classification only depends on the transitive closure of the dependencies. The
+				// backward slice of a node contains its sdg predecessors and is contained in their transitive
+				// closure, so propagating from the whole slice yields the same classification as propagating
+				// from the sdg predecessors. Storing the slices instead would take quadratic space.
+				for (int e = in.begin(row), end = in.end(row); e < end; e++) {
+					if (in.kind(e).isSDGEdge()) {
+						deps.add(in.adjacent(e));
 					}
 				}
-				// 2b.) propagate security levels from probabilistic influencers
-				final Collection<? extends SDGNode> pi = probInf.getProbabilisticInfluencers(n);
-				debug.outln(String.format("ProbInf(%s) = %s", n, pi));
-				for (final SDGNode cp : pi) {
-					newLevel = secLattice.leastUpperBound(newLevel, cl.get(cp));
-					if (secLattice.getTop().equals(newLevel)) {
-						break; // we can abort the loop here - level cannot get
-						// any higher
-					}
-				}
-				if (!newLevel.equals(oldLevel)) {
-					cl.put(n, newLevel);
-					change = true;
+				break;
+			default:
+				throw new IllegalArgumentException(predecessorMethod.toString());
+			}
+			// 1b.) propagate security levels from probabilistic influencers
+			final SDGNode n = compiled.getNode(row);
+			final Collection<? extends SDGNode> pi = probInf.getProbabilisticInfluencers(n);
+			debug.outln(String.format("ProbInf(%s) = %s", n, pi));
+			for (final SDGNode cp : pi) {
+				final int dep = compiled.rowOf(cp);
+				if (dep >= 0) {
+					deps.add(dep);
 				}
 			}
-			numIters++;
-		} while (change);
-		debug.outln(String.format("needed %d iteration(s).", numIters));
+		});
+		// 2.) propagate security levels from the user annotated nodes: we go from the bottom up, so every
+		// node is classified as low initially except for the user annotated nodes. Only the dependents
+		// of nodes whose level has changed are revisited.
+		cl = propagation.propagate(userAnn);
 		// 3.) check that sink levels comply
 		return checkCompliance();
 	}
@@ -3,32 +3,21 @@ package edu.kit.joana.ifc.sdg.irlsod;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import edu.kit.joana.ifc.sdg.core.SecurityNode;
 import edu.kit.joana.ifc.sdg.core.violations.IViolation;
+import edu.kit.joana.ifc.sdg.graph.CompiledSDG;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
 import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
 import edu.kit.joana.ifc.sdg.lattice.NotInLatticeException;
-import edu.kit.joana.util.maps.MapUtils;
 
 public class OptORLSODChecker<L> extends ORLSODChecker<L> {
 
-	/**
-	 * maps each node to all the nodes which must be updated when the security level of the node has changed
-	 */
-	private Map<SDGNode, Set<SDGNode>> forwDep;
-
-	/**
-	 * maps each node to the nodes from which the security level of the node can be computed
-	 */
-	private Map<SDGNode, Set<SDGNode>> backwDep;
-	
 	private SDG sdg;
 
 	public OptORLSODChecker(final SDG sdg, final IStaticLattice<L> secLattice, final ProbInfComputer probInf) {
@@ -46,30 +35,9 @@ public class OptORLSODChecker<L> extends ORLSODChecker<L> {
 		inferUserAnnotationsOnDemand();
 		
 		final IStaticLattice<L> secLattice = this.getLattice();
-		cl = initCL(false);
-		backwDep = computeBackwardDep();
-		forwDep = MapUtils.invert(backwDep);
-		final LinkedList<SDGNode> worklist = new LinkedList<SDGNode>();
-		for (final SDGNode n : userAnn.keySet()) {
-			worklist.add(n);
-			cl.put(n, userAnn.get(n));
-		}
-		while (!worklist.isEmpty()) {
-			final SDGNode next = worklist.poll();
-			L level = cl.get(next);
-			if (forwDep.get(next) == null) {
-				continue;
-			}
-			
-			for (final SDGNode depNext : forwDep.get(next)) {
-				final L oldLevel = cl.get(depNext);
-				L newLevel = secLattice.leastUpperBound(oldLevel, level);
-				if (!newLevel.equals(oldLevel)) {
-					worklist.add(depNext);
-					cl.put(depNext, newLevel);
-				}
-			}
-		}
+		final LevelPropagation<L> propagation = new LevelPropagation<L>(new CompiledSDG(sdg), secLattice,
+				this::computeBackwardDeps);
+		cl = propagation.propagate(userAnn);
 		return checkCompliance();
 	}
 
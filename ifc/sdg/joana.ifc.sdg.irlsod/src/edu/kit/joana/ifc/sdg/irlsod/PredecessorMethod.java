@@ -1,5 +1,10 @@
 package edu.kit.joana.ifc.sdg.irlsod;
 
+/**
+ * Where the security levels of a node are propagated from. Both yield the same classification, since the backward
+ * slice of a node lies within the transitive closure of its sdg predecessors; the checkers may compute SLICE from the
+ * sdg predecessors.
+ */
 public enum PredecessorMethod {
 	SLICE, EDGE
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ifc.sdg.lattice.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import edu.kit.joana.ifc.sdg.lattice.ICompiledLattice;
+import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import edu.kit.joana.ifc.sdg.lattice.LatticeUtil;
+import edu.kit.joana.ifc.sdg.lattice.PrecomputedLattice;
+import edu.kit.joana.ifc.sdg.lattice.WrongLatticeDefinitionException;
+import edu.kit.joana.ifc.sdg.lattice.impl.CompiledPowersetLattice;
+import edu.kit.joana.ifc.sdg.lattice.impl.CompiledTableLattice;
+import edu.kit.joana.ifc.sdg.lattice.impl.PowersetLattice;
+import edu.kit.joana.ifc.sdg.lattice.impl.ReversedLattice;
+
+public class CompiledLatticeTest {
+
+	@SafeVarargs
+	private static <T> Set<T> asSet(T... ts) {
+		return new HashSet<T>(Arrays.asList(ts));
+	}
+
+	private static <ElementType> void testSameOperations(IStaticLattice<ElementType> someLattice,
+			Class<?> expectedEncoding) {
+		ICompiledLattice<ElementType> compiled = LatticeUtil.compileLattice(someLattice);
+		assertEquals(expectedEncoding, compiled.getClass());
+		assertSame(compiled, LatticeUtil.compileLattice(compiled));
+		assertEquals(someLattice.getElements().size(), compiled.size());
+		assertEquals(someLattice.getTop(), compiled.getTop());
+		assertEquals(someLattice.getBottom(), compiled.getBottom());
+
+		for (ElementType x : someLattice.getElements()) {
+			assertEquals(x, compiled.decode(compiled.encode(x)));
+			for (ElementType y : someLattice.getElements()) {
+				assertEquals(someLattice.leastUpperBound(x, y), compiled.leastUpperBound(x, y));
+				assertEquals(someLattice.greatestLowerBound(x, y), compiled.greatestLowerBound(x, y));
+				assertEquals(someLattice.isLeq(x, y), compiled.leq(compiled.encode(x), compiled.encode(y)));
+			}
+		}
+	}
+
+	@Test
+	public void testPowerset() {
+		PowersetLattice<String> smartHomeLattice = new PowersetLattice<>(
+			asSet("customer", "provider", "application")
+		);
+		testSameOperations(smartHomeLattice, CompiledPowersetLattice.class);
+	}
+
+	@Test
+	public void testPrecomputedPowerset() {
+		PrecomputedLattice<Set<String>> precomputed = new PrecomputedLattice<Set<String>>(
+			new PowersetLattice<String>(asSet("address", "banking", "contacts", "location"))
+		);
+		testSameOperations(precomputed, CompiledPowersetLattice.class);
+		testSameOperations(new ReversedLattice<String>(precomputed), CompiledTableLattice.class);
+	}
+
+	@Test
+	public void testPrecomputedBoundsAreElements() {
+		PrecomputedLattice<Set<String>> precomputed = new PrecomputedLattice<Set<String>>(
+			new PowersetLattice<String>(asSet("address", "banking", "contacts", "location"))
+		);
+		Collection<String> elements = precomputed.getElements();
+		for (String x : elements) {
+			for (String y : elements) {
+				assertTrue(elements.contains(precomputed.leastUpperBound(x, y)));
+				assertTrue(elements.contains(precomputed.greatestLowerBound(x, y)));
+			}
+		}
+		assertTrue(elements.contains(precomputed.getTop()));
+		assertTrue(elements.contains(precomputed.getBottom()));
+	}
+
+	@Test
+	public void testLoaded() throws WrongLatticeDefinitionException {
+		IStaticLattice<String> diamond = LatticeUtil.loadLattice("low<=a\nlow<=b\na<=high\nb<=high");
+		testSameOperations(diamond, CompiledTableLattice.class);
+		testSameOperations(LatticeUtil.compileBitsetLattice(LatticeUtil.loadLattice("low<=a\nlow<=b\na<=high\nb<=high")),
+				CompiledTableLattice.class);
+	}
+
+	@Test
+	public void testManyPrincipals() {
+		Set<Integer> principals = new HashSet<>();
+		for (int i = 0; i < CompiledPowersetLattice.MAX_PRINCIPALS; i++) {
+			principals.add(i);
+		}
+		ICompiledLattice<Set<Integer>> compiled = LatticeUtil.compileLattice(new PowersetLattice<>(principals));
+		assertEquals(principals, compiled.getTop());
+		assertEquals(asSet(1, 7, 29), compiled.leastUpperBound(asSet(1, 29), asSet(7)));
+		assertEquals(asSet(29), compiled.greatestLowerBound(asSet(1, 29), asSet(7, 29)));
+		assertTrue(compiled.isLeq(asSet(7), asSet(1, 7)));
+		assertFalse(compiled.isLeq(asSet(1, 7), asSet(7)));
+	}
+}
@@ -0,0 +1,277 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ui.ifc.wala.console.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.kit.joana.api.lattice.BuiltinLattices;
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.ui.ifc.wala.console.console.IFCConsole;
+import edu.kit.joana.ui.ifc.wala.console.io.PrintStreamConsoleWrapper;
+import edu.kit.joana.ui.ifc.wala.console.server.IFCServer;
+import edu.kit.joana.ui.ifc.wala.console.server.IFCServerSession;
+import edu.kit.joana.util.io.IOFactory;
+
+/**
+ * Checks the answers of an {@link IFCServerSession} to the requests of the protocol.
+ */
+public class IFCServerSessionTest {
+
+	/** seconds to wait for an answer of the server */
+	private static final long ANSWER_TIMEOUT = 60;
+
+	private static final String HIGH = BuiltinLattices.STD_SECLEVEL_HIGH;
+	private static final String LOW = BuiltinLattices.STD_SECLEVEL_LOW;
+
+	private static String sdgFile;
+
+	/**
+	 * Collects the lines written by a session. The answers of jobs are written by other threads.
+	 */
+	private static final class Answers extends Writer {
+		private final BlockingQueue<String> lines = new LinkedBlockingQueue<String>();
+		private final StringBuilder current = new StringBuilder();
+
+		@Override
+		public synchronized void write(char[] cbuf, int off, int len) {
+			for (int i = off; i < off + len; i++) {
+				if (cbuf[i] == '\n') {
+					lines.add(current.toString());
+					current.setLength(0);
+				} else if (cbuf[i] != '\r') {
+					current.append(cbuf[i]);
+				}
+			}
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		private String next() throws InterruptedException {
+			final String line = lines.poll(ANSWER_TIMEOUT, TimeUnit.SECONDS);
+			assertNotNull("no answer from the server", line);
+			return line;
+		}
+
+		private void assertNoMore() throws InterruptedException {
+			assertNull(lines.poll(1, TimeUnit.SECONDS));
+		}
+	}
+
+	@BeforeClass
+	public static void setUp() throws IOException {
+		BufferedReader in = new BufferedReader(IOFactory.createUTF8ISReader(System.in));
+		IFCConsole console = new IFCConsole(in, new PrintStreamConsoleWrapper(System.out, System.out, in, System.out, System.out));
+		console.processCommand("searchEntries");
+		console.processCommand("selectEntry toy.test.LeakByPrintingInt.main([Ljava/lang/String;)V");
+		assertTrue(console.processCommand("buildSDG"));
+		final File f = File.createTempFile("ifcserver", ".pdg");
+		f.deleteOnExit();
+		sdgFile = f.getAbsolutePath();
+		assertTrue(console.processCommand("saveSDG " + sdgFile));
+	}
+
+	/**
+	 * Processes the given requests and returns the answers, some of which may still be on their way.
+	 */
+	private static Answers session(IFCServer server, String... requests) throws IOException {
+		final Answers answers = new Answers();
+		final StringBuilder script = new StringBuilder();
+		for (String request : requests) {
+			script.append(request).append('\n');
+		}
+		new IFCServerSession(server, new BufferedReader(new StringReader(script.toString())),
+				new PrintWriter(answers, true)).run();
+		return answers;
+	}
+
+	private static IFCServer loaded() throws IOException, InterruptedException {
+		final IFCServer server = new IFCServer(1, 4, 0);
+		assertTrue(session(server, "load p " + sdgFile + " NONE").next().startsWith("loaded p "));
+		return server;
+	}
+
+	@Test
+	public void testLoad() throws IOException, InterruptedException {
+		final IFCServer server = new IFCServer(1, 4, 0);
+		final Answers answers = session(server,
+				"load p " + sdgFile + " NONE",
+				"load q " + sdgFile + " FOO",
+				"load q",
+				"load q " + sdgFile + ".missing",
+				"unload p",
+				"unload p");
+		assertEquals("loaded p " + server.getProgram("p").getSDG().vertexSet().size(), answers.next());
+		assertEquals("error q unknown mhp type FOO", answers.next());
+		assertTrue(answers.next().startsWith("error - expected: load"));
+		assertEquals("error q I/O error while reading sdg from file " + sdgFile + ".missing", answers.next());
+		assertEquals("unloaded p", answers.next());
+		assertEquals("error p no program loaded under this name", answers.next());
+		answers.assertNoMore();
+		assertNull(server.getProgram("p"));
+		server.shutdown();
+	}
+
+	@Test
+	public void testRun() throws IOException, InterruptedException {
+		final IFCServer server = loaded();
+		Answers answers = session(server,
+				"job leak p classical-ni",
+				"source " + HIGH + " toy.test.IntSecret.secretValue",
+				"sink " + LOW + " java.lang.System.out",
+				"end");
+		assertEquals("queued leak", answers.next());
+		final String result = answers.next();
+		assertTrue(result, result.startsWith("result leak "));
+		final int violations = Integer.parseInt(result.substring("result leak ".length()));
+		assertTrue(violations > 0);
+		for (int i = 0; i < violations; i++) {
+			assertTrue(answers.next().startsWith("violation leak "));
+		}
+		answers.assertNoMore();
+
+		answers = session(server, "job secure p classical-ni TIMESENS", "end");
+		assertEquals("queued secure", answers.next());
+		assertEquals("result secure 0", answers.next());
+		answers.assertNoMore();
+		server.shutdown();
+	}
+
+	@Test
+	public void testErrors() throws IOException, InterruptedException {
+		final IFCServer server = loaded();
+		Answers answers = session(server,
+				"frobnicate",
+				"job e1", "source " + HIGH + " toy.test.IntSecret.secretValue", "end",
+				"job e2 p nonsense", "end",
+				"job e3 p classical-ni FOO", "end",
+				"job e4 p classical-ni TIMEOUT=-1", "end",
+				"job e5 p classical-ni", "frobnicate now", "end",
+				"job e6 q classical-ni", "end");
+		assertEquals("error - unknown request: frobnicate", answers.next());
+		assertTrue(answers.next().startsWith("error - expected: job"));
+		assertEquals("error e2 unknown ifc type nonsense", answers.next());
+		assertEquals("error e3 unknown option FOO", answers.next());
+		assertEquals("error e4 invalid timeout TIMEOUT=-1", answers.next());
+		assertEquals("error e5 malformed line in job description: frobnicate now", answers.next());
+		assertEquals("error e6 no program loaded under name q", answers.next());
+		answers.assertNoMore();
+
+		// errors found while the job runs
+		answers = session(server, "job e7 p classical-ni", "source " + HIGH + " no.such.Part", "end");
+		assertEquals("queued e7", answers.next());
+		assertEquals("error e7 program part no.such.Part not found", answers.next());
+		answers = session(server, "job e8 p classical-ni", "source top toy.test.IntSecret.secretValue", "end");
+		assertEquals("queued e8", answers.next());
+		assertEquals("error e8 level top not in security lattice", answers.next());
+		answers.assertNoMore();
+		server.shutdown();
+	}
+
+	/**
+	 * A shared job resolves its annotations while holding the monitor of its program, so it can be held up by holding
+	 * the monitor.
+	 */
+	@Test
+	public void testTimeout() throws IOException, InterruptedException {
+		final IFCServer server = new IFCServer(2, 4, 0);
+		assertTrue(session(server, "load p " + sdgFile + " NONE").next().startsWith("loaded p "));
+		final SDGProgram program = server.getProgram("p");
+		Answers answers;
+		synchronized (program) {
+			answers = session(server, "job slow p classical-ni TIMEOUT=100", "end");
+			assertEquals("queued slow", answers.next());
+			assertEquals("timeout slow", answers.next());
+
+			// an exclusive job would have to wait for the job which timed out
+			final Answers refused = session(server, "job excl p classical-ni TIMESENS", "end");
+			assertEquals("queued excl", refused.next());
+			assertEquals("error excl program p is still used by 1 job(s) which timed out", refused.next());
+		}
+		// the result of the job which timed out is dropped
+		answers.assertNoMore();
+
+		// once the job which timed out is done, the program can be used exclusively again
+		String answer;
+		int attempts = 0;
+		do {
+			answers = session(server, "job excl" + attempts + " p classical-ni TIMESENS", "end");
+			assertEquals("queued excl" + attempts, answers.next());
+			answer = answers.next();
+			attempts++;
+		} while (answer.startsWith("error") && attempts < 100);
+		assertEquals("result excl" + (attempts - 1) + " 0", answer);
+		server.shutdown();
+	}
+
+	/**
+	 * A job which already waits for its program when the job holding it times out fails instead of blocking its
+	 * worker until the job which timed out is done.
+	 */
+	@Test
+	public void testWaitingJobFailsOnTimeout() throws IOException, InterruptedException {
+		final IFCServer server = new IFCServer(2, 4, 0);
+		assertTrue(session(server, "load p " + sdgFile + " NONE").next().startsWith("loaded p "));
+		final SDGProgram program = server.getProgram("p");
+		synchronized (program) {
+			final Answers answers = session(server, "job slow p classical-ni TIMEOUT=1000", "end");
+			assertEquals("queued slow", answers.next());
+			Thread.sleep(200);
+
+			// waits for the shared job, which has not timed out yet
+			final Answers waiting = session(server, "job excl p classical-ni TIMESENS", "end");
+			assertEquals("queued excl", waiting.next());
+			assertEquals("timeout slow", answers.next());
+			assertEquals("error excl program p is still used by 1 job(s) which timed out", waiting.next());
+		}
+		server.shutdown();
+	}
+
+	/**
+	 * The timeout of a job does not include the time it waits for a worker.
+	 */
+	@Test
+	public void testTimeoutStartsWithJob() throws IOException, InterruptedException {
+		final IFCServer server = loaded();
+		final SDGProgram program = server.getProgram("p");
+		final Answers answers;
+		synchronized (program) {
+			// the only worker is held up by the first job, the second one waits in the queue
+			answers = session(server, "job first p classical-ni", "end", "job second p classical-ni TIMEOUT=2000",
+					"end");
+			assertEquals("queued first", answers.next());
+			assertEquals("queued second", answers.next());
+			Thread.sleep(3000);
+		}
+		assertEquals("result first 0", answers.next());
+		assertEquals("result second 0", answers.next());
+		answers.assertNoMore();
+		server.shutdown();
+	}
+}
@@ -118,8 +118,8 @@ public class IFCConsole {
 							"Clear all annotations."),
 		DECLASS(		"declass", 				3, 		"<index> <level1> <level2>",
 							"Declassify specified node from <level1> to <level2>. <index> refers to the indices shown in the currently active method."),
-		RUN(			"run", 					0, 	2, 	" [type] ",
-							"Run IFC analysis with specified data. The optional parameter type denotes the type of ifc analysis. It can be " + IFCTYPE_CLASSICAL_NI + ", " + IFCTYPE_LSOD + ", " + IFCTYPE_RLSOD + " or " + IFCTYPE_iRLSOD + ". If it is omitted, classical non-interference is used."),
+		RUN(			"run", 					0, 	3, 	" [type] [" + AVOID_TIME_TRAVEL + "] [" + PARALLEL_SLICING + "[=<threads>]] ",
+							"Run IFC analysis with specified data. The optional parameter type denotes the type of ifc analysis. It can be " + IFCTYPE_CLASSICAL_NI + ", " + IFCTYPE_LSOD + ", " + IFCTYPE_RLSOD + " or " + IFCTYPE_iRLSOD + ". If it is omitted, classical non-interference is used. " + AVOID_TIME_TRAVEL + " makes the analysis time-sensitive. " + PARALLEL_SLICING + " slices the sources or sinks of a " + IFCTYPE_CLASSICAL_NI + " analysis with the given number of threads (default: one per processor)."),
 		RESET(			"reset", 				0, 		"",
 							"Reset node data."),
 		SAVE_ANNOT(		"saveAnnotations", 		1, 		"<filename>",
@@ -155,7 +155,9 @@ public class IFCConsole {
 		VERIFY_ANNOT(	"verifyAnnotations", 	0, 		"",
 							"Verifies that the recorded annotations are mapped consistently to the sdg and vice versa."),
         CHOP(			"chop", 				2, 		"<source> <sink>",
-        					"Generates a chop between two program points");
+        					"Generates a chop between two program points"),
+        CHOP_ALL(		"chopAll", 				0, 	1, 	" [" + PARALLEL_SLICING + "[=<threads>]] ",
+        					"Generates the chops between every annotated source and every annotated sink. " + PARALLEL_SLICING + " computes them with the given number of threads (default: one per processor).");
 
 		private final String name;
 		private final int minArity;
@@ -292,6 +294,7 @@ public class IFCConsole {
 
 	public static final String DONT_USE_STUBS = "<none>";
 	public static final String AVOID_TIME_TRAVEL = "TIMESENS";
+	public static final String PARALLEL_SLICING = "PARALLEL";
 
 	private BufferedReader in;
 	// private PrintStream out;
@@ -610,31 +613,51 @@ public class IFCConsole {
 				} else {
 					IFCType ifcType = parseIFCType(args[1]);
 					// standard value for time-sensitivity is false; only set to true if mentioned explicitly
-					boolean timeSens = args.length > 2 && AVOID_TIME_TRAVEL.equals(args[2]);
+					boolean timeSens = false;
+					// standard value for slicing threads is 1; only use more if mentioned explicitly
+					int threads = 1;
+					for (int i = 2; i < args.length; i++) {
+						if (AVOID_TIME_TRAVEL.equals(args[i])) {
+							timeSens = true;
+						} else if (args[i].startsWith(PARALLEL_SLICING)) {
+							threads = parseThreads(args[i]);
+							if (threads < 1) {
+								out.error("invalid number of threads: " + args[i]);
+								return false;
+							}
+						} else {
+							out.error("unknown option: " + args[i]);
+							return false;
+						}
+					}
 
 					if (ifcType == null) {
 						out.error("unknown ifc type: " + args[1]);
 						return false;
 					} else {
-						return doIFC(ifcType, timeSens);
+						return doIFC(ifcType, timeSens, threads);
 					}
 				}
 			}
+		};
+	}
 
-			private IFCType parseIFCType(String s) {
-				if (IFCTYPE_CLASSICAL_NI.equals(s)) {
-					return IFCType.CLASSICAL_NI;
-				} else if (IFCTYPE_LSOD.equals(s)) {
-					return IFCType.LSOD;
-				} else if (IFCTYPE_RLSOD.equals(s)) {
-					return IFCType.RLSOD;
-				} else if (IFCTYPE_iRLSOD.equals(s)) {
-					return IFCType.iRLSOD;
-				} else {
-					return null;
-				}
+	/**
+	 * Parses an argument of the form {@link #PARALLEL_SLICING}[=&lt;threads&gt;].
+	 * @return the number of threads, or -1 if the argument is malformed
+	 */
+	private static int parseThreads(String s) {
+		if (PARALLEL_SLICING.equals(s)) {
+			return Runtime.getRuntime().availableProcessors();
+		} else if (s.startsWith(PARALLEL_SLICING + "=")) {
+			try {
+				return Integer.parseInt(s.substring(PARALLEL_SLICING.length() + 1));
+			} catch (NumberFormatException e) {
+				return -1;
 			}
-		};
+		} else {
+			return -1;
+		}
 	}
 
 	private Command makeCommandReset() {
@@ -797,6 +820,24 @@ public class IFCConsole {
 		};
 	}
 
+    private Command makeCommandChopAll() {
+		return new Command(CMD.CHOP_ALL) {
+			@Override
+			boolean execute(String[] args) {
+				// standard value for chopping threads is 1; only use more if mentioned explicitly
+				int threads = 1;
+				if (args.length > 1) {
+					threads = parseThreads(args[1]);
+					if (threads < 1) {
+						out.error("invalid number of threads: " + args[1]);
+						return false;
+					}
+				}
+				return createChops(threads);
+			}
+		};
+	}
+
 
 	private boolean verifyAnnotations() {
 		if (getSDG() == null) {
@@ -929,6 +970,7 @@ public class IFCConsole {
 		repo.addCommand(makeCommandShowClasses());
 		repo.addCommand(makeCommandVerifyAnnotations());
         repo.addCommand(makeCommandChop());
+        repo.addCommand(makeCommandChopAll());
 
 		setLattice(LATTICE_BINARY);
 	}
@@ -1300,22 +1342,16 @@ public class IFCConsole {
 	 */
 	public boolean setLattice(String latticeSpec) {
 		IStaticLattice<String> newLattice;
-		latticeFile = "[preset: " + latticeSpec + "]";
-		if (LATTICE_BINARY.equals(latticeSpec)) {
-			newLattice = BuiltinLattices.getBinaryLattice();
-		} else if (LATTICE_TERNARY.equals(latticeSpec)) {
-			newLattice = BuiltinLattices.getTernaryLattice();
-		} else if (LATTICE_DIAMOND.equals(latticeSpec)) {
-			newLattice = BuiltinLattices.getDiamondLattice();
+		try {
+			newLattice = parseLattice(latticeSpec);
+		} catch (WrongLatticeDefinitionException e) {
+			out.error("Error while parsing lattice: " + e.getMessage() + " Old lattice is left untouched!");
+			return false;
+		}
+		if (isBuiltinLattice(latticeSpec)) {
+			latticeFile = "[preset: " + latticeSpec + "]";
 		} else {
-			latticeSpec = latticeSpec.replaceAll("\\s*,\\s*", "\n");
-			try {
-				newLattice = LatticeUtil.loadLattice(latticeSpec);
-			} catch (WrongLatticeDefinitionException e) {
-				out.error("Error while parsing lattice: " + e.getMessage() + " Old lattice is left untouched!");
-				return false;
-			}
-			latticeFile = "[user-defined: " + latticeSpec + "]";
+			latticeFile = "[user-defined: " + latticeSpec.replaceAll("\\s*,\\s*", "\n") + "]";
 		}
 		if (checkAndSetLattice(newLattice)) {
 			out.logln("current lattice: " + latticeFile);
@@ -1323,6 +1359,33 @@ public class IFCConsole {
 		return checkAndSetLattice(newLattice);
 	}
 
+	private static boolean isBuiltinLattice(String latticeSpec) {
+		return LATTICE_BINARY.equals(latticeSpec) || LATTICE_TERNARY.equals(latticeSpec)
+				|| LATTICE_DIAMOND.equals(latticeSpec);
+	}
+
+	/**
+	 * Parses a lattice specification as accepted by {@link #setLattice(String)}.
+	 *
+	 * @param latticeSpec
+	 *            either one of the constants for the built-in lattices or
+	 *            comma-separated inequalities specifying a user-defined lattice
+	 * @return the specified lattice
+	 * @throws WrongLatticeDefinitionException
+	 *             if latticeSpec is no valid user-defined lattice
+	 */
+	public static IStaticLattice<String> parseLattice(String latticeSpec) throws WrongLatticeDefinitionException {
+		if (LATTICE_BINARY.equals(latticeSpec)) {
+			return BuiltinLattices.getBinaryLattice();
+		} else if (LATTICE_TERNARY.equals(latticeSpec)) {
+			return BuiltinLattices.getTernaryLattice();
+		} else if (LATTICE_DIAMOND.equals(latticeSpec)) {
+			return BuiltinLattices.getDiamondLattice();
+		} else {
+			return LatticeUtil.loadLattice(latticeSpec.replaceAll("\\s*,\\s*", "\n"));
+		}
+	}
+
 	public CMD searchCommand(final String cmdstr) {
 		CMD cmd = null;
 		String[] parts = cmdstr.split("\\s+");
@@ -1651,11 +1714,16 @@ public class IFCConsole {
 	}
 
 	public boolean doIFC(IFCType ifcType, boolean timeSens) {
+		return doIFC(ifcType, timeSens, 1);
+	}
+
+	public boolean doIFC(IFCType ifcType, boolean timeSens, int slicingThreads) {
 		if (ifcAnalysis == null || ifcAnalysis.getProgram() == null) {
 			out.info("No program to analyze.");
 			return false;
 		} else {
 			ifcAnalysis.setTimesensitivity(timeSens);
+			ifcAnalysis.setSlicingParallelism(slicingThreads);
 			out.logln("Performing IFC - Analysis type: " + ifcType);
 			Collection<? extends IViolation<SecurityNode>> vios = ifcAnalysis.doIFC(ifcType);
 
@@ -1722,6 +1790,61 @@ public class IFCConsole {
         return true;
     }
 
+    /**
+     * Computes the chops between every annotated source and every annotated sink, and prints each of them as
+     * soon as it is computed.
+     * @param threads number of threads to use
+     */
+    public boolean createChops(final int threads) {
+        final SDGProgram program = getProgram();
+
+        if (program == null) {
+            out.info("No program loaded");
+            return false;
+        }
+        final List<SDGProgramPart> sources = new LinkedList<SDGProgramPart>();
+        for (final IFCAnnotation ann : getSources()) {
+            sources.add(ann.getProgramPart());
+        }
+        final List<SDGProgramPart> sinks = new LinkedList<SDGProgramPart>();
+        for (final IFCAnnotation ann : getSinks()) {
+            sinks.add(ann.getProgramPart());
+        }
+        if (sources.isEmpty() || sinks.isEmpty()) {
+            out.info("Chop: no sources or no sinks annotated - aborted");
+            return false;
+        }
+
+        this.out.logln("Calculating Chops from " + sources.size() + " source(s) to " + sinks.size() + " sink(s)...");
+
+        // print each chop as soon as it is computed instead of keeping all of them
+        program.computeInstructionChops(sources, sinks, threads, (source, sink, chop) -> {
+            out.logln("Chop from " + source + " to " + sink + " is:");
+            for (final edu.kit.joana.api.sdg.SDGInstruction inst : chop) {
+                out.logln("  " + inst);
+            }
+        });
+        return true;
+    }
+
+	/**
+	 * Inverse of {@link #convertIFCType(IFCType)}.
+	 * @return the ifc type with the given name, or {@code null} if there is none
+	 */
+	public static IFCType parseIFCType(String s) {
+		if (IFCTYPE_CLASSICAL_NI.equals(s)) {
+			return IFCType.CLASSICAL_NI;
+		} else if (IFCTYPE_LSOD.equals(s)) {
+			return IFCType.LSOD;
+		} else if (IFCTYPE_RLSOD.equals(s)) {
+			return IFCType.RLSOD;
+		} else if (IFCTYPE_iRLSOD.equals(s)) {
+			return IFCType.iRLSOD;
+		} else {
+			return null;
+		}
+	}
+
 	public static String convertIFCType(IFCType ifcType) {
 		switch (ifcType) {
 		case CLASSICAL_NI:
@@ -0,0 +1,198 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ui.ifc.wala.console.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import edu.kit.joana.api.IFCAnalysis;
+import edu.kit.joana.api.IFCType;
+import edu.kit.joana.api.annotations.AnnotationType;
+import edu.kit.joana.api.annotations.IFCAnnotation;
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.api.sdg.SDGProgramPart;
+import edu.kit.joana.ifc.sdg.core.SecurityNode;
+import edu.kit.joana.ifc.sdg.core.SecurityPolicy;
+import edu.kit.joana.ifc.sdg.core.violations.IViolation;
+import edu.kit.joana.ifc.sdg.lattice.IStaticLattice;
+import gnu.trove.map.TObjectIntMap;
+
+/**
+ * A single IFC check requested from an {@link IFCServer}: the program to check, the type of the check, the security
+ * lattice and the annotations. Annotations refer to program parts by their textual description and are only
+ * resolved when the job runs.
+ */
+public class IFCJob {
+
+	private static final class Annotation {
+		private final AnnotationType type;
+		private final String level1;
+		private final String level2;
+		private final String part;
+
+		private Annotation(AnnotationType type, String level1, String level2, String part) {
+			this.type = type;
+			this.level1 = level1;
+			this.level2 = level2;
+			this.part = part;
+		}
+
+		private IFCAnnotation resolve(SDGProgram program, IStaticLattice<String> lattice) throws IFCJobException {
+			checkLevel(lattice, level1);
+			if (level2 != null) {
+				checkLevel(lattice, level2);
+			}
+			final SDGProgramPart toMark = program.getPart(part);
+			if (toMark == null) {
+				throw new IFCJobException("program part " + part + " not found");
+			}
+			if (type == AnnotationType.DECLASS) {
+				return new IFCAnnotation(level1, level2, toMark);
+			} else {
+				return new IFCAnnotation(type, level1, toMark);
+			}
+		}
+
+		private static void checkLevel(IStaticLattice<String> lattice, String level) throws IFCJobException {
+			if (!lattice.getElements().contains(level)) {
+				throw new IFCJobException("level " + level + " not in security lattice");
+			}
+		}
+	}
+
+	private final String id;
+	private final String programName;
+	private final IFCType ifcType;
+	private IStaticLattice<String> lattice;
+	private final boolean timeSens;
+	private final long timeout;
+	private final List<Annotation> annotations = new LinkedList<Annotation>();
+
+	/**
+	 * @param timeout timeout in milliseconds, 0 for no timeout
+	 */
+	public IFCJob(String id, String programName, IFCType ifcType, IStaticLattice<String> lattice, boolean timeSens,
+			long timeout) {
+		if (id == null || programName == null || ifcType == null || lattice == null) {
+			throw new IllegalArgumentException();
+		}
+		if (timeout < 0) {
+			throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+		}
+		this.id = id;
+		this.programName = programName;
+		this.ifcType = ifcType;
+		this.lattice = lattice;
+		this.timeSens = timeSens;
+		this.timeout = timeout;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getProgramName() {
+		return programName;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	public IStaticLattice<String> getLattice() {
+		return lattice;
+	}
+
+	public void setLattice(IStaticLattice<String> lattice) {
+		if (lattice == null) {
+			throw new IllegalArgumentException();
+		}
+		this.lattice = lattice;
+	}
+
+	public void addSource(String level, String part) {
+		annotations.add(new Annotation(AnnotationType.SOURCE, level, null, part));
+	}
+
+	public void addSink(String level, String part) {
+		annotations.add(new Annotation(AnnotationType.SINK, level, null, part));
+	}
+
+	public void addDeclassification(String from, String to, String part) {
+		annotations.add(new Annotation(AnnotationType.DECLASS, from, to, part));
+	}
+
+	/**
+	 * Returns whether this job checks a separate {@link SecurityPolicy} and thus may run with
+	 * {@link #runShared(SDGProgram)} while other shared jobs use the same program.
+	 */
+	boolean isShared() {
+		return ifcType == IFCType.CLASSICAL_NI && !timeSens;
+	}
+
+	/**
+	 * Runs this job on the given program. The caller has to make sure that no other analysis uses the program at the
+	 * same time, since the annotations are applied to the nodes of its SDG during the check.
+	 * @return the violations found, grouped by program part, in the format of the console
+	 */
+	List<String> run(SDGProgram program) throws IFCJobException {
+		final IFCAnalysis ana = prepare(program);
+		return format(ana, ana.doIFC(ifcType));
+	}
+
+	/**
+	 * Runs this job, which has to be {@link #isShared() shared}, on the given program. The annotations are resolved
+	 * while holding the lock of the program, the check itself runs unlocked against a separate policy. The caller has
+	 * to make sure that no job which modifies the SDG runs at the same time.
+	 * @return the violations found, grouped by program part, in the format of the console
+	 */
+	List<String> runShared(SDGProgram program) throws IFCJobException {
+		final IFCAnalysis ana;
+		final SecurityPolicy policy;
+		synchronized (program) {
+			ana = prepare(program);
+			policy = ana.getSecurityPolicy();
+		}
+		final Collection<? extends IViolation<SecurityNode>> vios = ana.doIFC(ifcType, policy);
+		synchronized (program) {
+			return format(ana, vios);
+		}
+	}
+
+	private IFCAnalysis prepare(SDGProgram program) throws IFCJobException {
+		final IFCAnalysis ana = new IFCAnalysis(program, lattice);
+		for (final Annotation a : annotations) {
+			final IFCAnnotation ann = a.resolve(program, lattice);
+			if (!ana.isAnnotationLegal(ann)) {
+				throw new IFCJobException("illegal annotation of " + a.part);
+			}
+			ana.addAnnotation(ann);
+		}
+		ana.setTimesensitivity(timeSens);
+		return ana;
+	}
+
+	private static List<String> format(IFCAnalysis ana, Collection<? extends IViolation<SecurityNode>> vios) {
+		final List<String> result = new ArrayList<String>();
+		if (vios.isEmpty()) {
+			return result;
+		}
+		final TObjectIntMap<IViolation<SDGProgramPart>> grouped = ana.groupByPPPart(vios);
+		final Set<String> sorted = new TreeSet<String>();
+		for (final IViolation<SDGProgramPart> vio : grouped.keySet()) {
+			sorted.add(String.format("%s (internal: %d security violations on the SDG node level)",
+					vio.toString(), grouped.get(vio)));
+		}
+		result.addAll(sorted);
+		return result;
+	}
+}
@@ -0,0 +1,25 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ui.ifc.wala.console.server;
+
+import java.util.List;
+
+/**
+ * Receives the outcome of an {@link IFCJob} submitted to an {@link IFCServer}.
+ */
+public interface IFCJobCallback {
+
+	/**
+	 * @param violations the violations found, empty if the program is secure
+	 */
+	void finished(IFCJob job, List<String> violations);
+
+	void failed(IFCJob job, String reason);
+
+	void timedOut(IFCJob job);
+}
@@ -0,0 +1,21 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ui.ifc.wala.console.server;
+
+/**
+ * Thrown if an {@link IFCJob} cannot be executed, e.g. because one of its annotations refers to a program part that
+ * does not exist.
+ */
+public class IFCJobException extends Exception {
+
+	private static final long serialVersionUID = -2361402712683520313L;
+
+	public IFCJobException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,350 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ui.ifc.wala.console.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.ifc.sdg.mhpoptimization.MHPType;
+import edu.kit.joana.util.io.IOFactory;
+
+/**
+ * A long-running analysis service that keeps SDGs in memory and runs IFC checks on them. Clients talk to the server
+ * either via standard input and output or via a socket bound to the loopback interface, using the line-based protocol
+ * described in {@link IFCServerSession}.
+ * <p>
+ * Jobs are executed on a bounded worker pool. Jobs that do not fit into the queue of the pool are rejected, jobs that
+ * exceed their timeout are reported as timed out. The timeout of a job starts when it gets hold of its program, the
+ * time it waits in the queue does not count. Classical noninterference jobs which are not time-sensitive check a
+ * separate {@link edu.kit.joana.ifc.sdg.core.SecurityPolicy} and run in parallel, even on the same program. All other
+ * jobs apply their annotations to the nodes of the SDG while it is checked and thus use their program exclusively.
+ * <p>
+ * The checks do not react to interrupts, so a job that times out keeps its worker and its program until it is done,
+ * its result is dropped. Until then, jobs which would have to wait for it fail right away instead of blocking a
+ * worker: all jobs on a program whose exclusive job timed out, and the exclusive jobs on a program whose shared job
+ * timed out.
+ */
+public class IFCServer {
+
+	/** number of jobs waiting for a worker, if not set otherwise */
+	public static final int DEFAULT_QUEUE_SIZE = 64;
+
+	/** milliseconds a job waits for its program before it checks again whether the program is still usable */
+	private static final long LOCK_POLL_INTERVAL = 50;
+
+	/**
+	 * A program, the lock shared jobs acquire for reading and all other jobs for writing, and the jobs which timed out
+	 * but still hold the lock.
+	 */
+	private static final class LoadedProgram {
+		private final SDGProgram program;
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		/** the exclusive job which timed out but is still running, or null */
+		private IFCJob overdueExclusive = null;
+		/** number of shared jobs which timed out but are still running */
+		private int overdueShared = 0;
+
+		private LoadedProgram(SDGProgram program) {
+			this.program = program;
+		}
+
+		/**
+		 * Returns why the given job would have to wait for a job which timed out, or null if it would not.
+		 */
+		private synchronized String busy(IFCJob job) {
+			if (overdueExclusive != null) {
+				return "program " + job.getProgramName() + " is still used by job " + overdueExclusive.getId()
+						+ ", which timed out";
+			} else if (!job.isShared() && overdueShared > 0) {
+				return "program " + job.getProgramName() + " is still used by " + overdueShared
+						+ " job(s) which timed out";
+			}
+			return null;
+		}
+
+		/**
+		 * Records that the given running job timed out, unless it has been answered before.
+		 * @return {@code false} if the job has been answered before
+		 */
+		private synchronized boolean timedOut(IFCJob job, AtomicBoolean answered) {
+			if (!answered.compareAndSet(false, true)) {
+				return false;
+			}
+			if (job.isShared()) {
+				overdueShared++;
+			} else {
+				overdueExclusive = job;
+			}
+			return true;
+		}
+
+		/**
+		 * Records that the given job is done, unless it has been answered before.
+		 * @return {@code false} if the job has been answered before, i.e. it has timed out
+		 */
+		private synchronized boolean done(IFCJob job, AtomicBoolean answered) {
+			if (answered.compareAndSet(false, true)) {
+				return true;
+			}
+			if (job.isShared()) {
+				overdueShared--;
+			} else {
+				overdueExclusive = null;
+			}
+			return false;
+		}
+	}
+
+	private final ConcurrentHashMap<String, LoadedProgram> programs = new ConcurrentHashMap<String, LoadedProgram>();
+	private final ThreadPoolExecutor workers;
+	private final ScheduledExecutorService timer;
+	private final long defaultTimeout;
+
+	/**
+	 * @param threads number of jobs executed at the same time
+	 * @param queueSize number of jobs which may wait for a worker
+	 * @param defaultTimeout timeout in milliseconds of jobs which do not specify one, 0 for no timeout
+	 */
+	public IFCServer(int threads, int queueSize, long defaultTimeout) {
+		if (threads < 1 || queueSize < 1 || defaultTimeout < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueSize));
+		this.timer = Executors.newSingleThreadScheduledExecutor();
+		this.defaultTimeout = defaultTimeout;
+	}
+
+	public long getDefaultTimeout() {
+		return defaultTimeout;
+	}
+
+	/**
+	 * Loads an SDG and keeps it in memory under the given name. A program loaded before under the same name is
+	 * replaced, jobs already running on it are not affected.
+	 */
+	public SDGProgram load(String name, String path, MHPType mhpType) throws IOException {
+		final SDGProgram program = SDGProgram.loadSDG(path, mhpType);
+		programs.put(name, new LoadedProgram(program));
+		return program;
+	}
+
+	/**
+	 * Makes an SDG available under the given name.
+	 */
+	public void register(String name, SDGProgram program) {
+		if (name == null || program == null) {
+			throw new IllegalArgumentException();
+		}
+		programs.put(name, new LoadedProgram(program));
+	}
+
+	public boolean unload(String name) {
+		return programs.remove(name) != null;
+	}
+
+	public SDGProgram getProgram(String name) {
+		final LoadedProgram loaded = programs.get(name);
+		return loaded == null ? null : loaded.program;
+	}
+
+	/**
+	 * Queues a job. If the job is queued, exactly one of the methods of the given callback is called for it, either
+	 * from the thread executing the job, from the timer that detects a timeout or, if there is no program with the
+	 * name given by the job, from this method.
+	 * @return {@code false} if the job cannot be queued because the queue is full
+	 */
+	public boolean submit(final IFCJob job, final IFCJobCallback callback) {
+		final LoadedProgram loaded = programs.get(job.getProgramName());
+		if (loaded == null) {
+			callback.failed(job, "no program loaded under name " + job.getProgramName());
+			return true;
+		}
+		try {
+			workers.execute(new Runnable() {
+				@Override
+				public void run() {
+					final Lock lock = job.isShared() ? loaded.lock.readLock() : loaded.lock.writeLock();
+					final String busy = acquire(loaded, job, lock);
+					if (busy != null) {
+						callback.failed(job, busy);
+						return;
+					}
+					final AtomicBoolean answered = new AtomicBoolean(false);
+					List<String> violations = null;
+					String error = "aborted";
+					final ScheduledFuture<?> timeout = (job.getTimeout() > 0 ? timer.schedule(new Runnable() {
+						@Override
+						public void run() {
+							if (loaded.timedOut(job, answered)) {
+								callback.timedOut(job);
+							}
+						}
+					}, job.getTimeout(), TimeUnit.MILLISECONDS) : null);
+					try {
+						violations = job.isShared() ? job.runShared(loaded.program) : job.run(loaded.program);
+						error = null;
+					} catch (IFCJobException e) {
+						error = e.getMessage();
+					} catch (RuntimeException e) {
+						error = e.toString();
+					} finally {
+						if (timeout != null) {
+							timeout.cancel(false);
+						}
+						final boolean answer = loaded.done(job, answered);
+						lock.unlock();
+						if (answer) {
+							if (error != null) {
+								callback.failed(job, error);
+							} else {
+								callback.finished(job, violations);
+							}
+						}
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Acquires the given lock of the program for the job. While the lock is held by other jobs, checks again and
+	 * again whether one of them has timed out in the meantime, so the job does not block its worker until the
+	 * overdue job is done.
+	 * @return {@code null} if the lock has been acquired, otherwise why the job fails
+	 */
+	private static String acquire(LoadedProgram loaded, IFCJob job, Lock lock) {
+		try {
+			while (true) {
+				final String busy = loaded.busy(job);
+				if (busy != null) {
+					return busy;
+				}
+				if (lock.tryLock(LOCK_POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+					return null;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "interrupted while waiting for program " + job.getProgramName();
+		}
+	}
+
+	/**
+	 * Stops accepting jobs and waits until the queued jobs are done.
+	 */
+	public void shutdown() throws InterruptedException {
+		workers.shutdown();
+		workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		timer.shutdownNow();
+	}
+
+	/**
+	 * Serves clients connecting to the given port of the loopback interface until the server is shut down.
+	 * Each client is served by a thread of its own.
+	 */
+	public void serve(int port) throws IOException {
+		final ServerSocket socket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+		try {
+			while (!workers.isShutdown()) {
+				final Socket client = socket.accept();
+				final Thread t = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							serve(new BufferedReader(IOFactory.createUTF8ISReader(client.getInputStream())),
+									new PrintWriter(IOFactory.createUTF8OutputStreamWriter(client.getOutputStream()),
+											true));
+						} catch (IOException e) {
+							// the client is gone
+						} finally {
+							try {
+								client.close();
+							} catch (IOException e) {
+								// nothing left to do
+							}
+						}
+					}
+				}, "ifc-client-" + client.getPort());
+				t.setDaemon(true);
+				t.start();
+			}
+		} finally {
+			socket.close();
+		}
+	}
+
+	/**
+	 * Serves a single client until it quits or closes its input.
+	 */
+	public void serve(BufferedReader in, PrintWriter out) throws IOException {
+		new IFCServerSession(this, in, out).run();
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int port = -1;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int queueSize = DEFAULT_QUEUE_SIZE;
+		long timeout = 0;
+		try {
+			for (int i = 0; i < args.length; i++) {
+				if ("-port".equals(args[i]) && i + 1 < args.length) {
+					port = Integer.parseInt(args[++i]);
+				} else if ("-threads".equals(args[i]) && i + 1 < args.length) {
+					threads = Integer.parseInt(args[++i]);
+				} else if ("-queue".equals(args[i]) && i + 1 < args.length) {
+					queueSize = Integer.parseInt(args[++i]);
+				} else if ("-timeout".equals(args[i]) && i + 1 < args.length) {
+					timeout = Long.parseLong(args[++i]);
+				} else {
+					printUsage();
+					return;
+				}
+			}
+		} catch (NumberFormatException e) {
+			printUsage();
+			return;
+		}
+
+		final IFCServer server = new IFCServer(threads, queueSize, timeout);
+		if (port >= 0) {
+			server.serve(port);
+		} else {
+			server.serve(new BufferedReader(IOFactory.createUTF8ISReader(System.in)),
+					new PrintWriter(IOFactory.createUTF8OutputStreamWriter(System.out), true));
+			server.shutdown();
+		}
+	}
+
+	private static void printUsage() {
+		System.out.println("Usage: edu.kit.joana.ui.ifc.wala.console.server.IFCServer "
+				+ "[-port <port>] [-threads <n>] [-queue <n>] [-timeout <ms>]");
+		System.out.println("Without -port, requests are read from standard input and answered on standard output.");
+	}
+}
@@ -0,0 +1,223 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.ui.ifc.wala.console.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+import edu.kit.joana.api.IFCType;
+import edu.kit.joana.api.lattice.BuiltinLattices;
+import edu.kit.joana.api.sdg.SDGProgram;
+import edu.kit.joana.ifc.sdg.lattice.WrongLatticeDefinitionException;
+import edu.kit.joana.ifc.sdg.mhpoptimization.MHPType;
+import edu.kit.joana.ui.ifc.wala.console.console.IFCConsole;
+
+/**
+ * Reads the requests of one client of an {@link IFCServer} and writes the answers. The protocol is line-based:
+ * <pre>
+ * load &lt;name&gt; &lt;sdg file&gt; [NONE|SIMPLE|PRECISE]
+ *     -&gt; loaded &lt;name&gt; &lt;number of nodes&gt;
+ * unload &lt;name&gt;
+ *     -&gt; unloaded &lt;name&gt;
+ * job &lt;id&gt; &lt;name&gt; &lt;classical-ni|lsod|rlsod|irlsod&gt; [TIMESENS] [TIMEOUT=&lt;ms&gt;]
+ * lattice &lt;BINARY|TERNARY|DIAMOND|comma-separated inequalities&gt;
+ * source &lt;level&gt; &lt;program part&gt;
+ * sink &lt;level&gt; &lt;program part&gt;
+ * declass &lt;from level&gt; &lt;to level&gt; &lt;program part&gt;
+ * end
+ *     -&gt; queued &lt;id&gt;
+ *     -&gt; result &lt;id&gt; &lt;number of violations&gt;, followed by one line "violation &lt;id&gt; ..." per violation
+ *        or timeout &lt;id&gt;, rejected &lt;id&gt; or error &lt;id&gt; &lt;message&gt;
+ * quit
+ * </pre>
+ * The lines between {@code job} and {@code end} describe one job, the lattice defaults to the binary lattice.
+ * Answers of different jobs may arrive in any order, the lines of one answer are never interleaved with other lines.
+ * Malformed requests are answered with {@code error - <message>}.
+ */
+public class IFCServerSession implements IFCJobCallback {
+
+	private final IFCServer server;
+	private final BufferedReader in;
+	private final PrintWriter out;
+
+	private IFCJob current = null;
+	private boolean currentFailed = false;
+
+	public IFCServerSession(IFCServer server, BufferedReader in, PrintWriter out) {
+		this.server = server;
+		this.in = in;
+		this.out = out;
+	}
+
+	/**
+	 * Processes requests until the client quits or closes its input.
+	 */
+	public void run() throws IOException {
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			if ("quit".equals(line)) {
+				break;
+			}
+			process(line);
+		}
+	}
+
+	private void process(String line) {
+		final String[] parts = line.split("\\s+", 2);
+		final String cmd = parts[0];
+		final String args = parts.length > 1 ? parts[1] : "";
+
+		if (current != null || currentFailed) {
+			processJobLine(cmd, args);
+		} else if ("load".equals(cmd)) {
+			load(args.split("\\s+"));
+		} else if ("unload".equals(cmd)) {
+			if (server.unload(args)) {
+				answer("unloaded " + args);
+			} else {
+				answer("error " + args + " no program loaded under this name");
+			}
+		} else if ("job".equals(cmd)) {
+			startJob(args.split("\\s+"));
+		} else {
+			answer("error - unknown request: " + line);
+		}
+	}
+
+	private void load(String[] args) {
+		if (args.length < 2 || args.length > 3) {
+			answer("error - expected: load <name> <sdg file> [NONE|SIMPLE|PRECISE]");
+			return;
+		}
+		final MHPType mhpType;
+		try {
+			mhpType = args.length == 3 ? MHPType.valueOf(args[2]) : MHPType.PRECISE;
+		} catch (IllegalArgumentException e) {
+			answer("error " + args[0] + " unknown mhp type " + args[2]);
+			return;
+		}
+		try {
+			final SDGProgram program = server.load(args[0], args[1], mhpType);
+			answer("loaded " + args[0] + " " + program.getSDG().vertexSet().size());
+		} catch (IOException e) {
+			answer("error " + args[0] + " I/O error while reading sdg from file " + args[1]);
+		}
+	}
+
+	private void startJob(String[] args) {
+		if (args.length < 3) {
+			answer("error - expected: job <id> <name> <ifc type> [TIMESENS] [TIMEOUT=<ms>]");
+			currentFailed = true;
+			return;
+		}
+		final IFCType ifcType = IFCConsole.parseIFCType(args[2]);
+		if (ifcType == null) {
+			fail(args[0], "unknown ifc type " + args[2]);
+			return;
+		}
+		boolean timeSens = false;
+		long timeout = server.getDefaultTimeout();
+		for (int i = 3; i < args.length; i++) {
+			if (IFCConsole.AVOID_TIME_TRAVEL.equals(args[i])) {
+				timeSens = true;
+			} else if (args[i].startsWith("TIMEOUT=")) {
+				try {
+					timeout = Long.parseLong(args[i].substring("TIMEOUT=".length()));
+				} catch (NumberFormatException e) {
+					timeout = -1;
+				}
+				if (timeout < 0) {
+					fail(args[0], "invalid timeout " + args[i]);
+					return;
+				}
+			} else {
+				fail(args[0], "unknown option " + args[i]);
+				return;
+			}
+		}
+		current = new IFCJob(args[0], args[1], ifcType, BuiltinLattices.getBinaryLattice(), timeSens, timeout);
+	}
+
+	private void fail(String id, String reason) {
+		answer("error " + id + " " + reason);
+		current = null;
+		currentFailed = true;
+	}
+
+	private void processJobLine(String cmd, String args) {
+		if ("end".equals(cmd)) {
+			if (current != null) {
+				final IFCJob job = current;
+				current = null;
+				// answers of the job wait for the lock, so they cannot overtake the acknowledgement
+				synchronized (this) {
+					if (server.getProgram(job.getProgramName()) == null) {
+						answer("error " + job.getId() + " no program loaded under name " + job.getProgramName());
+					} else if (server.submit(job, this)) {
+						answer("queued " + job.getId());
+					} else {
+						answer("rejected " + job.getId());
+					}
+				}
+			}
+			currentFailed = false;
+			return;
+		}
+		if (current == null) {
+			// skip the rest of a malformed job
+			return;
+		}
+
+		final String[] parts = args.split("\\s+", "declass".equals(cmd) ? 3 : 2);
+		if ("lattice".equals(cmd)) {
+			try {
+				current.setLattice(IFCConsole.parseLattice(args));
+			} catch (WrongLatticeDefinitionException e) {
+				fail(current.getId(), "invalid lattice: " + e.getMessage());
+			}
+		} else if ("source".equals(cmd) && parts.length == 2) {
+			current.addSource(parts[0], parts[1]);
+		} else if ("sink".equals(cmd) && parts.length == 2) {
+			current.addSink(parts[0], parts[1]);
+		} else if ("declass".equals(cmd) && parts.length == 3) {
+			current.addDeclassification(parts[0], parts[1], parts[2]);
+		} else {
+			fail(current.getId(), "malformed line in job description: " + cmd + " " + args);
+		}
+	}
+
+	private synchronized void answer(String line) {
+		out.println(line);
+		out.flush();
+	}
+
+	@Override
+	public synchronized void finished(IFCJob job, List<String> violations) {
+		out.println("result " + job.getId() + " " + violations.size());
+		for (String vio : violations) {
+			out.println("violation " + job.getId() + " " + vio);
+		}
+		out.flush();
+	}
+
+	@Override
+	public void failed(IFCJob job, String reason) {
+		answer("error " + job.getId() + " " + reason);
+	}
+
+	@Override
+	public void timedOut(IFCJob job) {
+		answer("timeout " + job.getId());
+	}
+}
@@ -92,6 +92,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
     
 	private boolean changed = true;
 	private int hashCode;
+	private int modifications = 0;
 
 
     /**
@@ -147,7 +148,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
             return null;
         } else {
             addEdgeToTouchingVertices(e);
-            changed = true;
+            modified();
             
             return e;
         }
@@ -172,7 +173,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
         assertVertexExist(targetVertex);
 
         addEdgeToTouchingVertices(e);
-        changed = true;
+        modified();
 
         return true;
     }
@@ -193,7 +194,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
 
         final boolean addedInTarget = vertexMap.get(targetVertex).addIncomingEdge(classE, e);
         if (addedInTarget) {
-            changed = true;
+            modified();
             final boolean addedInSource = vertexMap.get(sourceVertex).addOutgoingEdge(classE, e);
             assert addedInSource;
         } else {
@@ -208,7 +209,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
     	assert assertVertexExist(targetVertex);
     	
     	vertexMap.get(targetVertex).addIncomingEdges(classE, edges);
-    	changed = true;
+    	modified();
     }
 
     @Override
@@ -216,7 +217,39 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
     	assert assertVertexExist(sourceVertex);
     	
     	vertexMap.get(sourceVertex).addOutgoingEdges(classE, edges);
-    	changed = true;
+    	modified();
+    }
+
+    /**
+     * Like {@link #addIncomingEdgesAtUNSAFE(IntegerIdentifiable, Set)}, but the edges are not recorded as a
+     * modification of this graph. Hence this may be called concurrently for distinct vertices, as long as no vertices
+     * are added or removed meanwhile. Once all edges are added, {@link #edgesAddedConcurrentlyUNSAFE()} has to be
+     * called.
+     */
+    public void addIncomingEdgesAtConcurrentlyUNSAFE(V targetVertex, Set<E> edges) {
+    	assert assertVertexExist(targetVertex);
+    	
+    	vertexMap.get(targetVertex).addIncomingEdges(classE, edges);
+    }
+
+    /**
+     * Like {@link #addOutgoingEdgesAtUNSAFE(IntegerIdentifiable, Set)}, but the edges are not recorded as a
+     * modification of this graph. Hence this may be called concurrently for distinct vertices, as long as no vertices
+     * are added or removed meanwhile. Once all edges are added, {@link #edgesAddedConcurrentlyUNSAFE()} has to be
+     * called.
+     */
+    public void addOutgoingEdgesAtConcurrentlyUNSAFE(V sourceVertex, Set<E> edges) {
+    	assert assertVertexExist(sourceVertex);
+    	
+    	vertexMap.get(sourceVertex).addOutgoingEdges(classE, edges);
+    }
+
+    /**
+     * Records the edges added by {@link #addIncomingEdgesAtConcurrentlyUNSAFE(IntegerIdentifiable, Set)} and
+     * {@link #addOutgoingEdgesAtConcurrentlyUNSAFE(IntegerIdentifiable, Set)} as one modification of this graph.
+     */
+    public void edgesAddedConcurrentlyUNSAFE() {
+    	modified();
     }
 
     /**
@@ -230,7 +263,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
             return false;
         } else {
             vertexMap.put(v, new ArraySetDirectedEdgeContainer<V, E>(classE));
-            changed = true;
+            modified();
 
             return true;
         }
@@ -539,7 +572,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
 
         if (e != null) {
             removeEdgeFromTouchingVertices(e);
-            changed = true;
+            modified();
         }
 
         return e;
@@ -552,7 +585,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
     {
         if (containsEdge(e)) {
             removeEdgeFromTouchingVertices(e);
-            changed = true;
+            modified();
             return true;
         } else {
             return false;
@@ -580,7 +613,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
             removeAllEdges(new ArrayList<E>(touchingEdgesList));
 
             vertexMap.remove(v); // remove the vertex itself
-            changed = true;
+            modified();
 
             return true;
         } else {
@@ -892,7 +925,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
         	for (E e : incoming) {
         		final boolean removedFromSource = getEdgeContainer(e.getSource()).removeOutgoingEdge(classE, e);
         		assert removedFromSource;
-        		changed = true;
+        		modified();
         	}
         	getEdgeContainer(vertex).removeIncomingEdges(classE);
         }
@@ -903,7 +936,7 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
         	for (E e : outgoing) {
         		final boolean removedFromTarget = getEdgeContainer(e.getTarget()).removeIncomingEdge(classE, e);
         		assert removedFromTarget;
-        		changed = true;
+        		modified();
         	}
         	getEdgeContainer(vertex).removeOutgoingEdges(classE);
         }
@@ -945,7 +978,9 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
             final boolean removedFromTarget = getEdgeContainer(target).removeIncomingEdge(classE, e);
             
             assert removedFromSource == removedFromTarget;
-            changed |= removedFromSource;
+            if (removedFromSource) {
+            	modified();
+            }
             return removedFromSource;
         }
 
@@ -980,6 +1015,19 @@ public abstract class AbstractBaseGraph<V extends IntegerIdentifiable, E extends
         	}
         }
         
+        private void modified() {
+            changed = true;
+            modifications++;
+        }
+
+        /**
+         * Returns a counter that is increased by every modification of the vertices or edges of this graph. Derived
+         * data, like indices over the graph, may compare it to detect that they are outdated.
+         */
+        public final int getModificationCount() {
+            return modifications;
+        }
+
         @Override
         public int hashCode() {
             // TODO: deriving the hashCode might be a bad idea not only because of some performance impact,
@@ -92,9 +92,9 @@ public final class PDG extends DependenceGraph implements INodeWithNumber {
 	public static PDG build(SDGBuilder builder, String name, CGNode node, int id,
 			ExternalCallCheck ext, PrintStream out, IProgressMonitor progress)
 	throws UnsoundGraphException, CancelException {
-		PDG pdg = new PDG(builder, name, node, id);
-
-		pdg.run(node.getIR(), ext, out, progress);
+		PDG pdg = createNodes(builder, name, node, id, prepare(builder, node, node.getIR(), progress), progress);
+		pdg.addDependences();
+		pdg.checkForExternalCalls(ext, out);
 
 		return pdg;
 	}
@@ -102,13 +102,100 @@ public final class PDG extends DependenceGraph implements INodeWithNumber {
 	public static PDG buildDummy(SDGBuilder builder, String name, CGNode node, int id,
 			ExternalCallCheck ext, PrintStream out, IProgressMonitor progress)
 	throws UnsoundGraphException, CancelException {
+		// an input without cfg triggers dummy creation.
+		PDG pdg = createNodes(builder, name, node, id, Input.DUMMY, progress);
+		pdg.addDependences();
+
+		return pdg;
+	}
+
+	/**
+	 * The intermediate results of the construction of a PDG that are computed before any of its nodes exist.
+	 * They do not depend on node ids, so they may be computed for several methods concurrently.
+	 */
+	static final class Input {
+		private static final Input DUMMY = new Input(null, null, null);
+
+		private final IR ir;
+		private final ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> ecfg;
+		private final List<SSAInstruction> instructions;
+
+		private Input(IR ir, ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> ecfg, List<SSAInstruction> instructions) {
+			this.ir = ir;
+			this.ecfg = ecfg;
+			this.instructions = instructions;
+		}
+
+		private boolean isDummy() {
+			return ecfg == null;
+		}
+	}
+
+	/**
+	 * Computes the exception analyzed control flow graph of the method. This is the first phase of
+	 * {@link #build(SDGBuilder, String, CGNode, int, ExternalCallCheck, PrintStream, IProgressMonitor)}.
+	 * It does not create nodes and does not access the IR cache of WALA, so it may run concurrently for different
+	 * methods, given their IRs and a thread-safe progress monitor.
+	 */
+	static Input prepare(SDGBuilder builder, CGNode node, IR ir, IProgressMonitor progress)
+	throws UnsoundGraphException, CancelException {
+		final IMethod method = node.getMethod();
+		if (ir == null || ir.isEmptyIR() || builder.isImmutableStub(method.getDeclaringClass().getReference())) {
+			return Input.DUMMY;
+		}
+
+		final Logger dumpSSA = Log.getLogger(Log.L_WALA_IR_DUMP);
+		if (dumpSSA.isEnabled()) {
+			dumpSSA.outln(PrettyWalaNames.ir2string(ir));
+		}
+
+		final ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> ecfg = builder.createExceptionAnalyzedCFG(node, ir, progress);
+		final Logger log = Log.getLogger(Log.L_WALA_CFG_DUMP);
+		if (log.isEnabled()) {
+			final String fileName = WriteGraphToDot.sanitizeFileName(method.getSignature() + "-cfg.dot");
+			WriteGraphToDot.writeCfgToDot(ecfg, ir, "CFG of " + fileName, fileName);
+		}
+		final List<SSAInstruction> instructions = new ArrayList<>(ir.getInstructions().length);
+		for (IExplodedBasicBlock ebb : ecfg) {
+			for (SSAInstruction instruction : ebb) {
+				instructions.add(instruction);
+			}
+			if (ebb.isCatchBlock()) {
+				instructions.add(ebb.getCatchInstruction());
+			}
+
+			for (Iterator<? extends SSAInstruction> it = ebb.iteratePhis(); it.hasNext();) {
+				instructions.add(it.next());
+			}
+
+		}
+
+		return new Input(ir, ecfg, instructions);
+	}
+
+	/**
+	 * Creates the PDG with all of its nodes and its control flow. This is the second phase of
+	 * {@link #build(SDGBuilder, String, CGNode, int, ExternalCallCheck, PrintStream, IProgressMonitor)}.
+	 * It draws node ids from the builder, so PDGs have to be created one after another in a fixed order for the
+	 * node ids to be deterministic.
+	 */
+	static PDG createNodes(SDGBuilder builder, String name, CGNode node, int id, Input input,
+			IProgressMonitor progress) throws UnsoundGraphException, CancelException {
 		PDG pdg = new PDG(builder, name, node, id);
+		pdg.input = input;
 
-		// calling run with an empty IR triggers dummy creation.
-		pdg.run(null, ext, out, progress);
+		if (input.isDummy()) {
+			pdg.addDummyConnections();
+			pdg.addSourcecodeInfoToNodes(false, null);
+		} else {
+			pdg.addNodesForInstructions(input.ir, input.instructions.iterator());
+			pdg.addSourcecodeInfoToNodes(true, input.instructions);
+			pdg.addControlFlow(progress, input.ecfg);
+		}
 
 		return pdg;
 	}
+
 	// equals is bogus on ssa instructions, but comparing iindex works
 	private final Map<PDGNode, SSAInstruction> node2instr = new HashMap<PDGNode, SSAInstruction>();
 	private final Map<SSAInstruction, PDGNode> instr2node = new HashMap<SSAInstruction, PDGNode>();
@@ -162,6 +249,9 @@ public final class PDG extends DependenceGraph implements INodeWithNumber {
 	private final boolean keepPhiNodes;
 	private final boolean noBasePointerDependency;
 
+	/** the input of the construction, only set until the dependences have been added */
+	private Input input;
+
 	private PDG(final SDGBuilder builder, final String name, final CGNode node, final int pdgId) {
 		super(() -> new ArrayMap<>());
 		this.id = pdgId;
@@ -198,50 +288,22 @@ public final class PDG extends DependenceGraph implements INodeWithNumber {
 		this.noBasePointerDependency = builder.isNoBasePointerDependency();
 	}
 
-	private void run(final IR ir, ExternalCallCheck ext, PrintStream out, IProgressMonitor progress) throws UnsoundGraphException, CancelException {
-		if (ir == null || ir.isEmptyIR() || builder.isImmutableStub(method.getDeclaringClass().getReference())) {
-			addDummyConnections();
-			addSourcecodeInfoToNodes(false, null);
-		} else {
-			final Logger dumpSSA = Log.getLogger(Log.L_WALA_IR_DUMP);
-			if (dumpSSA.isEnabled()) {
-				dumpSSA.outln(PrettyWalaNames.ir2string(ir));
-			}
-			
-			final ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> ecfg = builder.createExceptionAnalyzedCFG(cgNode, progress);
-			final Logger log = Log.getLogger(Log.L_WALA_CFG_DUMP);
-			if (log.isEnabled()) {
-				final String fileName = WriteGraphToDot.sanitizeFileName(method.getSignature() + "-cfg.dot");
-				WriteGraphToDot.writeCfgToDot(ecfg, ir, "CFG of " + fileName, fileName);
-			}
-			final Iterable<SSAInstruction> instructions; {
-				ArrayList<SSAInstruction> insts = new ArrayList<>(ir.getInstructions().length); 
-				for (IExplodedBasicBlock ebb : ecfg) {
-					for (SSAInstruction instruction : ebb) {
-						insts.add(instruction);
-					}
-					if (ebb.isCatchBlock()) {
-						insts.add(ebb.getCatchInstruction());
-					}
-					
-					for (Iterator<? extends SSAInstruction> it = ebb.iteratePhis(); it.hasNext();) {
-						insts.add(it.next());
-					}
-					
-				}
-				instructions = insts;
-			}
-			
-			
-			addNodesForInstructions(ir, instructions.iterator());
-			addSourcecodeInfoToNodes(ir != null, instructions);
-			addControlFlow(progress, ecfg);
-			addControlDependence();
-			addDataFlowSSA(ir, instructions);
-			removeNopAndPhiNodes();
-			addRootParameterStructure();
-			checkForExternalCalls(ext, out);
+	/**
+	 * Adds control and data dependences. This is the third phase of
+	 * {@link #build(SDGBuilder, String, CGNode, int, ExternalCallCheck, PrintStream, IProgressMonitor)}.
+	 * It neither creates nodes nor modifies other PDGs, so it may run concurrently for different PDGs.
+	 */
+	void addDependences() {
+		final Input in = input;
+		input = null;
+		if (in.isDummy()) {
+			return;
 		}
+
+		addControlDependence();
+		addDataFlowSSA(in.ir, in.instructions);
+		removeNopAndPhiNodes();
+		addRootParameterStructure();
 	}
 
 	// only for evaluation purposes, adds random edges
@@ -268,7 +330,7 @@ public final class PDG extends DependenceGraph implements INodeWithNumber {
 		}
 	}
 
-	private void checkForExternalCalls(final ExternalCallCheck ext, final PrintStream out) {
+	void checkForExternalCalls(final ExternalCallCheck ext, final PrintStream out) {
 		for (final PDGNode call : calls) {
 			final SSAInvokeInstruction invk = (SSAInvokeInstruction) node2instr.get(call);
     
@@ -1897,45 +1959,76 @@ public final class PDG extends DependenceGraph implements INodeWithNumber {
 			throw new IllegalArgumentException("Not a call node of this pdg: " + call);
 		}
 
-		final PDGNode[] actIn = call2in.get(call);
 		final PDGCallReturn actOut = call2out.get(call);
 
 		for (PDG tgt : tgts) {
-            if (tgt == null) {  
-                System.out.println("\nERROR: Target is null; call was: " + call.toString() + " target count is: " + tgts.size());
-                continue;
+			if (connectCallTo(call, tgt, tgts.size())) {
+				tgt.connectReturnFrom(call, actOut);
+			}
+		}
+	}
+
+	/**
+	 * Adds the edges connecting a call to one of its targets that belong to this PDG, i.e. the call edge and the
+	 * parameter-in edges. Modifies only this PDG.
+	 * @return true iff the call has been connected and the parameter-out edges have to be added to the target with
+	 * {@link #connectReturnFrom(PDGNode, PDGCallReturn)}
+	 */
+	boolean connectCallTo(final PDGNode call, final PDG tgt, final int numTargets) {
+        if (tgt == null) {
+            System.out.println("\nERROR: Target is null; call was: " + call.toString() + " target count is: " + numTargets);
+            return false;
+        }
+
+		final PDGNode[] actIn = call2in.get(call);
+
+        try {
+            addVertex(tgt.entry);
+            if (call.getType().equals("static")) {
+                addEdge(call, tgt.entry, PDGEdge.Kind.CALL_STATIC);
+            } else {
+                addEdge(call, tgt.entry, PDGEdge.Kind.CALL_VIRTUAL);
             }
-           
-            try {       
-                addVertex(tgt.entry);
-                if (call.getType().equals("static")) {
-                    addEdge(call, tgt.entry, PDGEdge.Kind.CALL_STATIC);
-                } else {
-                    addEdge(call, tgt.entry, PDGEdge.Kind.CALL_VIRTUAL);
-                }
-
-                for (int i = 0; i < actIn.length; i++) {
-                    PDGNode formIn = tgt.params[i];
-                    addVertex(formIn);
-                    addEdge(actIn[i], formIn, PDGEdge.Kind.PARAMETER_IN);
-                }
-
-                if (actOut.retVal != null) {
-                    tgt.addVertex(actOut.retVal);
-                    tgt.addEdge(tgt.exit, actOut.retVal, PDGEdge.Kind.PARAMETER_OUT);
-                }
-
-                if (actOut.excVal != null) {
-                    tgt.addVertex(actOut.excVal);
-                    tgt.addEdge(tgt.exception, actOut.excVal, PDGEdge.Kind.PARAMETER_OUT);
-                }
-            } catch (Exception e) { // XXX: Do better Exception-Handling here!
-                System.err.println("\nIgnoring Exception while processing call" + call.toString());
-                System.err.println("Exception was: " + e.getMessage());
-                e.printStackTrace();
-                continue;
+
+            for (int i = 0; i < actIn.length; i++) {
+                PDGNode formIn = tgt.params[i];
+                addVertex(formIn);
+                addEdge(actIn[i], formIn, PDGEdge.Kind.PARAMETER_IN);
             }
-		}
+        } catch (Exception e) { // XXX: Do better Exception-Handling here!
+            System.err.println("\nIgnoring Exception while processing call" + call.toString());
+            System.err.println("Exception was: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+
+        return true;
+	}
+
+	/**
+	 * Adds the parameter-out edges from this PDG, the target of a call, to the actual-out nodes of the call.
+	 * Modifies only this PDG.
+	 */
+	void connectReturnFrom(final PDGNode call, final PDGCallReturn actOut) {
+        try {
+            if (actOut.retVal != null) {
+                addVertex(actOut.retVal);
+                addEdge(exit, actOut.retVal, PDGEdge.Kind.PARAMETER_OUT);
+            }
+
+            if (actOut.excVal != null) {
+                addVertex(actOut.excVal);
+                addEdge(exception, actOut.excVal, PDGEdge.Kind.PARAMETER_OUT);
+            }
+        } catch (Exception e) { // XXX: Do better Exception-Handling here!
+            System.err.println("\nIgnoring Exception while processing call" + call.toString());
+            System.err.println("Exception was: " + e.getMessage());
+            e.printStackTrace();
+        }
+	}
+
+	PDGCallReturn getCallReturn(final PDGNode call) {
+		return call2out.get(call);
 	}
 
 
@@ -13,11 +13,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.jgrapht.DirectedGraph;
@@ -57,6 +61,7 @@ import com.ibm.wala.ipa.callgraph.pruned.PruningPolicy;
 import com.ibm.wala.ipa.cfg.ExceptionPrunedCFG;
 import com.ibm.wala.ipa.cfg.PrunedCFG;
 import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.ssa.IR;
 import com.ibm.wala.ssa.SSAInstruction;
 import com.ibm.wala.ssa.SSAInvokeInstruction;
 import com.ibm.wala.ssa.SSAThrowInstruction;
@@ -115,6 +120,7 @@ import edu.kit.joana.wala.util.pointsto.CallGraphBuilderFactory;
 import edu.kit.joana.wala.util.pointsto.ExtendedAnalysisOptions;
 import edu.kit.joana.wala.util.pointsto.ObjSensZeroXCFABuilder;
 import edu.kit.joana.wala.util.pointsto.WalaPointsToUtil;
+import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TIntIntMap;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntIntHashMap;
@@ -467,7 +473,7 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 			builder = null;
 		}
 
-		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer();
+		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer(cfg.parallelism);
 
 		if (cfg.computeSummary) {
 			if (cfg.accessPath) {
@@ -506,7 +512,7 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 			builder = null;
 		}
 		
-		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer();
+		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer(cfg.parallelism);
 
 		if (cfg.computeSummary) {
 			if (cfg.accessPath) {
@@ -535,7 +541,7 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 		
 		builder.purge();
 		
-		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer();
+		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer(cfg.parallelism);
 		
 		if (cfg.computeSummary) {
 			if (cfg.accessPath) {
@@ -561,7 +567,7 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 			pack = createSummaryWorkPackage(cfg.out, builder, sdg, progress);
 		}
 
-		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer();
+		final ISummaryComputer summaryComputer = cfg.summaryComputationType.getSummaryComputer(cfg.parallelism);
 
 		if (cfg.computeSummary) {
 			if (cfg.accessPath) {
@@ -632,6 +638,7 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 	private int pdgId = getMainId();
 	private List<PDG> pdgs = new LinkedList<PDG>();
 	private TIntObjectMap<PDG> pdgIdToPdg = new TIntObjectHashMap<>();
+	private Map<CGNode, PDG> cgNodeToPdg = new HashMap<>();
 	/**
 	 * currently unused - could later be used to append static initializer calls
 	 * to it
@@ -718,20 +725,24 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 		progress.beginTask("computing intraprocedural flow", cg.vertexSet().size());
 		int currentNum = 1;
 
-		for (CallGraph.Node node : cg.vertexSet()) {
-			if (node.node == cg.getRoot().node) {
-				continue;
-			}
+		if (cfg.doParallel && cfg.parallelism > 1) {
+			createAndAddPDGsInParallel(progress);
+		} else {
+			for (CallGraph.Node node : cg.vertexSet()) {
+				if (node.node == cg.getRoot().node) {
+					continue;
+				}
 
-			final CGNode cgm = node.node;
-			final PDG pdg = createAndAddPDG(cgm, progress);
+				final CGNode cgm = node.node;
+				final PDG pdg = createAndAddPDG(cgm, progress);
 
-			progress.worked(currentNum++);
+				progress.worked(currentNum++);
 
-			MonitorUtil.throwExceptionIfCanceled(progress);
+				MonitorUtil.throwExceptionIfCanceled(progress);
 
-			if (cfg.debugManyGraphsDotOutput) {
-				debugOutput(pdg);
+				if (cfg.debugManyGraphsDotOutput) {
+					debugOutput(pdg);
+				}
 			}
 		}
 		progress.done();
@@ -742,23 +753,27 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 		progress.beginTask("interproc: connect call sites", pdgs.size());
 		currentNum = 0;
 		// connect call sites
-		for (PDG pdg : pdgs) {
-			if (isImmutableStub(pdg.getMethod().getDeclaringClass().getReference())) {
-				continue;
-			}
+		if (cfg.doParallel && cfg.parallelism > 1) {
+			connectCallSitesInParallel(progress);
+		} else {
+			for (PDG pdg : pdgs) {
+				if (isImmutableStub(pdg.getMethod().getDeclaringClass().getReference())) {
+					continue;
+				}
 
-			for (PDGNode call : pdg.getCalls()) {
-				Set<PDG> tgts = findPossibleTargets(cg, pdg, call);
-				pdg.connectCall(call, tgts);
-				if (!tgts.isEmpty()) {
-					// we only need to record the signature of the call target
-					// if it is a native method, or if there is no PDG
-					// to jump to, respectively
-					call.setUnresolvedCallTarget(null);
+				for (PDGNode call : pdg.getCalls()) {
+					Set<PDG> tgts = findPossibleTargets(cg, pdg, call);
+					pdg.connectCall(call, tgts);
+					if (!tgts.isEmpty()) {
+						// we only need to record the signature of the call target
+						// if it is a native method, or if there is no PDG
+						// to jump to, respectively
+						call.setUnresolvedCallTarget(null);
+					}
 				}
-			}
 
-			progress.worked(currentNum++);
+				progress.worked(currentNum++);
+			}
 		}
 
 		cfg.out.print(".");
@@ -882,14 +897,20 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 		this.params = null;
 		this.pdgs = null;
 		this.pdgIdToPdg = null;
+		this.cgNodeToPdg = null;
 		this.call2alloc = null;
 		this.interprocExceptionResult = null;
 	}
 
 	public ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> createIntraExceptionAnalyzedCFG(final CGNode n,
 			final IProgressMonitor progress) throws UnsoundGraphException, CancelException {
+		return createIntraExceptionAnalyzedCFG(n.getIR(), progress);
+	}
+
+	private ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> createIntraExceptionAnalyzedCFG(final IR ir,
+			final IProgressMonitor progress) throws UnsoundGraphException, CancelException {
 		final ExceptionPruningAnalysis<SSAInstruction, IExplodedBasicBlock> npa = NullPointerAnalysis
-				.createIntraproceduralExplodedCFGAnalysis(DEFAULT_IGNORE_EXCEPTIONS, n.getIR(),
+				.createIntraproceduralExplodedCFGAnalysis(DEFAULT_IGNORE_EXCEPTIONS, ir,
 						null, cfg.defaultExceptionMethodState, cfg.pruneDDEdgesToDanglingExceptionNodes, false);
 
 		npa.compute(progress);
@@ -899,12 +920,21 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 
 	public ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> createExceptionAnalyzedCFG(final CGNode n,
 			final IProgressMonitor progress) throws UnsoundGraphException, CancelException {
+		return createExceptionAnalyzedCFG(n, n.getIR(), progress);
+	}
+
+	/**
+	 * Computes the exception analyzed control flow graph of a method from the given IR of the method. Does not
+	 * access the IR cache of WALA, which is not thread-safe, so it may run concurrently for different methods.
+	 */
+	ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> createExceptionAnalyzedCFG(final CGNode n, final IR ir,
+			final IProgressMonitor progress) throws UnsoundGraphException, CancelException {
 		ControlFlowGraph<SSAInstruction, IExplodedBasicBlock> ecfg = null;
 
 		switch (cfg.exceptions) {
 		case ALL_NO_ANALYSIS: {
 			// We only call PrunedCFG to obtain a cfg in which unreachable nodes re removed
-			ExplodedControlFlowGraph unpruned = ExplodedControlFlowGraph.make(n.getIR());
+			ExplodedControlFlowGraph unpruned = ExplodedControlFlowGraph.make(ir);
 			ecfg = PrunedCFG.make(
 				unpruned,
 				new com.ibm.wala.ipa.cfg.EdgeFilter<IExplodedBasicBlock>() {
@@ -916,7 +946,7 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 		}
 			break;
 		case INTRAPROC: {
-			ecfg = createIntraExceptionAnalyzedCFG(n, progress);
+			ecfg = createIntraExceptionAnalyzedCFG(ir, progress);
 		}
 			break;
 		case INTERPROC: {
@@ -930,13 +960,13 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 				// No result for this method or called at the wrong time. We do not keep the interprocedural analysis
 				// result during the whole computation due to memory usage. -> fallback intraproc analysis
 
-				ecfg = createIntraExceptionAnalyzedCFG(n, progress);
+				ecfg = createIntraExceptionAnalyzedCFG(ir, progress);
 			}
 		}
 			break;
 		case IGNORE_ALL: {
-			ecfg = ExceptionPrunedCFG.make(ExplodedControlFlowGraph.make(n.getIR()), false);
-			final ExplodedControlFlowGraph unpruned = ExplodedControlFlowGraph.make(n.getIR());
+			ecfg = ExceptionPrunedCFG.make(ExplodedControlFlowGraph.make(ir), false);
+			final ExplodedControlFlowGraph unpruned = ExplodedControlFlowGraph.make(ir);
 			ecfg = PrunedCFG.make(
 				unpruned,
 				new com.ibm.wala.ipa.cfg.EdgeFilter<IExplodedBasicBlock>() {
@@ -1787,13 +1817,7 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 	}
 
 	public PDG getPDGforMethod(CGNode n) {
-		for (PDG pdg : pdgs) {
-			if (n.equals(pdg.cgNode)) {
-				return pdg;
-			}
-		}
-
-		return null;
+		return cgNodeToPdg.get(n);
 	}
 
 	public int getNextNodeId() {
@@ -2164,6 +2188,12 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 		 * in multiple threads.
 		 */
 		public boolean doParallel = true;
+		/**
+		 * The number of threads used for the tasks performed in parallel when {@link #doParallel} is set.
+		 * Currently this applies to the construction of the intraprocedural PDGs and to
+		 * {@link SummaryComputationType#JOANA_PARALLEL_SCC}.
+		 */
+		public int parallelism = Runtime.getRuntime().availableProcessors();
 		
 		public SDGBuilderConfig() {
 		}
@@ -2181,11 +2211,181 @@ public class SDGBuilder implements CallGraphFilter, SDGBuildArtifacts {
 	public PDG createAndAddPDG(final CGNode cgm, final IProgressMonitor progress) throws UnsoundGraphException,
 			CancelException {
 		final PDG pdg = PDG.build(this, Util.methodName(cgm.getMethod()), cgm, pdgId, cfg.ext, cfg.out, progress);
+		addPDG(pdg);
+
+		return pdg;
+	}
+
+	private void addPDG(final PDG pdg) {
 		pdgIdToPdg.put(pdgId, pdg);
+		cgNodeToPdg.putIfAbsent(pdg.cgNode, pdg);
 		pdgs.add(pdg);
 		pdgId++;
+	}
 
-		return pdg;
+	/**
+	 * Creates the PDGs of all call graph nodes except the root on {@link SDGBuilderConfig#parallelism} threads.
+	 * The exception analyzed control flow graphs and the dependences of the PDGs are computed in parallel, while the
+	 * nodes are created on the calling thread in call graph order. So node and PDG ids are the same as in the
+	 * sequential construction.
+	 */
+	private void createAndAddPDGsInParallel(final IProgressMonitor progress) throws UnsoundGraphException,
+			CancelException {
+		final List<CGNode> cgms = new ArrayList<CGNode>(cg.vertexSet().size());
+		for (CallGraph.Node node : cg.vertexSet()) {
+			if (node.node != cg.getRoot().node) {
+				cgms.add(node.node);
+			}
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(cfg.parallelism);
+		try {
+			// the IR cache of WALA is not thread-safe, so the IRs are computed here. The progress monitor may not be
+			// thread-safe either, cancellation is checked on this thread.
+			final List<Future<PDG.Input>> inputs = new ArrayList<Future<PDG.Input>>(cgms.size());
+			for (final CGNode cgm : cgms) {
+				final IR ir = cgm.getIR();
+				inputs.add(pool.submit(() -> PDG.prepare(this, cgm, ir, NullProgressMonitor.INSTANCE)));
+				MonitorUtil.throwExceptionIfCanceled(progress);
+			}
+
+			final List<Future<PDG>> built = new ArrayList<Future<PDG>>(cgms.size());
+			int currentNum = 1;
+			for (int i = 0; i < cgms.size(); i++) {
+				final CGNode cgm = cgms.get(i);
+				final PDG pdg = PDG.createNodes(this, Util.methodName(cgm.getMethod()), cgm, pdgId,
+						await(inputs.get(i)), progress);
+				inputs.set(i, null);
+				addPDG(pdg);
+				built.add(pool.submit(() -> {
+					pdg.addDependences();
+					return pdg;
+				}));
+
+				progress.worked(currentNum++);
+
+				MonitorUtil.throwExceptionIfCanceled(progress);
+			}
+
+			for (final Future<PDG> f : built) {
+				final PDG pdg = await(f);
+				pdg.checkForExternalCalls(cfg.ext, cfg.out);
+
+				if (cfg.debugManyGraphsDotOutput) {
+					debugOutput(pdg);
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Connects all call sites to their targets on {@link SDGBuilderConfig#parallelism} threads.
+	 * First the targets of the calls of each caller are resolved and the call and parameter-in edges, which belong
+	 * to the caller, are added in parallel. The parameter-out edges belong to the targets, so they are collected and
+	 * then added in parallel for each target, in the order of the callers and their calls.
+	 */
+	private void connectCallSitesInParallel(final IProgressMonitor progress) throws UnsoundGraphException,
+			CancelException {
+		final List<PDG> callers = new ArrayList<PDG>(pdgs);
+		final ForkJoinPool pool = new ForkJoinPool(cfg.parallelism);
+		try {
+			final List<Future<List<Pair<PDGNode, PDG>>>> connected =
+					new ArrayList<Future<List<Pair<PDGNode, PDG>>>>(callers.size());
+			for (final PDG pdg : callers) {
+				connected.add(pool.submit(() -> connectCallsOf(pdg)));
+			}
+
+			// target pdg id -> (caller, call) of all calls to connect with the target, in a deterministic order
+			final TIntObjectMap<List<Pair<PDG, PDGNode>>> returns = new TIntObjectHashMap<List<Pair<PDG, PDGNode>>>();
+			final TIntArrayList targets = new TIntArrayList();
+			int currentNum = 0;
+			for (int i = 0; i < callers.size(); i++) {
+				final PDG caller = callers.get(i);
+				for (final Pair<PDGNode, PDG> callToTarget : await(connected.get(i))) {
+					final PDG tgt = callToTarget.snd;
+					List<Pair<PDG, PDGNode>> toTarget = returns.get(tgt.getId());
+					if (toTarget == null) {
+						toTarget = new ArrayList<Pair<PDG, PDGNode>>();
+						returns.put(tgt.getId(), toTarget);
+						targets.add(tgt.getId());
+					}
+					toTarget.add(Pair.make(caller, callToTarget.fst));
+				}
+				connected.set(i, null);
+
+				progress.worked(currentNum++);
+				MonitorUtil.throwExceptionIfCanceled(progress);
+			}
+
+			final List<Future<?>> returnsConnected = new ArrayList<Future<?>>(targets.size());
+			for (int i = 0; i < targets.size(); i++) {
+				final PDG tgt = getPDGforId(targets.get(i));
+				final List<Pair<PDG, PDGNode>> toTarget = returns.get(targets.get(i));
+				returnsConnected.add(pool.submit(() -> {
+					for (final Pair<PDG, PDGNode> callerAndCall : toTarget) {
+						tgt.connectReturnFrom(callerAndCall.snd, callerAndCall.fst.getCallReturn(callerAndCall.snd));
+					}
+				}));
+			}
+			for (final Future<?> f : returnsConnected) {
+				await(f);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Adds the call and parameter-in edges of all calls of the given PDG. Modifies only the given PDG.
+	 * @return the pairs of call and target whose parameter-out edges still have to be added to the target,
+	 * ordered by call and target id
+	 */
+	private List<Pair<PDGNode, PDG>> connectCallsOf(final PDG pdg) {
+		if (isImmutableStub(pdg.getMethod().getDeclaringClass().getReference())) {
+			return Collections.emptyList();
+		}
+
+		final List<Pair<PDGNode, PDG>> toConnect = new ArrayList<Pair<PDGNode, PDG>>();
+		for (final PDGNode call : pdg.getCalls()) {
+			final Set<PDG> tgtSet = findPossibleTargets(cg, pdg, call);
+			// we want deterministic SDGs!!! A target without PDG is null, connectCallTo reports and skips it like
+			// the sequential version does.
+			final List<PDG> tgts = new ArrayList<PDG>(tgtSet);
+			Collections.sort(tgts, Comparator.nullsLast(Comparator.comparingInt(PDG::getId)));
+			for (final PDG tgt : tgts) {
+				if (pdg.connectCallTo(call, tgt, tgts.size())) {
+					toConnect.add(Pair.make(call, tgt));
+				}
+			}
+			if (!tgts.isEmpty()) {
+				// see sequential version in run
+				call.setUnresolvedCallTarget(null);
+			}
+		}
+
+		return toConnect;
+	}
+
+	private static <T> T await(final Future<T> f) throws UnsoundGraphException, CancelException {
+		try {
+			return f.get();
+		} catch (InterruptedException e) {
+			throw new CancelException(e);
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof UnsoundGraphException) {
+				throw (UnsoundGraphException) cause;
+			} else if (cause instanceof CancelException) {
+				throw (CancelException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
 	}
 
 	public long countNodesInPdgs() {
@@ -95,7 +95,8 @@ public abstract class SDGBuilderConfigurator<C extends SDGBuilderConfigurator<C>
 		      .setShowTypeNameInValue(false)
 		      .setMethodTargetSelector(null)
 		      .setSideEffects(null)
-		      .setDoParallel(false);
+		      .setDoParallel(false)
+		      .setParallelism(1);
 	}
 	public C forSequentialPrograms() {
 		return setComputeInterference(false)
@@ -240,6 +241,10 @@ public abstract class SDGBuilderConfigurator<C extends SDGBuilderConfigurator<C>
 		rwd.set("doParallel", setting);
 		return thisActually();
 	}
+	public C setParallelism(int setting) {
+		rwd.set("parallelism", setting);
+		return thisActually();
+	}
 	public C setNnativeSpecClassLoader(ClassLoader nativeSpecClassLoader) {
 		rwd.set("nativeSpecClassLoader", nativeSpecClassLoader);
 		return thisActually();
@@ -0,0 +1,57 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.wala.summary;
+
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.util.collections.Intrusable;
+
+/**
+ * An actual-in node and the actual-out node of the same call site that it reaches, as found by the summary edge
+ * computations.
+ */
+class AcutalInActualOutPair implements Intrusable<AcutalInActualOutPair> {
+	private final SDGNode actualIn;
+	private SDGNode actualOut;
+	
+	private AcutalInActualOutPair next;
+
+	AcutalInActualOutPair(SDGNode ai) {
+		assert ai.getKind() == SDGNode.Kind.ACTUAL_IN;
+		actualIn = ai;
+	}
+	
+    @Override
+    public void setNext(AcutalInActualOutPair next) {
+    	this.next = next;
+    }
+    
+    @Override
+    public AcutalInActualOutPair getNext() {
+    	return next;
+    }
+    
+
+	final void setActualOut(SDGNode ao) {
+		assert ao.getKind() == SDGNode.Kind.ACTUAL_OUT;
+		assert ao.getProc() == actualIn.getProc();
+		actualOut = ao;
+	}
+
+	public SDGNode getActualIn() {
+		return actualIn;
+	}
+
+	public SDGNode getActualOut() {
+		return actualOut;
+	}
+	
+	@Override
+	public String toString() {
+		return "(" + actualIn + ", " + actualOut + ")";
+	}
+}
@@ -23,7 +23,6 @@ import org.jgrapht.DirectedGraph;
 import com.ibm.wala.util.CancelException;
 import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
 
-import edu.kit.joana.ifc.sdg.graph.BitVector;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
@@ -431,12 +430,6 @@ public class MainChangeTest {
 		printTotalSumEdges(sdg, sdg.getName());
 	}
 
-	@SuppressWarnings("serial")
-	static class RememberReachedBitVector extends BitVector {
-		RememberReachedBitVector(int nsize) {
-			super(nsize);
-		}
-	}
 	private static WorkPackage<SDG> createWholeGraphPackage(SDG sdg, final Set<SDGNode> changed, final TIntSet fully,
 			TIntObjectMap<List<SDGNode>> out2in, boolean rememberReached) {
 		final SDGNode root = sdg.getRoot();
@@ -453,39 +446,6 @@ public class MainChangeTest {
 			}
 		}
 
-		if (rememberReached) {
-			// prepare sdg
-	    	int numRelevantNodes = 1;
-	        for (SDGNode n : (Set<SDGNode>) sdg.vertexSet()) {
-	            if (n.getKind() == SDGNode.Kind.FORMAL_OUT || n.getKind() == SDGNode.Kind.EXIT) {
-	            	n.tmp = 0;
-
-	            	if (relevant != null && !relevant.contains(n.getProc())) {
-	            		continue;
-	            	}
-
-	            	if (fully.contains(n.getId())) {
-	            		continue;
-	            	}
-
-	            	n.tmp = numRelevantNodes;
-	            	numRelevantNodes++;
-	            }
-	        }
-
-	        for (SDGNode n : sdg.vertexSet()) {
-	        	if (n.kind == SDGNode.Kind.ACTUAL_IN
-	        			&& (relevant == null || relevant.contains(n.getProc()))) {
-	        		if (n.customData != null) {
-	        			
-	        			((BitVector)n.customData).clearAll();
-	        		} else {
-	        			n.customData = new RememberReachedBitVector(numRelevantNodes + 1);
-	        		}
-	        	}
-	        }
-		}
-
 		WorkPackage.EntryPoint ep = GraphUtil.extractEntryPoint(sdg, root);
 		Set<WorkPackage.EntryPoint> entryPoints = new HashSet<WorkPackage.EntryPoint>();
 		entryPoints.add(ep);
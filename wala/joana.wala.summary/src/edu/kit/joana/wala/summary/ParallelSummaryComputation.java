@@ -0,0 +1,622 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.wala.summary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.MonitorUtil;
+import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
+import com.ibm.wala.util.intset.IntIterator;
+
+import edu.kit.joana.ifc.sdg.graph.BitVector64;
+import edu.kit.joana.ifc.sdg.graph.LabeledSDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDG;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.util.collections.ArraySet;
+import edu.kit.joana.util.collections.IntIntSimpleVector;
+import edu.kit.joana.util.collections.Intrusable;
+import edu.kit.joana.util.collections.IntrusiveList;
+import edu.kit.joana.util.graph.EfficientGraph;
+import edu.kit.joana.util.graph.TarjanStrongConnectivityInspector;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * Computes the same summary edges as {@link SummaryComputation3}, but processes the strongly connected components
+ * of the call graph on a {@link ForkJoinPool}. A component is scheduled as soon as all components it calls are done.
+ * The path edges of a component are only known to the task processing it; summary edges found for call sites in
+ * other components are handed over to the task of the caller, and all summary edges are added to the graph in one
+ * step once every component is done.
+ */
+public class ParallelSummaryComputation<G extends DirectedGraph<SDGNode, SDGEdge> & EfficientGraph<SDGNode, SDGEdge>> {
+
+	private final G graph;
+	private final TIntSet relevantFormalIns;
+	private final TIntSet relevantProcs;
+	private final TIntSet fullyConnected;
+	private final TIntObjectMap<List<SDGNode>> out2in;
+	private final RememberReached rememberReached;
+	private final SDGEdge.Kind sumEdgeKind;
+	private final long relevantEdgesMask;
+	private final String annotate;
+	private final int parallelism;
+
+	private final IntIntSimpleVector nodeId2ProcLocalNodeId;
+	private final Map<Integer, SDGNode[]> procLocalNodeId2Node;
+	private final List<Set<Integer>> procSccs;
+	private final IntIntSimpleVector indexNumberOf;
+	private final List<Scc> sccs;
+
+	private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+	private final AtomicInteger remaining;
+	private final CountDownLatch done = new CountDownLatch(1);
+	private IProgressMonitor progress;
+
+	ParallelSummaryComputation(G graph, TIntSet relevantFormalIns, TIntSet relevantProcs, TIntSet fullyConnected,
+			TIntObjectMap<List<SDGNode>> out2in, RememberReached rememberReached, SDGEdge.Kind sumEdgeKind,
+			Set<SDGEdge.Kind> relevantEdges, String annotate, int parallelism) {
+		this.graph = graph;
+		this.relevantFormalIns = relevantFormalIns;
+		this.relevantProcs = relevantProcs;
+		this.fullyConnected = fullyConnected;
+		this.out2in = out2in;
+		this.rememberReached = rememberReached;
+		this.sumEdgeKind = sumEdgeKind;
+		this.annotate = annotate;
+		this.parallelism = parallelism;
+
+		long relevantEdgesMask = 0;
+		for (SDGEdge.Kind relevant : relevantEdges) {
+			assert 0 <= relevant.getPriority() && relevant.getPriority() < 64;
+			relevantEdgesMask |= ((long) 1 << ((long) relevant.getPriority()));
+		}
+		this.relevantEdgesMask = relevantEdgesMask;
+
+		final DirectedGraph<Integer, DefaultEdge> callGraph = SummaryComputation3.extractCallGraph(graph);
+		final TarjanStrongConnectivityInspector<Integer, DefaultEdge> sccInspector =
+				new TarjanStrongConnectivityInspector<>(callGraph);
+		this.procSccs = sccInspector.stronglyConnectedSets();
+		this.indexNumberOf = new IntIntSimpleVector(0, 1);
+		for (Entry<Integer, TarjanStrongConnectivityInspector.VertexNumber<Integer>> entry
+				: sccInspector.getVertexToVertexNumber().entrySet()) {
+			indexNumberOf.put(entry.getKey(), entry.getValue().getSccNumber());
+		}
+		indexNumberOf.trimToSize();
+
+		final TIntHashSet[] callees = new TIntHashSet[procSccs.size()];
+		final TIntHashSet[] callers = new TIntHashSet[procSccs.size()];
+		for (int i = 0; i < procSccs.size(); i++) {
+			callees[i] = new TIntHashSet();
+			callers[i] = new TIntHashSet();
+		}
+		for (DefaultEdge call : callGraph.edgeSet()) {
+			final int caller = indexNumberOf.getInt(callGraph.getEdgeSource(call));
+			final int callee = indexNumberOf.getInt(callGraph.getEdgeTarget(call));
+			if (caller != callee) {
+				callees[caller].add(callee);
+				callers[callee].add(caller);
+			}
+		}
+		this.sccs = new ArrayList<Scc>(procSccs.size());
+		for (int i = 0; i < procSccs.size(); i++) {
+			final int[] calleesOf = callees[i].toArray();
+			final int[] callersOf = callers[i].toArray();
+			Arrays.sort(calleesOf);
+			Arrays.sort(callersOf);
+			sccs.add(new Scc(i, calleesOf, callersOf));
+		}
+		this.remaining = new AtomicInteger(sccs.size());
+
+		this.nodeId2ProcLocalNodeId = new IntIntSimpleVector(0, graph.vertexSet().size());
+		this.procLocalNodeId2Node = new HashMap<Integer, SDGNode[]>();
+		final Map<Integer, List<SDGNode>> proc2nodes = new HashMap<Integer, List<SDGNode>>();
+		for (SDGNode n : graph.vertexSet()) {
+			proc2nodes.computeIfAbsent(n.getProc(), proc -> new ArrayList<SDGNode>()).add(n);
+		}
+		for (Entry<Integer, List<SDGNode>> entry : proc2nodes.entrySet()) {
+			final SDGNode[] procLocal2Node = entry.getValue().toArray(new SDGNode[entry.getValue().size()]);
+			procLocalNodeId2Node.put(entry.getKey(), procLocal2Node);
+			for (int procLocalNodeId = 0; procLocalNodeId < procLocal2Node.length; procLocalNodeId++) {
+				nodeId2ProcLocalNodeId.put(procLocal2Node[procLocalNodeId].getId(), procLocalNodeId);
+			}
+		}
+		nodeId2ProcLocalNodeId.trimToSize();
+	}
+
+	private boolean relevantEdges_contains(SDGEdge.Kind kind) {
+		return ((long) 1 << ((long) kind.getPriority()) & relevantEdgesMask) != 0;
+	}
+
+	/**
+	 * Computes the summary edges of all components, adds them to the graph and returns the summary edges between
+	 * relevant formal-in nodes and formal-out nodes in the order of the components they belong to.
+	 */
+	Collection<SDGEdge> computeSummaryEdges(IProgressMonitor progress) throws CancelException {
+		this.progress = progress;
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			for (Scc scc : sccs) {
+				if (scc.callees.length == 0) {
+					pool.execute(scc);
+				}
+			}
+			if (sccs.size() > 0) {
+				done.await();
+			}
+		} catch (InterruptedException e) {
+			throw new CancelException(e);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		final Throwable cause = failure.get();
+		if (cause instanceof CancelException) {
+			throw (CancelException) cause;
+		} else if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+
+		final List<SDGEdge> formInOutSummaryEdge = new ArrayList<SDGEdge>();
+		for (Scc scc : sccs) {
+			for (int i = 0; i < scc.actualOuts.size(); i++) {
+				graph.addIncomingEdgesAtUNSAFE(scc.actualOuts.get(i), scc.actualOutSummaryEdges.get(i));
+			}
+			for (int i = 0; i < scc.actualIns.size(); i++) {
+				graph.addOutgoingEdgesAtUNSAFE(scc.actualIns.get(i), scc.actualInSummaryEdges.get(i));
+			}
+			formInOutSummaryEdge.addAll(scc.formInOutSummaryEdge);
+		}
+
+		return formInOutSummaryEdge;
+	}
+
+	private void failed(Throwable cause) {
+		failure.compareAndSet(null, cause);
+		done.countDown();
+	}
+
+	private SDGEdge newSummaryEdge(SDGNode source, SDGNode target) {
+		if (annotate != null && !annotate.isEmpty()) {
+			return new LabeledSDGEdge(source, target, sumEdgeKind, annotate);
+		} else {
+			return sumEdgeKind.newEdge(source, target);
+		}
+	}
+
+	/**
+	 * A strongly connected component of the call graph, and the summary edges computed for it.
+	 */
+	@SuppressWarnings("serial")
+	private final class Scc extends RecursiveAction {
+		private final int number;
+		private final int[] callees;
+		private final int[] callers;
+		private final AtomicInteger pendingCallees;
+
+		/** summary edges at call sites in other components, by the number of the calling component */
+		private final TIntObjectHashMap<List<AcutalInActualOutPair>> handedOver =
+				new TIntObjectHashMap<List<AcutalInActualOutPair>>();
+
+		private final List<SDGEdge> formInOutSummaryEdge = new ArrayList<SDGEdge>();
+		private final List<SDGNode> actualOuts = new ArrayList<SDGNode>();
+		private final List<ArraySet<SDGEdge>> actualOutSummaryEdges = new ArrayList<ArraySet<SDGEdge>>();
+		private final List<SDGNode> actualIns = new ArrayList<SDGNode>();
+		private final List<ArraySet<SDGEdge>> actualInSummaryEdges = new ArrayList<ArraySet<SDGEdge>>();
+
+		private Scc(int number, int[] callees, int[] callers) {
+			this.number = number;
+			this.callees = callees;
+			this.callers = callers;
+			this.pendingCallees = new AtomicInteger(callees.length);
+		}
+
+		@Override
+		protected void compute() {
+			if (failure.get() != null) {
+				return;
+			}
+
+			try {
+				new SccWorker(this).run();
+			} catch (CancelException | RuntimeException | Error e) {
+				failed(e);
+				return;
+			}
+
+			for (int caller : callers) {
+				if (sccs.get(caller).pendingCallees.decrementAndGet() == 0) {
+					sccs.get(caller).fork();
+				}
+			}
+
+			if (remaining.decrementAndGet() == 0) {
+				done.countDown();
+			}
+		}
+	}
+
+	/**
+	 * The path edges of a single component. Only the task processing the component uses them.
+	 */
+	private final class SccWorker {
+		private final Scc scc;
+		private final Set<Integer> procedures;
+		private final Set<Integer> procedureWorkSet = new TreeSet<Integer>();
+		private final Map<Integer, IntrusiveList<Edge>> worklists = new HashMap<Integer, IntrusiveList<Edge>>();
+		private final TIntObjectHashMap<BitVector64> pathEdgeReachedNodes = new TIntObjectHashMap<BitVector64>();
+		private final TIntObjectHashMap<ActualOutInformation> actualOutInformation =
+				new TIntObjectHashMap<ActualOutInformation>();
+		private final TIntIntHashMap nrOfOutgoingSummaryEdges = new TIntIntHashMap();
+
+		private SccWorker(Scc scc) {
+			this.scc = scc;
+			this.procedures = procSccs.get(scc.number);
+		}
+
+		private void run() throws CancelException {
+			for (Integer procedure : procedures) {
+				final SDGNode[] procLocal2Node = procLocalNodeId2Node.get(procedure);
+				for (SDGNode n : procLocal2Node) {
+					switch (n.getKind()) {
+					case FORMAL_OUT:
+					case EXIT:
+						if (relevantProcs != null && !relevantProcs.contains(n.getProc())) {
+							continue;
+						}
+
+						if (fullyConnected != null && fullyConnected.contains(n.getId())) {
+							continue;
+						}
+
+						pathEdgeReachedNodes.put(n.getId(), new BitVector64(procLocal2Node.length));
+						worklists.computeIfAbsent(procedure, proc -> new IntrusiveList<Edge>()).add(new Edge(n, n));
+						procedureWorkSet.add(procedure);
+						break;
+					case ACTUAL_OUT:
+						actualOutInformation.put(n.getId(), new ActualOutInformation(procLocal2Node.length));
+						break;
+					case ACTUAL_IN:
+						nrOfOutgoingSummaryEdges.put(n.getId(), 0);
+						break;
+					default:
+						break;
+					}
+				}
+			}
+
+			if (procedureWorkSet.isEmpty()) {
+				// as in SummaryComputation3, no summary edges are added to components without any path edges
+				return;
+			}
+
+			for (int callee : scc.callees) {
+				final List<AcutalInActualOutPair> pairs = sccs.get(callee).handedOver.get(scc.number);
+				if (pairs != null) {
+					for (AcutalInActualOutPair pair : pairs) {
+						addSummaryEdge(pair.getActualIn(), pair.getActualOut());
+					}
+				}
+			}
+
+			while (!procedureWorkSet.isEmpty()) {
+				final int procedure; {
+					final Iterator<Integer> iterator = procedureWorkSet.iterator();
+					procedure = iterator.next();
+					iterator.remove();
+				}
+				final IntrusiveList<Edge> worklist = worklists.get(procedure);
+				final SDGNode[] procLocal2Node = procLocalNodeId2Node.get(procedure);
+
+				while (!worklist.isEmpty()) {
+					MonitorUtil.throwExceptionIfCanceled(progress);
+					process(worklist, procLocal2Node, worklist.poll());
+				}
+			}
+
+			commit();
+		}
+
+		private void process(IntrusiveList<Edge> worklist, SDGNode[] procLocal2Node, Edge next) {
+			switch (next.source.getKind()) {
+			case ACTUAL_OUT:
+				if (fullyConnected != null && fullyConnected.contains(next.source.getId())) {
+					propagateAllActIns(worklist, next.source, next.target);
+				} else {
+					for (SDGEdge e : graph.incomingEdgesOfUnsafe(next.source)) {
+						final SDGEdge.Kind kind = e.getKind();
+						if (kind == sumEdgeKind
+								|| ((kind == SDGEdge.Kind.DATA_DEP || kind == SDGEdge.Kind.DATA_HEAP
+								|| kind == SDGEdge.Kind.DATA_ALIAS) && relevantEdges_contains(kind))
+								|| (kind == SDGEdge.Kind.CONTROL_DEP_EXPR
+								&& e.getSource().getKind() == SDGNode.Kind.CALL)) {
+							propagate(worklist, e.getSource(), next.target);
+						}
+					}
+					final ActualOutInformation aoInformation = actualOutInformation.get(next.source.getId());
+					for (IntIterator it = aoInformation.incomingSummaryEdgesFrom.intIterator(); it.hasNext(); ) {
+						propagate(worklist, procLocal2Node[it.next()], next.target);
+					}
+				}
+				break;
+
+			case FORMAL_IN:
+				if (relevantFormalIns.contains(next.source.getId())) {
+					scc.formInOutSummaryEdge.add(newSummaryEdge(next.source, next.target));
+				}
+
+				for (AcutalInActualOutPair pair : aiaoPairs(next)) {
+					if (pair.getActualOut() == null) continue;
+
+					final int callerScc = indexNumberOf.getInt(pair.getActualIn().getProc());
+					if (callerScc == scc.number) {
+						addSummaryEdge(pair.getActualIn(), pair.getActualOut());
+					} else {
+						List<AcutalInActualOutPair> pairs = scc.handedOver.get(callerScc);
+						if (pairs == null) {
+							pairs = new ArrayList<AcutalInActualOutPair>();
+							scc.handedOver.put(callerScc, pairs);
+						}
+						pairs.add(pair);
+					}
+				}
+				for (SDGEdge e : graph.incomingEdgesOfUnsafe(next.source)) {
+					final SDGEdge.Kind kind = e.getKind();
+					if ((kind == SDGEdge.Kind.DATA_DEP || kind == SDGEdge.Kind.DATA_HEAP
+							|| kind == SDGEdge.Kind.DATA_ALIAS) && relevantEdges_contains(kind)) {
+						propagate(worklist, e.getSource(), next.target);
+					}
+				}
+				break;
+
+			case ACTUAL_IN:
+				if (rememberReached != null && !rememberReached.markReached(next.source, next.target)) {
+					break;
+				}
+
+				for (SDGEdge e : graph.incomingEdgesOfUnsafe(next.source)) {
+					if (e.getKind() == SDGEdge.Kind.CONTROL_DEP_EXPR) {
+						if (e.getSource().getKind() == SDGNode.Kind.CALL) {
+							propagate(worklist, e.getSource(), next.target);
+						}
+					} else if (relevantEdges_contains(e.getKind())) {
+						propagate(worklist, e.getSource(), next.target);
+					}
+				}
+				break;
+
+			case FORMAL_OUT:
+			case EXIT:
+				if (fullyConnected != null && fullyConnected.contains(next.source.getId())) {
+					propagateAllActIns(worklist, next.source, next.target);
+				} else {
+					for (SDGEdge e : graph.incomingEdgesOfUnsafe(next.source)) {
+						if (e.getKind() == SDGEdge.Kind.CONTROL_DEP_EXPR) {
+							if (e.getSource().getKind() == SDGNode.Kind.ENTRY) {
+								propagate(worklist, e.getSource(), next.target);
+							}
+						} else if (relevantEdges_contains(e.getKind())) {
+							propagate(worklist, e.getSource(), next.target);
+						}
+					}
+				}
+				break;
+
+			default:
+				for (SDGEdge e : graph.incomingEdgesOfUnsafe(next.source)) {
+					if (relevantEdges_contains(e.getKind())) {
+						propagate(worklist, e.getSource(), next.target);
+					}
+				}
+				break;
+			}
+		}
+
+		/**
+		 * Records the summary edge ai -&gt; ao at a call site in this component, and propagates the path edges
+		 * already known to start at ao.
+		 */
+		private void addSummaryEdge(SDGNode ai, SDGNode ao) {
+			final ActualOutInformation aoInformation = actualOutInformation.get(ao.getId());
+			if (!aoInformation.incomingSummaryEdgesFrom.setWithResult(nodeId2ProcLocalNodeId.getInt(ai.getId()))) {
+				return;
+			}
+
+			nrOfOutgoingSummaryEdges.adjustValue(ai.getId(), 1);
+
+			if (!aoInformation.aoPaths.isZero()) {
+				final int caller = ai.getProc();
+				procedureWorkSet.add(caller);
+				final IntrusiveList<Edge> workListInCaller = worklists.get(caller);
+				final SDGNode[] callerLocal2Node = procLocalNodeId2Node.get(caller);
+
+				for (IntIterator it = aoInformation.aoPaths.intIterator(); it.hasNext(); ) {
+					propagate(workListInCaller, ai, callerLocal2Node[it.next()]);
+				}
+			}
+		}
+
+		private void propagateAllActIns(IntrusiveList<Edge> worklist, SDGNode outNode, SDGNode target) {
+			for (SDGNode inNode : out2in.get(outNode.getId())) {
+				propagate(worklist, inNode, target);
+			}
+		}
+
+		private void propagate(IntrusiveList<Edge> worklist, SDGNode source, SDGNode target) {
+			assert source.getProc() == target.getProc();
+			if (relevantProcs != null && !(relevantProcs.contains(source.getProc())
+					&& relevantProcs.contains(target.getProc()))) {
+				return;
+			}
+
+			final int procLocalSourceId = nodeId2ProcLocalNodeId.getInt(source.getId());
+			if (pathEdgeReachedNodes.get(target.getId()).setWithResult(procLocalSourceId)) {
+				worklist.add(new Edge(source, target));
+				if (source.getKind() == SDGNode.Kind.ACTUAL_OUT) {
+					actualOutInformation.get(source.getId()).aoPaths.set(nodeId2ProcLocalNodeId.getInt(target.getId()));
+				}
+			}
+		}
+
+		private Collection<AcutalInActualOutPair> aiaoPairs(Edge e) {
+			final IntrusiveList<AcutalInActualOutPair> result = new IntrusiveList<>();
+			// the call nodes may belong to other components, so the pairs must not be stored at them
+			final Map<SDGNode, AcutalInActualOutPair> pairAtCall = new HashMap<SDGNode, AcutalInActualOutPair>();
+
+			for (SDGEdge pi : graph.incomingEdgesOfUnsafe(e.source)) {
+				if (pi.getKind() == SDGEdge.Kind.PARAMETER_IN) {
+					final SDGNode ai = pi.getSource();
+					final SDGNode call = getCallSiteFor(ai);
+
+					if (call != null) {
+						final AcutalInActualOutPair pair = new AcutalInActualOutPair(ai);
+						pairAtCall.put(call, pair);
+						result.add(pair);
+					}
+				}
+			}
+
+			for (SDGEdge po : graph.outgoingEdgesOfUnsafe(e.target)) {
+				if (po.getKind() == SDGEdge.Kind.PARAMETER_OUT) {
+					final SDGNode ao = po.getTarget();
+					final AcutalInActualOutPair pair = pairAtCall.get(getCallSiteFor(ao));
+					if (pair != null) {
+						pair.setActualOut(ao);
+					}
+				}
+			}
+
+			return result;
+		}
+
+		private SDGNode getCallSiteFor(SDGNode node) {
+			for (SDGEdge e : graph.incomingEdgesOfUnsafe(node)) {
+				if (e.getKind() == SDGEdge.Kind.CONTROL_DEP_EXPR) {
+					return e.getSource();
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Creates the summary edges of all call sites in this component. They are added to the graph once all
+		 * components are done.
+		 */
+		private void commit() {
+			final TIntObjectHashMap<SDGEdge[]> actualInEdges = new TIntObjectHashMap<SDGEdge[]>();
+			final TIntIntHashMap actualInNext = new TIntIntHashMap();
+			for (Integer procedure : procedures) {
+				for (SDGNode n : procLocalNodeId2Node.get(procedure)) {
+					if (n.getKind() == SDGNode.Kind.ACTUAL_IN) {
+						actualInEdges.put(n.getId(), new SDGEdge[nrOfOutgoingSummaryEdges.get(n.getId())]);
+					}
+				}
+			}
+
+			for (Integer procedure : procedures) {
+				final SDGNode[] procLocal2Node = procLocalNodeId2Node.get(procedure);
+				for (SDGNode n : procLocal2Node) {
+					if (n.getKind() != SDGNode.Kind.ACTUAL_OUT) continue;
+
+					final BitVector64 incomingSummaryEdgesFrom =
+							actualOutInformation.get(n.getId()).incomingSummaryEdgesFrom;
+					final SDGEdge[] summaryEdges = new SDGEdge[incomingSummaryEdgesFrom.populationCount()];
+
+					int i = 0;
+					for (IntIterator it = incomingSummaryEdgesFrom.intIterator(); it.hasNext(); ) {
+						final SDGNode source = procLocal2Node[it.next()];
+						final SDGEdge sum = newSummaryEdge(source, n);
+						summaryEdges[i++] = sum;
+						actualInEdges.get(source.getId())[actualInNext.adjustOrPutValue(source.getId(), 1, 1) - 1] = sum;
+					}
+
+					Arrays.sort(summaryEdges, ArraySet.COMPARATOR);
+					scc.actualOuts.add(n);
+					scc.actualOutSummaryEdges.add(ArraySet.own(summaryEdges));
+				}
+			}
+
+			for (Integer procedure : procedures) {
+				for (SDGNode n : procLocalNodeId2Node.get(procedure)) {
+					if (n.getKind() != SDGNode.Kind.ACTUAL_IN) continue;
+
+					final SDGEdge[] summaryEdges = actualInEdges.get(n.getId());
+					assert summaryEdges.length == 0 || summaryEdges[summaryEdges.length - 1] != null;
+
+					Arrays.sort(summaryEdges, ArraySet.COMPARATOR);
+					scc.actualIns.add(n);
+					scc.actualInSummaryEdges.add(ArraySet.own(summaryEdges));
+				}
+			}
+		}
+	}
+
+	private static class ActualOutInformation {
+		/** proc local ids of the formal-out nodes reached by path edges starting at this actual-out */
+		private final BitVector64 aoPaths;
+		/** proc local ids of the actual-in nodes of summary edges into this actual-out */
+		private final BitVector64 incomingSummaryEdgesFrom;
+
+		private ActualOutInformation(int nbits) {
+			this.aoPaths = new BitVector64(nbits);
+			this.incomingSummaryEdgesFrom = new BitVector64(nbits);
+		}
+	}
+
+	private static class Edge implements Intrusable<Edge> {
+		private final SDGNode source;
+		private final SDGNode target;
+
+		private Edge next;
+
+		private Edge(SDGNode s, SDGNode t) {
+			assert t.getKind() == SDGNode.Kind.FORMAL_OUT || t.getKind() == SDGNode.Kind.EXIT;
+			assert s.getProc() == t.getProc();
+			source = s;
+			target = t;
+		}
+
+		@Override
+		public void setNext(Edge next) {
+			this.next = next;
+		}
+
+		@Override
+		public Edge getNext() {
+			return next;
+		}
+
+		@Override
+		public String toString() {
+			return source.getId() + " -> " + target.getId();
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.wala.summary;
+
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
+
+import edu.kit.joana.ifc.sdg.graph.SDG;
+
+class ParallelSummaryComputer implements ISummaryComputer {
+
+	private final int parallelism;
+
+	ParallelSummaryComputer() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param parallelism number of threads used if a parallel computation is requested
+	 */
+	ParallelSummaryComputer(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism has to be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	private int parallelism(boolean parallel) {
+		return parallel ? parallelism : 1;
+	}
+
+	@Override
+	public int compute(WorkPackage<SDG> pack, boolean parallel, IProgressMonitor progress) throws CancelException {
+		return SummaryComputation3.compute(pack, parallelism(parallel), progress);
+	}
+
+	@Override
+	public int computeAdjustedAliasDep(WorkPackage<SDG> pack, boolean parallel, IProgressMonitor progress)
+			throws CancelException {
+		return SummaryComputation3.computeAdjustedAliasDep(pack, parallelism(parallel), progress);
+	}
+
+	@Override
+	public int computePureDataDep(WorkPackage<SDG> pack, boolean parallel, IProgressMonitor progress)
+			throws CancelException {
+		return SummaryComputation3.computePureDataDep(pack, parallelism(parallel), progress);
+	}
+
+	@Override
+	public int computeFullAliasDataDep(WorkPackage<SDG> pack, boolean parallel, IProgressMonitor progress)
+			throws CancelException {
+		return SummaryComputation3.computeFullAliasDataDep(pack, parallelism(parallel), progress);
+	}
+
+	@Override
+	public int computeNoAliasDataDep(WorkPackage<SDG> pack, boolean parallel, IProgressMonitor progress)
+			throws CancelException {
+		return SummaryComputation3.computeNoAliasDataDep(pack, parallelism(parallel), progress);
+	}
+
+	@Override
+	public int computeHeapDataDep(WorkPackage<SDG> pack, boolean parallel, IProgressMonitor progress)
+			throws CancelException {
+		return SummaryComputation3.computeHeapDataDep(pack, parallelism(parallel), progress);
+	}
+}
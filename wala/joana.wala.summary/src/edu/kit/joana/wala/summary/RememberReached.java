@@ -0,0 +1,68 @@
+/**
+ * This file is part of the Joana IFC project. It is developed at the
+ * Programming Paradigms Group of the Karlsruhe Institute of Technology.
+ *
+ * For further details on licensing please read the information at
+ * http://joana.ipd.kit.edu or contact the authors.
+ */
+package edu.kit.joana.wala.summary;
+
+import org.jgrapht.DirectedGraph;
+
+import edu.kit.joana.ifc.sdg.graph.BitVector;
+import edu.kit.joana.ifc.sdg.graph.SDGEdge;
+import edu.kit.joana.ifc.sdg.graph.SDGNode;
+import edu.kit.joana.util.collections.IntIntSimpleVector;
+import edu.kit.joana.util.collections.SimpleVector;
+import gnu.trove.set.TIntSet;
+
+/**
+ * Remembers for each actual-in node of the relevant procedures which formal-out nodes it has already reached, so a
+ * summary computation does not propagate the same path edge over an actual-in twice.
+ * The information is kept in tables indexed by node id instead of at the nodes, so several summary computations
+ * may run on the same graph at once.
+ */
+final class RememberReached {
+
+	/** number of each relevant formal-out node in the bit vectors, 0 for all other formal-out nodes */
+	private final IntIntSimpleVector formalOutNumber;
+	private final SimpleVector<SDGNode, BitVector> reached;
+
+	RememberReached(DirectedGraph<SDGNode, SDGEdge> graph, TIntSet relevantProcs, TIntSet fullyConnected) {
+		this.formalOutNumber = new IntIntSimpleVector(0, graph.vertexSet().size());
+		int numRelevantNodes = 1;
+		for (SDGNode n : graph.vertexSet()) {
+			if (n.getKind() == SDGNode.Kind.FORMAL_OUT || n.getKind() == SDGNode.Kind.EXIT) {
+				if ((relevantProcs != null && !relevantProcs.contains(n.getProc()))
+						|| (fullyConnected != null && fullyConnected.contains(n.getId()))) {
+					formalOutNumber.put(n.getId(), 0);
+				} else {
+					formalOutNumber.put(n.getId(), numRelevantNodes++);
+				}
+			}
+		}
+
+		this.reached = new SimpleVector<SDGNode, BitVector>(0, graph.vertexSet().size());
+		for (SDGNode n : graph.vertexSet()) {
+			if (n.getKind() == SDGNode.Kind.ACTUAL_IN && (relevantProcs == null || relevantProcs.contains(n.getProc()))) {
+				reached.put(n, new BitVector(numRelevantNodes + 1));
+			}
+		}
+	}
+
+	/**
+	 * Marks formalOut as reached from actualIn.
+	 * @return <tt>false</tt> if formalOut has been reached from actualIn before.
+	 */
+	boolean markReached(SDGNode actualIn, SDGNode formalOut) {
+		final BitVector bv = reached.get(actualIn);
+		final int id = formalOutNumber.getInt(formalOut.getId());
+
+		if (bv.contains(id)) {
+			return false;
+		}
+
+		bv.set(id);
+		return true;
+	}
+}
@@ -29,7 +29,6 @@ import edu.kit.joana.util.collections.Intrusable;
 import edu.kit.joana.util.collections.IntrusiveList;
 import edu.kit.joana.util.collections.SimpleVector;
 import edu.kit.joana.util.graph.EfficientGraph;
-import edu.kit.joana.wala.summary.MainChangeTest.RememberReachedBitVector;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.set.TIntSet;
 
@@ -47,15 +46,16 @@ public class SummaryComputation< G extends DirectedGraph<SDGNode, SDGEdge> & Eff
     private final TIntSet relevantProcs;
     private final TIntSet fullyConnected;
     private final TIntObjectMap<List<SDGNode>> out2in;
-    private final boolean rememberReached;
+    private final RememberReached rememberReached;
     private final SDGEdge.Kind sumEdgeKind;
     private final Set<SDGEdge.Kind> relevantEdges;
     private final String annotate;
     private final Map<SDGNode, Integer> nodeId2ProcLocalNodeId;
+    private final Map<SDGNode, PathEdgeReachedNodesBitvector> pathEdgeReachedNodes;
 
 	private SummaryComputation(G graph, TIntSet relevantFormalIns,
 			TIntSet relevantProcs, TIntSet fullyConnected, TIntObjectMap<List<SDGNode>> out2in,
-			boolean rememberReached, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
+			RememberReached rememberReached, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
 			String annotate) {
     	this.graph = graph;
     	this.relevantFormalIns = relevantFormalIns;
@@ -70,6 +70,7 @@ public class SummaryComputation< G extends DirectedGraph<SDGNode, SDGEdge> & Eff
         this.relevantEdges = relevantEdges;
         this.annotate = annotate;
         this.nodeId2ProcLocalNodeId = new SimpleVector<>(0, graph.vertexSet().size());
+        this.pathEdgeReachedNodes = new SimpleVector<>(0, graph.vertexSet().size());
 	}
 
 	public static int compute(WorkPackage<SDG> pack, IProgressMonitor progress) throws CancelException {
@@ -192,7 +193,7 @@ public class SummaryComputation< G extends DirectedGraph<SDGNode, SDGEdge> & Eff
 			String annotate, IProgressMonitor progress) throws CancelException {
 		SummaryComputation<SDG> comp = new SummaryComputation<SDG>(pack.getGraph(), pack.getAllFormalInIds(),
 				pack.getRelevantProcIds(), pack.getFullyConnected(), pack.getOut2In(),
-				pack.getRememberReached(), sumEdgeKind, relevantEdges, annotate);
+				pack.getReached(), sumEdgeKind, relevantEdges, annotate);
 		Collection<SDGEdge> formInOutSummaryEdge = comp.computeSummaryEdges(progress);
 
 		for (SDGEdge edge : formInOutSummaryEdge) {
@@ -244,8 +245,7 @@ public class SummaryComputation< G extends DirectedGraph<SDGNode, SDGEdge> & Eff
             	}
 
                 assert pathEdge.add(new Edge(n,n));
-                assert n.customData == null || (!(n.customData instanceof RememberReachedBitVector));
-                n.customData = new PathEdgeReachedNodesBitvector(proc2nodes.get(n.getProc()).size());
+                pathEdgeReachedNodes.put(n, new PathEdgeReachedNodesBitvector(proc2nodes.get(n.getProc()).size()));
                 worklist.add(new Edge(n,n));
             }
         }
@@ -322,15 +322,8 @@ public class SummaryComputation< G extends DirectedGraph<SDGNode, SDGEdge> & Eff
                     break;
 
                 case ACTUAL_IN:
-                	if (rememberReached) {
-                		BitVector bv = (RememberReachedBitVector) next.source.customData;
-                		int id = next.target.tmp;
-
-                		if (bv.contains(id)) {
-                			continue;
-                		}
-
-                		bv.set(id);
+                	if (rememberReached != null && !rememberReached.markReached(next.source, next.target)) {
+                		continue;
                 	}
 
                 	for (SDGEdge e : graph.incomingEdgesOfUnsafe(next.source)) {
@@ -383,22 +376,8 @@ public class SummaryComputation< G extends DirectedGraph<SDGNode, SDGEdge> & Eff
                     break;
             }
         }
-        
-        // clear HashSet<SDGNode> at each node
-        for (SDGNode n : (Set<SDGNode>) graph.vertexSet()) {
-            if (n.getKind() == SDGNode.Kind.FORMAL_OUT || n.getKind() == SDGNode.Kind.EXIT) {
-            	if (relevantProcs != null && !relevantProcs.contains(n.getProc())) {
-            		continue;
-            	}
 
-            	if (fullyConnected != null && fullyConnected.contains(n.getId())) {
-            		continue;
-            	}
-
-                assert n.customData instanceof BitVector;
-                n.customData = null;
-            }
-        }
+        pathEdgeReachedNodes.clear();
 
         return formInOutSummaryEdge;
     }
@@ -440,7 +419,7 @@ public class SummaryComputation< G extends DirectedGraph<SDGNode, SDGEdge> & Eff
     
     private boolean pathEdge_add(SDGNode source, SDGNode target) {
     	assert source.getProc() == target.getProc();
-		final PathEdgeReachedNodesBitvector sources = (PathEdgeReachedNodesBitvector) target.customData;
+		final PathEdgeReachedNodesBitvector sources = pathEdgeReachedNodes.get(target);
     	final int procLocalSourceId = nodeId2ProcLocalNodeId.get(source);
     	boolean isNew = !sources.get(procLocalSourceId);
     	sources.set(procLocalSourceId);
@@ -7,13 +7,11 @@
  */
 package edu.kit.joana.wala.summary;
 
-import edu.kit.joana.ifc.sdg.graph.BitVector;
 import edu.kit.joana.ifc.sdg.graph.LabeledSDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDG;
 import edu.kit.joana.ifc.sdg.graph.SDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDGNode;
 import edu.kit.joana.ifc.sdg.graph.slicer.IntraproceduralSlicerBackward;
-import edu.kit.joana.wala.summary.MainChangeTest.RememberReachedBitVector;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.TIntSet;
 
@@ -47,14 +45,14 @@ public class SummaryComputation2 {
     private final TIntSet relevantFormalIns;
     private final TIntSet relevantProcs;
     private final TIntSet fullyConnected;
-    private final boolean rememberReached;
+    private final RememberReached rememberReached;
     private final SDGEdge.Kind sumEdgeKind;
     private final String annotate;
     private final IntraproceduralSlicerBackward slicer;
 
 	private SummaryComputation2(SDG graph, TIntSet relevantFormalIns,
 			TIntSet relevantProcs, TIntSet fullyConnected,
-			boolean rememberReached, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
+			RememberReached rememberReached, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
 			String annotate) {
     	this.graph = graph;
     	this.entry2outs = outsByProcedures();
@@ -303,7 +301,7 @@ public class SummaryComputation2 {
 		
 		SummaryComputation2 comp = new SummaryComputation2((SDG) pack.getGraph(), pack.getAllFormalInIds(),
 				pack.getRelevantProcIds(), pack.getFullyConnected(),
-				pack.getRememberReached(), sumEdgeKind, relevantEdges, annotate);
+				pack.getReached(), sumEdgeKind, relevantEdges, annotate);
 		System.out.println("Summary graph computation: "+(System.currentTimeMillis()-t));
 		t = System.currentTimeMillis();
 		se=0;sp=0;
@@ -442,7 +440,7 @@ public class SummaryComputation2 {
 			String annotate, IProgressMonitor progress) throws CancelException {
 		SummaryComputation2 comp = new SummaryComputation2((SDG) pack.getGraph(), pack.getAllFormalInIds(),
 				pack.getRelevantProcIds(), pack.getFullyConnected(), pack.getOut2In(),
-				pack.getRememberReached(), sumEdgeKind, relevantEdges, annotate);
+				pack.getReached(), sumEdgeKind, relevantEdges, annotate);
 		Collection<SDGEdge> summary = comp.computeSummaryEdges(progress);
 
 		for (SDGEdge edge : summary) {
@@ -503,16 +501,10 @@ public class SummaryComputation2 {
                         }
                     }
 				}
-				if (rememberReached && f.getKind() == SDGNode.Kind.ACTUAL_IN) {
-                		BitVector bv = (RememberReachedBitVector) f.customData;
-                		int id = n.tmp;
-
-                		if (bv.contains(id)) {
-                			continue;
-                		}
-
-                		bv.set(id);
-               	}
+				if (rememberReached != null && f.getKind() == SDGNode.Kind.ACTUAL_IN
+						&& !rememberReached.markReached(f, n)) {
+					continue;
+				}
 			}
 		}
 	}
@@ -560,15 +552,8 @@ public class SummaryComputation2 {
 							actualInVisited.put(f,visitedSet);
 						}
 						visitedSet.addAll(foSet);
-						if (rememberReached && f.getKind() == SDGNode.Kind.ACTUAL_IN) {
-							BitVector bv = (RememberReachedBitVector) f.customData;
-							int id = n.tmp;
-
-							if (bv.contains(id)) {
-								continue;
-							}
-
-							bv.set(id);
+						if (rememberReached != null && !rememberReached.markReached(f, n)) {
+							continue;
 						}
 						break;
 					case ACTUAL_OUT:
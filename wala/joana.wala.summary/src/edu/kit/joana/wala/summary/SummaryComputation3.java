@@ -29,7 +29,6 @@ import com.ibm.wala.util.MonitorUtil;
 import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
 import com.ibm.wala.util.intset.IntIterator;
 
-import edu.kit.joana.ifc.sdg.graph.BitVector;
 import edu.kit.joana.ifc.sdg.graph.BitVector64;
 import edu.kit.joana.ifc.sdg.graph.LabeledSDGEdge;
 import edu.kit.joana.ifc.sdg.graph.SDG;
@@ -39,10 +38,10 @@ import edu.kit.joana.util.collections.ArraySet;
 import edu.kit.joana.util.collections.IntIntSimpleVector;
 import edu.kit.joana.util.collections.Intrusable;
 import edu.kit.joana.util.collections.IntrusiveList;
+import edu.kit.joana.util.collections.SimpleVector;
 import edu.kit.joana.util.collections.SimpleVectorBase;
 import edu.kit.joana.util.graph.EfficientGraph;
 import edu.kit.joana.util.graph.TarjanStrongConnectivityInspector;
-import edu.kit.joana.wala.summary.MainChangeTest.RememberReachedBitVector;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.set.TIntSet;
 
@@ -60,7 +59,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
     private final TIntSet relevantProcs;
     private final TIntSet fullyConnected;
     private final TIntObjectMap<List<SDGNode>> out2in;
-    private final boolean rememberReached;
+    private final RememberReached rememberReached;
     private final SDGEdge.Kind sumEdgeKind;
     private final Set<SDGEdge.Kind> relevantEdges;
     private final String annotate;
@@ -69,12 +68,17 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
     private final List<Set<Integer>> procSccs;
     private final IntIntSimpleVector indexNumberOf;
     private final long relevantEdgesMask;
+    private final SimpleVector<SDGNode, PathEdgeReachedNodesBitvector> pathEdgeReachedNodes;
+    private final SimpleVector<SDGNode, ActualOutInformation> actualOutInformation;
+    private final IntIntSimpleVector nrOfOutgoingSummaryEdges;
+    private final SimpleVector<SDGNode, ActualInInformation> actualInInformation;
+    private final SimpleVector<SDGNode, AcutalInActualOutPair> pairAtCall;
     
     private IntrusiveList<Edge> current; 
 
 	private SummaryComputation3(G graph, TIntSet relevantFormalIns,
 			TIntSet relevantProcs, TIntSet fullyConnected, TIntObjectMap<List<SDGNode>> out2in,
-			boolean rememberReached, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
+			RememberReached rememberReached, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
 			String annotate) {
     	this.graph = graph;
     	this.relevantFormalIns = relevantFormalIns;
@@ -120,6 +124,11 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
         this.relevantEdges = relevantEdges;
         this.annotate = annotate;
         this.nodeId2ProcLocalNodeId = new IntIntSimpleVector(0, graph.vertexSet().size());
+        this.pathEdgeReachedNodes = new SimpleVector<>(0, graph.vertexSet().size());
+        this.actualOutInformation = new SimpleVector<>(0, graph.vertexSet().size());
+        this.nrOfOutgoingSummaryEdges = new IntIntSimpleVector(0, graph.vertexSet().size());
+        this.actualInInformation = new SimpleVector<>(0, graph.vertexSet().size());
+        this.pairAtCall = new SimpleVector<>(0, graph.vertexSet().size());
         this.procLocalNodeId2Node = new SimpleVectorBase<Integer, SDGNode[]>(0, maxProcNumber) {
         	@Override
         	protected int getId(Integer procNumber) {
@@ -143,6 +152,10 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 	}
 	
 	public static int compute(WorkPackage<SDG> pack, IProgressMonitor progress) throws CancelException {
+		return compute(pack, 1, progress);
+	}
+
+	public static int compute(WorkPackage<SDG> pack, int parallelism, IProgressMonitor progress) throws CancelException {
 		// default summary computation follows control and date dependencies
 		Set<SDGEdge.Kind> relevantEdges = new HashSet<SDGEdge.Kind>();
 		relevantEdges.add(SDGEdge.Kind.DATA_DEP);
@@ -161,10 +174,14 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 		relevantEdges.add(SDGEdge.Kind.SUMMARY_NO_ALIAS);
 		relevantEdges.add(SDGEdge.Kind.SYNCHRONIZATION);
 
-		return compute(pack, SDGEdge.Kind.SUMMARY, relevantEdges, progress);
+		return compute(pack, SDGEdge.Kind.SUMMARY, relevantEdges, parallelism, progress);
 	}
 
 	public static int computeAdjustedAliasDep(WorkPackage<SDG> pack, IProgressMonitor progress) throws CancelException {
+		return computeAdjustedAliasDep(pack, 1, progress);
+	}
+
+	public static int computeAdjustedAliasDep(WorkPackage<SDG> pack, int parallelism, IProgressMonitor progress) throws CancelException {
 		// default summary computation follows control and date dependencies
 		Set<SDGEdge.Kind> relevantEdges = new HashSet<SDGEdge.Kind>();
 		relevantEdges.add(SDGEdge.Kind.DATA_DEP);
@@ -183,10 +200,14 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 		relevantEdges.add(SDGEdge.Kind.SUMMARY_NO_ALIAS);
 		relevantEdges.add(SDGEdge.Kind.SYNCHRONIZATION);
 
-		return compute(pack, SDGEdge.Kind.SUMMARY_DATA, relevantEdges, progress);
+		return compute(pack, SDGEdge.Kind.SUMMARY_DATA, relevantEdges, parallelism, progress);
 	}
 
 	public static int computePureDataDep(WorkPackage<SDG> pack, IProgressMonitor progress) throws CancelException {
+		return computePureDataDep(pack, 1, progress);
+	}
+
+	public static int computePureDataDep(WorkPackage<SDG> pack, int parallelism, IProgressMonitor progress) throws CancelException {
 		// default summary computation follows control and date dependencies
 		Set<SDGEdge.Kind> relevantEdges = new HashSet<SDGEdge.Kind>();
 		relevantEdges.add(SDGEdge.Kind.DATA_DEP);
@@ -203,14 +224,22 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 		relevantEdges.add(SDGEdge.Kind.SUMMARY_DATA);
 //		relevantEdges.add(SDGEdge.Kind.SYNCHRONIZATION);
 
-		return compute(pack, SDGEdge.Kind.SUMMARY_DATA, relevantEdges, progress);
+		return compute(pack, SDGEdge.Kind.SUMMARY_DATA, relevantEdges, parallelism, progress);
 	}
 
 	public static int computeFullAliasDataDep(WorkPackage<SDG> pack, IProgressMonitor progress) throws CancelException {
-		return compute(pack, progress);
+		return computeFullAliasDataDep(pack, 1, progress);
+	}
+
+	public static int computeFullAliasDataDep(WorkPackage<SDG> pack, int parallelism, IProgressMonitor progress) throws CancelException {
+		return compute(pack, parallelism, progress);
 	}
 
 	public static int computeNoAliasDataDep(WorkPackage<SDG> pack, IProgressMonitor progress) throws CancelException {
+		return computeNoAliasDataDep(pack, 1, progress);
+	}
+
+	public static int computeNoAliasDataDep(WorkPackage<SDG> pack, int parallelism, IProgressMonitor progress) throws CancelException {
 		Set<SDGEdge.Kind> relevantEdges = new HashSet<SDGEdge.Kind>();
 		relevantEdges.add(SDGEdge.Kind.DATA_DEP);
 		relevantEdges.add(SDGEdge.Kind.DATA_HEAP);
@@ -228,10 +257,14 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 		relevantEdges.add(SDGEdge.Kind.SUMMARY_NO_ALIAS);
 		relevantEdges.add(SDGEdge.Kind.SYNCHRONIZATION);
 
-		return compute(pack, SDGEdge.Kind.SUMMARY_NO_ALIAS, relevantEdges, progress);
+		return compute(pack, SDGEdge.Kind.SUMMARY_NO_ALIAS, relevantEdges, parallelism, progress);
 	}
 
 	public static int computeHeapDataDep(WorkPackage<SDG> pack, IProgressMonitor progress) throws CancelException {
+		return computeHeapDataDep(pack, 1, progress);
+	}
+
+	public static int computeHeapDataDep(WorkPackage<SDG> pack, int parallelism, IProgressMonitor progress) throws CancelException {
 		// default summary computation follows control and date dependencies
 		Set<SDGEdge.Kind> relevantEdges = new HashSet<SDGEdge.Kind>();
 		relevantEdges.add(SDGEdge.Kind.DATA_DEP);
@@ -250,20 +283,29 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 //		relevantEdges.add(SDGEdge.Kind.SUMMARY_NO_ALIAS);
 //		relevantEdges.add(SDGEdge.Kind.SYNCHRONIZATION);
 
-		return compute(pack, SDGEdge.Kind.SUMMARY_DATA, relevantEdges, progress);
+		return compute(pack, SDGEdge.Kind.SUMMARY_DATA, relevantEdges, parallelism, progress);
 	}
 
 	private static int compute(WorkPackage<SDG> pack, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
-			IProgressMonitor progress) throws CancelException {
-		return compute(pack, sumEdgeKind, relevantEdges, null, progress);
+			int parallelism, IProgressMonitor progress) throws CancelException {
+		return compute(pack, sumEdgeKind, relevantEdges, null, parallelism, progress);
 	}
 
 	private static int compute(WorkPackage<SDG> pack, SDGEdge.Kind sumEdgeKind, Set<SDGEdge.Kind> relevantEdges,
-			String annotate, IProgressMonitor progress) throws CancelException {
-		SummaryComputation3<SDG> comp = new SummaryComputation3<SDG>(pack.getGraph(), pack.getAllFormalInIds(),
-				pack.getRelevantProcIds(), pack.getFullyConnected(), pack.getOut2In(),
-				pack.getRememberReached(), sumEdgeKind, relevantEdges, annotate);
-		Collection<SDGEdge> formInOutSummaryEdge = comp.computeSummaryEdges(progress);
+			String annotate, int parallelism, IProgressMonitor progress) throws CancelException {
+		final Collection<SDGEdge> formInOutSummaryEdge;
+		if (parallelism > 1) {
+			// same summary edges, but the strongly connected components of the call graph are processed in parallel
+			ParallelSummaryComputation<SDG> comp = new ParallelSummaryComputation<SDG>(pack.getGraph(),
+					pack.getAllFormalInIds(), pack.getRelevantProcIds(), pack.getFullyConnected(), pack.getOut2In(),
+					pack.getReached(), sumEdgeKind, relevantEdges, annotate, parallelism);
+			formInOutSummaryEdge = comp.computeSummaryEdges(progress);
+		} else {
+			SummaryComputation3<SDG> comp = new SummaryComputation3<SDG>(pack.getGraph(), pack.getAllFormalInIds(),
+					pack.getRelevantProcIds(), pack.getFullyConnected(), pack.getOut2In(),
+					pack.getReached(), sumEdgeKind, relevantEdges, annotate);
+			formInOutSummaryEdge = comp.computeSummaryEdges(progress);
+		}
 
 		for (SDGEdge edge : formInOutSummaryEdge) {
 			pack.addSummaryDep(edge.getSource().getId(), edge.getTarget().getId());
@@ -318,7 +360,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 
 
 	
-	private DirectedGraph<Integer, DefaultEdge> extractCallGraph(G graph) {
+	static DirectedGraph<Integer, DefaultEdge> extractCallGraph(DirectedGraph<SDGNode, SDGEdge> graph) {
 		final DirectedGraph<Integer, DefaultEdge> ret = new DefaultDirectedGraph<>(DefaultEdge.class);
 		for (final SDGNode n : graph.vertexSet()) {
 			final int proc = n.getProc(); 
@@ -379,8 +421,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
             	}
 
                 assert pathEdge.add(new Edge(n,n));
-                assert n.customData == null || (!(n.customData instanceof RememberReachedBitVector));
-                n.customData = new PathEdgeReachedNodesBitvector(proc2nodes.get(n.getProc()).size());
+                pathEdgeReachedNodes.put(n, new PathEdgeReachedNodesBitvector(proc2nodes.get(n.getProc()).size()));
                 worklists.compute(n.getProc(), (proc, workList) -> {
                 	if (workList == null) {
                 		workList = new IntrusiveList<>();
@@ -392,21 +433,16 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
             }
             
             if (n.getKind() == SDGNode.Kind.ACTUAL_OUT) {
-                assert n.customData == null || (!(n.customData instanceof ActualOutInformation));
-                n.customData = new ActualOutInformation(
+                actualOutInformation.put(n, new ActualOutInformation(
                 		new AoPathsNodesBitvector(proc2nodes.get(n.getProc()).size()),
                 		new IncomingSummaryEdgesFromBitVector(proc2nodes.get(n.getProc()).size())
-                );
+                ));
             }
             
             if (n.getKind() == SDGNode.Kind.ACTUAL_IN) {
-                assert n.customData == null || (!(n.customData instanceof Integer));
-                n.customData = 0;
+                nrOfOutgoingSummaryEdges.put(n.getId(), 0);
             }
             
-            if (n.getKind() == SDGNode.Kind.CALL) {
-                n.customData = null;
-            }
         }
         
         proc2nodes = null;
@@ -447,7 +483,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
             					propagate(worklist, e.getSource(), next.target);
             				}
             			}
-            			final ActualOutInformation aoInformation = (ActualOutInformation) next.source.customData;
+            			final ActualOutInformation aoInformation = actualOutInformation.get(next.source);
             			final IncomingSummaryEdgesFromBitVector incomingSummaryEdgesFrom = aoInformation.incomingSummaryEdgesFrom;
             			
             			for (IntIterator it = incomingSummaryEdgesFrom.intIterator(); it.hasNext(); ) {
@@ -488,13 +524,12 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 
 
             			final int procLocalIdOfSource = nodeId2ProcLocalNodeId.getInt(source.getId());
-            			final ActualOutInformation aoInformation = (ActualOutInformation) target.customData;
+            			final ActualOutInformation aoInformation = actualOutInformation.get(target);
 
             			if (aoInformation.incomingSummaryEdgesFrom.setWithResult((procLocalIdOfSource))) {
             				assert !connectedInPDG;
             				
-            				final Integer nrOfoutgoingSummaryEdgesInto = (Integer) source.customData;
-            				source.customData = nrOfoutgoingSummaryEdgesInto + 1;
+            				nrOfOutgoingSummaryEdges.put(source.getId(), nrOfOutgoingSummaryEdges.getInt(source.getId()) + 1);
             				
             				final AoPathsNodesBitvector aoPaths = aoInformation.aoPaths;
             				
@@ -523,15 +558,8 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
             		break;
 
             	case ACTUAL_IN:
-            		if (rememberReached) {
-            			BitVector bv = (RememberReachedBitVector) next.source.customData;
-            			int id = next.target.tmp;
-
-            			if (bv.contains(id)) {
-            				continue;
-            			}
-
-            			bv.set(id);
+            		if (rememberReached != null && !rememberReached.markReached(next.source, next.target)) {
+            			continue;
             		}
 
             		for (SDGEdge e : graph.incomingEdgesOfUnsafe(next.source)) {
@@ -601,8 +629,8 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
                 	final SDGNode[] inSameSccLocal2Node = procLocalNodeId2Node.get(inSameScc);
                 	for (SDGNode n : inSameSccLocal2Node) {
                 		if (n.getKind() == SDGNode.Kind.ACTUAL_IN) {
-                			final Integer nrOfoutgoingSummaryEdges = (Integer) n.customData;
-                			n.customData = new ActualInInformation(new SDGEdge[nrOfoutgoingSummaryEdges]);
+                			final int nrOfoutgoingSummaryEdges = nrOfOutgoingSummaryEdges.getInt(n.getId());
+                			actualInInformation.put(n, new ActualInInformation(new SDGEdge[nrOfoutgoingSummaryEdges]));
                 			// will be filled in the upcoming loop by the corresponding ACTUAL_OUTs
                 		}
                 	}
@@ -617,12 +645,12 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
                 				continue;
                 			}
 
-                			assert n.customData instanceof PathEdgeReachedNodesBitvector;
-                			n.customData = null;
+                			final PathEdgeReachedNodesBitvector removed = pathEdgeReachedNodes.remove(n);
+                			assert removed != null;
                 		}
 
                 		if (n.getKind() == SDGNode.Kind.ACTUAL_OUT) {
-                			final ActualOutInformation aoInformation = (ActualOutInformation) n.customData;
+                			final ActualOutInformation aoInformation = actualOutInformation.remove(n);
                 			final IncomingSummaryEdgesFromBitVector incomingSummaryEdgesFrom = aoInformation.incomingSummaryEdgesFrom;
                 			
                 			final int nrOfSummaryEdges = incomingSummaryEdgesFrom.populationCount();
@@ -642,8 +670,8 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 
                 				summaryEdges[i++] = sum;
                 				
-                				final ActualInInformation actualInInformation = (ActualInInformation) source.customData;
-                				actualInInformation.summaryEdges[actualInInformation.next++] = sum;
+                				final ActualInInformation aiInformation = actualInInformation.get(source);
+                				aiInformation.summaryEdges[aiInformation.next++] = sum;
                 			}
 
                 			Arrays.sort(summaryEdges, ArraySet.COMPARATOR);
@@ -651,16 +679,14 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
                 			final ArraySet<SDGEdge> summaryEdgesSet = ArraySet.own(summaryEdges);
 
                 			graph.addIncomingEdgesAtUNSAFE(n, summaryEdgesSet);
-
-                			n.customData = null;
                 		}
                 	}
                 	
                 	for (SDGNode n : inSameSccLocal2Node) {
                 		if (n.getKind() == SDGNode.Kind.ACTUAL_IN) {
-                			final ActualInInformation actualInInformation = (ActualInInformation) n.customData;
+                			final ActualInInformation aiInformation = actualInInformation.remove(n);
                 			
-                			final SDGEdge[] summaryEdges = actualInInformation.summaryEdges;
+                			final SDGEdge[] summaryEdges = aiInformation.summaryEdges;
                 			assert summaryEdges.length == 0 || summaryEdges[summaryEdges.length - 1] != null;
                     		
                 			Arrays.sort(summaryEdges, ArraySet.COMPARATOR);
@@ -668,8 +694,6 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
                 			final ArraySet<SDGEdge> summaryEdgesSet = ArraySet.own(summaryEdges);
 
                 			graph.addOutgoingEdgesAtUNSAFE(n, summaryEdgesSet);
-
-                			n.customData = null;
                 			
                 		}
 
@@ -721,7 +745,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
             worklist.add(e);
             assert procedureWorkSet.contains(source.getProc()) || worklist == current;
             if (source.getKind() == SDGNode.Kind.ACTUAL_OUT) {
-            	final ActualOutInformation aoInformation = (ActualOutInformation) source.customData;
+            	final ActualOutInformation aoInformation = actualOutInformation.get(source);
             	final AoPathsNodesBitvector aoPaths = aoInformation.aoPaths;
             	final int procLocalTargetId = nodeId2ProcLocalNodeId.getInt(target.getId());
 
@@ -734,7 +758,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
     
     private boolean pathEdge_add(SDGNode source, SDGNode target) {
     	assert source.getProc() == target.getProc();
-		final PathEdgeReachedNodesBitvector sources = (PathEdgeReachedNodesBitvector) target.customData;
+		final PathEdgeReachedNodesBitvector sources = pathEdgeReachedNodes.get(target);
     	final int procLocalSourceId = nodeId2ProcLocalNodeId.getInt(source.getId());
     	return sources.setWithResult(procLocalSourceId);
     }
@@ -770,7 +794,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 
                 if(call != null) {
                 	final AcutalInActualOutPair pair = new AcutalInActualOutPair(ai);
-                	call.customData = pair;
+                	pairAtCall.put(call, pair);
                 	result.add(pair);
                 }
             }
@@ -786,7 +810,7 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
 
                 final SDGNode call = getCallSiteFor(ao);
 
-                final AcutalInActualOutPair newE = (AcutalInActualOutPair) call.customData;
+                final AcutalInActualOutPair newE = pairAtCall.get(call);
                 if (newE != null) {
                 	newE.setActualOut(ao);
                 }
@@ -899,48 +923,6 @@ public class SummaryComputation3< G extends DirectedGraph<SDGNode, SDGEdge> & Ef
     }
 }
 
-class AcutalInActualOutPair implements Intrusable<AcutalInActualOutPair> {
-	private final SDGNode actualIn;
-	private SDGNode actualOut;
-	
-	private AcutalInActualOutPair next;
-
-	AcutalInActualOutPair(SDGNode ai) {
-		assert ai.getKind() == SDGNode.Kind.ACTUAL_IN;
-		actualIn = ai;
-	}
-	
-    @Override
-    public void setNext(AcutalInActualOutPair next) {
-    	this.next = next;
-    }
-    
-    @Override
-    public AcutalInActualOutPair getNext() {
-    	return next;
-    }
-    
-
-	final void setActualOut(SDGNode ao) {
-		assert ao.getKind() == SDGNode.Kind.ACTUAL_OUT;
-		assert ao.getProc() == actualIn.getProc();
-		actualOut = ao;
-	}
-
-	public SDGNode getActualIn() {
-		return actualIn;
-	}
-
-	public SDGNode getActualOut() {
-		return actualOut;
-	}
-	
-	@Override
-	public String toString() {
-		return "(" + actualIn + ", " + actualOut + ")";
-	}
-}
-
 class SummaryComputer3 implements ISummaryComputer {
 	@Override
 	public int compute(WorkPackage<SDG> pack, boolean parallel, IProgressMonitor progress) throws CancelException {
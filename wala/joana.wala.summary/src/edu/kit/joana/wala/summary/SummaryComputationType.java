@@ -16,6 +16,9 @@ public enum SummaryComputationType {
 	JOANA_CLASSIC(new SummaryComputer()),
 	JOANA_CLASSIC_SCC(new SummaryComputer3()),
 	SIMON_SCC(new SummaryComputer2()),
+	/** like {@link #JOANA_CLASSIC_SCC}, but processes independent call graph components in parallel if requested */
+	JOANA_PARALLEL_SCC(new ParallelSummaryComputer()),
+	/** @deprecated use {@link #JOANA_PARALLEL_SCC} instead */
 	@Deprecated
 	SIMON_PARALLEL_SCC(new AlwaysParallel(new SummaryComputer2()));
 	
@@ -41,6 +44,16 @@ public enum SummaryComputationType {
 		};
 		return summaryComputer;
 	}
+
+	/**
+	 * Like {@link #getSummaryComputer()}, but a parallel computation uses the given number of threads.
+	 */
+	public ISummaryComputer getSummaryComputer(int parallelism) {
+		if (this == JOANA_PARALLEL_SCC) {
+			return new ParallelSummaryComputer(parallelism);
+		}
+		return getSummaryComputer();
+	}
 	
 	private static class AlwaysParallel implements ISummaryComputer {
 		private final ISummaryComputer other;
@@ -261,7 +261,7 @@ public class WorkPackage<G extends DirectedGraph<SDGNode, SDGEdge> & EfficientGr
 	private final TIntSet fullyConnected;
 	private final TIntObjectMap<List<SDGNode>> out2in;
 	private boolean immutable = false;
-	private final boolean rememberReached;
+	private final RememberReached rememberReached;
 
 	private WorkPackage(G subgraph, Set<EntryPoint> entries, String name,
 			TIntSet relevantProcs, TIntSet fullyConnected, TIntObjectMap<List<SDGNode>> out2in,
@@ -272,7 +272,7 @@ public class WorkPackage<G extends DirectedGraph<SDGNode, SDGEdge> & EfficientGr
 		this.relevantProcs = relevantProcs;
 		this.fullyConnected = fullyConnected;
 		this.out2in = out2in;
-		this.rememberReached = rememberReached;
+		this.rememberReached = (rememberReached ? new RememberReached(subgraph, relevantProcs, fullyConnected) : null);
 	}
 
 	public static WorkPackage<SDG> create(SDG subgraph, Set<EntryPoint> entryPoints, String name) {
@@ -328,6 +328,13 @@ public class WorkPackage<G extends DirectedGraph<SDGNode, SDGEdge> & EfficientGr
 	}
 
 	public boolean getRememberReached() {
+		return rememberReached != null;
+	}
+
+	/**
+	 * @return the formal-out nodes reached from each actual-in node, or <tt>null</tt> if they are not remembered.
+	 */
+	RememberReached getReached() {
 		return rememberReached;
 	}
 